@@ -0,0 +1,122 @@
+package com.example.ecoswap.analytics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Thread-safe leaderboard holding at most `capacity` entries, best first.
+ *
+ * Entries rank by score, then lower id first. Every operation is O(capacity): the list is
+ * kept sorted and the lowest entry is dropped when a better one arrives, so memory never
+ * grows with the number of ranked ids.
+ */
+public final class BoundedLeaderboard {
+
+    private static final Comparator<Entry> RANKING =
+        Comparator.comparingDouble(Entry::getScore).reversed().thenComparingLong(Entry::getId);
+
+    private final int capacity;
+    private final List<Entry> entries;
+
+    public BoundedLeaderboard(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.entries = new ArrayList<>(capacity + 1);
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Replace the contents with already known entries; anything beyond capacity is dropped
+     */
+    public synchronized void replaceAll(List<Entry> ranked) {
+        entries.clear();
+        entries.addAll(ranked);
+        entries.sort(RANKING);
+        trim();
+    }
+
+    /**
+     * Set the score of an id, adding it if it ranks within capacity
+     */
+    public synchronized void offer(long id, String label, double score) {
+        entries.removeIf(entry -> entry.id == id);
+        Entry candidate = new Entry(id, label, score);
+        if (entries.size() == capacity && RANKING.compare(candidate, entries.get(capacity - 1)) > 0) {
+            return;
+        }
+        int at = 0;
+        while (at < entries.size() && RANKING.compare(entries.get(at), candidate) < 0) {
+            at++;
+        }
+        entries.add(at, candidate);
+        trim();
+    }
+
+    /**
+     * Add delta to the score of an id already on the board.
+     * Returns false if the id is not on the board (its full score is unknown here).
+     */
+    public synchronized boolean adjust(long id, double delta) {
+        for (int i = 0; i < entries.size(); i++) {
+            Entry entry = entries.get(i);
+            if (entry.id == id) {
+                entries.set(i, new Entry(id, entry.label, entry.score + delta));
+                entries.sort(RANKING);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Whether an id not on the board would make it with this score
+     */
+    public synchronized boolean admits(long id, double score) {
+        return entries.size() < capacity || RANKING.compare(new Entry(id, null, score), entries.get(capacity - 1)) < 0;
+    }
+
+    /**
+     * The best `limit` entries, best first
+     */
+    public synchronized List<Entry> top(int limit) {
+        return List.copyOf(entries.subList(0, Math.min(Math.max(limit, 0), entries.size())));
+    }
+
+    private void trim() {
+        while (entries.size() > capacity) {
+            entries.remove(entries.size() - 1);
+        }
+    }
+
+    /**
+     * One ranked id with its display label and score
+     */
+    public static final class Entry {
+
+        private final long id;
+        private final String label;
+        private final double score;
+
+        public Entry(long id, String label, double score) {
+            this.id = id;
+            this.label = label;
+            this.score = score;
+        }
+
+        public long getId() { return id; }
+
+        public String getLabel() { return label; }
+
+        public double getScore() { return score; }
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.ecoswap.analytics;
+
+import java.math.BigDecimal;
+
+/**
+ * Mutable accumulator for a scan over order-item facts. Used as the container of
+ * parallel collect() calls, so partial results are combined with merge().
+ */
+public final class FactSummary {
+
+    private long rows;
+    private long orders;
+    private long quantity;
+    private long lineTotalCents;
+    private double co2Saved;
+    private double plasticSaved;
+
+    void add(boolean firstRowOfOrder, int quantity, long lineTotalCents, double co2Saved, double plasticSaved) {
+        this.rows++;
+        if (firstRowOfOrder) {
+            this.orders++;
+        }
+        this.quantity += quantity;
+        this.lineTotalCents += lineTotalCents;
+        this.co2Saved += co2Saved;
+        this.plasticSaved += plasticSaved;
+    }
+
+    void merge(FactSummary other) {
+        this.rows += other.rows;
+        this.orders += other.orders;
+        this.quantity += other.quantity;
+        this.lineTotalCents += other.lineTotalCents;
+        this.co2Saved += other.co2Saved;
+        this.plasticSaved += other.plasticSaved;
+    }
+
+    public long getRows() { return rows; }
+
+    public long getOrders() { return orders; }
+
+    public long getQuantity() { return quantity; }
+
+    public long getLineTotalCents() { return lineTotalCents; }
+
+    public BigDecimal getLineTotal() { return MinorUnits.fromCents(lineTotalCents); }
+
+    public double getCo2Saved() { return co2Saved; }
+
+    public double getPlasticSaved() { return plasticSaved; }
+}
@@ -0,0 +1,320 @@
+package com.example.ecoswap.analytics;
+
+import com.example.ecoswap.model.enums.OrderStatus;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+
+/**
+ * Column-oriented, append-only table of order-item facts held in parallel primitive arrays.
+ *
+ * One writer appends rows and updates order statuses under a lock; readers take the
+ * current View (arrays + row count) without locking and scan it, in parallel when the
+ * table is large. Rows of one order are contiguous and an index of each order's first
+ * row finds them, whatever order the orders arrive in. Statuses are held in chunks that
+ * a status change copies before writing, so a scan sees every line of an order under
+ * the same status. CO2 and plastic are per line (product value times quantity) at the
+ * time of loading.
+ */
+public final class OrderItemColumns {
+
+    /** Tables smaller than this are scanned on the calling thread */
+    static final int PARALLEL_THRESHOLD = 50_000;
+
+    private static final byte REMOVED = -1;
+
+    private static final int STATUS_CHUNK_SHIFT = 12;
+    private static final int STATUS_CHUNK_SIZE = 1 << STATUS_CHUNK_SHIFT;
+    private static final int STATUS_CHUNK_MASK = STATUS_CHUNK_SIZE - 1;
+
+    private final Object writeLock = new Object();
+    private final Map<Long, Integer> firstRows = new HashMap<>();
+    private volatile View view;
+
+    public OrderItemColumns(int initialCapacity) {
+        this.view = new View(new Columns(Math.max(16, initialCapacity)), new byte[0][], 0);
+    }
+
+    /**
+     * Append one order line
+     */
+    public void append(long orderId, LocalDateTime createdAt, OrderStatus status, long customerId, long sellerId,
+                       long productId, long categoryId, int quantity, long lineTotalCents,
+                       double co2Saved, double plasticSaved) {
+        synchronized (writeLock) {
+            View current = view;
+            int row = current.size;
+            Columns columns = current.columns.ensureCapacity(row + 1);
+            byte[][] statuses = current.statuses;
+            int chunk = row >>> STATUS_CHUNK_SHIFT;
+            if (chunk == statuses.length) {
+                statuses = Arrays.copyOf(statuses, chunk + 1);
+                statuses[chunk] = new byte[STATUS_CHUNK_SIZE];
+            }
+
+            columns.orderIds[row] = orderId;
+            columns.createdAt[row] = toEpochSecond(createdAt);
+            statuses[chunk][row & STATUS_CHUNK_MASK] = (byte) status.ordinal();
+            columns.customerIds[row] = customerId;
+            columns.sellerIds[row] = sellerId;
+            columns.productIds[row] = productId;
+            columns.categoryIds[row] = categoryId;
+            columns.quantities[row] = quantity;
+            columns.lineTotalCents[row] = lineTotalCents;
+            columns.co2Saved[row] = co2Saved;
+            columns.plasticSaved[row] = plasticSaved;
+
+            firstRows.putIfAbsent(orderId, row);
+
+            // Publishing the new view makes the row visible to readers
+            view = new View(columns, statuses, row + 1);
+        }
+    }
+
+    public boolean containsOrder(long orderId) {
+        synchronized (writeLock) {
+            return firstRows.containsKey(orderId);
+        }
+    }
+
+    /**
+     * Run appendRows (which calls append for each line of the order) unless the order is already
+     * present. Holds the write lock throughout so the order's rows stay contiguous.
+     */
+    public boolean appendOrderIfAbsent(long orderId, Runnable appendRows) {
+        synchronized (writeLock) {
+            if (firstRows.containsKey(orderId)) {
+                return false;
+            }
+            appendRows.run();
+            return true;
+        }
+    }
+
+    /**
+     * Change the status of every row of an order; returns the number of rows updated
+     */
+    public int updateStatus(long orderId, OrderStatus status) {
+        return setStatus(orderId, (byte) status.ordinal());
+    }
+
+    /**
+     * Drop an order from all future scans
+     */
+    public int removeOrder(long orderId) {
+        return setStatus(orderId, REMOVED);
+    }
+
+    private int setStatus(long orderId, byte status) {
+        synchronized (writeLock) {
+            Integer first = firstRows.get(orderId);
+            if (first == null) {
+                return 0;
+            }
+            View current = view;
+            long[] orderIds = current.columns.orderIds;
+            byte[][] statuses = current.statuses.clone();
+            int copied = -1;
+            int row = first;
+            for (; row < current.size && orderIds[row] == orderId; row++) {
+                int chunk = row >>> STATUS_CHUNK_SHIFT;
+                if (chunk != copied) {
+                    statuses[chunk] = statuses[chunk].clone();
+                    copied = chunk;
+                }
+                statuses[chunk][row & STATUS_CHUNK_MASK] = status;
+            }
+            // Scans already running keep the old chunks; scans started from here on see the new statuses
+            view = new View(current.columns, statuses, current.size);
+            return row - first;
+        }
+    }
+
+    public int size() {
+        return view.size;
+    }
+
+    /**
+     * Approximate heap used by the column arrays (allocated capacity, not just used rows)
+     */
+    public long estimatedBytes() {
+        View current = view;
+        return (long) current.columns.capacity() * Columns.BYTES_PER_ROW + (long) current.statuses.length * STATUS_CHUNK_SIZE;
+    }
+
+    /**
+     * Start a scan over the current rows
+     */
+    public Scan scan() {
+        return new Scan(view);
+    }
+
+    private static byte statusAt(byte[][] statuses, int row) {
+        return statuses[row >>> STATUS_CHUNK_SHIFT][row & STATUS_CHUNK_MASK];
+    }
+
+    static long toEpochSecond(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    /**
+     * Filter builder and aggregations over one consistent view of the table
+     */
+    public static final class Scan {
+
+        private final View view;
+        private long sellerId = -1;
+        private long customerId = -1;
+        private int status = -1;
+        private long since = Long.MIN_VALUE;
+        private boolean parallel = true;
+
+        private Scan(View view) {
+            this.view = view;
+        }
+
+        public Scan seller(long sellerId) {
+            this.sellerId = sellerId;
+            return this;
+        }
+
+        public Scan customer(long customerId) {
+            this.customerId = customerId;
+            return this;
+        }
+
+        public Scan status(OrderStatus status) {
+            this.status = status.ordinal();
+            return this;
+        }
+
+        /**
+         * Only orders created strictly after the given time
+         */
+        public Scan createdAfter(LocalDateTime dateTime) {
+            this.since = toEpochSecond(dateTime) + 1;
+            return this;
+        }
+
+        public Scan sequential() {
+            this.parallel = false;
+            return this;
+        }
+
+        /**
+         * Totals over all matching rows
+         */
+        public FactSummary summarize() {
+            Columns c = view.columns;
+            IntPredicate matches = predicate();
+            return rows(matches).collect(FactSummary::new,
+                (summary, row) -> summary.add(firstMatchOfOrder(c, matches, row),
+                    c.quantities[row], c.lineTotalCents[row], c.co2Saved[row], c.plasticSaved[row]),
+                FactSummary::merge);
+        }
+
+        /**
+         * Totals per category id over all matching rows. Each order is counted once,
+         * under the category of its first matching line.
+         */
+        public Map<Long, FactSummary> summarizeByCategory() {
+            Columns c = view.columns;
+            IntPredicate matches = predicate();
+            return rows(matches).collect(HashMap::new,
+                (Map<Long, FactSummary> groups, int row) -> groups.computeIfAbsent(c.categoryIds[row], k -> new FactSummary())
+                    .add(firstMatchOfOrder(c, matches, row),
+                        c.quantities[row], c.lineTotalCents[row], c.co2Saved[row], c.plasticSaved[row]),
+                (left, right) -> right.forEach((key, summary) -> left.merge(key, summary, (a, b) -> {
+                    a.merge(b);
+                    return a;
+                })));
+        }
+
+        // Rows of an order are contiguous, so an order is counted at its first matching row
+        private static boolean firstMatchOfOrder(Columns c, IntPredicate matches, int row) {
+            return row == 0 || c.orderIds[row - 1] != c.orderIds[row] || !matches.test(row - 1);
+        }
+
+        private IntStream rows(IntPredicate matches) {
+            IntStream rows = IntStream.range(0, view.size).filter(matches);
+            return parallel && view.size >= PARALLEL_THRESHOLD ? rows.parallel() : rows;
+        }
+
+        private IntPredicate predicate() {
+            Columns c = view.columns;
+            byte[][] statuses = view.statuses;
+            long sellerId = this.sellerId;
+            long customerId = this.customerId;
+            int status = this.status;
+            long since = this.since;
+            return row -> statusAt(statuses, row) != REMOVED
+                && (status < 0 || statusAt(statuses, row) == status)
+                && (sellerId < 0 || c.sellerIds[row] == sellerId)
+                && (customerId < 0 || c.customerIds[row] == customerId)
+                && c.createdAt[row] >= since;
+        }
+    }
+
+    private record View(Columns columns, byte[][] statuses, int size) {}
+
+    /**
+     * The column arrays other than status; replaced by a larger copy when full
+     */
+    private static final class Columns {
+
+        static final int BYTES_PER_ROW = 7 * Long.BYTES + 2 * Double.BYTES + Integer.BYTES;
+
+        final long[] orderIds;
+        final long[] createdAt;
+        final long[] customerIds;
+        final long[] sellerIds;
+        final long[] productIds;
+        final long[] categoryIds;
+        final int[] quantities;
+        final long[] lineTotalCents;
+        final double[] co2Saved;
+        final double[] plasticSaved;
+
+        Columns(int capacity) {
+            orderIds = new long[capacity];
+            createdAt = new long[capacity];
+            customerIds = new long[capacity];
+            sellerIds = new long[capacity];
+            productIds = new long[capacity];
+            categoryIds = new long[capacity];
+            quantities = new int[capacity];
+            lineTotalCents = new long[capacity];
+            co2Saved = new double[capacity];
+            plasticSaved = new double[capacity];
+        }
+
+        private Columns(Columns from, int capacity) {
+            orderIds = Arrays.copyOf(from.orderIds, capacity);
+            createdAt = Arrays.copyOf(from.createdAt, capacity);
+            customerIds = Arrays.copyOf(from.customerIds, capacity);
+            sellerIds = Arrays.copyOf(from.sellerIds, capacity);
+            productIds = Arrays.copyOf(from.productIds, capacity);
+            categoryIds = Arrays.copyOf(from.categoryIds, capacity);
+            quantities = Arrays.copyOf(from.quantities, capacity);
+            lineTotalCents = Arrays.copyOf(from.lineTotalCents, capacity);
+            co2Saved = Arrays.copyOf(from.co2Saved, capacity);
+            plasticSaved = Arrays.copyOf(from.plasticSaved, capacity);
+        }
+
+        int capacity() {
+            return orderIds.length;
+        }
+
+        Columns ensureCapacity(int rows) {
+            if (rows <= capacity()) {
+                return this;
+            }
+            return new Columns(this, Math.max(rows, capacity() + (capacity() >> 1)));
+        }
+    }
+}
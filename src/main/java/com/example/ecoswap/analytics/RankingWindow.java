@@ -0,0 +1,43 @@
+package com.example.ecoswap.analytics;
+
+import java.time.LocalDateTime;
+
+/**
+ * Look-back window for product rankings.
+ */
+public enum RankingWindow {
+    LAST_7_DAYS(7),
+    LAST_30_DAYS(30),
+    LAST_365_DAYS(365);
+
+    /**
+     * Window used when a request names none or an unsupported one
+     */
+    public static final RankingWindow DEFAULT = LAST_365_DAYS;
+
+    private final int days;
+
+    RankingWindow(int days) {
+        this.days = days;
+    }
+
+    public int getDays() {
+        return days;
+    }
+
+    public LocalDateTime since(LocalDateTime now) {
+        return now.minusDays(days);
+    }
+
+    /**
+     * Window for a day count from a request parameter; missing and unknown values fall back to DEFAULT
+     */
+    public static RankingWindow ofDays(Integer days) {
+        for (RankingWindow window : values()) {
+            if (days != null && window.days == days) {
+                return window;
+            }
+        }
+        return DEFAULT;
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.ecoswap.analytics;
+
+/**
+ * Bounded min-heap keeping the N highest scoring ids.
+ *
+ * Entries are ranked by primary score, then secondary score, then lower id first, so
+ * results are stable. The smallest kept entry sits at the root and is replaced when a
+ * better candidate arrives, giving O(log N) per offer and O(N) memory.
+ */
+public final class TopNHeap {
+
+    private final long[] ids;
+    private final long[] primary;
+    private final long[] secondary;
+    private int size;
+
+    public TopNHeap(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.ids = new long[capacity];
+        this.primary = new long[capacity];
+        this.secondary = new long[capacity];
+    }
+
+    public void offer(long id, long primaryScore, long secondaryScore) {
+        if (size < ids.length) {
+            set(size, id, primaryScore, secondaryScore);
+            siftUp(size++);
+        } else if (ranksAbove(id, primaryScore, secondaryScore, 0)) {
+            set(0, id, primaryScore, secondaryScore);
+            siftDown(0);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Sort the kept entries best first (heap sort in place). The heap must not be offered to afterwards;
+     * read the result with id(i), primary(i) and secondary(i).
+     */
+    public void sortDescending() {
+        int count = size;
+        while (size > 1) {
+            // Move the current minimum behind the shrinking heap
+            swap(0, --size);
+            siftDown(0);
+        }
+        size = count;
+    }
+
+    public long id(int i) { return ids[i]; }
+
+    public long primary(int i) { return primary[i]; }
+
+    public long secondary(int i) { return secondary[i]; }
+
+    private void set(int i, long id, long primaryScore, long secondaryScore) {
+        ids[i] = id;
+        primary[i] = primaryScore;
+        secondary[i] = secondaryScore;
+    }
+
+    // True if the candidate ranks strictly above the entry at index i
+    private boolean ranksAbove(long id, long primaryScore, long secondaryScore, int i) {
+        if (primaryScore != primary[i]) return primaryScore > primary[i];
+        if (secondaryScore != secondary[i]) return secondaryScore > secondary[i];
+        return id < ids[i];
+    }
+
+    private boolean less(int a, int b) {
+        return ranksAbove(ids[b], primary[b], secondary[b], a);
+    }
+
+    private void siftUp(int i) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!less(i, parent)) break;
+            swap(i, parent);
+            i = parent;
+        }
+    }
+
+    private void siftDown(int i) {
+        while (true) {
+            int left = 2 * i + 1;
+            if (left >= size) break;
+            int smallest = left;
+            int right = left + 1;
+            if (right < size && less(right, left)) smallest = right;
+            if (!less(smallest, i)) break;
+            swap(i, smallest);
+            i = smallest;
+        }
+    }
+
+    private void swap(int a, int b) {
+        long id = ids[a], p = primary[a], s = secondary[a];
+        set(a, ids[b], primary[b], secondary[b]);
+        set(b, id, p, s);
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.ecoswap.analytics;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Single-pass sales trend aggregator.
+ *
+ * Covers a fixed window of buckets ending with the bucket that contains the end day.
+ * Each row is mapped to its bucket with O(1) arithmetic and added to primitive
+ * revenue (cents), order and item arrays, so a trend needs one scan of the input
+ * instead of one scan per bucket. Rows outside the window are ignored.
+ */
+public class TrendBucketAggregator {
+
+    private final TrendGranularity granularity;
+    private final LocalDate firstBucket;
+    private final long firstOrdinal;
+
+    private final long[] revenueCents;
+    private final long[] orderCounts;
+    private final long[] itemCounts;
+
+    public TrendBucketAggregator(TrendGranularity granularity, LocalDate endDay, int bucketCount) {
+        if (bucketCount <= 0) {
+            throw new IllegalArgumentException("bucketCount must be positive");
+        }
+        this.granularity = granularity;
+        this.firstBucket = granularity.plus(granularity.bucketStart(endDay), -(bucketCount - 1));
+        this.firstOrdinal = granularity.ordinal(firstBucket);
+        this.revenueCents = new long[bucketCount];
+        this.orderCounts = new long[bucketCount];
+        this.itemCounts = new long[bucketCount];
+    }
+
+    /**
+     * Last 12 calendar months including the current one
+     */
+    public static TrendBucketAggregator lastTwelveMonths(LocalDate today) {
+        return new TrendBucketAggregator(TrendGranularity.MONTH, today, 12);
+    }
+
+    /**
+     * Bucket index for a day, or -1 when the day is outside the window
+     */
+    public int indexOf(LocalDate day) {
+        long index = granularity.ordinal(day) - firstOrdinal;
+        return index >= 0 && index < revenueCents.length ? (int) index : -1;
+    }
+
+    /**
+     * Add pre-aggregated values for a day
+     */
+    public void add(LocalDate day, long revenue, long items, long orders) {
+        int index = indexOf(day);
+        if (index < 0) {
+            return;
+        }
+        revenueCents[index] += revenue;
+        itemCounts[index] += items;
+        orderCounts[index] += orders;
+    }
+
+    public int size() {
+        return revenueCents.length;
+    }
+
+    public TrendGranularity getGranularity() {
+        return granularity;
+    }
+
+    public LocalDate bucketStart(int index) {
+        return granularity.plus(firstBucket, index);
+    }
+
+    public String label(int index) {
+        return granularity.label(bucketStart(index));
+    }
+
+    public long revenueCents(int index) {
+        return revenueCents[index];
+    }
+
+    public long orderCount(int index) {
+        return orderCounts[index];
+    }
+
+    public long itemCount(int index) {
+        return itemCounts[index];
+    }
+
+    // Chart helpers keyed by bucket label, oldest first
+
+    public Map<String, BigDecimal> revenueByLabel() {
+        Map<String, BigDecimal> result = new LinkedHashMap<>();
+        for (int i = 0; i < revenueCents.length; i++) {
+            result.put(label(i), MinorUnits.fromCents(revenueCents[i]));
+        }
+        return result;
+    }
+
+    public Map<String, Long> ordersByLabel() {
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (int i = 0; i < orderCounts.length; i++) {
+            result.put(label(i), orderCounts[i]);
+        }
+        return result;
+    }
+
+    public Map<String, Long> itemsByLabel() {
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (int i = 0; i < itemCounts.length; i++) {
+            result.put(label(i), itemCounts[i]);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.ecoswap.analytics;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * Bucket size for sales trends. Each granularity maps a day to a bucket start
+ * and steps between buckets with plain arithmetic so it can be used in hot loops.
+ * Labels carry the year, so chart maps keyed by label keep one entry per bucket
+ * even when a window spans more than a year.
+ */
+public enum TrendGranularity {
+    DAY(DateTimeFormatter.ofPattern("dd MMM yyyy")),
+    WEEK(DateTimeFormatter.ofPattern("dd MMM yyyy")),
+    MONTH(DateTimeFormatter.ofPattern("MMM yyyy"));
+
+    private final DateTimeFormatter labelFormatter;
+
+    TrendGranularity(DateTimeFormatter labelFormatter) {
+        this.labelFormatter = labelFormatter;
+    }
+
+    /**
+     * First day of the bucket containing the given day (weeks start on Monday)
+     */
+    public LocalDate bucketStart(LocalDate day) {
+        return switch (this) {
+            case DAY -> day;
+            case WEEK -> day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH -> day.withDayOfMonth(1);
+        };
+    }
+
+    /**
+     * Start of the bucket that lies the given number of buckets after start
+     */
+    public LocalDate plus(LocalDate start, long buckets) {
+        return switch (this) {
+            case DAY -> start.plusDays(buckets);
+            case WEEK -> start.plusWeeks(buckets);
+            case MONTH -> start.plusMonths(buckets);
+        };
+    }
+
+    /**
+     * Ordinal of the bucket containing the given day, comparable across calls
+     */
+    long ordinal(LocalDate day) {
+        return switch (this) {
+            case DAY -> day.toEpochDay();
+            // Epoch day 4 (1970-01-05) is a Monday
+            case WEEK -> Math.floorDiv(day.toEpochDay() - 4, 7);
+            case MONTH -> day.getYear() * 12L + day.getMonthValue() - 1;
+        };
+    }
+
+    public String label(LocalDate bucketStart) {
+        return bucketStart.format(labelFormatter);
+    }
+}
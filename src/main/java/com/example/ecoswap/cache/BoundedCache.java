@@ -0,0 +1,354 @@
+package com.example.ecoswap.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ToLongFunction;
+
+/**
+ * Size-bounded concurrent cache with W-TinyLFU eviction.
+ *
+ * New entries enter a small LRU window (1% of the capacity). Entries leaving the window compete
+ * for a place in the main SLRU area (probation, then protected on a second access) against its
+ * least recently used entry; the FrequencySketch keeps whichever has been requested more often,
+ * so a burst of one-off reads (a crawler walking every page) cannot flush the popular entries.
+ *
+ * Reads are a ConcurrentHashMap lookup; the access is recorded only if the policy lock is free,
+ * so readers never wait. Writes and invalidations take the lock. Every invalidation bumps a
+ * generation and stamps the key with it, and a load of that key started before it (see
+ * {@link #generation()}) is not stored, so a value read from the database just before a commit
+ * cannot outlive that commit's invalidation. Loads of other keys are unaffected. Only the last
+ * MAX_INVALIDATION_STAMPS stamps are kept; loads older than a forgotten stamp are dropped for any key.
+ */
+public class BoundedCache<K, V> {
+
+    // Node plus ConcurrentHashMap entry, added to each value's weight
+    private static final long ENTRY_OVERHEAD_BYTES = 96;
+
+    // Keys recently invalidated, with their generation stamp; older stamps collapse into staleBefore
+    static final int MAX_INVALIDATION_STAMPS = 1024;
+
+    private final ConcurrentHashMap<K, Node<K, V>> data = new ConcurrentHashMap<>();
+    private final ReentrantLock policyLock = new ReentrantLock();
+    private final FrequencySketch sketch;
+    private final AccessOrder<K, V> window = new AccessOrder<>();
+    private final AccessOrder<K, V> probation = new AccessOrder<>();
+    private final AccessOrder<K, V> protectedArea = new AccessOrder<>();
+    private final int maximumSize;
+    private final int windowMaximum;
+    private final int protectedMaximum;
+    private final long ttlNanos;
+    private final ToLongFunction<V> weigher;
+
+    // Guarded by policyLock; weightedSize is read without it for statistics
+    private long generation;
+    private long staleBefore;
+    private final LinkedHashMap<K, Long> invalidatedAt = new LinkedHashMap<>();
+    private volatile long weightedSize;
+
+    // Counters exposed through getStatistics()
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+    private final LongAdder staleLoadsDropped = new LongAdder();
+
+    /**
+     * @param weigher estimated retained bytes of a value, reported as memory use
+     */
+    public BoundedCache(int maximumSize, long ttlSeconds, ToLongFunction<V> weigher) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("maximumSize must be positive");
+        }
+        this.maximumSize = maximumSize;
+        this.windowMaximum = Math.max(1, maximumSize / 100);
+        this.protectedMaximum = (int) ((maximumSize - windowMaximum) * 0.8);
+        this.ttlNanos = ttlSeconds * 1_000_000_000L;
+        this.weigher = weigher;
+        this.sketch = new FrequencySketch(maximumSize);
+    }
+
+    /**
+     * The cached value, or null when absent or expired
+     */
+    public V get(K key) {
+        Node<K, V> node = data.get(key);
+        if (node == null) {
+            misses.increment();
+            return null;
+        }
+        if (System.nanoTime() - node.loadedAt > ttlNanos) {
+            misses.increment();
+            policyLock.lock();
+            try {
+                if (data.remove(key, node)) {
+                    unlink(node);
+                    expirations.increment();
+                }
+            } finally {
+                policyLock.unlock();
+            }
+            return null;
+        }
+
+        hits.increment();
+        if (policyLock.tryLock()) {
+            try {
+                sketch.increment(spread(key));
+                if (node.area != null) {
+                    onAccess(node);
+                }
+            } finally {
+                policyLock.unlock();
+            }
+        }
+        return node.value;
+    }
+
+    /**
+     * The cached value without recording an access, or null when absent or expired
+     */
+    public V peek(K key) {
+        Node<K, V> node = data.get(key);
+        return node == null || System.nanoTime() - node.loadedAt > ttlNanos ? null : node.value;
+    }
+
+    /**
+     * Stamp to take before loading a value from its source and pass to {@link #put}
+     */
+    public long generation() {
+        policyLock.lock();
+        try {
+            return generation;
+        } finally {
+            policyLock.unlock();
+        }
+    }
+
+    /**
+     * Store a loaded value unless its key was invalidated since the load's generation stamp.
+     * Returns whether it was stored.
+     */
+    public boolean put(K key, V value, long loadGeneration) {
+        policyLock.lock();
+        try {
+            Long invalidated = invalidatedAt.get(key);
+            if (loadGeneration < staleBefore || (invalidated != null && loadGeneration < invalidated)) {
+                staleLoadsDropped.increment();
+                return false;
+            }
+            Node<K, V> node = new Node<>(key, value, ENTRY_OVERHEAD_BYTES + weigher.applyAsLong(value), System.nanoTime());
+            Node<K, V> previous = data.put(key, node);
+            if (previous != null) {
+                unlink(previous);
+            }
+            sketch.increment(spread(key));
+            window.addLast(node);
+            weightedSize += node.weight;
+            evict();
+            return true;
+        } finally {
+            policyLock.unlock();
+        }
+    }
+
+    public void invalidate(K key) {
+        policyLock.lock();
+        try {
+            generation++;
+            invalidatedAt.remove(key);
+            invalidatedAt.put(key, generation);
+            if (invalidatedAt.size() > MAX_INVALIDATION_STAMPS) {
+                Iterator<Long> oldest = invalidatedAt.values().iterator();
+                staleBefore = oldest.next();
+                oldest.remove();
+            }
+            Node<K, V> node = data.remove(key);
+            if (node != null) {
+                unlink(node);
+                invalidations.increment();
+            }
+        } finally {
+            policyLock.unlock();
+        }
+    }
+
+    public void invalidateAll() {
+        policyLock.lock();
+        try {
+            generation++;
+            staleBefore = generation;
+            invalidatedAt.clear();
+            invalidations.add(data.size());
+            data.clear();
+            window.clear();
+            probation.clear();
+            protectedArea.clear();
+            weightedSize = 0;
+        } finally {
+            policyLock.unlock();
+        }
+    }
+
+    public int size() {
+        return data.size();
+    }
+
+    /**
+     * Hit rate, eviction and estimated memory counters for monitoring
+     */
+    public Map<String, Object> getStatistics() {
+        long hitCount = hits.sum();
+        long requests = hitCount + misses.sum();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("entries", data.size());
+        stats.put("maximumSize", maximumSize);
+        stats.put("hits", hitCount);
+        stats.put("misses", requests - hitCount);
+        stats.put("hitRate", requests == 0 ? 0.0 : (double) hitCount / requests);
+        stats.put("evictions", evictions.sum());
+        stats.put("expirations", expirations.sum());
+        stats.put("invalidations", invalidations.sum());
+        stats.put("staleLoadsDropped", staleLoadsDropped.sum());
+        stats.put("estimatedBytes", weightedSize + sketch.sizeInBytes());
+        stats.put("ttlSeconds", ttlNanos / 1_000_000_000L);
+        return stats;
+    }
+
+    // Window hits move to its MRU end, probation hits are promoted, protected overflow is demoted
+    private void onAccess(Node<K, V> node) {
+        if (node.area == probation) {
+            probation.remove(node);
+            protectedArea.addLast(node);
+            while (protectedArea.size > protectedMaximum) {
+                probation.addLast(protectedArea.removeFirst());
+            }
+        } else {
+            node.area.moveToLast(node);
+        }
+    }
+
+    // The window's LRU entry becomes a candidate for the main area; over capacity, the less frequent
+    // of the candidate and the main area's LRU victim is dropped
+    private void evict() {
+        Node<K, V> candidate = null;
+        while (window.size > windowMaximum) {
+            candidate = window.removeFirst();
+            probation.addLast(candidate);
+        }
+        while (data.size() > maximumSize) {
+            Node<K, V> victim = probation.size > 0 ? probation.first() : protectedArea.first();
+            Node<K, V> evicted = victim;
+            if (candidate != null && candidate != victim
+                    && sketch.frequency(spread(candidate.key)) <= sketch.frequency(spread(victim.key))) {
+                evicted = candidate;
+            }
+            if (evicted == candidate) {
+                candidate = null;
+            }
+            data.remove(evicted.key, evicted);
+            unlink(evicted);
+            evictions.increment();
+        }
+    }
+
+    private void unlink(Node<K, V> node) {
+        if (node.area != null) {
+            node.area.remove(node);
+            weightedSize -= node.weight;
+        }
+    }
+
+    private static int spread(Object key) {
+        int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    private static final class Node<K, V> {
+        final K key;
+        final V value;
+        final long weight;
+        final long loadedAt;
+        AccessOrder<K, V> area;
+        Node<K, V> previous;
+        Node<K, V> next;
+
+        Node(K key, V value, long weight, long loadedAt) {
+            this.key = key;
+            this.value = value;
+            this.weight = weight;
+            this.loadedAt = loadedAt;
+        }
+    }
+
+    // Intrusive doubly linked list, least recently used first
+    private static final class AccessOrder<K, V> {
+        Node<K, V> head;
+        Node<K, V> tail;
+        int size;
+
+        Node<K, V> first() {
+            return head;
+        }
+
+        void addLast(Node<K, V> node) {
+            node.area = this;
+            node.previous = tail;
+            node.next = null;
+            if (tail == null) {
+                head = node;
+            } else {
+                tail.next = node;
+            }
+            tail = node;
+            size++;
+        }
+
+        Node<K, V> removeFirst() {
+            Node<K, V> node = head;
+            remove(node);
+            return node;
+        }
+
+        void moveToLast(Node<K, V> node) {
+            if (node != tail) {
+                remove(node);
+                addLast(node);
+            }
+        }
+
+        void remove(Node<K, V> node) {
+            if (node.previous == null) {
+                head = node.next;
+            } else {
+                node.previous.next = node.next;
+            }
+            if (node.next == null) {
+                tail = node.previous;
+            } else {
+                node.next.previous = node.previous;
+            }
+            node.previous = null;
+            node.next = null;
+            node.area = null;
+            size--;
+        }
+
+        void clear() {
+            for (Node<K, V> node = head; node != null; ) {
+                Node<K, V> next = node.next;
+                node.previous = null;
+                node.next = null;
+                node.area = null;
+                node = next;
+            }
+            head = null;
+            tail = null;
+            size = 0;
+        }
+    }
+}
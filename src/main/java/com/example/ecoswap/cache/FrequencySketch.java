@@ -0,0 +1,64 @@
+package com.example.ecoswap.cache;
+
+/**
+ * Count-min sketch of 4-bit-saturating access counters, the TinyLFU popularity estimate.
+ *
+ * Each key increments one counter in each of four hashed slots; its frequency is the smallest of
+ * them. Once the sample size is reached every counter is halved, so old popularity fades.
+ * Not thread-safe: BoundedCache only touches it under its policy lock.
+ */
+final class FrequencySketch {
+
+    private static final int MAX_COUNT = 15;
+    private static final int[] SEEDS = {0x97cb3127, 0xc3a5c85c, 0x7a646e4d, 0x9e3779b9};
+
+    private final byte[] table;
+    private final int mask;
+    private final int sampleSize;
+    private int additions;
+
+    FrequencySketch(int maximumSize) {
+        int slots = Integer.highestOneBit(Math.max(16, maximumSize) * 4 - 1) << 1;
+        this.table = new byte[slots];
+        this.mask = slots - 1;
+        this.sampleSize = 10 * Math.max(16, maximumSize);
+    }
+
+    int frequency(int hash) {
+        int frequency = MAX_COUNT;
+        for (int seed : SEEDS) {
+            frequency = Math.min(frequency, table[index(hash, seed)]);
+        }
+        return frequency;
+    }
+
+    void increment(int hash) {
+        boolean added = false;
+        for (int seed : SEEDS) {
+            int index = index(hash, seed);
+            if (table[index] < MAX_COUNT) {
+                table[index]++;
+                added = true;
+            }
+        }
+        if (added && ++additions == sampleSize) {
+            reset();
+        }
+    }
+
+    int sizeInBytes() {
+        return table.length;
+    }
+
+    private void reset() {
+        for (int i = 0; i < table.length; i++) {
+            table[i] >>= 1;
+        }
+        additions /= 2;
+    }
+
+    private int index(int hash, int seed) {
+        int h = (hash ^ seed) * 0x9e3779b9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+}
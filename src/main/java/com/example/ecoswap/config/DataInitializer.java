@@ -1,39 +1,50 @@
 package com.example.ecoswap.config;
 
+import com.example.ecoswap.model.AchievementRule;
 import com.example.ecoswap.model.User;
+import com.example.ecoswap.model.enums.AchievementMetric;
 import com.example.ecoswap.model.enums.Role;
+import com.example.ecoswap.repository.AchievementRuleRepository;
 import com.example.ecoswap.repository.UserRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 /**
- * DataInitializer - Creates default admin user on application startup
- * Runs only once when no admin user exists in the database
+ * DataInitializer - Creates default admin user and achievement rules on application startup
+ * Each runs only once, when no admin user / no achievement rule exists in the database
  */
 @Component
+@Order(1)
 public class DataInitializer implements CommandLineRunner {
 
     private static final Logger logger = LoggerFactory.getLogger(DataInitializer.class);
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final AchievementRuleRepository achievementRuleRepository;
 
     // Default admin credentials (change password after first login!)
     private static final String ADMIN_EMAIL = "admin@ecoswap.com";
     private static final String ADMIN_PASSWORD = "admin123";  // CHANGE THIS AFTER FIRST LOGIN
     private static final String ADMIN_NAME = "Admin User";
 
-    public DataInitializer(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    public DataInitializer(UserRepository userRepository, PasswordEncoder passwordEncoder,
+                           AchievementRuleRepository achievementRuleRepository) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.achievementRuleRepository = achievementRuleRepository;
     }
 
     @Override
     public void run(String... args) throws Exception {
         createAdminUserIfNotExists();
+        createAchievementRulesIfNotExist();
     }
 
     /**
@@ -68,4 +79,30 @@ public class DataInitializer implements CommandLineRunner {
             logger.info("Admin user already exists. Skipping admin creation.");
         }
     }
+
+    /**
+     * Seeds the default achievement rules; after that they are managed as data in achievement_rules.
+     * Also called by SalesRollupRebuildRunner before it evaluates the rebuilt ledgers.
+     */
+    void createAchievementRulesIfNotExist() {
+        if (achievementRuleRepository.count() > 0) {
+            return;
+        }
+
+        achievementRuleRepository.saveAll(List.of(
+            new AchievementRule("FIRST_STEP", "🌱", "First Step", "Made your first eco-friendly purchase",
+                AchievementMetric.ITEMS_PURCHASED, 1, 10),
+            new AchievementRule("GREEN_WARRIOR", "🌿", "Green Warrior", "Purchased 10+ sustainable products",
+                AchievementMetric.ITEMS_PURCHASED, 10, 20),
+            new AchievementRule("PLANET_PROTECTOR", "🌍", "Planet Protector", "Saved 100kg+ of CO₂ emissions",
+                AchievementMetric.CO2_SAVED, 100, 30),
+            new AchievementRule("PLASTIC_WARRIOR", "♻️", "Plastic Warrior", "Prevented 1kg+ of plastic waste",
+                AchievementMetric.PLASTIC_SAVED, 1000, 40),
+            new AchievementRule("ECO_CHAMPION", "🌟", "Eco Champion", "Purchase 50+ sustainable products",
+                AchievementMetric.ITEMS_PURCHASED, 50, 50),
+            new AchievementRule("FOREST_SAVER", "🌲", "Forest Saver", "Save 500kg+ of CO₂ emissions",
+                AchievementMetric.CO2_SAVED, 500, 60)
+        ));
+        logger.info("Default achievement rules created");
+    }
 }
@@ -0,0 +1,144 @@
+package com.example.ecoswap.config;
+
+import com.example.ecoswap.model.AnalyticsRebuild;
+import com.example.ecoswap.repository.AnalyticsRebuildRepository;
+import com.example.ecoswap.services.AchievementService;
+import com.example.ecoswap.services.CategoryRevenueService;
+import com.example.ecoswap.services.CustomerImpactLedgerService;
+import com.example.ecoswap.services.LeaderboardService;
+import com.example.ecoswap.services.OrderItemSnapshotBackfillService;
+import com.example.ecoswap.services.PlatformImpactCounters;
+import com.example.ecoswap.services.ProductSalesCounter;
+import com.example.ecoswap.services.SellerCustomerSketchService;
+import com.example.ecoswap.services.SellerSalesRollupService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.LongSupplier;
+
+/**
+ * SalesRollupRebuildRunner - Rebuilds the analytics stores from existing order items on startup:
+ * - impact snapshots on old order items
+ * - seller_daily_sales rollup
+ * - seller customer sketches
+ * - category revenue series
+ * - customer impact ledgers, and the achievements they now unlock
+ * - platform impact counters
+ * - impact leaderboards
+ * - product sales counts
+ * Each store is rebuilt once, when analytics_rebuilds has no row for it yet (a new database, or an existing one
+ * upgraded to a version that adds the store). It runs after every bean is created and before the web server
+ * starts, so no delivery can change a store while it is rebuilt.
+ * --rebuild-sales-rollup rebuilds every store again, --backfill-order-item-snapshots the snapshots again.
+ * Disable with ecoswap.analytics.rebuild-on-startup=false.
+ */
+@Component
+public class SalesRollupRebuildRunner implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(SalesRollupRebuildRunner.class);
+
+    private static final String REBUILD_OPTION = "rebuild-sales-rollup";
+    private static final String BACKFILL_OPTION = "backfill-order-item-snapshots";
+    private static final String SNAPSHOTS = "order-item-snapshots";
+
+    private final ApplicationArguments args;
+    private final boolean enabled;
+    private final AnalyticsRebuildRepository rebuildRepository;
+    private final DataInitializer dataInitializer;
+    private final OrderItemSnapshotBackfillService snapshotBackfillService;
+    private final SellerSalesRollupService sellerSalesRollupService;
+    private final SellerCustomerSketchService sellerCustomerSketchService;
+    private final CategoryRevenueService categoryRevenueService;
+    private final CustomerImpactLedgerService customerImpactLedgerService;
+    private final AchievementService achievementService;
+    private final PlatformImpactCounters platformImpactCounters;
+    private final LeaderboardService leaderboardService;
+    private final ProductSalesCounter productSalesCounter;
+
+    public SalesRollupRebuildRunner(ApplicationArguments args,
+                                    @Value("${ecoswap.analytics.rebuild-on-startup:true}") boolean enabled,
+                                    AnalyticsRebuildRepository rebuildRepository,
+                                    DataInitializer dataInitializer,
+                                    OrderItemSnapshotBackfillService snapshotBackfillService,
+                                    SellerSalesRollupService sellerSalesRollupService,
+                                    SellerCustomerSketchService sellerCustomerSketchService,
+                                    CategoryRevenueService categoryRevenueService,
+                                    CustomerImpactLedgerService customerImpactLedgerService,
+                                    AchievementService achievementService,
+                                    PlatformImpactCounters platformImpactCounters,
+                                    LeaderboardService leaderboardService,
+                                    ProductSalesCounter productSalesCounter) {
+        this.args = args;
+        this.enabled = enabled;
+        this.rebuildRepository = rebuildRepository;
+        this.dataInitializer = dataInitializer;
+        this.snapshotBackfillService = snapshotBackfillService;
+        this.sellerSalesRollupService = sellerSalesRollupService;
+        this.sellerCustomerSketchService = sellerCustomerSketchService;
+        this.categoryRevenueService = categoryRevenueService;
+        this.customerImpactLedgerService = customerImpactLedgerService;
+        this.achievementService = achievementService;
+        this.platformImpactCounters = platformImpactCounters;
+        this.leaderboardService = leaderboardService;
+        this.productSalesCounter = productSalesCounter;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!enabled) {
+            return;
+        }
+        Set<String> rebuilt = new HashSet<>();
+        if (!args.containsOption(REBUILD_OPTION)) {
+            rebuildRepository.findAll().forEach(marker -> rebuilt.add(marker.getStore()));
+        }
+        if (args.containsOption(BACKFILL_OPTION)) {
+            rebuilt.remove(SNAPSHOTS);
+        }
+
+        // Rebuilds read the snapshots, so old order items are filled in first
+        rebuild(SNAPSHOTS, rebuilt, snapshotBackfillService::backfill,
+            "Order item impact snapshots backfilled: {} rows in {} ms");
+        rebuild("seller-daily-sales", rebuilt, sellerSalesRollupService::rebuild,
+            "Seller sales rollup rebuilt: {} rows in {} ms");
+        rebuild("seller-customer-sketches", rebuilt, sellerCustomerSketchService::rebuild,
+            "Seller customer sketches rebuilt: {} sketches in {} ms");
+        rebuild("category-monthly-revenue", rebuilt, categoryRevenueService::rebuild,
+            "Category revenue series rebuilt: {} rows in {} ms");
+        rebuild("customer-impact-ledgers", rebuilt, customerImpactLedgerService::rebuild,
+            "Customer impact ledgers rebuilt: {} customers in {} ms");
+        // Evaluated against the default rules even on the first start, before DataInitializer would seed them
+        rebuild("customer-achievements", rebuilt, () -> {
+                dataInitializer.createAchievementRulesIfNotExist();
+                return achievementService.evaluateAll();
+            },
+            "Achievements evaluated: {} newly unlocked in {} ms");
+        rebuild("platform-impact", rebuilt, () -> {
+                platformImpactCounters.rebuild();
+                return platformImpactCounters.getDeliveredOrders();
+            },
+            "Platform impact counters rebuilt: {} delivered orders in {} ms");
+        rebuild("leaderboards", rebuilt, leaderboardService::rebuild,
+            "Impact leaderboards rebuilt: {} scores in {} ms");
+        rebuild("product-sales-counts", rebuilt, productSalesCounter::rebuild,
+            "Product sales counts rebuilt: {} products in {} ms");
+    }
+
+    // Rebuild one store unless it is marked as rebuilt, then mark it
+    private void rebuild(String store, Set<String> rebuilt, LongSupplier rebuild, String message) {
+        if (rebuilt.contains(store)) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        long count = rebuild.getAsLong();
+        rebuildRepository.save(new AnalyticsRebuild(store, LocalDateTime.now()));
+        logger.info(message, count, System.currentTimeMillis() - start);
+    }
+}
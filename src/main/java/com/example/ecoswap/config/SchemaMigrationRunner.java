@@ -0,0 +1,204 @@
+package com.example.ecoswap.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.EncodedResource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.zip.CRC32;
+
+/**
+ * SchemaMigrationRunner - Applies versioned SQL migrations from classpath:db/migration on startup
+ * Scripts follow Flyway's naming (V<version>__<description>.sql) and run once each, in version order, before the
+ * EntityManagerFactory starts (and so before Hibernate's ddl-auto=update and any request); applied versions are
+ * recorded in schema_migrations. V0 is the baseline schema: a database that already has tables is recorded at V0
+ * without running it. A failing script stops startup, except a failed DROP; an ADD COLUMN of a column the table
+ * already has is skipped (MySQL has neither DROP INDEX nor ADD COLUMN IF EXISTS).
+ * Disable with ecoswap.schema.migrations.enabled=false.
+ */
+@Component
+public class SchemaMigrationRunner implements InitializingBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(SchemaMigrationRunner.class);
+
+    private static final String LOCATION = "classpath:db/migration/V*__*.sql";
+    private static final Pattern FILE_NAME = Pattern.compile("V(\\d+)__(.+)\\.sql");
+    private static final Pattern ADD_COLUMN = Pattern.compile("^ALTER TABLE (\\w+) ADD COLUMN (\\w+)[^;]*;",
+        Pattern.CASE_INSENSITIVE | Pattern.MULTILINE);
+    private static final int BASELINE_VERSION = 0;
+    private static final String HISTORY_TABLE = "schema_migrations";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+
+    public SchemaMigrationRunner(JdbcTemplate jdbcTemplate,
+                                 @Value("${ecoswap.schema.migrations.enabled:true}") boolean enabled) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+    }
+
+    @Override
+    public void afterPropertiesSet() throws IOException {
+        if (enabled) {
+            migrate();
+        }
+    }
+
+    /**
+     * Apply every migration not recorded yet, in version order. Returns the number applied.
+     */
+    public int migrate() throws IOException {
+        boolean existingSchema = hasTables();
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS schema_migrations (version INT NOT NULL PRIMARY KEY, "
+            + "description VARCHAR(200) NOT NULL, checksum BIGINT NOT NULL, installed_at TIMESTAMP NOT NULL)");
+        Map<Integer, Long> applied = jdbcTemplate.query("SELECT version, checksum FROM schema_migrations",
+                (row, rowNum) -> Map.entry(row.getInt(1), row.getLong(2)))
+            .stream().collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+
+        int count = 0;
+        for (Migration migration : findMigrations()) {
+            Long checksum = applied.get(migration.version);
+            if (checksum != null) {
+                if (checksum != migration.checksum) {
+                    logger.warn("Migration V{} ({}) changed after it was applied", migration.version, migration.description);
+                }
+                continue;
+            }
+            if (migration.version == BASELINE_VERSION && existingSchema) {
+                record(migration);
+                logger.info("Recorded existing schema as baseline V{} ({})", migration.version, migration.description);
+                continue;
+            }
+
+            long start = System.currentTimeMillis();
+            String script = withoutExistingColumns(migration);
+            if (hasStatements(script)) {
+                Resource resource = new ByteArrayResource(script.getBytes(StandardCharsets.UTF_8), migration.resource.getDescription());
+                jdbcTemplate.execute((Connection connection) -> {
+                    ScriptUtils.executeSqlScript(connection, new EncodedResource(resource), false, true,
+                        ScriptUtils.DEFAULT_COMMENT_PREFIX, ScriptUtils.DEFAULT_STATEMENT_SEPARATOR,
+                        ScriptUtils.DEFAULT_BLOCK_COMMENT_START_DELIMITER, ScriptUtils.DEFAULT_BLOCK_COMMENT_END_DELIMITER);
+                    return null;
+                });
+            }
+            record(migration);
+            logger.info("Applied migration V{} ({}) in {} ms", migration.version, migration.description,
+                System.currentTimeMillis() - start);
+            count++;
+        }
+        return count;
+    }
+
+    private void record(Migration migration) {
+        jdbcTemplate.update("INSERT INTO schema_migrations (version, description, checksum, installed_at) VALUES (?, ?, ?, ?)",
+            migration.version, migration.description, migration.checksum, LocalDateTime.now());
+    }
+
+    // The script minus the ADD COLUMN statements for columns that already exist
+    private String withoutExistingColumns(Migration migration) throws IOException {
+        Matcher statement = ADD_COLUMN.matcher(migration.resource.getContentAsString(StandardCharsets.UTF_8));
+        StringBuilder script = new StringBuilder();
+        while (statement.find()) {
+            statement.appendReplacement(script, hasColumn(statement.group(1), statement.group(2)) ? "" : "$0");
+        }
+        statement.appendTail(script);
+        return script.toString();
+    }
+
+    // Anything left besides comments (a migration whose columns all exist already has nothing to run)
+    private static boolean hasStatements(String script) {
+        return script.lines().map(String::strip).anyMatch(line -> !line.isEmpty() && !line.startsWith("--"));
+    }
+
+    private boolean hasColumn(String table, String column) {
+        return Boolean.TRUE.equals(jdbcTemplate.execute((Connection connection) -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            boolean upperCase = metaData.storesUpperCaseIdentifiers();
+            try (ResultSet columns = metaData.getColumns(connection.getCatalog(), connection.getSchema(),
+                    upperCase ? table.toUpperCase(Locale.ROOT) : table, upperCase ? column.toUpperCase(Locale.ROOT) : column)) {
+                return columns.next();
+            }
+        }));
+    }
+
+    // Whether the database already has tables of its own (built by ddl-auto=update before migrations ran first)
+    private boolean hasTables() {
+        return Boolean.TRUE.equals(jdbcTemplate.execute((Connection connection) -> {
+            try (ResultSet tables = connection.getMetaData().getTables(connection.getCatalog(), connection.getSchema(), "%", null)) {
+                while (tables.next()) {
+                    String type = tables.getString("TABLE_TYPE");
+                    if (type != null && type.endsWith("TABLE") && !type.startsWith("SYSTEM")
+                            && !HISTORY_TABLE.equalsIgnoreCase(tables.getString("TABLE_NAME"))) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+        }));
+    }
+
+    private static List<Migration> findMigrations() throws IOException {
+        List<Migration> migrations = new ArrayList<>();
+        for (Resource resource : new PathMatchingResourcePatternResolver().getResources(LOCATION)) {
+            Matcher name = FILE_NAME.matcher(resource.getFilename() != null ? resource.getFilename() : "");
+            if (!name.matches()) {
+                throw new IllegalStateException("Unexpected migration file name: " + resource.getFilename());
+            }
+            migrations.add(new Migration(Integer.parseInt(name.group(1)), name.group(2).replace('_', ' '), resource));
+        }
+        migrations.sort(Comparator.comparingInt(migration -> migration.version));
+        return migrations;
+    }
+
+    /**
+     * Makes the EntityManagerFactory wait for the migrations
+     */
+    @Component
+    static class EntityManagerFactoryDependsOnMigrations extends EntityManagerFactoryDependsOnPostProcessor {
+
+        EntityManagerFactoryDependsOnMigrations() {
+            super(SchemaMigrationRunner.class);
+        }
+    }
+
+    private static final class Migration {
+        final int version;
+        final String description;
+        final Resource resource;
+        final long checksum;
+
+        Migration(int version, String description, Resource resource) throws IOException {
+            this.version = version;
+            this.description = description;
+            this.resource = resource;
+            CRC32 crc = new CRC32();
+            try (InputStream in = resource.getInputStream()) {
+                crc.update(in.readAllBytes());
+            }
+            this.checksum = crc.getValue();
+        }
+    }
+}
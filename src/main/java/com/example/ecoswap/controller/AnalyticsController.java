@@ -1,23 +1,36 @@
 package com.example.ecoswap.controller;
 
-import com.example.ecoswap.model.Order;
-import com.example.ecoswap.model.OrderItem;
+import com.example.ecoswap.analytics.FactSummary;
+import com.example.ecoswap.analytics.MinorUnits;
+import com.example.ecoswap.analytics.RankingWindow;
+import com.example.ecoswap.analytics.TrendBucketAggregator;
+import com.example.ecoswap.analytics.TrendGranularity;
+import com.example.ecoswap.dtos.MonthlyRevenueDTO;
+import com.example.ecoswap.dtos.StatusCountDTO;
 import com.example.ecoswap.model.Product;
+import com.example.ecoswap.model.SellerDailySales;
 import com.example.ecoswap.model.User;
 import com.example.ecoswap.model.enums.OrderStatus;
 import com.example.ecoswap.repository.OrderRepository;
 import com.example.ecoswap.repository.ProductRepository;
 import com.example.ecoswap.repository.UserRepository;
 import com.example.ecoswap.security.CustomUserDetails;
+import com.example.ecoswap.services.CategoryRevenueService;
+import com.example.ecoswap.services.OrderItemFactStore;
+import com.example.ecoswap.services.ProductRankingService;
+import com.example.ecoswap.services.SellerCustomerSketchService;
+import com.example.ecoswap.services.SellerSalesRollupService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.time.YearMonth;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -34,106 +47,106 @@ public class AnalyticsController {
     @Autowired
     private UserRepository userRepository;
 
-    /**
-     * Seller Analytics Dashboard
-     */
-    @GetMapping("/seller/analytics")
-    public String sellerAnalytics(@AuthenticationPrincipal CustomUserDetails userDetails, Model model) {
-        User user = userDetails.getUser();
-        Long sellerId = user.getId();
+    @Autowired
+    private SellerSalesRollupService sellerSalesRollupService;
 
-        // Get all orders containing seller's products
-        List<Order> allOrders = orderRepository.findAll().stream()
-            .filter(order -> order.getOrderItems().stream()
-                .anyMatch(item -> item.getSeller().getId().equals(sellerId)))
-            .collect(Collectors.toList());
+    @Autowired
+    private ProductRankingService productRankingService;
 
-        // Filter by status
-        List<Order> deliveredOrders = allOrders.stream()
-            .filter(o -> o.getStatus() == OrderStatus.DELIVERED)
-            .collect(Collectors.toList());
+    @Autowired
+    private SellerCustomerSketchService sellerCustomerSketchService;
 
-        List<Order> pendingOrders = allOrders.stream()
-            .filter(o -> o.getStatus() == OrderStatus.PENDING)
-            .collect(Collectors.toList());
+    @Autowired
+    private CategoryRevenueService categoryRevenueService;
 
-        List<Order> confirmedOrders = allOrders.stream()
-            .filter(o -> o.getStatus() == OrderStatus.CONFIRMED)
-            .collect(Collectors.toList());
+    // Only present when ecoswap.analytics.fact-store.enabled=true
+    @Autowired(required = false)
+    private OrderItemFactStore factStore;
 
-        List<Order> shippedOrders = allOrders.stream()
-            .filter(o -> o.getStatus() == OrderStatus.SHIPPED)
-            .collect(Collectors.toList());
+    private boolean factStoreReady() {
+        return factStore != null && factStore.isReady();
+    }
 
-        List<Order> cancelledOrders = allOrders.stream()
-            .filter(o -> o.getStatus() == OrderStatus.CANCELLED)
-            .collect(Collectors.toList());
+    /**
+     * Seller Analytics Dashboard
+     */
+    @GetMapping("/seller/analytics")
+    public String sellerAnalytics(@AuthenticationPrincipal CustomUserDetails userDetails,
+                                  @RequestParam(value = "window", required = false) Integer windowDays,
+                                  Model model) {
+        User user = userDetails.getUser();
+        Long sellerId = user.getId();
+        RankingWindow rankingWindow = RankingWindow.ofDays(windowDays);
 
-        // Calculate revenue statistics
-        BigDecimal totalRevenue = deliveredOrders.stream()
-            .flatMap(order -> order.getOrderItems().stream())
-            .filter(item -> item.getSeller().getId().equals(sellerId))
-            .map(OrderItem::getLineTotal)
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
+        // Order counts by status (one grouped query instead of loading every order)
+        Map<OrderStatus, Long> statusCounts = new EnumMap<>(OrderStatus.class);
+        for (StatusCountDTO statusCount : orderRepository.countOrdersBySellerGroupByStatus(sellerId)) {
+            statusCounts.put(statusCount.getStatus(), statusCount.getCount());
+        }
+        long totalOrders = statusCounts.values().stream().mapToLong(Long::longValue).sum();
+        long deliveredOrders = statusCounts.getOrDefault(OrderStatus.DELIVERED, 0L);
+        long pendingOrders = statusCounts.getOrDefault(OrderStatus.PENDING, 0L);
+
+        // All-time totals from the daily sales rollup
+        Map<String, Object> totals = sellerSalesRollupService.getSellerTotals(sellerId);
+        BigDecimal totalRevenue = (BigDecimal) totals.get("revenue");
+        long totalItemsSold = (Long) totals.get("itemsSold");
+
+        // Rollup rows for the last 12 months (at most one row per day and category)
+        LocalDate today = LocalDate.now();
+        LocalDate trendStart = today.minusMonths(11).withDayOfMonth(1);
+        List<SellerDailySales> dailySales = sellerSalesRollupService.getDailySales(sellerId, trendStart);
+
+        BigDecimal monthlyRevenue;
+        BigDecimal weeklyRevenue;
+        long monthlyItemsSold;
+
+        if (factStoreReady()) {
+            // Exact rolling windows from the columnar fact store
+            LocalDateTime now = LocalDateTime.now();
+            FactSummary lastThirtyDays = factStore.scan().seller(sellerId).status(OrderStatus.DELIVERED)
+                .createdAfter(now.minusDays(30)).summarize();
+            FactSummary lastSevenDays = factStore.scan().seller(sellerId).status(OrderStatus.DELIVERED)
+                .createdAfter(now.minusDays(7)).summarize();
+
+            monthlyRevenue = lastThirtyDays.getLineTotal();
+            weeklyRevenue = lastSevenDays.getLineTotal();
+            monthlyItemsSold = lastThirtyDays.getQuantity();
+        } else {
+            // Monthly revenue (last 30 days)
+            LocalDate thirtyDaysAgo = today.minusDays(30);
+            monthlyRevenue = dailySales.stream()
+                .filter(d -> d.getSalesDate().isAfter(thirtyDaysAgo))
+                .map(SellerDailySales::getRevenue)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
 
-        // Monthly revenue (last 30 days)
-        LocalDateTime thirtyDaysAgo = LocalDateTime.now().minus(30, ChronoUnit.DAYS);
-        BigDecimal monthlyRevenue = deliveredOrders.stream()
-            .filter(o -> o.getCreatedAt().isAfter(thirtyDaysAgo))
-            .flatMap(order -> order.getOrderItems().stream())
-            .filter(item -> item.getSeller().getId().equals(sellerId))
-            .map(OrderItem::getLineTotal)
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
+            // Weekly revenue (last 7 days)
+            LocalDate sevenDaysAgo = today.minusDays(7);
+            weeklyRevenue = dailySales.stream()
+                .filter(d -> d.getSalesDate().isAfter(sevenDaysAgo))
+                .map(SellerDailySales::getRevenue)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
 
-        // Weekly revenue (last 7 days)
-        LocalDateTime sevenDaysAgo = LocalDateTime.now().minus(7, ChronoUnit.DAYS);
-        BigDecimal weeklyRevenue = deliveredOrders.stream()
-            .filter(o -> o.getCreatedAt().isAfter(sevenDaysAgo))
-            .flatMap(order -> order.getOrderItems().stream())
-            .filter(item -> item.getSeller().getId().equals(sellerId))
-            .map(OrderItem::getLineTotal)
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
+            // Items sold statistics
+            monthlyItemsSold = dailySales.stream()
+                .filter(d -> d.getSalesDate().isAfter(thirtyDaysAgo))
+                .mapToLong(SellerDailySales::getItemsSold)
+                .sum();
+        }
 
         // Daily average revenue
         long daysSinceFirstOrder = 1;
-        if (!deliveredOrders.isEmpty()) {
-            LocalDateTime firstOrderDate = deliveredOrders.stream()
-                .map(Order::getCreatedAt)
-                .min(LocalDateTime::compareTo)
-                .orElse(LocalDateTime.now());
-            daysSinceFirstOrder = Math.max(1, ChronoUnit.DAYS.between(firstOrderDate, LocalDateTime.now()));
+        LocalDate firstSaleDate = (LocalDate) totals.get("firstSaleDate");
+        if (firstSaleDate != null) {
+            daysSinceFirstOrder = Math.max(1, ChronoUnit.DAYS.between(firstSaleDate, today));
         }
         BigDecimal dailyAvgRevenue = totalRevenue.divide(
             BigDecimal.valueOf(daysSinceFirstOrder), 2, BigDecimal.ROUND_HALF_UP
         );
 
-        // Items sold statistics
-        long totalItemsSold = deliveredOrders.stream()
-            .flatMap(order -> order.getOrderItems().stream())
-            .filter(item -> item.getSeller().getId().equals(sellerId))
-            .mapToLong(OrderItem::getQuantity)
-            .sum();
-
-        long monthlyItemsSold = deliveredOrders.stream()
-            .filter(o -> o.getCreatedAt().isAfter(thirtyDaysAgo))
-            .flatMap(order -> order.getOrderItems().stream())
-            .filter(item -> item.getSeller().getId().equals(sellerId))
-            .mapToLong(OrderItem::getQuantity)
-            .sum();
-
-        // Customer statistics
-        long uniqueCustomers = deliveredOrders.stream()
-            .map(Order::getCustomer)
-            .map(User::getId)
-            .distinct()
-            .count();
-
-        long newCustomersThisMonth = deliveredOrders.stream()
-            .filter(o -> o.getCreatedAt().isAfter(thirtyDaysAgo))
-            .map(Order::getCustomer)
-            .map(User::getId)
-            .distinct()
-            .count();
+        // Customer statistics (HyperLogLog estimates, about 0.8% standard error)
+        long uniqueCustomers = sellerCustomerSketchService.estimateDistinctCustomers(sellerId);
+        long newCustomersThisMonth = sellerCustomerSketchService.estimateDistinctCustomers(sellerId, YearMonth.from(today));
 
         // Product statistics
         List<Product> allProducts = productRepository.findBySellerId(sellerId);
@@ -141,90 +154,44 @@ public class AnalyticsController {
         long activeProducts = allProducts.stream().filter(p -> p.getStock() > 0).count();
         long outOfStock = allProducts.stream().filter(p -> p.getStock() == 0).count();
 
-        // Best selling products (top 5 by quantity sold)
-        Map<Long, Long> productSalesCount = new HashMap<>();
-        Map<Long, BigDecimal> productSalesRevenue = new HashMap<>();
-
-        deliveredOrders.stream()
-            .flatMap(order -> order.getOrderItems().stream())
-            .filter(item -> item.getSeller().getId().equals(sellerId))
-            .forEach(item -> {
-                Long productId = item.getProduct().getId();
-                productSalesCount.merge(productId, (long) item.getQuantity(), Long::sum);
-                productSalesRevenue.merge(productId, item.getLineTotal(), BigDecimal::add);
-            });
-
-        List<Map<String, Object>> topProducts = productSalesCount.entrySet().stream()
-            .sorted(Map.Entry.<Long, Long>comparingByValue().reversed())
-            .limit(5)
-            .map(entry -> {
-                Product product = productRepository.findById(entry.getKey()).orElse(null);
-                if (product != null) {
-                    return Map.<String, Object>of(
-                        "id", product.getId(),
-                        "name", product.getName(),
-                        "image", product.getImage() != null ? product.getImage() : "",
-                        "unitsSold", entry.getValue(),
-                        "revenue", productSalesRevenue.get(entry.getKey())
-                    );
-                }
-                return null;
-            })
-            .filter(Objects::nonNull)
+        // Best selling products (top 5 by quantity sold within the ranking window)
+        List<Map<String, Object>> topProducts = productRankingService
+            .getTopSellerProducts(sellerId, rankingWindow, 5).stream()
+            .map(sales -> Map.<String, Object>of(
+                "id", sales.getProductId(),
+                "name", sales.getProductName(),
+                "image", sales.getProductImage() != null ? sales.getProductImage() : "",
+                "unitsSold", sales.getUnitsSold(),
+                "revenue", sales.getRevenue()
+            ))
             .collect(Collectors.toList());
 
-        // Revenue by category
-        Map<String, BigDecimal> revenueByCategory = new HashMap<>();
-        deliveredOrders.stream()
-            .flatMap(order -> order.getOrderItems().stream())
-            .filter(item -> item.getSeller().getId().equals(sellerId))
-            .forEach(item -> {
-                String categoryName = item.getProduct().getCategory().getName();
-                revenueByCategory.merge(categoryName, item.getLineTotal(), BigDecimal::add);
-            });
-
-        // Sales trend data (last 12 months)
-        Map<String, BigDecimal> monthlySalesTrend = new LinkedHashMap<>();
-        Map<String, Long> monthlyOrdersTrend = new LinkedHashMap<>();
-        DateTimeFormatter monthFormatter = DateTimeFormatter.ofPattern("MMM yyyy");
-
-        for (int i = 11; i >= 0; i--) {
-            LocalDateTime monthStart = LocalDateTime.now().minus(i, ChronoUnit.MONTHS).withDayOfMonth(1);
-            LocalDateTime monthEnd = monthStart.plusMonths(1);
-            String monthLabel = monthStart.format(monthFormatter);
-
-            BigDecimal monthRevenue = deliveredOrders.stream()
-                .filter(o -> o.getCreatedAt().isAfter(monthStart) && o.getCreatedAt().isBefore(monthEnd))
-                .flatMap(order -> order.getOrderItems().stream())
-                .filter(item -> item.getSeller().getId().equals(sellerId))
-                .map(OrderItem::getLineTotal)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-            long monthOrders = deliveredOrders.stream()
-                .filter(o -> o.getCreatedAt().isAfter(monthStart) && o.getCreatedAt().isBefore(monthEnd))
-                .filter(order -> order.getOrderItems().stream()
-                    .anyMatch(item -> item.getSeller().getId().equals(sellerId)))
-                .count();
+        // Revenue by category (precomputed monthly series, one indexed query)
+        Map<String, BigDecimal> revenueByCategory = categoryRevenueService.getSellerRevenueByCategory(sellerId);
 
-            monthlySalesTrend.put(monthLabel, monthRevenue);
-            monthlyOrdersTrend.put(monthLabel, monthOrders);
+        // Sales trend data (last 12 months, one pass over the rollup rows)
+        TrendBucketAggregator salesTrend = TrendBucketAggregator.lastTwelveMonths(today);
+        for (SellerDailySales day : dailySales) {
+            salesTrend.add(day.getSalesDate(), MinorUnits.toCents(day.getRevenue()), day.getItemsSold(), day.getOrderCount());
         }
+        Map<String, BigDecimal> monthlySalesTrend = salesTrend.revenueByLabel();
+        Map<String, Long> monthlyOrdersTrend = salesTrend.ordersByLabel();
 
         // Order status breakdown
         Map<String, Long> orderStatusBreakdown = new LinkedHashMap<>();
-        orderStatusBreakdown.put("Delivered", (long) deliveredOrders.size());
-        orderStatusBreakdown.put("Shipped", (long) shippedOrders.size());
-        orderStatusBreakdown.put("Confirmed", (long) confirmedOrders.size());
-        orderStatusBreakdown.put("Pending", (long) pendingOrders.size());
-        orderStatusBreakdown.put("Cancelled", (long) cancelledOrders.size());
+        orderStatusBreakdown.put("Delivered", deliveredOrders);
+        orderStatusBreakdown.put("Shipped", statusCounts.getOrDefault(OrderStatus.SHIPPED, 0L));
+        orderStatusBreakdown.put("Confirmed", statusCounts.getOrDefault(OrderStatus.CONFIRMED, 0L));
+        orderStatusBreakdown.put("Pending", pendingOrders);
+        orderStatusBreakdown.put("Cancelled", statusCounts.getOrDefault(OrderStatus.CANCELLED, 0L));
 
         // Average order value
-        BigDecimal avgOrderValue = deliveredOrders.isEmpty() ? BigDecimal.ZERO :
-            totalRevenue.divide(BigDecimal.valueOf(deliveredOrders.size()), 2, BigDecimal.ROUND_HALF_UP);
+        BigDecimal avgOrderValue = deliveredOrders == 0 ? BigDecimal.ZERO :
+            totalRevenue.divide(BigDecimal.valueOf(deliveredOrders), 2, BigDecimal.ROUND_HALF_UP);
 
         // Conversion rate (delivered / total orders)
-        double conversionRate = allOrders.isEmpty() ? 0 :
-            (double) deliveredOrders.size() / allOrders.size() * 100;
+        double conversionRate = totalOrders == 0 ? 0 :
+            (double) deliveredOrders / totalOrders * 100;
 
         // Add all attributes to model
         model.addAttribute("userName", user.getFullName());
@@ -240,9 +207,9 @@ public class AnalyticsController {
         model.addAttribute("avgOrderValue", avgOrderValue);
 
         // Order stats
-        model.addAttribute("totalOrders", allOrders.size());
-        model.addAttribute("deliveredOrders", deliveredOrders.size());
-        model.addAttribute("pendingOrders", pendingOrders.size());
+        model.addAttribute("totalOrders", totalOrders);
+        model.addAttribute("deliveredOrders", deliveredOrders);
+        model.addAttribute("pendingOrders", pendingOrders);
         model.addAttribute("conversionRate", String.format("%.1f", conversionRate));
         model.addAttribute("orderStatusBreakdown", orderStatusBreakdown);
 
@@ -259,6 +226,7 @@ public class AnalyticsController {
         model.addAttribute("activeProducts", activeProducts);
         model.addAttribute("outOfStock", outOfStock);
         model.addAttribute("topProducts", topProducts);
+        model.addAttribute("rankingWindow", rankingWindow.getDays());
 
         // Charts data
         model.addAttribute("revenueByCategory", revenueByCategory);
@@ -272,7 +240,9 @@ public class AnalyticsController {
      * Admin Analytics Dashboard
      */
     @GetMapping("/dashboard/analytics")
-    public String dashboardAnalytics(@AuthenticationPrincipal CustomUserDetails userDetails, Model model) {
+    public String dashboardAnalytics(@AuthenticationPrincipal CustomUserDetails userDetails,
+                                     @RequestParam(value = "window", required = false) Integer windowDays,
+                                     Model model) {
         User user = userDetails.getUser();
 
         model.addAttribute("userName", user.getFullName());
@@ -284,7 +254,7 @@ public class AnalyticsController {
         if (user.getRole().name().equals("SELLER")) {
             return "redirect:/seller/analytics";
         } else if (user.getRole().name().equals("ADMIN")) {
-            return adminAnalytics(userDetails, model);
+            return adminAnalytics(userDetails, RankingWindow.ofDays(windowDays), model);
         }
 
         return "redirect:/";
@@ -293,56 +263,34 @@ public class AnalyticsController {
     /**
      * Admin Platform Analytics
      */
-    public String adminAnalytics(CustomUserDetails userDetails, Model model) {
+    public String adminAnalytics(CustomUserDetails userDetails, RankingWindow rankingWindow, Model model) {
         User user = userDetails.getUser();
 
-        // Get all orders (platform-wide)
-        List<Order> allOrders = orderRepository.findAll();
-
-        // Filter by status
-        List<Order> deliveredOrders = allOrders.stream()
-            .filter(o -> o.getStatus() == OrderStatus.DELIVERED)
-            .collect(Collectors.toList());
-
-        List<Order> pendingOrders = allOrders.stream()
-            .filter(o -> o.getStatus() == OrderStatus.PENDING)
-            .collect(Collectors.toList());
-
-        List<Order> processingOrders = allOrders.stream()
-            .filter(o -> o.getStatus() == OrderStatus.PROCESSING)
-            .collect(Collectors.toList());
-
-        List<Order> shippedOrders = allOrders.stream()
-            .filter(o -> o.getStatus() == OrderStatus.SHIPPED)
-            .collect(Collectors.toList());
-
-        List<Order> cancelledOrders = allOrders.stream()
-            .filter(o -> o.getStatus() == OrderStatus.CANCELLED)
-            .collect(Collectors.toList());
+        // Order counts by status (platform-wide, one grouped query)
+        Map<OrderStatus, Long> statusCounts = new EnumMap<>(OrderStatus.class);
+        for (StatusCountDTO statusCount : orderRepository.countGroupByStatus()) {
+            statusCounts.put(statusCount.getStatus(), statusCount.getCount());
+        }
+        long totalOrders = statusCounts.values().stream().mapToLong(Long::longValue).sum();
+        long deliveredOrders = statusCounts.getOrDefault(OrderStatus.DELIVERED, 0L);
 
         // Calculate revenue statistics (platform-wide)
-        BigDecimal totalRevenue = deliveredOrders.stream()
-            .map(Order::getTotalAmount)
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
+        List<OrderStatus> deliveredStatus = List.of(OrderStatus.DELIVERED);
+        BigDecimal totalRevenue = orderRepository.calculateTotalRevenueByStatuses(deliveredStatus);
 
         // Monthly revenue (last 30 days)
-        LocalDateTime thirtyDaysAgo = LocalDateTime.now().minus(30, ChronoUnit.DAYS);
-        BigDecimal monthlyRevenue = deliveredOrders.stream()
-            .filter(o -> o.getCreatedAt().isAfter(thirtyDaysAgo))
-            .map(Order::getTotalAmount)
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
+        LocalDateTime now = LocalDateTime.now();
+        BigDecimal monthlyRevenue = orderRepository.calculateRevenueByDateRangeAndStatuses(
+            deliveredStatus, now.minus(30, ChronoUnit.DAYS), now);
 
         // Weekly revenue (last 7 days)
-        LocalDateTime sevenDaysAgo = LocalDateTime.now().minus(7, ChronoUnit.DAYS);
-        BigDecimal weeklyRevenue = deliveredOrders.stream()
-            .filter(o -> o.getCreatedAt().isAfter(sevenDaysAgo))
-            .map(Order::getTotalAmount)
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
+        BigDecimal weeklyRevenue = orderRepository.calculateRevenueByDateRangeAndStatuses(
+            deliveredStatus, now.minus(7, ChronoUnit.DAYS), now);
 
         // Average order value
-        BigDecimal avgOrderValue = deliveredOrders.isEmpty()
+        BigDecimal avgOrderValue = deliveredOrders == 0
             ? BigDecimal.ZERO
-            : totalRevenue.divide(BigDecimal.valueOf(deliveredOrders.size()), 2, BigDecimal.ROUND_HALF_UP);
+            : totalRevenue.divide(BigDecimal.valueOf(deliveredOrders), 2, BigDecimal.ROUND_HALF_UP);
 
         // Total products and sellers
         long totalProducts = productRepository.count();
@@ -355,55 +303,32 @@ public class AnalyticsController {
         long totalSellers = userRepository.countByRole(com.example.ecoswap.model.enums.Role.SELLER);
 
         // Monthly data for charts (last 6 months)
-        LocalDateTime sixMonthsAgo = LocalDateTime.now().minus(6, ChronoUnit.MONTHS);
-        Map<String, BigDecimal> monthlyData = new LinkedHashMap<>();
-        Map<String, Long> monthlyOrderCounts = new LinkedHashMap<>();
-        DateTimeFormatter monthFormatter = DateTimeFormatter.ofPattern("MMM yyyy");
-
-        for (int i = 5; i >= 0; i--) {
-            LocalDateTime monthStart = LocalDateTime.now().minusMonths(i).withDayOfMonth(1).withHour(0).withMinute(0).withSecond(0);
-            LocalDateTime monthEnd = monthStart.plusMonths(1);
-            String monthKey = monthStart.format(monthFormatter);
-
-            BigDecimal monthRevenue = deliveredOrders.stream()
-                .filter(o -> o.getCreatedAt().isAfter(monthStart) && o.getCreatedAt().isBefore(monthEnd))
-                .map(Order::getTotalAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-            long monthOrderCount = deliveredOrders.stream()
-                .filter(o -> o.getCreatedAt().isAfter(monthStart) && o.getCreatedAt().isBefore(monthEnd))
-                .count();
-
-            monthlyData.put(monthKey, monthRevenue);
-            monthlyOrderCounts.put(monthKey, monthOrderCount);
+        TrendBucketAggregator monthlyTrend = new TrendBucketAggregator(TrendGranularity.MONTH, now.toLocalDate(), 6);
+        LocalDateTime sixMonthsAgo = monthlyTrend.bucketStart(0).atStartOfDay();
+        for (MonthlyRevenueDTO month : orderRepository.sumRevenueByMonth(OrderStatus.DELIVERED, sixMonthsAgo)) {
+            monthlyTrend.add(LocalDate.of(month.getYear(), month.getMonth(), 1),
+                MinorUnits.toCents(month.getRevenue()), 0, month.getOrderCount());
         }
+        Map<String, BigDecimal> monthlyData = monthlyTrend.revenueByLabel();
+        Map<String, Long> monthlyOrderCounts = monthlyTrend.ordersByLabel();
 
-        // Top selling products
-        List<Map<String, Object>> topProducts = deliveredOrders.stream()
-            .flatMap(order -> order.getOrderItems().stream())
-            .collect(Collectors.groupingBy(
-                item -> item.getProduct(),
-                Collectors.summingInt(OrderItem::getQuantity)
-            ))
-            .entrySet().stream()
-            .sorted(Map.Entry.<Product, Integer>comparingByValue().reversed())
-            .limit(5)
-            .map(entry -> {
+        // Revenue per category over the same months, from the precomputed series
+        Map<String, Map<String, BigDecimal>> categoryRevenueSeries = categoryRevenueService.getPlatformSeries(now.toLocalDate(), 6);
+
+        // Top selling products within the ranking window
+        List<Map<String, Object>> topProducts = productRankingService
+            .getTopPlatformProducts(rankingWindow, 5).stream()
+            .map(sales -> {
                 Map<String, Object> productData = new HashMap<>();
-                productData.put("name", entry.getKey().getName());
-                productData.put("unitsSold", entry.getValue());
-                BigDecimal revenue = deliveredOrders.stream()
-                    .flatMap(o -> o.getOrderItems().stream())
-                    .filter(item -> item.getProduct().getId().equals(entry.getKey().getId()))
-                    .map(OrderItem::getLineTotal)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-                productData.put("revenue", revenue);
+                productData.put("name", sales.getProductName());
+                productData.put("unitsSold", sales.getUnitsSold());
+                productData.put("revenue", sales.getRevenue());
                 return productData;
             })
             .collect(Collectors.toList());
 
         // Add attributes to model
-        model.addAttribute("totalOrders", allOrders.size());
+        model.addAttribute("totalOrders", totalOrders);
         model.addAttribute("totalRevenue", totalRevenue);
         model.addAttribute("monthlyRevenue", monthlyRevenue);
         model.addAttribute("weeklyRevenue", weeklyRevenue);
@@ -417,14 +342,16 @@ public class AnalyticsController {
         model.addAttribute("totalCustomers", totalCustomers);
         model.addAttribute("totalSellers", totalSellers);
 
-        model.addAttribute("pendingOrders", pendingOrders.size());
-        model.addAttribute("processingOrders", processingOrders.size());
-        model.addAttribute("shippedOrders", shippedOrders.size());
-        model.addAttribute("deliveredOrders", deliveredOrders.size());
+        model.addAttribute("pendingOrders", statusCounts.getOrDefault(OrderStatus.PENDING, 0L));
+        model.addAttribute("processingOrders", statusCounts.getOrDefault(OrderStatus.PROCESSING, 0L));
+        model.addAttribute("shippedOrders", statusCounts.getOrDefault(OrderStatus.SHIPPED, 0L));
+        model.addAttribute("deliveredOrders", deliveredOrders);
 
         model.addAttribute("monthlyData", monthlyData);
         model.addAttribute("monthlyOrderCounts", monthlyOrderCounts);
+        model.addAttribute("categoryRevenueSeries", categoryRevenueSeries);
         model.addAttribute("topProducts", topProducts);
+        model.addAttribute("rankingWindow", rankingWindow.getDays());
 
         model.addAttribute("pageTitle", "Platform Analytics");
         model.addAttribute("userName", user.getFullName());
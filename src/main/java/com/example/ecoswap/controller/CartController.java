@@ -453,6 +453,7 @@ public class CartController {
                 orderItem.setProductName(product.getName() != null ? product.getName() : "Unknown Product");
                 orderItem.setProductSku(product.getSku() != null ? product.getSku() : "N/A");
                 orderItem.setProductImage(product.getImage());
+                orderItem.captureImpactSnapshot();
 
                 order.addOrderItem(orderItem);
 
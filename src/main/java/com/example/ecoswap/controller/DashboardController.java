@@ -1,16 +1,22 @@
 package com.example.ecoswap.controller;
 
+import com.example.ecoswap.model.Order;
 import com.example.ecoswap.model.User;
-import com.example.ecoswap.model.enums.Role;
 import com.example.ecoswap.repository.UserRepository;
+import com.example.ecoswap.services.DashboardComposer;
+import com.example.ecoswap.services.DashboardStatsService;
 import com.example.ecoswap.services.OrderService;
-import com.example.ecoswap.services.ProductService;
+import com.example.ecoswap.services.ProductViewCache;
 import com.example.ecoswap.services.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import java.util.List;
+import java.util.Map;
 
 @Controller
 public class DashboardController {
@@ -19,7 +25,10 @@ public class DashboardController {
     private UserService userService;
 
     @Autowired
-    private ProductService productService;
+    private DashboardStatsService dashboardStatsService;
+
+    @Autowired
+    private DashboardComposer dashboardComposer;
 
     @Autowired
     private OrderService orderService;
@@ -27,6 +36,9 @@ public class DashboardController {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private ProductViewCache productViewCache;
+
     /**
      * General dashboard endpoint that redirects to role-based dashboard
      */
@@ -54,46 +66,39 @@ public class DashboardController {
         model.addAttribute("userName", user.getFullName());
         model.addAttribute("userRole", user.getRole().getDisplayName());
 
-        // User statistics
-        Long totalUsers = userService.getTotalUserCount();
-        Long totalSellers = userService.countUsersByRole(Role.SELLER);
-        Long totalCustomers = userService.countUsersByRole(Role.CUSTOMER);
-        Long pendingSellerApprovals = (long) userService.getPendingSellerApprovals().size();
-
-        model.addAttribute("totalUsers", totalUsers);
-        model.addAttribute("totalSellers", totalSellers);
-        model.addAttribute("totalCustomers", totalCustomers);
-        model.addAttribute("pendingSellerApprovals", pendingSellerApprovals);
-
-        // Product statistics
-        Long totalProducts = productService.getTotalProductCount();
-        Long activeProducts = productService.countByStatus("ACTIVE");
-        Long outOfStockProducts = productService.getOutOfStockProductCount();
-
-        model.addAttribute("totalProducts", totalProducts);
-        model.addAttribute("activeProducts", activeProducts);
-        model.addAttribute("outOfStockProducts", outOfStockProducts);
-
-        // Order and revenue statistics (platform-wide)
-        java.util.Map<String, Object> platformStats = orderService.getPlatformStatistics();
-        model.addAttribute("totalOrders", platformStats.get("totalOrders"));
-        model.addAttribute("pendingOrders", platformStats.get("pendingOrders"));
-        model.addAttribute("processingOrders", platformStats.get("processingOrders"));
-        model.addAttribute("shippedOrders", platformStats.get("shippedOrders"));
-        model.addAttribute("deliveredOrders", platformStats.get("deliveredOrders"));
-        model.addAttribute("totalRevenue", platformStats.get("totalRevenue"));
-        model.addAttribute("monthlyRevenue", platformStats.get("monthlyRevenue"));
-        model.addAttribute("recentOrders", platformStats.get("recentOrders"));
-
-        // Environmental impact
-        Double totalCo2Saved = productService.calculateTotalCo2Saved();
-        Double totalPlasticSaved = productService.calculateTotalPlasticSaved();
-        Double averageEcoScore = productService.getAverageEcoScore();
-
-        model.addAttribute("totalCo2Saved", totalCo2Saved);
-        model.addAttribute("totalPlasticSaved", totalPlasticSaved);
-        model.addAttribute("averageEcoScore", averageEcoScore);
+        // Headline numbers are read from the stale-while-revalidate cache inline,
+        // actionable items are always loaded live and concurrently
+        DashboardComposer.Composition page = dashboardComposer.compose();
+        DashboardComposer.Widget<Map<String, Object>> stats = page.addInline("stats",
+            dashboardStatsService::getPlatformStats, Map.of());
+        DashboardComposer.Widget<Long> pendingSellerApprovals = page.add("pendingSellerApprovals",
+            () -> (long) userService.getPendingSellerApprovals().size(), 0L);
+        DashboardComposer.Widget<List<Order>> recentOrders = page.add("recentOrders",
+            () -> orderService.getRecentOrdersWithItems(10), List.of());
+        model.addAttribute("widgetTimings", page.await());
+
+        model.addAllAttributes(stats.get());
+        model.addAttribute("pendingSellerApprovals", pendingSellerApprovals.get());
+        model.addAttribute("recentOrders", recentOrders.get());
 
         return "dashboard/index";
     }
-}
\ No newline at end of file
+
+    /**
+     * Dashboard statistics cache hit/miss/refresh counters
+     */
+    @GetMapping("/admin/dashboard/cache-stats")
+    @ResponseBody
+    public Map<String, Object> dashboardCacheStats() {
+        return dashboardStatsService.getCacheStatistics();
+    }
+
+    /**
+     * Hit rate and estimated memory use of the catalog's product view cache
+     */
+    @GetMapping("/admin/catalog/cache-stats")
+    @ResponseBody
+    public Map<String, Object> catalogCacheStats() {
+        return productViewCache.getStatistics();
+    }
+}
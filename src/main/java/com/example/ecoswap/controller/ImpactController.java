@@ -1,13 +1,22 @@
 package com.example.ecoswap.controller;
 
-import com.example.ecoswap.model.Order;
+import com.example.ecoswap.analytics.FactSummary;
+import com.example.ecoswap.model.CustomerImpactBreakdown;
+import com.example.ecoswap.model.CustomerImpactLedger;
 import com.example.ecoswap.model.Product;
 import com.example.ecoswap.model.User;
 import com.example.ecoswap.model.enums.OrderStatus;
-import com.example.ecoswap.repository.OrderRepository;
+import com.example.ecoswap.repository.OrderItemRepository;
 import com.example.ecoswap.repository.ProductRepository;
 import com.example.ecoswap.repository.UserRepository;
 import com.example.ecoswap.security.CustomUserDetails;
+import com.example.ecoswap.services.AchievementService;
+import com.example.ecoswap.services.CustomerImpactLedgerService;
+import com.example.ecoswap.services.DashboardStatsService;
+import com.example.ecoswap.services.LeaderboardService;
+import com.example.ecoswap.services.OrderItemFactStore;
+import com.example.ecoswap.services.PlatformImpactCounters;
+import com.example.ecoswap.services.SellerCustomerSketchService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -16,6 +25,7 @@ import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 
 import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -24,7 +34,7 @@ import java.util.stream.Collectors;
 public class ImpactController {
 
     @Autowired
-    private OrderRepository orderRepository;
+    private OrderItemRepository orderItemRepository;
 
     @Autowired
     private ProductRepository productRepository;
@@ -32,6 +42,35 @@ public class ImpactController {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private SellerCustomerSketchService sellerCustomerSketchService;
+
+    @Autowired
+    private CustomerImpactLedgerService customerImpactLedgerService;
+
+    @Autowired
+    private AchievementService achievementService;
+
+    @Autowired
+    private LeaderboardService leaderboardService;
+
+    @Autowired
+    private PlatformImpactCounters platformImpactCounters;
+
+    @Autowired
+    private DashboardStatsService dashboardStatsService;
+
+    // Only present when ecoswap.analytics.fact-store.enabled=true
+    @Autowired(required = false)
+    private OrderItemFactStore factStore;
+
+    private boolean factStoreReady() {
+        return factStore != null && factStore.isReady();
+    }
+
+    // Lower bound for all-time impact sums
+    private static final LocalDateTime ALL_TIME = LocalDateTime.of(1970, 1, 1, 0, 0);
+
     /**
      * Customer Impact Tracker
      */
@@ -40,34 +79,24 @@ public class ImpactController {
         String email = authentication.getName();
         User user = userRepository.findByEmail(email).orElseThrow();
 
-        // Get all customer orders
-        List<Order> allOrders = orderRepository.findByCustomer(user);
-        List<Order> completedOrders = allOrders.stream()
-            .filter(o -> o.getStatus() == OrderStatus.DELIVERED)
-            .collect(Collectors.toList());
+        // Running totals and breakdowns from the impact ledger (a few rows, independent of order history)
+        CustomerImpactLedger ledger = customerImpactLedgerService.getLedger(user.getId());
+        CustomerImpactBreakdown thisMonth = customerImpactLedgerService.getMonth(user.getId(), YearMonth.now());
 
-        // Calculate total items purchased
-        long totalItems = completedOrders.stream()
-            .flatMap(order -> order.getOrderItems().stream())
-            .mapToLong(item -> item.getQuantity())
-            .sum();
+        long totalItems = ledger.getItemsPurchased();
+        long totalOrders = ledger.getDeliveredOrders();
+        double totalCo2Saved = ledger.getCo2Saved();
+        double totalPlasticSaved = ledger.getPlasticSaved();
+        double monthlyCo2 = thisMonth.getCo2Saved();
+        double monthlyPlastic = thisMonth.getPlasticSaved();
 
-        // Calculate environmental impact
-        double totalCo2Saved = completedOrders.stream()
-            .flatMap(order -> order.getOrderItems().stream())
-            .mapToDouble(item -> {
-                Double productCo2 = item.getProduct().getCo2Saved();
-                return (productCo2 != null ? productCo2 : 0.0) * item.getQuantity();
-            })
-            .sum();
-
-        double totalPlasticSaved = completedOrders.stream()
-            .flatMap(order -> order.getOrderItems().stream())
-            .mapToDouble(item -> {
-                Double productPlastic = item.getProduct().getPlasticSaved();
-                return (productPlastic != null ? productPlastic : 0.0) * item.getQuantity();
-            })
-            .sum();
+        // Get impact by category
+        Map<String, Double> co2ByCategory = new HashMap<>();
+        Map<String, Double> plasticByCategory = new HashMap<>();
+        for (CustomerImpactBreakdown category : customerImpactLedgerService.getCategoryBreakdown(user.getId())) {
+            co2ByCategory.merge(category.getLabel(), category.getCo2Saved(), Double::sum);
+            plasticByCategory.merge(category.getLabel(), category.getPlasticSaved(), Double::sum);
+        }
 
         // Calculate water saved (estimate: 1000L per kg of plastic)
         double waterSaved = (totalPlasticSaved / 1000) * 1000;
@@ -78,47 +107,6 @@ public class ImpactController {
         // Calculate car miles equivalent (1 mile = ~0.4kg CO2)
         double carMilesEquivalent = totalCo2Saved / 0.4;
 
-        // Monthly impact (last 30 days)
-        LocalDateTime thirtyDaysAgo = LocalDateTime.now().minus(30, ChronoUnit.DAYS);
-        List<Order> recentOrders = completedOrders.stream()
-            .filter(o -> o.getCreatedAt().isAfter(thirtyDaysAgo))
-            .collect(Collectors.toList());
-
-        double monthlyCo2 = recentOrders.stream()
-            .flatMap(order -> order.getOrderItems().stream())
-            .mapToDouble(item -> {
-                Double productCo2 = item.getProduct().getCo2Saved();
-                return (productCo2 != null ? productCo2 : 0.0) * item.getQuantity();
-            })
-            .sum();
-
-        double monthlyPlastic = recentOrders.stream()
-            .flatMap(order -> order.getOrderItems().stream())
-            .mapToDouble(item -> {
-                Double productPlastic = item.getProduct().getPlasticSaved();
-                return (productPlastic != null ? productPlastic : 0.0) * item.getQuantity();
-            })
-            .sum();
-
-        // Get impact by category
-        Map<String, Double> co2ByCategory = new HashMap<>();
-        Map<String, Double> plasticByCategory = new HashMap<>();
-
-        completedOrders.stream()
-            .flatMap(order -> order.getOrderItems().stream())
-            .forEach(item -> {
-                String categoryName = item.getProduct().getCategory().getName();
-                Double co2 = item.getProduct().getCo2Saved();
-                Double plastic = item.getProduct().getPlasticSaved();
-
-                co2ByCategory.merge(categoryName,
-                    (co2 != null ? co2 : 0.0) * item.getQuantity(),
-                    Double::sum);
-                plasticByCategory.merge(categoryName,
-                    (plastic != null ? plastic : 0.0) * item.getQuantity(),
-                    Double::sum);
-            });
-
         // Calculate member days
         long memberDays = ChronoUnit.DAYS.between(user.getCreatedAt(), LocalDateTime.now());
 
@@ -126,44 +114,8 @@ public class ImpactController {
         double dailyAvgCo2 = memberDays > 0 ? totalCo2Saved / memberDays : 0;
         double dailyAvgPlastic = memberDays > 0 ? totalPlasticSaved / memberDays : 0;
 
-        // Achievements
-        List<Map<String, Object>> achievements = new ArrayList<>();
-
-        if (totalItems >= 1) {
-            achievements.add(Map.of(
-                "icon", "🌱",
-                "title", "First Step",
-                "description", "Made your first eco-friendly purchase",
-                "unlocked", true
-            ));
-        }
-
-        if (totalItems >= 10) {
-            achievements.add(Map.of(
-                "icon", "🌿",
-                "title", "Green Warrior",
-                "description", "Purchased 10+ sustainable products",
-                "unlocked", true
-            ));
-        }
-
-        if (totalCo2Saved >= 100) {
-            achievements.add(Map.of(
-                "icon", "🌍",
-                "title", "Planet Protector",
-                "description", "Saved 100kg+ of CO₂ emissions",
-                "unlocked", true
-            ));
-        }
-
-        if (totalPlasticSaved >= 1000) {
-            achievements.add(Map.of(
-                "icon", "♻️",
-                "title", "Plastic Warrior",
-                "description", "Prevented 1kg+ of plastic waste",
-                "unlocked", true
-            ));
-        }
+        // Achievements unlocked from the ledger as deliveries come in, plus progress towards locked ones
+        List<Map<String, Object>> achievements = achievementService.getAchievements(ledger);
 
         // Add attributes to model
         model.addAttribute("userName", user.getFullName());
@@ -176,7 +128,7 @@ public class ImpactController {
         model.addAttribute("treesEquivalent", treesEquivalent);
         model.addAttribute("carMilesEquivalent", carMilesEquivalent);
         model.addAttribute("totalItems", totalItems);
-        model.addAttribute("totalOrders", completedOrders.size());
+        model.addAttribute("totalOrders", totalOrders);
         model.addAttribute("monthlyCo2", monthlyCo2);
         model.addAttribute("monthlyPlastic", monthlyPlastic);
         model.addAttribute("co2ByCategory", co2ByCategory);
@@ -216,62 +168,35 @@ public class ImpactController {
             })
             .sum();
 
-        // Get all orders containing seller's products
-        List<Order> allOrders = orderRepository.findAll().stream()
-            .filter(order -> order.getOrderItems().stream()
-                .anyMatch(item -> item.getSeller().getId().equals(sellerId)))
-            .collect(Collectors.toList());
-
-        List<Order> completedOrders = allOrders.stream()
-            .filter(o -> o.getStatus() == OrderStatus.DELIVERED)
-            .collect(Collectors.toList());
-
-        // Calculate actual impact (from sold products)
-        double actualCo2 = completedOrders.stream()
-            .flatMap(order -> order.getOrderItems().stream())
-            .filter(item -> item.getSeller().getId().equals(sellerId))
-            .mapToDouble(item -> {
-                Double co2 = item.getProduct().getCo2Saved();
-                return (co2 != null ? co2 : 0.0) * item.getQuantity();
-            })
-            .sum();
-
-        double actualPlastic = completedOrders.stream()
-            .flatMap(order -> order.getOrderItems().stream())
-            .filter(item -> item.getSeller().getId().equals(sellerId))
-            .mapToDouble(item -> {
-                Double plastic = item.getProduct().getPlasticSaved();
-                return (plastic != null ? plastic : 0.0) * item.getQuantity();
-            })
-            .sum();
-
-        // Calculate total items sold
-        long totalItemsSold = completedOrders.stream()
-            .flatMap(order -> order.getOrderItems().stream())
-            .filter(item -> item.getSeller().getId().equals(sellerId))
-            .mapToLong(item -> item.getQuantity())
-            .sum();
-
-        // Calculate customers helped
-        long customersHelped = completedOrders.stream()
-            .map(Order::getCustomer)
-            .distinct()
-            .count();
-
-        // Monthly impact
+        double actualCo2;
+        double actualPlastic;
+        long totalItemsSold;
+        double monthlyCo2;
         LocalDateTime thirtyDaysAgo = LocalDateTime.now().minus(30, ChronoUnit.DAYS);
-        List<Order> recentOrders = completedOrders.stream()
-            .filter(o -> o.getCreatedAt().isAfter(thirtyDaysAgo))
-            .collect(Collectors.toList());
 
-        double monthlyCo2 = recentOrders.stream()
-            .flatMap(order -> order.getOrderItems().stream())
-            .filter(item -> item.getSeller().getId().equals(sellerId))
-            .mapToDouble(item -> {
-                Double co2 = item.getProduct().getCo2Saved();
-                return (co2 != null ? co2 : 0.0) * item.getQuantity();
-            })
-            .sum();
+        if (factStoreReady()) {
+            // Columnar scan over the seller's delivered lines
+            FactSummary delivered = factStore.scan().seller(sellerId).status(OrderStatus.DELIVERED).summarize();
+            FactSummary recent = factStore.scan().seller(sellerId).status(OrderStatus.DELIVERED)
+                .createdAfter(thirtyDaysAgo).summarize();
+
+            actualCo2 = delivered.getCo2Saved();
+            actualPlastic = delivered.getPlasticSaved();
+            totalItemsSold = delivered.getQuantity();
+            monthlyCo2 = recent.getCo2Saved();
+        } else {
+            // SUM queries over the impact snapshots on the seller's order lines
+            Object[] delivered = orderItemRepository.sumImpactBySellerSince(sellerId, OrderStatus.DELIVERED, ALL_TIME).get(0);
+            Object[] recent = orderItemRepository.sumImpactBySellerSince(sellerId, OrderStatus.DELIVERED, thirtyDaysAgo).get(0);
+
+            totalItemsSold = ((Number) delivered[0]).longValue();
+            actualCo2 = ((Number) delivered[1]).doubleValue();
+            actualPlastic = ((Number) delivered[2]).doubleValue();
+            monthlyCo2 = ((Number) recent[1]).doubleValue();
+        }
+
+        // Customers helped (HyperLogLog estimate over the seller's monthly sketches)
+        long customersHelped = sellerCustomerSketchService.estimateDistinctCustomers(sellerId);
 
         // Top impact products
         List<Map<String, Object>> topProducts = products.stream()
@@ -304,6 +229,8 @@ public class ImpactController {
         model.addAttribute("customersHelped", customersHelped);
         model.addAttribute("monthlyCo2", monthlyCo2);
         model.addAttribute("topProducts", topProducts);
+        model.addAttribute("sellerLeaderboard", leaderboardService.getTopSellersByPlastic(10));
+        model.addAttribute("sellerId", sellerId);
 
         return "seller/impact";
     }
@@ -312,67 +239,21 @@ public class ImpactController {
      * Admin Impact Tracker (Platform-wide)
      */
     @GetMapping("/admin/impact")
-    public String adminImpact(Authentication authentication, Model model) {
-        // Get current user
-        String email = authentication.getName();
-        User user = userRepository.findByEmail(email).orElseThrow();
-
-        // Get all completed orders
-        List<Order> allOrders = orderRepository.findAll();
-        List<Order> completedOrders = allOrders.stream()
-            .filter(o -> o.getStatus() == OrderStatus.DELIVERED)
-            .collect(Collectors.toList());
-
-        // Calculate platform-wide impact
-        double totalCo2 = completedOrders.stream()
-            .flatMap(order -> order.getOrderItems().stream())
-            .mapToDouble(item -> {
-                Double co2 = item.getProduct().getCo2Saved();
-                return (co2 != null ? co2 : 0.0) * item.getQuantity();
-            })
-            .sum();
-
-        double totalPlastic = completedOrders.stream()
-            .flatMap(order -> order.getOrderItems().stream())
-            .mapToDouble(item -> {
-                Double plastic = item.getProduct().getPlasticSaved();
-                return (plastic != null ? plastic : 0.0) * item.getQuantity();
-            })
-            .sum();
-
-        // Get all products
-        List<Product> allProducts = productRepository.findAll();
-
-        // Calculate potential impact
-        double potentialCo2 = allProducts.stream()
-            .mapToDouble(p -> {
-                Double co2 = p.getCo2Saved();
-                return (co2 != null ? co2 : 0.0) * p.getStock();
-            })
-            .sum();
-
-        // Get all users
-        long totalCustomers = userRepository.count();
-
-        // Calculate total items sold
-        long totalItemsSold = completedOrders.stream()
-            .flatMap(order -> order.getOrderItems().stream())
-            .mapToLong(item -> item.getQuantity())
-            .sum();
+    public String adminImpact(@AuthenticationPrincipal CustomUserDetails userDetails, Model model) {
+        User user = userDetails.getUser();
 
-        // Monthly growth
-        LocalDateTime thirtyDaysAgo = LocalDateTime.now().minus(30, ChronoUnit.DAYS);
-        List<Order> recentOrders = completedOrders.stream()
-            .filter(o -> o.getCreatedAt().isAfter(thirtyDaysAgo))
-            .collect(Collectors.toList());
+        // Platform-wide impact from the in-memory counters (no database access)
+        double totalCo2 = platformImpactCounters.getCo2Saved();
+        double totalPlastic = platformImpactCounters.getPlasticSaved();
+        long totalItemsSold = platformImpactCounters.getItemsSold();
+        long totalOrders = platformImpactCounters.getDeliveredOrders();
+        double monthlyCo2 = platformImpactCounters.getCo2SavedInLastDays(30);
 
-        double monthlyCo2 = recentOrders.stream()
-            .flatMap(order -> order.getOrderItems().stream())
-            .mapToDouble(item -> {
-                Double co2 = item.getProduct().getCo2Saved();
-                return (co2 != null ? co2 : 0.0) * item.getQuantity();
-            })
-            .sum();
+        // Catalog and user counts from the cached platform statistics
+        Map<String, Object> platformStats = dashboardStatsService.getPlatformStats();
+        double potentialCo2 = ((Number) platformStats.getOrDefault("potentialCo2Saved", 0.0)).doubleValue();
+        long totalCustomers = ((Number) platformStats.getOrDefault("totalUsers", 0L)).longValue();
+        long totalProducts = ((Number) platformStats.getOrDefault("totalProducts", 0L)).longValue();
 
         // Add attributes to model
         model.addAttribute("userName", user.getFullName());
@@ -383,10 +264,10 @@ public class ImpactController {
         model.addAttribute("totalPlastic", totalPlastic);
         model.addAttribute("potentialCo2", potentialCo2);
         model.addAttribute("totalCustomers", totalCustomers);
-        model.addAttribute("totalProducts", allProducts.size());
+        model.addAttribute("totalProducts", totalProducts);
         model.addAttribute("totalItemsSold", totalItemsSold);
         model.addAttribute("monthlyCo2", monthlyCo2);
-        model.addAttribute("totalOrders", completedOrders.size());
+        model.addAttribute("totalOrders", totalOrders);
 
         return "admin/impact";
     }
@@ -1,14 +1,17 @@
 package com.example.ecoswap.controller;
 
+import com.example.ecoswap.dtos.PageToken;
 import com.example.ecoswap.model.Order;
 import com.example.ecoswap.model.User;
 import com.example.ecoswap.model.enums.OrderStatus;
 import com.example.ecoswap.model.enums.Role;
 import com.example.ecoswap.security.CustomUserDetails;
+import com.example.ecoswap.services.DashboardStatsService;
 import com.example.ecoswap.services.NotificationService;
 import com.example.ecoswap.services.OrderService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
@@ -27,6 +30,9 @@ public class OrderController {
     @Autowired
     private NotificationService notificationService;
 
+    @Autowired
+    private DashboardStatsService dashboardStatsService;
+
     /**
      * List all orders with pagination and filtering
      */
@@ -37,38 +43,63 @@ public class OrderController {
             @RequestParam(defaultValue = "15") int size,
             @RequestParam(required = false) String search,
             @RequestParam(required = false) OrderStatus status,
+            @RequestParam(required = false) String after,
             Model model
     ) {
         User user = userDetails.getUser();
-        Page<Order> orderPage;
-
-        // Role-based order listing
-        if (user.getRole() == Role.ADMIN) {
-            // Admin sees all orders
-            orderPage = orderService.getAllOrders(page, size);
-        } else if (user.getRole() == Role.SELLER) {
-            // Seller sees only their orders
-            if (search != null && !search.isEmpty()) {
-                orderPage = orderService.searchOrdersBySeller(user.getId(), search, page, size);
-            } else if (status != null) {
-                orderPage = orderService.getOrdersBySellerAndStatus(user.getId(), status, page, size);
+        boolean searching = search != null && !search.isEmpty();
+        PageToken afterToken = searching ? null : PageToken.decode(after);
+
+        if (afterToken != null) {
+            // Next links carry the last order's (createdAt, id): seek straight to the page, no offset scan or count
+            Slice<Order> orderSlice;
+            if (user.getRole() == Role.ADMIN) {
+                orderSlice = orderService.getAllOrdersAfter(afterToken, size);
+            } else if (user.getRole() == Role.SELLER) {
+                orderSlice = status != null
+                    ? orderService.getOrdersBySellerAndStatusAfter(user.getId(), status, afterToken, size)
+                    : orderService.getOrdersBySellerAfter(user.getId(), afterToken, size);
             } else {
-                orderPage = orderService.getOrdersBySeller(user.getId(), page, size);
+                orderSlice = orderService.getOrdersByCustomerAfter(user.getId(), afterToken, size);
             }
+
+            // The total is unknown without a count, so pages run up to the next one
+            model.addAttribute("orders", orderSlice.getContent());
+            model.addAttribute("currentPage", page);
+            model.addAttribute("totalPages", orderSlice.hasNext() ? page + 2 : page + 1);
+            model.addAttribute("nextToken", PageToken.next(orderSlice, Order::getCreatedAt, Order::getId));
         } else {
-            // Customers see their own orders
-            orderPage = orderService.getOrdersByCustomer(user.getId(), page, size);
-        }
+            Page<Order> orderPage;
+
+            // Role-based order listing
+            if (user.getRole() == Role.ADMIN) {
+                // Admin sees all orders
+                orderPage = orderService.getAllOrders(page, size);
+            } else if (user.getRole() == Role.SELLER) {
+                // Seller sees only their orders
+                if (searching) {
+                    orderPage = orderService.searchOrdersBySeller(user.getId(), search, page, size);
+                } else if (status != null) {
+                    orderPage = orderService.getOrdersBySellerAndStatus(user.getId(), status, page, size);
+                } else {
+                    orderPage = orderService.getOrdersBySeller(user.getId(), page, size);
+                }
+            } else {
+                // Customers see their own orders
+                orderPage = orderService.getOrdersByCustomer(user.getId(), page, size);
+            }
 
-        // Add orders and pagination to model
-        model.addAttribute("orders", orderPage.getContent());
-        model.addAttribute("currentPage", page);
-        model.addAttribute("totalPages", orderPage.getTotalPages());
-        model.addAttribute("totalItems", orderPage.getTotalElements());
+            // Add orders and pagination to model
+            model.addAttribute("orders", orderPage.getContent());
+            model.addAttribute("currentPage", page);
+            model.addAttribute("totalPages", orderPage.getTotalPages());
+            model.addAttribute("totalItems", orderPage.getTotalElements());
+            model.addAttribute("nextToken", searching ? null : PageToken.next(orderPage, Order::getCreatedAt, Order::getId));
+        }
 
         // Add statistics for sellers
         if (user.getRole() == Role.SELLER) {
-            Map<String, Object> stats = orderService.getSellerOrderStatistics(user.getId());
+            Map<String, Object> stats = dashboardStatsService.getSellerStats(user.getId());
             model.addAttribute("stats", stats);
         }
 
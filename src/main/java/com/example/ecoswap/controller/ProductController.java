@@ -3,6 +3,9 @@ package com.example.ecoswap.controller;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
@@ -10,6 +13,7 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
+import com.example.ecoswap.dtos.PageToken;
 import com.example.ecoswap.model.Product;
 import com.example.ecoswap.model.User;
 import com.example.ecoswap.model.enums.Role;
@@ -44,11 +48,14 @@ public class ProductController {
             @RequestParam(required = false) String search,
             @RequestParam(required = false) Long categoryId,
             @RequestParam(required = false) String status,
+            @RequestParam(required = false) String after,
             Model model
     ) {
         User user = userDetails.getUser();
         
         Page<Product> productPage;
+        String nextToken = null;
+        Long sellerProductCount = null;
         
         // Role-based product listing
         if (user.getRole() == Role.ADMIN) {
@@ -63,7 +70,17 @@ public class ProductController {
             if (search != null && !search.isEmpty()) {
                 productPage = productService.searchProductsBySeller(user.getId(), search, page, size);
             } else {
-                productPage = productService.getProductsBySeller(user.getId(), page, size);
+                PageToken afterToken = PageToken.decode(after);
+                if (afterToken != null) {
+                    // Next links seek past the previous page's last product instead of scanning an offset;
+                    // the total is the product count the stats need anyway
+                    sellerProductCount = productService.getSellerProductCount(user.getId());
+                    Slice<Product> slice = productService.getProductsBySellerAfter(user.getId(), afterToken, size);
+                    productPage = new PageImpl<>(slice.getContent(), PageRequest.of(page, size), sellerProductCount);
+                } else {
+                    productPage = productService.getProductsBySeller(user.getId(), page, size);
+                }
+                nextToken = PageToken.next(productPage, Product::getCreatedAt, Product::getId);
             }
         } else {
             // Customers shouldn't access this page
@@ -75,13 +92,14 @@ public class ProductController {
         model.addAttribute("currentPage", page);
         model.addAttribute("totalPages", productPage.getTotalPages());
         model.addAttribute("totalItems", productPage.getTotalElements());
+        model.addAttribute("nextToken", nextToken);
         
         // Add statistics
         Long sellerId = user.getRole() == Role.SELLER ? user.getId() : null;
         if (sellerId != null) {
-            model.addAttribute("totalProducts", productService.getSellerProductCount(sellerId));
+            model.addAttribute("totalProducts", sellerProductCount != null ? sellerProductCount : productService.getSellerProductCount(sellerId));
             model.addAttribute("activeProducts", productService.getActiveProductCount(sellerId));
-            model.addAttribute("lowStockProducts", productService.getLowStockProducts(sellerId).size());
+            model.addAttribute("lowStockProducts", productService.getLowStockProductCount(sellerId));
             model.addAttribute("outOfStockProducts", productService.getOutOfStockProductCount());
         } else {
             model.addAttribute("totalProducts", productService.getTotalProductCount());
@@ -250,8 +268,8 @@ public class ProductController {
     @PostMapping("/bulk-activate")
     public String bulkActivate(@RequestParam List<Long> ids, RedirectAttributes redirectAttributes) {
         try {
-            productService.bulkActivate(ids);
-            redirectAttributes.addFlashAttribute("successMessage", ids.size() + " products activated!");
+            int count = productService.bulkActivate(ids);
+            redirectAttributes.addFlashAttribute("successMessage", count + " products activated!");
         } catch (Exception e) {
             redirectAttributes.addFlashAttribute("errorMessage", "Error activating products");
         }
@@ -261,8 +279,8 @@ public class ProductController {
     @PostMapping("/bulk-deactivate")
     public String bulkDeactivate(@RequestParam List<Long> ids, RedirectAttributes redirectAttributes) {
         try {
-            productService.bulkDeactivate(ids);
-            redirectAttributes.addFlashAttribute("successMessage", ids.size() + " products deactivated!");
+            int count = productService.bulkDeactivate(ids);
+            redirectAttributes.addFlashAttribute("successMessage", count + " products deactivated!");
         } catch (Exception e) {
             redirectAttributes.addFlashAttribute("errorMessage", "Error deactivating products");
         }
@@ -272,8 +290,8 @@ public class ProductController {
     @PostMapping("/bulk-delete")
     public String bulkDelete(@RequestParam List<Long> ids, RedirectAttributes redirectAttributes) {
         try {
-            productService.bulkDelete(ids);
-            redirectAttributes.addFlashAttribute("successMessage", ids.size() + " products deleted!");
+            int count = productService.bulkDelete(ids);
+            redirectAttributes.addFlashAttribute("successMessage", count + " products deleted!");
         } catch (Exception e) {
             redirectAttributes.addFlashAttribute("errorMessage", "Error deleting products");
         }
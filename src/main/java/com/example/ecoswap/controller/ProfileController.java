@@ -7,6 +7,7 @@ import com.example.ecoswap.model.enums.Role;
 import com.example.ecoswap.repository.SellerProfileRepository;
 import com.example.ecoswap.security.CustomUserDetails;
 import com.example.ecoswap.services.OrderService;
+import com.example.ecoswap.services.ProductViewCache;
 import com.example.ecoswap.services.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
@@ -36,6 +37,9 @@ public class ProfileController {
     @Autowired
     private SellerProfileRepository sellerProfileRepository;
 
+    @Autowired
+    private ProductViewCache productViewCache;
+
     /**
      * View profile - Redirects to role-specific settings page
      */
@@ -97,6 +101,10 @@ public class ProfileController {
             user.setAddress(address);
 
             userService.updateUser(user);
+            if (user.getRole() == Role.SELLER) {
+                // Product pages show the seller's name
+                productViewCache.namesChanged();
+            }
 
             redirectAttributes.addFlashAttribute("successMessage", "Profile updated successfully!");
         } catch (Exception e) {
@@ -157,6 +165,7 @@ public class ProfileController {
             sellerProfile.setTaxId(taxId);
 
             sellerProfileRepository.save(sellerProfile);
+            productViewCache.namesChanged();
 
             redirectAttributes.addFlashAttribute("successMessage", "Business profile updated successfully!");
         } catch (Exception e) {
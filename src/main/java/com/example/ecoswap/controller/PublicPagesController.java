@@ -1,24 +1,47 @@
 package com.example.ecoswap.controller;
 
-import com.example.ecoswap.model.Product;
+import com.example.ecoswap.dtos.PageToken;
+import com.example.ecoswap.dtos.ProductView;
 import com.example.ecoswap.model.Review;
 import com.example.ecoswap.model.User;
+import com.example.ecoswap.search.FacetResult;
+import com.example.ecoswap.search.FacetSelection;
+import com.example.ecoswap.search.PriceBand;
+import com.example.ecoswap.search.ProductSort;
+import com.example.ecoswap.search.Suggestion;
 import com.example.ecoswap.services.CategoryService;
+import com.example.ecoswap.services.LeaderboardService;
+import com.example.ecoswap.services.PlatformImpactCounters;
+import com.example.ecoswap.services.ProductFacetService;
 import com.example.ecoswap.services.ProductService;
+import com.example.ecoswap.services.ProductViewCache;
 import com.example.ecoswap.services.ReviewService;
+import com.example.ecoswap.services.SuggestService;
 import com.example.ecoswap.services.UserService;
 import com.example.ecoswap.services.WishlistService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.util.UriComponentsBuilder;
 
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 
 @Controller
@@ -39,17 +62,39 @@ public class PublicPagesController {
     @Autowired
     private WishlistService wishlistService;
 
+    @Autowired
+    private PlatformImpactCounters platformImpactCounters;
+
+    @Autowired
+    private LeaderboardService leaderboardService;
+
+    @Autowired
+    private ProductFacetService productFacetService;
+
+    @Autowired
+    private SuggestService suggestService;
+
+    @Autowired
+    private ProductViewCache productViewCache;
+
+    private static final int LEADERBOARD_SIZE = 10;
+    private static final int SUGGESTION_LIMIT = 10;
+
     @GetMapping("/")
     public String home(Model model) {
         model.addAttribute("title", "EcoSwap | Sustainable Marketplace");
 
         // Get featured products
-        List<Product> featuredProducts = productService.getAllProducts(0, 8).getContent();
+        List<ProductView> featuredProducts = productService.getProductViewsAfter(null, PageToken.FIRST, 8).getContent();
 
         // Get categories
         model.addAttribute("featuredProducts", featuredProducts);
         model.addAttribute("categories", categoryService.getAllCategories());
 
+        // Impact banner, read from in-memory counters
+        model.addAttribute("platformCo2Saved", platformImpactCounters.getCo2Saved());
+        model.addAttribute("platformItemsSold", platformImpactCounters.getItemsSold());
+
         return "public/default";
     }
 
@@ -58,44 +103,92 @@ public class PublicPagesController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "12") int size,
             @RequestParam(required = false) String search,
-            @RequestParam(required = false) Long categoryId,
             @RequestParam(required = false) String sortBy,
+            @RequestParam(required = false) String after,
+            FacetSelection filters,
             Model model
     ) {
         model.addAttribute("title", "Shop | EcoSwap");
 
-        Page<Product> productPage;
+        // Filtering and facet counts come from the in-memory facet bitmaps, only the page is loaded
+        FacetResult facets = productFacetService.browse(search, filters);
 
-        if (search != null && !search.isEmpty()) {
-            productPage = productService.searchProducts(search, page, size);
-        } else if (categoryId != null) {
-            productPage = productService.getProductsByCategory(categoryId, page, size);
+        // First pages of searches that found something feed the popular searches in autocomplete
+        if (page == 0 && search != null && !search.isBlank() && facets.getTotal() > 0) {
+            suggestService.recordQuery(search);
+        }
+        ProductSort sort = ProductSort.fromParam(sortBy);
+        boolean newestFirst = (search == null || search.isBlank()) && filters.isCategoryOnly()
+            && (sort == null || sort == ProductSort.NEWEST);
+        PageToken afterToken = PageToken.decode(after);
+        Page<ProductView> productPage;
+        if (newestFirst && (afterToken != null || page == 0)) {
+            // Plain listing seeks past the previous page's last product, so deep pages cost the same as the first
+            Slice<ProductView> slice = productService.getProductViewsAfter(filters.getCategoryId(),
+                afterToken != null ? afterToken : PageToken.FIRST, size);
+            productPage = new PageImpl<>(slice.getContent(), PageRequest.of(page, size), facets.getTotal());
         } else {
-            productPage = productService.getAllProducts(page, size);
+            // Jumps to a page number, searches, facet filters and other sorts page by offset
+            productPage = productService.browseProducts(search, filters, facets, sort, page, size);
         }
 
         model.addAttribute("products", productPage.getContent());
         model.addAttribute("currentPage", page);
         model.addAttribute("totalPages", productPage.getTotalPages());
         model.addAttribute("totalItems", productPage.getTotalElements());
+        model.addAttribute("nextToken", newestFirst
+            ? PageToken.next(productPage.getContent(), productPage.hasNext(), ProductView::getCreatedAt, ProductView::getId)
+            : null);
         model.addAttribute("categories", categoryService.getAllCategories());
         model.addAttribute("searchQuery", search);
-        model.addAttribute("selectedCategory", categoryId);
+        model.addAttribute("filters", filters);
+        model.addAttribute("facets", facets);
+        model.addAttribute("priceBands", PriceBand.values());
+        model.addAttribute("sorts", ProductSort.values());
+        model.addAttribute("sortBy", sort != null ? sort.toParam() : null);
+        model.addAttribute("pageUrl", UriComponentsBuilder.fromPath("/shop")
+            .queryParams(filters.toQueryParams())
+            .queryParamIfPresent("search", Optional.ofNullable(search).filter(s -> !s.isBlank()))
+            .queryParamIfPresent("sortBy", Optional.ofNullable(sort).map(ProductSort::toParam))
+            .toUriString());
 
         return "public/shop";
     }
 
+    /**
+     * Autocomplete for the shop search box: product names, categories and popular searches
+     */
+    @GetMapping("/shop/suggest")
+    @ResponseBody
+    public ResponseEntity<List<Map<String, Object>>> suggest(@RequestParam(name = "q", defaultValue = "") String query) {
+        List<Map<String, Object>> suggestions = new ArrayList<>();
+        for (Suggestion suggestion : suggestService.suggest(query, SUGGESTION_LIMIT)) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("text", suggestion.getText());
+            item.put("type", suggestion.getType().name().toLowerCase());
+            item.put("url", switch (suggestion.getType()) {
+                case PRODUCT -> "/product/" + suggestion.getId();
+                case CATEGORY -> "/shop?categoryId=" + suggestion.getId();
+                case QUERY -> UriComponentsBuilder.fromPath("/shop").queryParam("search", suggestion.getText()).encode().toUriString();
+            });
+            suggestions.add(item);
+        }
+        return ResponseEntity.ok(suggestions);
+    }
+
     @GetMapping("/product/{id}")
     public String productDetail(@PathVariable Long id, Model model, Authentication authentication) {
-        Product product = productService.getProductById(id)
-            .orElseThrow(() -> new RuntimeException("Product not found"));
+        ProductView product = productViewCache.get(id);
+        if (product == null) {
+            throw new RuntimeException("Product not found");
+        }
 
         model.addAttribute("title", product.getName() + " | EcoSwap");
         model.addAttribute("product", product);
 
         // Related products from same category
-        List<Product> relatedProducts = productService.getProductsByCategory(
-            product.getCategory().getId(), 0, 4
+        List<ProductView> relatedProducts = productService.getProductViewsAfter(
+            product.getCategoryId(), PageToken.FIRST, 4
         ).getContent();
 
         model.addAttribute("relatedProducts", relatedProducts);
@@ -124,6 +217,36 @@ public class PublicPagesController {
         return "public/product-detail";
     }
 
+    @GetMapping("/leaderboard")
+    public String leaderboard(@RequestParam(required = false) String month, Model model) {
+        model.addAttribute("title", "Impact Leaderboard | EcoSwap");
+
+        YearMonth selectedMonth = YearMonth.now();
+        if (month != null) {
+            try {
+                YearMonth requested = YearMonth.parse(month);
+                // Months before the first order or in the future show the current one
+                if (leaderboardService.isLeaderboardMonth(requested)) {
+                    selectedMonth = requested;
+                }
+            } catch (DateTimeParseException e) {
+                // Unknown month: show the current one
+            }
+        }
+
+        // Boards are served from memory, a handful of entries each
+        model.addAttribute("topCustomers", leaderboardService.getTopCustomersByCo2(LEADERBOARD_SIZE));
+        model.addAttribute("topSellers", leaderboardService.getTopSellersByPlastic(LEADERBOARD_SIZE));
+        model.addAttribute("topCategories", leaderboardService.getTopCategories(selectedMonth, LEADERBOARD_SIZE));
+        model.addAttribute("selectedMonth", selectedMonth.toString());
+        model.addAttribute("selectedMonthLabel", selectedMonth.format(DateTimeFormatter.ofPattern("MMMM yyyy")));
+        YearMonth previousMonth = selectedMonth.minusMonths(1);
+        model.addAttribute("previousMonth", leaderboardService.isLeaderboardMonth(previousMonth) ? previousMonth.toString() : null);
+        model.addAttribute("nextMonth", selectedMonth.isBefore(YearMonth.now()) ? selectedMonth.plusMonths(1).toString() : null);
+
+        return "public/leaderboard";
+    }
+
     @GetMapping("/about")
     public String about(Model model) {
         model.addAttribute("title", "About Us | EcoSwap");
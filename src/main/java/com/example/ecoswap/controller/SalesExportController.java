@@ -0,0 +1,67 @@
+package com.example.ecoswap.controller;
+
+import com.example.ecoswap.model.enums.OrderStatus;
+import com.example.ecoswap.security.CustomUserDetails;
+import com.example.ecoswap.services.SalesExportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+/**
+ * CSV exports of order-item sales for sellers and admins.
+ * Rows are streamed to the response as they are read, so exports of any size use constant memory.
+ */
+@Controller
+public class SalesExportController {
+
+    private static final MediaType TEXT_CSV = new MediaType("text", "csv", StandardCharsets.UTF_8);
+
+    @Autowired
+    private SalesExportService salesExportService;
+
+    /**
+     * Export the logged-in seller's order lines
+     */
+    @GetMapping("/seller/analytics/export")
+    public ResponseEntity<StreamingResponseBody> exportSellerSales(
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(value = "status", required = false) OrderStatus status) {
+        Long sellerId = userDetails.getUser().getId();
+
+        StreamingResponseBody body = out -> salesExportService.exportSellerSales(sellerId, from, to, status, out);
+        return csv("seller-sales", from, to, body);
+    }
+
+    /**
+     * Export order lines for the whole platform
+     */
+    @GetMapping("/admin/analytics/export")
+    public ResponseEntity<StreamingResponseBody> exportPlatformSales(
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(value = "status", required = false) OrderStatus status) {
+        StreamingResponseBody body = out -> salesExportService.exportPlatformSales(from, to, status, out);
+        return csv("platform-sales", from, to, body);
+    }
+
+    private ResponseEntity<StreamingResponseBody> csv(String prefix, LocalDate from, LocalDate to, StreamingResponseBody body) {
+        String filename = prefix + "-" + (from != null ? from : "all") + "-to-" + (to != null ? to : LocalDate.now()) + ".csv";
+        return ResponseEntity.ok()
+            .contentType(TEXT_CSV)
+            .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+            .body(body);
+    }
+}
@@ -12,6 +12,8 @@ import com.example.ecoswap.model.Product;
 import com.example.ecoswap.model.Review;
 import com.example.ecoswap.model.User;
 import com.example.ecoswap.security.CustomUserDetails;
+import com.example.ecoswap.services.DashboardComposer;
+import com.example.ecoswap.services.DashboardStatsService;
 import com.example.ecoswap.services.OrderService;
 import com.example.ecoswap.services.ProductService;
 import com.example.ecoswap.services.ReviewService;
@@ -33,6 +35,12 @@ public class SellerController {
     @Autowired
     private ReviewService reviewService;
 
+    @Autowired
+    private DashboardStatsService dashboardStatsService;
+
+    @Autowired
+    private DashboardComposer dashboardComposer;
+
     @GetMapping("/seller/dashboard")
     public String sellerDashboard(@AuthenticationPrincipal CustomUserDetails userDetails, Model model) {
         model.addAttribute("title", "Seller Dashboard");
@@ -40,48 +48,42 @@ public class SellerController {
         User user = userDetails.getUser();
         Long sellerId = user.getId();
 
-        // Get order statistics
-        Map<String, Object> orderStats = orderService.getSellerOrderStatistics(sellerId);
-
-        // Get product statistics
-        Long totalProducts = productService.getSellerProductCount(sellerId);
-        Long activeProducts = productService.getActiveProductCount(sellerId);
-        List<Product> lowStockProducts = productService.getLowStockProducts(sellerId);
-
-        // Get recent orders
-        List<Order> recentOrders = orderService.getRecentOrdersBySeller(sellerId, 3);
-
-        // Calculate CO2 saved from all products
-        List<Product> allProducts = productService.getProductsBySeller(sellerId);
-        double totalCo2Saved = allProducts.stream()
-            .mapToDouble(p -> p.getCo2Saved() != null ? p.getCo2Saved() : 0.0)
-            .sum();
-
-        double totalPlasticSaved = allProducts.stream()
-            .mapToDouble(p -> p.getPlasticSaved() != null ? p.getPlasticSaved() : 0.0)
-            .sum();
+        // Headline numbers are read from the stale-while-revalidate cache inline,
+        // lists are always loaded live and concurrently
+        DashboardComposer.Composition page = dashboardComposer.compose();
+        DashboardComposer.Widget<Map<String, Object>> statsWidget = page.addInline("stats",
+            () -> dashboardStatsService.getSellerStats(sellerId), Map.of());
+        DashboardComposer.Widget<List<Product>> lowStockWidget = page.add("lowStockProducts",
+            () -> productService.getLowStockProducts(sellerId), List.of());
+        DashboardComposer.Widget<List<Order>> recentOrdersWidget = page.add("recentOrders",
+            () -> orderService.getRecentOrdersBySeller(sellerId, 3), List.of());
+        model.addAttribute("widgetTimings", page.await());
+
+        Map<String, Object> stats = statsWidget.get();
+        List<Product> lowStockProducts = lowStockWidget.get();
+        List<Order> recentOrders = recentOrdersWidget.get();
 
         // Add all attributes to model
         model.addAttribute("userName", user.getFullName());
         model.addAttribute("userRole", user.getRole().getDisplayName());
 
         // Order stats
-        model.addAttribute("totalOrders", orderStats.get("totalOrders"));
-        model.addAttribute("pendingOrders", orderStats.get("pendingOrders"));
-        model.addAttribute("totalRevenue", orderStats.get("totalRevenue"));
-        model.addAttribute("monthlyRevenue", orderStats.get("monthlyRevenue"));
+        model.addAttribute("totalOrders", stats.get("totalOrders"));
+        model.addAttribute("pendingOrders", stats.get("pendingOrders"));
+        model.addAttribute("totalRevenue", stats.get("totalRevenue"));
+        model.addAttribute("monthlyRevenue", stats.get("monthlyRevenue"));
         model.addAttribute("recentOrders", recentOrders);
 
         // Product stats
-        model.addAttribute("totalProducts", totalProducts);
-        model.addAttribute("activeProducts", activeProducts);
+        model.addAttribute("totalProducts", stats.get("totalProducts"));
+        model.addAttribute("activeProducts", stats.get("activeProducts"));
         model.addAttribute("lowStockCount", lowStockProducts.size());
         model.addAttribute("lowStockProducts", lowStockProducts);
 
         // Environmental impact
-        model.addAttribute("totalCo2Saved", totalCo2Saved);
-        model.addAttribute("totalPlasticSaved", totalPlasticSaved);
-        model.addAttribute("itemsRecycled", orderStats.get("totalItemsSold"));
+        model.addAttribute("totalCo2Saved", stats.get("totalCo2Saved"));
+        model.addAttribute("totalPlasticSaved", stats.get("totalPlasticSaved"));
+        model.addAttribute("itemsRecycled", stats.get("totalItemsSold"));
 
         return "dashboard/seller";
     }
@@ -0,0 +1,34 @@
+package com.example.ecoswap.dtos;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public class CategoryRevenueDTO {
+    private Long categoryId;
+    private LocalDate salesMonth;
+    private BigDecimal revenue;
+    private Long itemsSold;
+
+    // Constructors
+    public CategoryRevenueDTO() {}
+
+    public CategoryRevenueDTO(Long categoryId, LocalDate salesMonth, BigDecimal revenue, Long itemsSold) {
+        this.categoryId = categoryId;
+        this.salesMonth = salesMonth;
+        this.revenue = revenue;
+        this.itemsSold = itemsSold;
+    }
+
+    // Getters and Setters
+    public Long getCategoryId() { return categoryId; }
+    public void setCategoryId(Long categoryId) { this.categoryId = categoryId; }
+
+    public LocalDate getSalesMonth() { return salesMonth; }
+    public void setSalesMonth(LocalDate salesMonth) { this.salesMonth = salesMonth; }
+
+    public BigDecimal getRevenue() { return revenue; }
+    public void setRevenue(BigDecimal revenue) { this.revenue = revenue; }
+
+    public Long getItemsSold() { return itemsSold; }
+    public void setItemsSold(Long itemsSold) { this.itemsSold = itemsSold; }
+}
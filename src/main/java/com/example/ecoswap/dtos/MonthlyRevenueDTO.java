@@ -0,0 +1,33 @@
+package com.example.ecoswap.dtos;
+
+import java.math.BigDecimal;
+
+public class MonthlyRevenueDTO {
+    private Integer year;
+    private Integer month;
+    private BigDecimal revenue;
+    private Long orderCount;
+    
+    // Constructors
+    public MonthlyRevenueDTO() {}
+    
+    public MonthlyRevenueDTO(Integer year, Integer month, BigDecimal revenue, Long orderCount) {
+        this.year = year;
+        this.month = month;
+        this.revenue = revenue;
+        this.orderCount = orderCount;
+    }
+    
+    // Getters and Setters
+    public Integer getYear() { return year; }
+    public void setYear(Integer year) { this.year = year; }
+    
+    public Integer getMonth() { return month; }
+    public void setMonth(Integer month) { this.month = month; }
+    
+    public BigDecimal getRevenue() { return revenue; }
+    public void setRevenue(BigDecimal revenue) { this.revenue = revenue; }
+    
+    public Long getOrderCount() { return orderCount; }
+    public void setOrderCount(Long orderCount) { this.orderCount = orderCount; }
+}
@@ -0,0 +1,76 @@
+package com.example.ecoswap.dtos;
+
+import org.springframework.data.domain.Slice;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Keyset pagination cursor: the (createdAt, id) of the last row on the previous page.
+ * Lists sorted newest first continue with the rows strictly after it, so a page costs one index seek
+ * however deep it is. Encoded as URL-safe Base64 so it travels as an opaque "after" parameter.
+ */
+public final class PageToken {
+
+    // Sorts before every real row, so the first page is a seek like any other
+    public static final PageToken FIRST = new PageToken(LocalDateTime.of(9999, 12, 31, 23, 59, 59), Long.MAX_VALUE);
+
+    private static final char SEPARATOR = '|';
+
+    private final LocalDateTime createdAt;
+    private final long id;
+
+    public PageToken(LocalDateTime createdAt, long id) {
+        this.createdAt = createdAt;
+        this.id = id;
+    }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+
+    public long getId() { return id; }
+
+    public String encode() {
+        String raw = createdAt + String.valueOf(SEPARATOR) + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * The cursor a token stands for, or null if there is no token or it is not one of ours
+     */
+    public static PageToken decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token.trim()), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            if (separator < 0) {
+                return null;
+            }
+            return new PageToken(LocalDateTime.parse(raw.substring(0, separator)), Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Token for the page after rows, or null when rows is the last page
+     */
+    public static <T> String next(List<T> rows, boolean hasNext, Function<T, LocalDateTime> createdAt, Function<T, Long> id) {
+        if (!hasNext || rows.isEmpty()) {
+            return null;
+        }
+        T last = rows.get(rows.size() - 1);
+        LocalDateTime lastCreatedAt = createdAt.apply(last);
+        Long lastId = id.apply(last);
+        return lastCreatedAt == null || lastId == null ? null : new PageToken(lastCreatedAt, lastId).encode();
+    }
+
+    public static <T> String next(Slice<T> slice, Function<T, LocalDateTime> createdAt, Function<T, Long> id) {
+        return next(slice.getContent(), slice.hasNext(), createdAt, id);
+    }
+}
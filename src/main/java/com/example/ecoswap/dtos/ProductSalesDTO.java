@@ -0,0 +1,39 @@
+package com.example.ecoswap.dtos;
+
+import java.math.BigDecimal;
+
+public class ProductSalesDTO {
+    private Long productId;
+    private String productName;
+    private String productImage;
+    private Long unitsSold;
+    private BigDecimal revenue;
+    
+    // Constructors
+    public ProductSalesDTO() {}
+    
+    public ProductSalesDTO(Long productId, String productName, String productImage, 
+                          Long unitsSold, BigDecimal revenue) {
+        this.productId = productId;
+        this.productName = productName;
+        this.productImage = productImage;
+        this.unitsSold = unitsSold;
+        this.revenue = revenue;
+    }
+    
+    // Getters and Setters
+    public Long getProductId() { return productId; }
+    public void setProductId(Long productId) { this.productId = productId; }
+    
+    public String getProductName() { return productName; }
+    public void setProductName(String productName) { this.productName = productName; }
+    
+    public String getProductImage() { return productImage; }
+    public void setProductImage(String productImage) { this.productImage = productImage; }
+    
+    public Long getUnitsSold() { return unitsSold; }
+    public void setUnitsSold(Long unitsSold) { this.unitsSold = unitsSold; }
+    
+    public BigDecimal getRevenue() { return revenue; }
+    public void setRevenue(BigDecimal revenue) { this.revenue = revenue; }
+}
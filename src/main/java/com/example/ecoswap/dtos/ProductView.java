@@ -0,0 +1,103 @@
+package com.example.ecoswap.dtos;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Immutable read model of a product for the shop listing, home page and product detail pages,
+ * with its category and seller names flattened in. Loaded by one projection query and shared
+ * between requests through ProductViewCache.
+ */
+public final class ProductView {
+
+    private final Long id;
+    private final String name;
+    private final String description;
+    private final BigDecimal price;
+    private final BigDecimal originalPrice;
+    private final String image;
+    private final Integer stock;
+    private final Double rating;
+    private final Integer reviewCount;
+    private final Integer ecoScore;
+    private final Double co2Saved;
+    private final Double plasticSaved;
+    private final LocalDateTime createdAt;
+    private final Long categoryId;
+    private final String categoryName;
+    private final String sellerName;
+    private final String storeName;
+
+    public ProductView(Long id, String name, String description, BigDecimal price, BigDecimal originalPrice,
+                       String image, Integer stock, Double rating, Integer reviewCount, Integer ecoScore,
+                       Double co2Saved, Double plasticSaved, LocalDateTime createdAt,
+                       Long categoryId, String categoryName, String sellerName, String storeName) {
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.price = price;
+        this.originalPrice = originalPrice;
+        this.image = image;
+        this.stock = stock;
+        this.rating = rating;
+        this.reviewCount = reviewCount;
+        this.ecoScore = ecoScore;
+        this.co2Saved = co2Saved;
+        this.plasticSaved = plasticSaved;
+        this.createdAt = createdAt;
+        this.categoryId = categoryId;
+        this.categoryName = categoryName;
+        this.sellerName = sellerName;
+        this.storeName = storeName;
+    }
+
+    public Long getId() { return id; }
+
+    public String getName() { return name; }
+
+    public String getDescription() { return description; }
+
+    public BigDecimal getPrice() { return price; }
+
+    public BigDecimal getOriginalPrice() { return originalPrice; }
+
+    public String getImage() { return image; }
+
+    public Integer getStock() { return stock; }
+
+    public Double getRating() { return rating; }
+
+    public Integer getReviewCount() { return reviewCount; }
+
+    public Integer getEcoScore() { return ecoScore; }
+
+    public Double getCo2Saved() { return co2Saved; }
+
+    public Double getPlasticSaved() { return plasticSaved; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+
+    public Long getCategoryId() { return categoryId; }
+
+    public String getCategoryName() { return categoryName; }
+
+    public String getSellerName() { return sellerName; }
+
+    /**
+     * The seller's business name, null when they have no seller profile
+     */
+    public String getStoreName() { return storeName; }
+
+    /**
+     * Rough retained size in bytes: the object, its boxed fields and its strings (Latin-1 estimate)
+     */
+    public long estimatedSize() {
+        return 16 + 17 * 4 + 10 * 16 + 2 * 40 + 32
+            + sizeOf(name) + sizeOf(description) + sizeOf(image)
+            + sizeOf(categoryName) + sizeOf(sellerName) + sizeOf(storeName);
+    }
+
+    private static long sizeOf(String value) {
+        return value == null ? 0 : 40 + value.length();
+    }
+}
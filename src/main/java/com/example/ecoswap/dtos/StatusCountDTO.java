@@ -0,0 +1,23 @@
+package com.example.ecoswap.dtos;
+
+import com.example.ecoswap.model.enums.OrderStatus;
+
+public class StatusCountDTO {
+    private OrderStatus status;
+    private Long count;
+    
+    // Constructors
+    public StatusCountDTO() {}
+    
+    public StatusCountDTO(OrderStatus status, Long count) {
+        this.status = status;
+        this.count = count;
+    }
+    
+    // Getters and Setters
+    public OrderStatus getStatus() { return status; }
+    public void setStatus(OrderStatus status) { this.status = status; }
+    
+    public Long getCount() { return count; }
+    public void setCount(Long count) { this.count = count; }
+}
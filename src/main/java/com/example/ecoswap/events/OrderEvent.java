@@ -0,0 +1,77 @@
+package com.example.ecoswap.events;
+
+import com.example.ecoswap.model.Order;
+import com.example.ecoswap.model.enums.OrderStatus;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Published by OrderService whenever an order is created, changes status or is deleted.
+ * Listeners that keep derived data (caches, ledgers, counters) react to these instead of
+ * rescanning orders.
+ */
+public class OrderEvent {
+
+    public enum Type {
+        CREATED,
+        STATUS_CHANGED,
+        DELETED
+    }
+
+    private final Order order;
+    private final Type type;
+    private final OrderStatus previousStatus;
+    private final Long customerId;
+    private final Set<Long> sellerIds;
+
+    public OrderEvent(Order order, Type type, OrderStatus previousStatus) {
+        this.order = order;
+        this.type = type;
+        this.previousStatus = previousStatus;
+        // Resolved while the transaction is open so after-commit listeners don't touch lazy items
+        this.customerId = order.getCustomer().getId();
+        this.sellerIds = order.getOrderItems().stream()
+            .map(item -> item.getSeller().getId())
+            .collect(Collectors.toUnmodifiableSet());
+    }
+
+    public static OrderEvent created(Order order) {
+        return new OrderEvent(order, Type.CREATED, null);
+    }
+
+    public static OrderEvent statusChanged(Order order, OrderStatus previousStatus) {
+        return new OrderEvent(order, Type.STATUS_CHANGED, previousStatus);
+    }
+
+    public static OrderEvent deleted(Order order) {
+        return new OrderEvent(order, Type.DELETED, order.getStatus());
+    }
+
+    public Order getOrder() { return order; }
+
+    public Type getType() { return type; }
+
+    public OrderStatus getPreviousStatus() { return previousStatus; }
+
+    public Long getCustomerId() { return customerId; }
+
+    public Set<Long> getSellerIds() { return sellerIds; }
+
+    /**
+     * True when the order has just become DELIVERED
+     */
+    public boolean isDelivery() {
+        return type != Type.DELETED
+            && order.getStatus() == OrderStatus.DELIVERED
+            && previousStatus != OrderStatus.DELIVERED;
+    }
+
+    /**
+     * True when a previously DELIVERED order was moved to another status or deleted
+     */
+    public boolean isDeliveryReversal() {
+        return previousStatus == OrderStatus.DELIVERED
+            && (type == Type.DELETED || order.getStatus() != OrderStatus.DELIVERED);
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.ecoswap.events;
+
+/**
+ * Published by ProductService whenever a product is created, updated or deleted.
+ */
+public class ProductEvent {
+
+    public enum Type {
+        SAVED,
+        DELETED
+    }
+
+    private final Long productId;
+    private final Long sellerId;
+    private final Type type;
+
+    public ProductEvent(Long productId, Long sellerId, Type type) {
+        this.productId = productId;
+        this.sellerId = sellerId;
+        this.type = type;
+    }
+
+    public Long getProductId() { return productId; }
+
+    public Long getSellerId() { return sellerId; }
+
+    public Type getType() { return type; }
+}
@@ -0,0 +1,69 @@
+package com.example.ecoswap.model;
+
+import com.example.ecoswap.model.enums.AchievementMetric;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * An achievement defined as data: unlocked once a customer's ledger metric reaches the threshold.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "achievement_rules")
+public class AchievementRule {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, unique = true, length = 50)
+    private String code;
+
+    @Column(nullable = false)
+    private String title;
+
+    @Column
+    private String description;
+
+    @Column(length = 20)
+    private String icon;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 30)
+    private AchievementMetric metric;
+
+    @Column(nullable = false)
+    private Double threshold;
+
+    @Column(nullable = false)
+    private Integer displayOrder = 0;
+
+    @Column(nullable = false)
+    private Boolean active = true;
+
+    @Column
+    private LocalDateTime updatedAt;
+
+    public AchievementRule(String code, String icon, String title, String description,
+                           AchievementMetric metric, double threshold, int displayOrder) {
+        this.code = code;
+        this.icon = icon;
+        this.title = title;
+        this.description = description;
+        this.metric = metric;
+        this.threshold = threshold;
+        this.displayOrder = displayOrder;
+    }
+
+    @PrePersist
+    @PreUpdate
+    public void touch() {
+        this.updatedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.ecoswap.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Marks an analytics store as rebuilt from the order items. A store without a row (a new store, or an
+ * existing database upgraded to a version that adds one) is rebuilt once on startup.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "analytics_rebuilds")
+public class AnalyticsRebuild {
+
+    @Id
+    @Column(length = 64)
+    private String store;
+
+    @Column(nullable = false)
+    private LocalDateTime rebuiltAt;
+
+    public AnalyticsRebuild(String store, LocalDateTime rebuiltAt) {
+        this.store = store;
+        this.rebuiltAt = rebuiltAt;
+    }
+}
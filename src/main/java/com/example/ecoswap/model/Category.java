@@ -2,8 +2,10 @@ package com.example.ecoswap.model;
 
 
 
+import com.example.ecoswap.search.ProductIndexListener;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
@@ -18,6 +20,7 @@ import java.util.List;
 
 @Entity
 @Table(name = "categories")
+@EntityListeners(ProductIndexListener.class)
 public class Category {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
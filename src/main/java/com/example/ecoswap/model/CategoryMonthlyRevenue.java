@@ -0,0 +1,59 @@
+package com.example.ecoswap.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Delivered revenue per seller, category and month. Feeds the revenue-by-category charts
+ * for sellers and, summed over sellers, for the whole platform. Category names are looked up
+ * when the charts are read, so a renamed category keeps one series.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "category_monthly_revenue",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"seller_id", "category_id", "sales_month"}),
+       indexes = @Index(name = "idx_category_monthly_revenue_month", columnList = "sales_month"))
+public class CategoryMonthlyRevenue {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "seller_id", nullable = false)
+    private Long sellerId;
+
+    @Column(name = "category_id", nullable = false)
+    private Long categoryId;
+
+    @Column(name = "sales_month", nullable = false)
+    private LocalDate salesMonth; // First day of the month
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal revenue = BigDecimal.ZERO;
+
+    @Column(nullable = false)
+    private Long itemsSold = 0L;
+
+    @Column
+    private LocalDateTime updatedAt;
+
+    public CategoryMonthlyRevenue(Long sellerId, Long categoryId, LocalDate salesMonth) {
+        this.sellerId = sellerId;
+        this.categoryId = categoryId;
+        this.salesMonth = salesMonth;
+    }
+
+    @PrePersist
+    @PreUpdate
+    public void touch() {
+        this.updatedAt = LocalDateTime.now();
+    }
+}
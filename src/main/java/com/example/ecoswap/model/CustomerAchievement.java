@@ -0,0 +1,40 @@
+package com.example.ecoswap.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * An achievement a customer has unlocked. Unlocks are kept even if a later refund
+ * takes the customer back below the threshold.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "customer_achievements",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"customer_id", "rule_id"}))
+public class CustomerAchievement {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "customer_id", nullable = false)
+    private Long customerId;
+
+    @Column(name = "rule_id", nullable = false)
+    private Long ruleId;
+
+    @Column(nullable = false)
+    private LocalDateTime unlockedAt;
+
+    public CustomerAchievement(Long customerId, Long ruleId, LocalDateTime unlockedAt) {
+        this.customerId = customerId;
+        this.ruleId = ruleId;
+        this.unlockedAt = unlockedAt;
+    }
+}
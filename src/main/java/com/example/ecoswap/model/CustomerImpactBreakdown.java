@@ -0,0 +1,64 @@
+package com.example.ecoswap.model;
+
+import com.example.ecoswap.model.enums.ImpactDimension;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One slice of a customer's impact ledger: either a category (key = category id)
+ * or a month (key = yyyy-MM). Maintained together with CustomerImpactLedger.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "customer_impact_breakdown",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"customer_id", "dimension", "dimension_key"}))
+public class CustomerImpactBreakdown {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "customer_id", nullable = false)
+    private Long customerId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "dimension", nullable = false, length = 20)
+    private ImpactDimension dimension;
+
+    @Column(name = "dimension_key", nullable = false, length = 50)
+    private String dimensionKey;
+
+    @Column
+    private String label; // Category name snapshot, or the month key
+
+    @Column(nullable = false)
+    private Long itemsPurchased = 0L;
+
+    @Column(nullable = false)
+    private Double co2Saved = 0.0;
+
+    @Column(nullable = false)
+    private Double plasticSaved = 0.0;
+
+    @Column
+    private LocalDateTime updatedAt;
+
+    public CustomerImpactBreakdown(Long customerId, ImpactDimension dimension, String dimensionKey, String label) {
+        this.customerId = customerId;
+        this.dimension = dimension;
+        this.dimensionKey = dimensionKey;
+        this.label = label;
+    }
+
+    @PrePersist
+    @PreUpdate
+    public void touch() {
+        this.updatedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.ecoswap.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Running environmental impact totals for a customer, credited when an order is delivered
+ * and debited when a delivered order is cancelled, refunded or deleted.
+ * Per-category and per-month figures live in CustomerImpactBreakdown.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "customer_impact_ledger")
+public class CustomerImpactLedger {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "customer_id", nullable = false, unique = true)
+    private Long customerId;
+
+    @Column(nullable = false)
+    private Long deliveredOrders = 0L;
+
+    @Column(nullable = false)
+    private Long itemsPurchased = 0L;
+
+    @Column(nullable = false)
+    private Double co2Saved = 0.0; // kg
+
+    @Column(nullable = false)
+    private Double plasticSaved = 0.0; // grams
+
+    @Column
+    private LocalDateTime updatedAt;
+
+    public CustomerImpactLedger(Long customerId) {
+        this.customerId = customerId;
+    }
+
+    @PrePersist
+    @PreUpdate
+    public void touch() {
+        this.updatedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.ecoswap.model;
+
+import com.example.ecoswap.model.enums.LeaderboardType;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Score of one customer, seller or category on a leaderboard, from delivered orders.
+ * period is "ALL" for all-time boards or the order month (yyyy-MM) for monthly boards.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "leaderboard_scores",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"board", "period", "entity_id"}),
+       indexes = @Index(name = "idx_leaderboard_rank", columnList = "board, period, score"))
+public class LeaderboardScore {
+
+    public static final String ALL_TIME = "ALL";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private LeaderboardType board;
+
+    @Column(nullable = false, length = 7)
+    private String period;
+
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    @Column
+    private String label; // Snapshot so boards don't need to join users or categories
+
+    @Column(nullable = false)
+    private Double score = 0.0;
+
+    @Column
+    private LocalDateTime updatedAt;
+
+    public LeaderboardScore(LeaderboardType board, String period, Long entityId, String label) {
+        this.board = board;
+        this.period = period;
+        this.entityId = entityId;
+        this.label = label;
+    }
+
+    @PrePersist
+    @PreUpdate
+    public void touch() {
+        this.updatedAt = LocalDateTime.now();
+    }
+}
@@ -50,7 +50,40 @@ public class OrderItem {
     @Column
     private String productImage;
 
+    // Impact snapshot at time of order, so later product edits don't rewrite history
+    @Column
+    private Double co2Saved; // kg per unit
+
+    @Column
+    private Double plasticSaved; // grams per unit
+
+    @Column(name = "category_id")
+    private Long categoryId;
+
+    /**
+     * Copy CO2, plastic and category from the product if they haven't been captured yet
+     */
+    public void captureImpactSnapshot() {
+        if (this.product == null) {
+            return;
+        }
+        if (this.co2Saved == null) {
+            this.co2Saved = this.product.getCo2Saved() != null ? this.product.getCo2Saved() : 0.0;
+        }
+        if (this.plasticSaved == null) {
+            this.plasticSaved = this.product.getPlasticSaved() != null ? this.product.getPlasticSaved() : 0.0;
+        }
+        if (this.categoryId == null && this.product.getCategory() != null) {
+            this.categoryId = this.product.getCategory().getId();
+        }
+    }
+
     @PrePersist
+    public void prePersist() {
+        captureImpactSnapshot();
+        calculateLineTotal();
+    }
+
     @PreUpdate
     public void calculateLineTotal() {
         // Ensure price is never null
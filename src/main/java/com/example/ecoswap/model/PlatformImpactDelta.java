@@ -0,0 +1,54 @@
+package com.example.ecoswap.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * One signed change to the platform impact totals, written in the same transaction as the
+ * order status change. Deltas are folded into PlatformImpactSnapshot and deleted on flush,
+ * so on startup the snapshot plus the remaining deltas give the exact totals.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "platform_impact_deltas")
+public class PlatformImpactDelta {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "order_id", nullable = false)
+    private Long orderId;
+
+    @Column(nullable = false)
+    private LocalDate orderDate;
+
+    @Column(nullable = false)
+    private Long deliveredOrders; // +1 or -1
+
+    @Column(nullable = false)
+    private Long itemsSold;
+
+    @Column(nullable = false)
+    private Double co2Saved;
+
+    @Column(nullable = false)
+    private Double plasticSaved;
+
+    @Column
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    public void prePersist() {
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.ecoswap.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Platform-wide impact totals as of the last flush of PlatformImpactCounters.
+ * There is a single row (id 1); changes since then are in platform_impact_deltas.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "platform_impact_snapshot")
+public class PlatformImpactSnapshot {
+
+    public static final Long SINGLETON_ID = 1L;
+
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private Long deliveredOrders = 0L;
+
+    @Column(nullable = false)
+    private Long itemsSold = 0L;
+
+    @Column(nullable = false)
+    private Double co2Saved = 0.0; // kg
+
+    @Column(nullable = false)
+    private Double plasticSaved = 0.0; // grams
+
+    @Column
+    private LocalDateTime updatedAt;
+
+    public PlatformImpactSnapshot(Long id) {
+        this.id = id;
+    }
+
+    @PrePersist
+    @PreUpdate
+    public void touch() {
+        this.updatedAt = LocalDateTime.now();
+    }
+}
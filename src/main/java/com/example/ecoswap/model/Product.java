@@ -1,11 +1,22 @@
 package com.example.ecoswap.model;
 
+import com.example.ecoswap.search.ProductIndexListener;
 import jakarta.persistence.*;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "products")
+// Everything a product list renders in one query: the category, and the seller with the profiles
+// Hibernate would otherwise select one by one (eager one-to-ones on the non-owning side)
+@NamedEntityGraph(name = "Product.listing", attributeNodes = {
+    @NamedAttributeNode("category"),
+    @NamedAttributeNode(value = "seller", subgraph = "seller")
+}, subgraphs = @NamedSubgraph(name = "seller", attributeNodes = {
+    @NamedAttributeNode("customerProfile"),
+    @NamedAttributeNode("sellerProfile")
+}))
+@EntityListeners(ProductIndexListener.class)
 public class Product {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -50,6 +61,10 @@ public class Product {
     @Column
     private Integer reviewCount = 0;
     
+    // Units delivered; only ProductSalesCounter's atomic increments write it, never an entity update
+    @Column(nullable = false, updatable = false)
+    private Long salesCount = 0L;
+    
     @Column(nullable = false)
     private String status = "ACTIVE";
     
@@ -117,6 +132,9 @@ public class Product {
     public Integer getReviewCount() { return reviewCount; }
     public void setReviewCount(Integer reviewCount) { this.reviewCount = reviewCount; }
     
+    public Long getSalesCount() { return salesCount; }
+    public void setSalesCount(Long salesCount) { this.salesCount = salesCount; }
+    
     public String getStatus() { return status; }
     public void setStatus(String status) { this.status = status; }
     
@@ -0,0 +1,50 @@
+package com.example.ecoswap.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * HyperLogLog registers of the distinct customers with delivered orders for a seller in one month.
+ * Months are merged to answer distinct counts over longer ranges.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "seller_customer_sketches",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"seller_id", "sales_month"}))
+public class SellerCustomerSketch {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "seller_id", nullable = false)
+    private Long sellerId;
+
+    @Column(name = "sales_month", nullable = false)
+    private LocalDate salesMonth; // First day of the month
+
+    @Lob
+    @Column(nullable = false, length = 16384)
+    private byte[] registers;
+
+    @Column
+    private LocalDateTime updatedAt;
+
+    public SellerCustomerSketch(Long sellerId, LocalDate salesMonth) {
+        this.sellerId = sellerId;
+        this.salesMonth = salesMonth;
+    }
+
+    @PrePersist
+    @PreUpdate
+    public void touch() {
+        this.updatedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.ecoswap.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Daily sales rollup per seller and category, built from delivered orders.
+ *
+ * orderCount is attributed to the lowest category id the seller has in the order,
+ * so it can be summed across categories and days.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "seller_daily_sales",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"seller_id", "sales_date", "category_id"}))
+public class SellerDailySales {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "seller_id", nullable = false)
+    private Long sellerId;
+
+    @Column(name = "sales_date", nullable = false)
+    private LocalDate salesDate;
+
+    @Column(name = "category_id", nullable = false)
+    private Long categoryId;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal revenue = BigDecimal.ZERO;
+
+    @Column(nullable = false)
+    private Long itemsSold = 0L;
+
+    @Column(nullable = false)
+    private Long orderCount = 0L;
+
+    @Column
+    private LocalDateTime updatedAt;
+
+    public SellerDailySales(Long sellerId, LocalDate salesDate, Long categoryId) {
+        this.sellerId = sellerId;
+        this.salesDate = salesDate;
+        this.categoryId = categoryId;
+    }
+
+    @PrePersist
+    @PreUpdate
+    public void touch() {
+        this.updatedAt = LocalDateTime.now();
+    }
+}
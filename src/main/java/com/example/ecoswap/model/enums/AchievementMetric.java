@@ -0,0 +1,31 @@
+package com.example.ecoswap.model.enums;
+
+import com.example.ecoswap.model.CustomerImpactLedger;
+
+/**
+ * Ledger figures an achievement rule can set a threshold on
+ */
+public enum AchievementMetric {
+    ITEMS_PURCHASED,
+    DELIVERED_ORDERS,
+    CO2_SAVED,     // kg
+    PLASTIC_SAVED; // grams
+
+    /**
+     * Current value of this metric in a customer's impact ledger
+     */
+    public double valueOf(CustomerImpactLedger ledger) {
+        switch (this) {
+            case ITEMS_PURCHASED:
+                return ledger.getItemsPurchased();
+            case DELIVERED_ORDERS:
+                return ledger.getDeliveredOrders();
+            case CO2_SAVED:
+                return ledger.getCo2Saved();
+            case PLASTIC_SAVED:
+                return ledger.getPlasticSaved();
+            default:
+                return 0;
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.ecoswap.model.enums;
+
+/**
+ * Breakdowns kept in the customer impact ledger
+ */
+public enum ImpactDimension {
+    CATEGORY, // keyed by category id
+    MONTH     // keyed by yyyy-MM of the order date
+}
@@ -0,0 +1,10 @@
+package com.example.ecoswap.model.enums;
+
+/**
+ * Impact leaderboards kept by LeaderboardService
+ */
+public enum LeaderboardType {
+    CUSTOMER_CO2,   // customers by kg CO2 saved, all time
+    SELLER_PLASTIC, // sellers by grams of plastic prevented, all time
+    CATEGORY_CO2    // categories by kg CO2 saved, per order month
+}
@@ -0,0 +1,14 @@
+package com.example.ecoswap.repository;
+
+import com.example.ecoswap.model.AchievementRule;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface AchievementRuleRepository extends JpaRepository<AchievementRule, Long> {
+
+    // Active rules in display order
+    List<AchievementRule> findByActiveTrueOrderByDisplayOrderAsc();
+}
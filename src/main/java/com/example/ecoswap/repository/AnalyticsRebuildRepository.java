@@ -0,0 +1,9 @@
+package com.example.ecoswap.repository;
+
+import com.example.ecoswap.model.AnalyticsRebuild;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface AnalyticsRebuildRepository extends JpaRepository<AnalyticsRebuild, String> {
+}
@@ -0,0 +1,48 @@
+package com.example.ecoswap.repository;
+
+import com.example.ecoswap.dtos.CategoryRevenueDTO;
+import com.example.ecoswap.model.CategoryMonthlyRevenue;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface CategoryMonthlyRevenueRepository extends JpaRepository<CategoryMonthlyRevenue, Long> {
+
+    // Row for one seller, category and month
+    Optional<CategoryMonthlyRevenue> findBySellerIdAndCategoryIdAndSalesMonth(Long sellerId, Long categoryId, LocalDate salesMonth);
+
+    // Add to a seller's category and month, creating the row on first use. One statement, so concurrent deliveries
+    // can neither lose an increment nor fail on the unique key (ON DUPLICATE KEY UPDATE on MySQL, MERGE on H2)
+    @Modifying
+    @Query("INSERT INTO CategoryMonthlyRevenue (sellerId, categoryId, salesMonth, revenue, itemsSold, updatedAt) " +
+           "VALUES (:sellerId, :categoryId, :salesMonth, :revenue, :itemsSold, :updatedAt) " +
+           "ON CONFLICT (sellerId, categoryId, salesMonth) DO UPDATE SET " +
+           "revenue = revenue + excluded.revenue, itemsSold = itemsSold + excluded.itemsSold, updatedAt = excluded.updatedAt")
+    int addRevenue(@Param("sellerId") Long sellerId, @Param("categoryId") Long categoryId,
+                   @Param("salesMonth") LocalDate salesMonth, @Param("revenue") BigDecimal revenue, @Param("itemsSold") long itemsSold,
+                   @Param("updatedAt") LocalDateTime updatedAt);
+
+    // Monthly category revenue for a seller from a given month onwards (uses the unique key)
+    @Query("SELECT new com.example.ecoswap.dtos.CategoryRevenueDTO(r.categoryId, r.salesMonth, r.revenue, r.itemsSold) " +
+           "FROM CategoryMonthlyRevenue r WHERE r.sellerId = :sellerId AND r.salesMonth >= :since ORDER BY r.salesMonth")
+    List<CategoryRevenueDTO> findSellerSeries(@Param("sellerId") Long sellerId, @Param("since") LocalDate since);
+
+    // Monthly category revenue summed over all sellers from a given month onwards
+    @Query("SELECT new com.example.ecoswap.dtos.CategoryRevenueDTO(r.categoryId, r.salesMonth, SUM(r.revenue), SUM(r.itemsSold)) " +
+           "FROM CategoryMonthlyRevenue r WHERE r.salesMonth >= :since GROUP BY r.categoryId, r.salesMonth ORDER BY r.salesMonth")
+    List<CategoryRevenueDTO> findPlatformSeries(@Param("since") LocalDate since);
+
+    // All-time revenue per category for a seller: category id, revenue
+    @Query("SELECT r.categoryId, SUM(r.revenue) FROM CategoryMonthlyRevenue r WHERE r.sellerId = :sellerId " +
+           "GROUP BY r.categoryId")
+    List<Object[]> sumRevenueByCategory(@Param("sellerId") Long sellerId);
+}
@@ -0,0 +1,14 @@
+package com.example.ecoswap.repository;
+
+import com.example.ecoswap.model.CustomerAchievement;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface CustomerAchievementRepository extends JpaRepository<CustomerAchievement, Long> {
+
+    // Everything a customer has unlocked
+    List<CustomerAchievement> findByCustomerId(Long customerId);
+}
@@ -0,0 +1,35 @@
+package com.example.ecoswap.repository;
+
+import com.example.ecoswap.model.CustomerImpactBreakdown;
+import com.example.ecoswap.model.enums.ImpactDimension;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface CustomerImpactBreakdownRepository extends JpaRepository<CustomerImpactBreakdown, Long> {
+
+    // One slice (a category or a month) of a customer's ledger
+    Optional<CustomerImpactBreakdown> findByCustomerIdAndDimensionAndDimensionKey(Long customerId, ImpactDimension dimension, String dimensionKey);
+
+    // All slices of one dimension for a customer
+    List<CustomerImpactBreakdown> findByCustomerIdAndDimension(Long customerId, ImpactDimension dimension);
+
+    // Add (or, with negative figures, subtract) impact on one slice, creating it on first use
+    @Modifying
+    @Query("INSERT INTO CustomerImpactBreakdown (customerId, dimension, dimensionKey, label, itemsPurchased, co2Saved, plasticSaved, updatedAt) "
+         + "VALUES (:customerId, :dimension, :dimensionKey, :label, :itemsPurchased, :co2Saved, :plasticSaved, :updatedAt) "
+         + "ON CONFLICT (customerId, dimension, dimensionKey) DO UPDATE SET "
+         + "itemsPurchased = itemsPurchased + excluded.itemsPurchased, co2Saved = co2Saved + excluded.co2Saved, "
+         + "plasticSaved = plasticSaved + excluded.plasticSaved, updatedAt = excluded.updatedAt")
+    int addImpact(@Param("customerId") Long customerId, @Param("dimension") ImpactDimension dimension,
+                  @Param("dimensionKey") String dimensionKey, @Param("label") String label,
+                  @Param("itemsPurchased") long itemsPurchased, @Param("co2Saved") double co2Saved,
+                  @Param("plasticSaved") double plasticSaved, @Param("updatedAt") LocalDateTime updatedAt);
+}
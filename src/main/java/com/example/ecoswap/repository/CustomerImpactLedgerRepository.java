@@ -0,0 +1,31 @@
+package com.example.ecoswap.repository;
+
+import com.example.ecoswap.model.CustomerImpactLedger;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface CustomerImpactLedgerRepository extends JpaRepository<CustomerImpactLedger, Long> {
+
+    // Ledger totals for a customer
+    Optional<CustomerImpactLedger> findByCustomerId(Long customerId);
+
+    // Empty ledger for a customer; an existing one is left as it is (the no-op update keeps H2 and MySQL alike)
+    @Modifying
+    @Query("INSERT INTO CustomerImpactLedger (customerId, deliveredOrders, itemsPurchased, co2Saved, plasticSaved, updatedAt) "
+         + "VALUES (:customerId, 0L, 0L, 0.0, 0.0, :updatedAt) ON CONFLICT (customerId) DO UPDATE SET customerId = excluded.customerId")
+    int createIfMissing(@Param("customerId") Long customerId, @Param("updatedAt") LocalDateTime updatedAt);
+
+    // Ledger for a customer, write-locked until the transaction ends
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT l FROM CustomerImpactLedger l WHERE l.customerId = :customerId")
+    Optional<CustomerImpactLedger> findByCustomerIdForUpdate(@Param("customerId") Long customerId);
+}
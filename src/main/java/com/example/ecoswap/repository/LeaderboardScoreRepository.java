@@ -0,0 +1,35 @@
+package com.example.ecoswap.repository;
+
+import com.example.ecoswap.model.LeaderboardScore;
+import com.example.ecoswap.model.enums.LeaderboardType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface LeaderboardScoreRepository extends JpaRepository<LeaderboardScore, Long> {
+
+    // Highest scores on a board (walks idx_leaderboard_rank, so only the requested rows are read)
+    List<LeaderboardScore> findByBoardAndPeriodOrderByScoreDescEntityIdAsc(LeaderboardType board, String period, Pageable pageable);
+
+    // Add to an entity's score, creating the row on first use. One statement, so concurrent deliveries
+    // can neither lose an increment nor fail on the unique key (ON DUPLICATE KEY UPDATE on MySQL, MERGE on H2)
+    @Modifying
+    @Query("INSERT INTO LeaderboardScore (board, period, entityId, label, score, updatedAt) " +
+           "VALUES (:board, :period, :entityId, :label, :delta, :updatedAt) " +
+           "ON CONFLICT (board, period, entityId) DO UPDATE SET label = excluded.label, " +
+           "score = score + excluded.score, updatedAt = excluded.updatedAt")
+    int addScore(@Param("board") LeaderboardType board, @Param("period") String period,
+                 @Param("entityId") Long entityId, @Param("label") String label,
+                 @Param("delta") double delta, @Param("updatedAt") LocalDateTime updatedAt);
+
+    // Current score of one entity on a board (uses the unique key)
+    @Query("SELECT s.score FROM LeaderboardScore s WHERE s.board = :board AND s.period = :period AND s.entityId = :entityId")
+    Double findScore(@Param("board") LeaderboardType board, @Param("period") String period, @Param("entityId") Long entityId);
+}
@@ -1,12 +1,18 @@
 package com.example.ecoswap.repository;
 
 import com.example.ecoswap.model.OrderItem;
+import com.example.ecoswap.model.enums.OrderStatus;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
@@ -29,4 +35,135 @@ public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
     // Get best selling products for seller
     @Query("SELECT oi.product.id, oi.product.name, SUM(oi.quantity) as totalSold FROM OrderItem oi WHERE oi.seller.id = :sellerId GROUP BY oi.product.id, oi.product.name ORDER BY totalSold DESC")
     List<Object[]> findBestSellingProductsBySeller(@Param("sellerId") Long sellerId);
+
+    // Units and revenue per product for a seller since a date: product id, units, revenue
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    @Query("SELECT oi.product.id, SUM(oi.quantity), SUM(oi.lineTotal) FROM OrderItem oi " +
+           "WHERE oi.seller.id = :sellerId AND oi.order.status = :status AND oi.order.createdAt >= :since GROUP BY oi.product.id")
+    Stream<Object[]> streamProductSalesBySellerSince(@Param("sellerId") Long sellerId, @Param("status") OrderStatus status, @Param("since") LocalDateTime since);
+
+    // Units and revenue per product since a date (platform-wide): product id, units, revenue
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    @Query("SELECT oi.product.id, SUM(oi.quantity), SUM(oi.lineTotal) FROM OrderItem oi " +
+           "WHERE oi.order.status = :status AND oi.order.createdAt >= :since GROUP BY oi.product.id")
+    Stream<Object[]> streamProductSalesSince(@Param("status") OrderStatus status, @Param("since") LocalDateTime since);
+
+    // ============ IMPACT QUERIES ============
+    // Read the CO2/plastic snapshots on order_items, so no product join is needed
+    // Columns: quantity, co2, plastic, orders
+
+    // Impact of a seller's lines in orders with a status placed since a date
+    @Query("SELECT COALESCE(SUM(oi.quantity), 0), COALESCE(SUM(oi.quantity * COALESCE(oi.co2Saved, 0)), 0), " +
+           "COALESCE(SUM(oi.quantity * COALESCE(oi.plasticSaved, 0)), 0), COUNT(DISTINCT oi.order.id) FROM OrderItem oi " +
+           "WHERE oi.seller.id = :sellerId AND oi.order.status = :status AND oi.order.createdAt >= :since")
+    List<Object[]> sumImpactBySellerSince(@Param("sellerId") Long sellerId, @Param("status") OrderStatus status, @Param("since") LocalDateTime since);
+
+    // Impact of all lines in orders with a status placed since a date (platform-wide)
+    @Query("SELECT COALESCE(SUM(oi.quantity), 0), COALESCE(SUM(oi.quantity * COALESCE(oi.co2Saved, 0)), 0), " +
+           "COALESCE(SUM(oi.quantity * COALESCE(oi.plasticSaved, 0)), 0), COUNT(DISTINCT oi.order.id) FROM OrderItem oi " +
+           "WHERE oi.order.status = :status AND oi.order.createdAt >= :since")
+    List<Object[]> sumImpactSince(@Param("status") OrderStatus status, @Param("since") LocalDateTime since);
+
+    // CO2 saved per order day for orders with a status placed since a date: day, co2
+    @Query("SELECT CAST(oi.order.createdAt AS LocalDate), COALESCE(SUM(oi.quantity * COALESCE(oi.co2Saved, 0)), 0) FROM OrderItem oi " +
+           "WHERE oi.order.status = :status AND oi.order.createdAt >= :since GROUP BY CAST(oi.order.createdAt AS LocalDate)")
+    List<Object[]> sumCo2ByOrderDaySince(@Param("status") OrderStatus status, @Param("since") LocalDateTime since);
+
+    // ============ SNAPSHOT BACKFILL ============
+
+    // Lowest and highest id of order items still missing their impact snapshot
+    @Query("SELECT MIN(oi.id), MAX(oi.id) FROM OrderItem oi WHERE oi.categoryId IS NULL")
+    List<Object[]> findSnapshotBackfillRange();
+
+    // Copy current product CO2, plastic and category onto a range of order items that have no snapshot yet
+    @Modifying
+    @Query("UPDATE OrderItem oi SET " +
+           "oi.co2Saved = (SELECT COALESCE(p.co2Saved, 0) FROM Product p WHERE p.id = oi.product.id), " +
+           "oi.plasticSaved = (SELECT COALESCE(p.plasticSaved, 0) FROM Product p WHERE p.id = oi.product.id), " +
+           "oi.categoryId = (SELECT p.category.id FROM Product p WHERE p.id = oi.product.id) " +
+           "WHERE oi.categoryId IS NULL AND oi.id >= :fromId AND oi.id < :toId")
+    int backfillSnapshots(@Param("fromId") Long fromId, @Param("toId") Long toId);
+
+    // ============ SALES ROLLUP QUERIES ============
+
+    // Daily sales per seller and category: seller, day, category id, revenue, items
+    @Query("SELECT oi.seller.id, CAST(oi.order.createdAt AS LocalDate), oi.categoryId, SUM(oi.lineTotal), SUM(oi.quantity) " +
+           "FROM OrderItem oi WHERE oi.order.status = :status AND oi.categoryId IS NOT NULL " +
+           "GROUP BY oi.seller.id, CAST(oi.order.createdAt AS LocalDate), oi.categoryId")
+    List<Object[]> aggregateDailySalesByStatus(@Param("status") OrderStatus status);
+
+    // Monthly category revenue per seller for orders in a status (used to rebuild category_monthly_revenue)
+    // Columns: seller id, year, month, category id, revenue, items sold
+    @Query("SELECT oi.seller.id, YEAR(oi.order.createdAt), MONTH(oi.order.createdAt), oi.categoryId, " +
+           "SUM(oi.lineTotal), SUM(oi.quantity) FROM OrderItem oi " +
+           "WHERE oi.order.status = :status AND oi.categoryId IS NOT NULL " +
+           "GROUP BY oi.seller.id, YEAR(oi.order.createdAt), MONTH(oi.order.createdAt), oi.categoryId")
+    List<Object[]> aggregateMonthlyCategoryRevenueByStatus(@Param("status") OrderStatus status);
+
+    // Purchase impact per customer, category and month for orders in a status (used to rebuild the customer impact ledger)
+    // Columns: customer id, category id, category name, year, month, quantity, co2, plastic
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    @Query("SELECT oi.order.customer.id, oi.categoryId, c.name, YEAR(oi.order.createdAt), MONTH(oi.order.createdAt), " +
+           "SUM(oi.quantity), SUM(oi.quantity * COALESCE(oi.co2Saved, 0)), SUM(oi.quantity * COALESCE(oi.plasticSaved, 0)) " +
+           "FROM OrderItem oi JOIN Category c ON c.id = oi.categoryId WHERE oi.order.status = :status " +
+           "GROUP BY oi.order.customer.id, oi.categoryId, c.name, YEAR(oi.order.createdAt), MONTH(oi.order.createdAt)")
+    Stream<Object[]> streamCustomerImpactByStatus(@Param("status") OrderStatus status);
+
+    // One row per seller and order: seller, order date, lowest category id in the seller's part of the order
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    @Query("SELECT oi.seller.id, oi.order.createdAt, MIN(oi.categoryId) FROM OrderItem oi " +
+           "WHERE oi.order.status = :status GROUP BY oi.seller.id, oi.order.id, oi.order.createdAt")
+    Stream<Object[]> streamPrimaryCategoryByStatus(@Param("status") OrderStatus status);
+
+    // Distinct seller, order date and customer for orders in a status (used to rebuild customer sketches)
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    @Query("SELECT DISTINCT oi.seller.id, oi.order.createdAt, oi.order.customer.id FROM OrderItem oi WHERE oi.order.status = :status")
+    Stream<Object[]> streamSellerCustomersByStatus(@Param("status") OrderStatus status);
+
+    // Every order line as a flat fact row, ordered by order id (used to load the columnar fact store)
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    @Query("SELECT oi.order.id, oi.order.createdAt, oi.order.status, oi.order.customer.id, oi.seller.id, oi.product.id, " +
+           "oi.categoryId, oi.quantity, oi.lineTotal, oi.co2Saved, oi.plasticSaved " +
+           "FROM OrderItem oi ORDER BY oi.order.id")
+    Stream<Object[]> streamAllFacts();
+
+    // Every delivered-status line with its leaderboard keys (used to rebuild leaderboards in one pass)
+    // Columns: customer id, customer, seller id, seller, category id, category, order date, co2, plastic
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    @Query("SELECT c.id, c.fullName, s.id, s.fullName, oi.categoryId, cat.name, o.createdAt, " +
+           "oi.quantity * COALESCE(oi.co2Saved, 0), oi.quantity * COALESCE(oi.plasticSaved, 0) " +
+           "FROM OrderItem oi JOIN oi.order o JOIN o.customer c JOIN oi.seller s " +
+           "LEFT JOIN Category cat ON cat.id = oi.categoryId WHERE o.status = :status")
+    Stream<Object[]> streamLeaderboardRowsByStatus(@Param("status") OrderStatus status);
+
+    // Units sold per product over orders in a status: product id, units
+    @Query("SELECT oi.product.id, SUM(oi.quantity) FROM OrderItem oi WHERE oi.order.status = :status GROUP BY oi.product.id")
+    List<Object[]> sumQuantityByProductAndStatus(@Param("status") OrderStatus status);
+
+    // ============ EXPORT QUERIES ============
+    // Columns: order number, order date, status, customer, seller id, seller, sku, product, category, quantity, price, line total
+    // Fetch size Integer.MIN_VALUE makes MySQL Connector/J stream rows one at a time instead of buffering the result
+
+    // Export rows for a seller in a date range, optionally for one status
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "-2147483648"))
+    @Query("SELECT o.orderNumber, o.createdAt, o.status, c.fullName, s.id, s.fullName, oi.productSku, oi.productName, cat.name, " +
+           "oi.quantity, oi.price, oi.lineTotal FROM OrderItem oi JOIN oi.order o JOIN o.customer c JOIN oi.seller s " +
+           "LEFT JOIN Category cat ON cat.id = oi.categoryId " +
+           "WHERE s.id = :sellerId AND o.createdAt >= :from AND o.createdAt < :to AND (:status IS NULL OR o.status = :status) " +
+           "ORDER BY o.createdAt, o.id, oi.id")
+    Stream<Object[]> streamExportRowsBySeller(@Param("sellerId") Long sellerId,
+                                              @Param("from") LocalDateTime from,
+                                              @Param("to") LocalDateTime to,
+                                              @Param("status") OrderStatus status);
+
+    // Export rows for the whole platform in a date range, optionally for one status
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "-2147483648"))
+    @Query("SELECT o.orderNumber, o.createdAt, o.status, c.fullName, s.id, s.fullName, oi.productSku, oi.productName, cat.name, " +
+           "oi.quantity, oi.price, oi.lineTotal FROM OrderItem oi JOIN oi.order o JOIN o.customer c JOIN oi.seller s " +
+           "LEFT JOIN Category cat ON cat.id = oi.categoryId " +
+           "WHERE o.createdAt >= :from AND o.createdAt < :to AND (:status IS NULL OR o.status = :status) " +
+           "ORDER BY o.createdAt, o.id, oi.id")
+    Stream<Object[]> streamExportRows(@Param("from") LocalDateTime from,
+                                      @Param("to") LocalDateTime to,
+                                      @Param("status") OrderStatus status);
 }
@@ -1,10 +1,13 @@
 package com.example.ecoswap.repository;
 
+import com.example.ecoswap.dtos.MonthlyRevenueDTO;
+import com.example.ecoswap.dtos.StatusCountDTO;
 import com.example.ecoswap.model.Order;
 import com.example.ecoswap.model.User;
 import com.example.ecoswap.model.enums.OrderStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -37,6 +40,39 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     @Query("SELECT DISTINCT o FROM Order o JOIN o.orderItems oi WHERE oi.seller.id = :sellerId AND o.status = :status ORDER BY o.createdAt DESC")
     Page<Order> findOrdersBySellerAndStatus(@Param("sellerId") Long sellerId, @Param("status") OrderStatus status, Pageable pageable);
 
+    // ============ KEYSET PAGINATION ============
+    // Newest first, continuing after the (createdAt, id) of the previous page's last order; no count query
+    // The cursor is written as a createdAt range so the (owner, created_at, id) indexes seek to it, and filtered
+    // queries order by their equality column first so the index is read in order without a sort
+
+    // All orders created before the cursor
+    @Query("SELECT o FROM Order o WHERE o.createdAt <= :createdAt AND (o.createdAt < :createdAt OR o.id < :id) " +
+           "ORDER BY o.createdAt DESC, o.id DESC")
+    Slice<Order> findPageAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
+
+    // A customer's orders created before the cursor
+    @Query("SELECT o FROM Order o WHERE o.customer.id = :customerId " +
+           "AND o.createdAt <= :createdAt AND (o.createdAt < :createdAt OR o.id < :id) " +
+           "ORDER BY o.customer.id, o.createdAt DESC, o.id DESC")
+    Slice<Order> findPageByCustomerAfter(@Param("customerId") Long customerId, @Param("createdAt") LocalDateTime createdAt,
+                                         @Param("id") Long id, Pageable pageable);
+
+    // Orders containing a seller's items created before the cursor (EXISTS avoids DISTINCT over the join)
+    @Query("SELECT o FROM Order o WHERE EXISTS (SELECT 1 FROM OrderItem oi WHERE oi.order = o AND oi.seller.id = :sellerId) " +
+           "AND o.createdAt <= :createdAt AND (o.createdAt < :createdAt OR o.id < :id) " +
+           "ORDER BY o.createdAt DESC, o.id DESC")
+    Slice<Order> findPageBySellerAfter(@Param("sellerId") Long sellerId, @Param("createdAt") LocalDateTime createdAt,
+                                       @Param("id") Long id, Pageable pageable);
+
+    // Orders with a status containing a seller's items created before the cursor
+    @Query("SELECT o FROM Order o WHERE o.status = :status " +
+           "AND EXISTS (SELECT 1 FROM OrderItem oi WHERE oi.order = o AND oi.seller.id = :sellerId) " +
+           "AND o.createdAt <= :createdAt AND (o.createdAt < :createdAt OR o.id < :id) " +
+           "ORDER BY o.createdAt DESC, o.id DESC")
+    Slice<Order> findPageBySellerAndStatusAfter(@Param("sellerId") Long sellerId, @Param("status") OrderStatus status,
+                                                @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id,
+                                                Pageable pageable);
+
     // Find orders by status
     Page<Order> findByStatus(OrderStatus status, Pageable pageable);
 
@@ -48,6 +84,11 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     @Query("SELECT COUNT(DISTINCT o) FROM Order o JOIN o.orderItems oi WHERE oi.seller.id = :sellerId AND o.status = :status")
     Long countOrdersBySellerAndStatus(@Param("sellerId") Long sellerId, @Param("status") OrderStatus status);
 
+    // Count orders by status for a seller
+    @Query("SELECT new com.example.ecoswap.dtos.StatusCountDTO(o.status, COUNT(DISTINCT o)) " +
+           "FROM Order o JOIN o.orderItems oi WHERE oi.seller.id = :sellerId GROUP BY o.status")
+    List<StatusCountDTO> countOrdersBySellerGroupByStatus(@Param("sellerId") Long sellerId);
+
     // Calculate total revenue for seller
     @Query("SELECT COALESCE(SUM(oi.lineTotal), 0) FROM OrderItem oi WHERE oi.seller.id = :sellerId AND oi.order.status IN :statuses")
     BigDecimal calculateSellerRevenue(@Param("sellerId") Long sellerId, @Param("statuses") List<OrderStatus> statuses);
@@ -71,6 +112,21 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     // Count orders by customer
     Long countByCustomerId(Long customerId);
 
+    // Count orders by customer in any of the given statuses
+    Long countByCustomerIdAndStatusIn(Long customerId, List<OrderStatus> statuses);
+
+    // Order count per customer for orders in a status: customer id, count
+    @Query("SELECT o.customer.id, COUNT(o) FROM Order o WHERE o.status = :status GROUP BY o.customer.id")
+    List<Object[]> countByStatusGroupByCustomer(@Param("status") OrderStatus status);
+
+    // Total spent by a customer across all orders
+    @Query("SELECT COALESCE(SUM(o.totalAmount), 0) FROM Order o WHERE o.customer.id = :customerId")
+    BigDecimal sumTotalAmountByCustomerId(@Param("customerId") Long customerId);
+
+    // When the first order was placed (null before any order)
+    @Query("SELECT MIN(o.createdAt) FROM Order o")
+    LocalDateTime findFirstCreatedAt();
+
     // Find orders within date range
     @Query("SELECT o FROM Order o WHERE o.createdAt BETWEEN :startDate AND :endDate ORDER BY o.createdAt DESC")
     List<Order> findOrdersByDateRange(@Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
@@ -95,4 +151,14 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     // Calculate platform revenue by date range and statuses
     @Query("SELECT COALESCE(SUM(o.totalAmount), 0) FROM Order o WHERE o.status IN :statuses AND o.createdAt BETWEEN :startDate AND :endDate")
     BigDecimal calculateRevenueByDateRangeAndStatuses(@Param("statuses") List<OrderStatus> statuses, @Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
+
+    // Count orders grouped by status (platform-wide)
+    @Query("SELECT new com.example.ecoswap.dtos.StatusCountDTO(o.status, COUNT(o)) FROM Order o GROUP BY o.status")
+    List<StatusCountDTO> countGroupByStatus();
+
+    // Revenue and order count per calendar month for a status since a date (platform-wide)
+    @Query("SELECT new com.example.ecoswap.dtos.MonthlyRevenueDTO(YEAR(o.createdAt), MONTH(o.createdAt), COALESCE(SUM(o.totalAmount), 0), COUNT(o)) " +
+           "FROM Order o WHERE o.status = :status AND o.createdAt >= :since " +
+           "GROUP BY YEAR(o.createdAt), MONTH(o.createdAt)")
+    List<MonthlyRevenueDTO> sumRevenueByMonth(@Param("status") OrderStatus status, @Param("since") LocalDateTime since);
 }
@@ -0,0 +1,20 @@
+package com.example.ecoswap.repository;
+
+import com.example.ecoswap.model.PlatformImpactDelta;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface PlatformImpactDeltaRepository extends JpaRepository<PlatformImpactDelta, Long> {
+
+    // Sum of all deltas not yet folded into the snapshot: orders, items, co2, plastic
+    @Query("SELECT COALESCE(SUM(d.deliveredOrders), 0), COALESCE(SUM(d.itemsSold), 0), COALESCE(SUM(d.co2Saved), 0), " +
+           "COALESCE(SUM(d.plasticSaved), 0) FROM PlatformImpactDelta d")
+    List<Object[]> sumPending();
+
+    // Oldest committed deltas, folded into the snapshot one batch at a time
+    List<PlatformImpactDelta> findTop1000ByOrderByIdAsc();
+}
@@ -0,0 +1,9 @@
+package com.example.ecoswap.repository;
+
+import com.example.ecoswap.model.PlatformImpactSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface PlatformImpactSnapshotRepository extends JpaRepository<PlatformImpactSnapshot, Long> {
+}
@@ -1,14 +1,24 @@
 package com.example.ecoswap.repository;
 
+import com.example.ecoswap.dtos.ProductView;
 import com.example.ecoswap.model.Product;
+import com.example.ecoswap.model.enums.OrderStatus;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface ProductRepository extends JpaRepository<Product, Long> {
@@ -17,13 +27,111 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
     @Query("SELECT p FROM Product p WHERE p.seller.id = :sellerId")
     List<Product> findBySellerId(@Param("sellerId") Long sellerId);
     
+    @EntityGraph("Product.listing")
     @Query("SELECT p FROM Product p WHERE p.seller.id = :sellerId")
     Page<Product> findBySellerIdPage(@Param("sellerId") Long sellerId, Pageable pageable);
     
+    // ============ PRODUCT LISTS ============
+    // Fetch the Product.listing graph so a page is one query instead of one per category, seller and profile
+
+    // Page of all products for the admin product list
+    @EntityGraph("Product.listing")
+    @Query(value = "SELECT p FROM Product p", countQuery = "SELECT COUNT(p) FROM Product p")
+    Page<Product> findListingPage(Pageable pageable);
+
+    // Products of a search result page
+    @EntityGraph("Product.listing")
+    @Query("SELECT p FROM Product p WHERE p.id IN :ids")
+    List<Product> findListingByIdIn(@Param("ids") Collection<Long> ids);
+
     // Find by category - FIXED: Use category.id
     @Query("SELECT p FROM Product p WHERE p.category.id = :categoryId")
     Page<Product> findByCategoryId(@Param("categoryId") Long categoryId, Pageable pageable);
     
+    // ============ KEYSET PAGINATION ============
+    // Newest first, continuing after the (createdAt, id) of the previous page's last row; no count query
+    // The cursor is written as a createdAt range so the (owner, created_at, id) indexes seek to it, and filtered
+    // queries order by their equality column first so the index is read in order without a sort
+
+    // Products created before the cursor
+    @Query("SELECT p FROM Product p WHERE p.createdAt <= :createdAt AND (p.createdAt < :createdAt OR p.id < :id) " +
+           "ORDER BY p.createdAt DESC, p.id DESC")
+    Slice<Product> findPageAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
+
+    // Products of a category created before the cursor
+    @Query("SELECT p FROM Product p WHERE p.category.id = :categoryId " +
+           "AND p.createdAt <= :createdAt AND (p.createdAt < :createdAt OR p.id < :id) " +
+           "ORDER BY p.category.id, p.createdAt DESC, p.id DESC")
+    Slice<Product> findPageByCategoryAfter(@Param("categoryId") Long categoryId, @Param("createdAt") LocalDateTime createdAt,
+                                           @Param("id") Long id, Pageable pageable);
+
+    // Products of a seller created before the cursor
+    @EntityGraph("Product.listing")
+    @Query("SELECT p FROM Product p WHERE p.seller.id = :sellerId " +
+           "AND p.createdAt <= :createdAt AND (p.createdAt < :createdAt OR p.id < :id) " +
+           "ORDER BY p.seller.id, p.createdAt DESC, p.id DESC")
+    Slice<Product> findPageBySellerAfter(@Param("sellerId") Long sellerId, @Param("createdAt") LocalDateTime createdAt,
+                                         @Param("id") Long id, Pageable pageable);
+
+    // Ids of products created before the cursor
+    @Query("SELECT p.id FROM Product p WHERE p.createdAt <= :createdAt AND (p.createdAt < :createdAt OR p.id < :id) " +
+           "ORDER BY p.createdAt DESC, p.id DESC")
+    Slice<Long> findIdPageAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
+
+    // Ids of a category's products created before the cursor
+    @Query("SELECT p.id FROM Product p WHERE p.category.id = :categoryId " +
+           "AND p.createdAt <= :createdAt AND (p.createdAt < :createdAt OR p.id < :id) " +
+           "ORDER BY p.category.id, p.createdAt DESC, p.id DESC")
+    Slice<Long> findIdPageByCategoryAfter(@Param("categoryId") Long categoryId, @Param("createdAt") LocalDateTime createdAt,
+                                          @Param("id") Long id, Pageable pageable);
+
+    // ============ SORTED SHOP PAGES ============
+    // Ids only, ordered by the pageable's ProductSort: the matching idx_products_* index covers the query
+
+    // Ids of a page of all products
+    @Query("SELECT p.id FROM Product p")
+    Slice<Long> findIdPage(Pageable pageable);
+
+    // Ids of a page of a category's products
+    @Query("SELECT p.id FROM Product p WHERE p.category.id = :categoryId")
+    Slice<Long> findIdPageByCategory(@Param("categoryId") Long categoryId, Pageable pageable);
+
+    // Read models of the given products with category and seller names, without loading the entities
+    @Query("SELECT new com.example.ecoswap.dtos.ProductView(p.id, p.name, p.description, p.price, p.originalPrice, " +
+           "p.image, p.stock, p.rating, p.reviewCount, p.ecoScore, p.co2Saved, p.plasticSaved, p.createdAt, " +
+           "c.id, c.name, s.fullName, sp.businessName) " +
+           "FROM Product p JOIN p.category c JOIN p.seller s LEFT JOIN s.sellerProfile sp WHERE p.id IN :ids")
+    List<ProductView> findViewsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Add delivered (or, negative, reversed) units to a product's sales count
+    @Modifying
+    @Query("UPDATE Product p SET p.salesCount = p.salesCount + :units WHERE p.id = :productId")
+    int addSales(@Param("productId") Long productId, @Param("units") long units);
+
+    // Recount every product's sales from the order items of orders in a status
+    @Modifying
+    @Query("UPDATE Product p SET p.salesCount = COALESCE((SELECT SUM(oi.quantity) FROM OrderItem oi " +
+           "WHERE oi.product.id = p.id AND oi.order.status = :status), 0)")
+    int recountSales(@Param("status") OrderStatus status);
+
+    // ============ BULK ACTIONS ============
+    // One statement per chunk of ids; entity listeners do not run, so ProductService updates the indexes itself
+
+    // Seller of each existing product in a chunk: id, seller id
+    @Query("SELECT p.id, p.seller.id FROM Product p WHERE p.id IN :ids")
+    List<Object[]> findSellerIdsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Set the status of a chunk of products
+    @Modifying
+    @Query("UPDATE Product p SET p.status = :status, p.updatedAt = :updatedAt WHERE p.id IN :ids")
+    int updateStatusByIdIn(@Param("ids") Collection<Long> ids, @Param("status") String status,
+                           @Param("updatedAt") LocalDateTime updatedAt);
+
+    // Delete a chunk of products
+    @Modifying
+    @Query("DELETE FROM Product p WHERE p.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
     // Find by status
     Page<Product> findByStatus(String status, Pageable pageable);
     Long countByStatus(String status);
@@ -53,24 +161,13 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
     Long countByCategoryId(@Param("categoryId") Long categoryId);
     
     // Low stock products - FIXED
+    @EntityGraph("Product.listing")
     @Query("SELECT p FROM Product p WHERE p.stock <= 10 AND p.stock > 0 AND (:sellerId IS NULL OR p.seller.id = :sellerId)")
     List<Product> findLowStockProducts(@Param("sellerId") Long sellerId);
-    
-    // Search products - FIXED
-    @Query("SELECT p FROM Product p WHERE " +
-           "LOWER(p.name) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-           "LOWER(p.description) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-           "LOWER(p.sku) LIKE LOWER(CONCAT('%', :search, '%'))")
-    Page<Product> searchProducts(@Param("search") String search, Pageable pageable);
-    
-    // Search products by seller - FIXED: Use seller.id
-    @Query("SELECT p FROM Product p WHERE p.seller.id = :sellerId AND " +
-           "(LOWER(p.name) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-           "LOWER(p.description) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-           "LOWER(p.sku) LIKE LOWER(CONCAT('%', :search, '%')))")
-    Page<Product> searchProductsBySeller(@Param("sellerId") Long sellerId, 
-                                         @Param("search") String search, 
-                                         Pageable pageable);
+
+    // Count of low stock products, for the product list's stats card
+    @Query("SELECT COUNT(p) FROM Product p WHERE p.stock <= 10 AND p.stock > 0 AND (:sellerId IS NULL OR p.seller.id = :sellerId)")
+    Long countLowStockProducts(@Param("sellerId") Long sellerId);
     
     // Top rated products
     @Query("SELECT p FROM Product p ORDER BY p.rating DESC")
@@ -85,6 +182,31 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
     // Products on sale
     List<Product> findByOnSaleTrue();
 
+    // Name and image for a set of products: id, name, image
+    @Query("SELECT p.id, p.name, p.image FROM Product p WHERE p.id IN :ids")
+    List<Object[]> findNameAndImageByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Searchable fields of every product: id, seller id, category id, name, description, sku, category name, eco score, rating
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    @Query("SELECT p.id, p.seller.id, c.id, p.name, p.description, p.sku, c.name, p.ecoScore, p.rating " +
+           "FROM Product p JOIN p.category c ORDER BY p.id")
+    Stream<Object[]> streamSearchDocuments();
+
+    // Facet fields of every product: id, category id, eco score, rating, price, on sale, new, featured, stock, sales count
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    @Query("SELECT p.id, p.category.id, p.ecoScore, p.rating, p.price, p.onSale, p.isNew, p.isFeatured, p.stock, p.salesCount " +
+           "FROM Product p ORDER BY p.id")
+    Stream<Object[]> streamFacetDocuments();
+
+    // Autocomplete fields of every product: id, name, category id
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    @Query("SELECT p.id, p.name, p.category.id FROM Product p")
+    Stream<Object[]> streamSuggestRows();
+
+    // Autocomplete fields of a batch of changed products: id, name, category id
+    @Query("SELECT p.id, p.name, p.category.id FROM Product p WHERE p.id IN :ids")
+    List<Object[]> findSuggestRowsByIdIn(@Param("ids") Collection<Long> ids);
+
     // ============ ENVIRONMENTAL IMPACT QUERIES ============
 
     // Sum of CO2 saved across all products
@@ -95,7 +217,19 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
     @Query("SELECT SUM(p.plasticSaved) FROM Product p WHERE p.plasticSaved IS NOT NULL")
     Double sumPlasticSaved();
 
+    // CO2 that would be saved if all current stock sold
+    @Query("SELECT COALESCE(SUM(p.co2Saved * p.stock), 0) FROM Product p WHERE p.co2Saved IS NOT NULL AND p.stock IS NOT NULL")
+    Double sumPotentialCo2Saved();
+
     // Average eco score across all products
     @Query("SELECT AVG(p.ecoScore) FROM Product p WHERE p.ecoScore IS NOT NULL")
     Double averageEcoScore();
-}
\ No newline at end of file
+
+    // Sum of CO2 saved across a seller's products
+    @Query("SELECT COALESCE(SUM(p.co2Saved), 0) FROM Product p WHERE p.seller.id = :sellerId")
+    Double sumCo2SavedBySeller(@Param("sellerId") Long sellerId);
+
+    // Sum of plastic saved across a seller's products
+    @Query("SELECT COALESCE(SUM(p.plasticSaved), 0) FROM Product p WHERE p.seller.id = :sellerId")
+    Double sumPlasticSavedBySeller(@Param("sellerId") Long sellerId);
+}
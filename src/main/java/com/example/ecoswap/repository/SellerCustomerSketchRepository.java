@@ -0,0 +1,38 @@
+package com.example.ecoswap.repository;
+
+import com.example.ecoswap.model.SellerCustomerSketch;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface SellerCustomerSketchRepository extends JpaRepository<SellerCustomerSketch, Long> {
+
+    // Sketch for one seller and month
+    Optional<SellerCustomerSketch> findBySellerIdAndSalesMonth(Long sellerId, LocalDate salesMonth);
+
+    // Empty sketch for one seller and month; an existing one is left as it is (the no-op update keeps H2 and MySQL alike)
+    @Modifying
+    @Query("INSERT INTO SellerCustomerSketch (sellerId, salesMonth, registers, updatedAt) "
+         + "VALUES (:sellerId, :salesMonth, :registers, :updatedAt) ON CONFLICT (sellerId, salesMonth) DO UPDATE SET sellerId = excluded.sellerId")
+    int createIfMissing(@Param("sellerId") Long sellerId, @Param("salesMonth") LocalDate salesMonth,
+                        @Param("registers") byte[] registers, @Param("updatedAt") LocalDateTime updatedAt);
+
+    // Sketch for one seller and month, write-locked until the transaction ends
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM SellerCustomerSketch s WHERE s.sellerId = :sellerId AND s.salesMonth = :salesMonth")
+    Optional<SellerCustomerSketch> findForUpdate(@Param("sellerId") Long sellerId, @Param("salesMonth") LocalDate salesMonth);
+
+    // All monthly sketches for a seller from a given month onwards
+    @Query("SELECT s FROM SellerCustomerSketch s WHERE s.sellerId = :sellerId AND s.salesMonth >= :since")
+    List<SellerCustomerSketch> findBySellerIdSince(@Param("sellerId") Long sellerId, @Param("since") LocalDate since);
+}
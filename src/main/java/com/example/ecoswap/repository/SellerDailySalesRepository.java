@@ -0,0 +1,39 @@
+package com.example.ecoswap.repository;
+
+import com.example.ecoswap.model.SellerDailySales;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface SellerDailySalesRepository extends JpaRepository<SellerDailySales, Long> {
+
+    // Add to a seller's day and category, creating the row on first use. One statement, so concurrent deliveries
+    // can neither lose an increment nor fail on the unique key (ON DUPLICATE KEY UPDATE on MySQL, MERGE on H2)
+    @Modifying
+    @Query("INSERT INTO SellerDailySales (sellerId, salesDate, categoryId, revenue, itemsSold, orderCount, updatedAt) " +
+           "VALUES (:sellerId, :salesDate, :categoryId, :revenue, :itemsSold, :orderCount, :updatedAt) " +
+           "ON CONFLICT (sellerId, salesDate, categoryId) DO UPDATE SET " +
+           "revenue = revenue + excluded.revenue, itemsSold = itemsSold + excluded.itemsSold, " +
+           "orderCount = orderCount + excluded.orderCount, updatedAt = excluded.updatedAt")
+    int addSales(@Param("sellerId") Long sellerId, @Param("salesDate") LocalDate salesDate,
+                 @Param("categoryId") Long categoryId, @Param("revenue") BigDecimal revenue,
+                 @Param("itemsSold") long itemsSold, @Param("orderCount") long orderCount,
+                 @Param("updatedAt") LocalDateTime updatedAt);
+
+    // Rollup rows for a seller since a given day (used for trend charts)
+    @Query("SELECT s FROM SellerDailySales s WHERE s.sellerId = :sellerId AND s.salesDate >= :since ORDER BY s.salesDate ASC")
+    List<SellerDailySales> findBySellerIdSince(@Param("sellerId") Long sellerId, @Param("since") LocalDate since);
+
+    // All-time totals for a seller: revenue, items sold, orders, first sale day
+    @Query("SELECT COALESCE(SUM(s.revenue), 0), COALESCE(SUM(s.itemsSold), 0), COALESCE(SUM(s.orderCount), 0), MIN(s.salesDate) " +
+           "FROM SellerDailySales s WHERE s.sellerId = :sellerId")
+    List<Object[]> sumTotalsBySeller(@Param("sellerId") Long sellerId);
+}
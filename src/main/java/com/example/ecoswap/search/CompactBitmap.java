@@ -0,0 +1,470 @@
+package com.example.ecoswap.search;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Compressed set of non-negative int ids, laid out like a Roaring bitmap.
+ *
+ * An id is split into a 16-bit key and a 16-bit low part. Every key holding ids has one container:
+ * a sorted char[] of low parts while it holds up to 4096 ids, a 1024-word bitset once it holds more.
+ * Sparse ranges cost two bytes per id, dense ranges one bit, and intersections run container by
+ * container over the keys both sides have.
+ *
+ * Not thread-safe: shared bitmaps are guarded by their owner.
+ */
+public final class CompactBitmap {
+
+    private static final int ARRAY_MAX = 4096;
+    private static final int BITMAP_WORDS = 1 << 10;
+
+    private char[] keys = new char[4];
+    private Container[] containers = new Container[4];
+    private int size;
+
+    public void add(int id) {
+        char key = key(id);
+        int i = indexOf(key);
+        if (i < 0) {
+            i = -i - 1;
+            insertAt(i, key, new ArrayContainer());
+        }
+        containers[i] = containers[i].add(low(id));
+    }
+
+    public void remove(int id) {
+        int i = indexOf(key(id));
+        if (i < 0) {
+            return;
+        }
+        Container container = containers[i].remove(low(id));
+        if (container.cardinality() == 0) {
+            System.arraycopy(keys, i + 1, keys, i, size - i - 1);
+            System.arraycopy(containers, i + 1, containers, i, size - i - 1);
+            containers[--size] = null;
+        } else {
+            containers[i] = container;
+        }
+    }
+
+    public boolean contains(int id) {
+        int i = indexOf(key(id));
+        return i >= 0 && containers[i].contains(low(id));
+    }
+
+    public int cardinality() {
+        int cardinality = 0;
+        for (int i = 0; i < size; i++) {
+            cardinality += containers[i].cardinality();
+        }
+        return cardinality;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public CompactBitmap copy() {
+        CompactBitmap copy = new CompactBitmap();
+        copy.keys = Arrays.copyOf(keys, Math.max(size, 4));
+        copy.containers = new Container[copy.keys.length];
+        for (int i = 0; i < size; i++) {
+            copy.containers[i] = containers[i].copy();
+        }
+        copy.size = size;
+        return copy;
+    }
+
+    /**
+     * Ids present in both bitmaps, as a new bitmap
+     */
+    public CompactBitmap and(CompactBitmap other) {
+        CompactBitmap result = new CompactBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < size && j < other.size) {
+            if (keys[i] < other.keys[j]) {
+                i++;
+            } else if (keys[i] > other.keys[j]) {
+                j++;
+            } else {
+                Container container = and(containers[i], other.containers[j]);
+                if (container.cardinality() > 0) {
+                    result.insertAt(result.size, keys[i], container);
+                }
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Number of ids present in both bitmaps, without building the intersection
+     */
+    public int andCardinality(CompactBitmap other) {
+        int cardinality = 0;
+        int i = 0;
+        int j = 0;
+        while (i < size && j < other.size) {
+            if (keys[i] < other.keys[j]) {
+                i++;
+            } else if (keys[i] > other.keys[j]) {
+                j++;
+            } else {
+                cardinality += andCardinality(containers[i], other.containers[j]);
+                i++;
+                j++;
+            }
+        }
+        return cardinality;
+    }
+
+    /**
+     * Up to limit ids, largest first, after skipping the largest offset ids.
+     * Whole containers are skipped by their cardinality, so deep offsets stay cheap.
+     */
+    public long[] toArrayDescending(int offset, int limit) {
+        int skip = Math.max(offset, 0);
+        long[] ids = new long[Math.max(0, Math.min(Math.max(limit, 0), cardinality() - skip))];
+        int filled = 0;
+        for (int i = size - 1; i >= 0 && filled < ids.length; i--) {
+            int cardinality = containers[i].cardinality();
+            if (skip >= cardinality) {
+                skip -= cardinality;
+                continue;
+            }
+            filled = containers[i].fillDescending((long) keys[i] << 16, skip, ids, filled);
+            skip = 0;
+        }
+        return ids;
+    }
+
+    /**
+     * Every id, smallest first
+     */
+    public void forEach(IntConsumer action) {
+        for (int i = 0; i < size; i++) {
+            containers[i].forEach(keys[i] << 16, action);
+        }
+    }
+
+    private int indexOf(char key) {
+        return Arrays.binarySearch(keys, 0, size, key);
+    }
+
+    private void insertAt(int i, char key, Container container) {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            containers = Arrays.copyOf(containers, size * 2);
+        }
+        System.arraycopy(keys, i, keys, i + 1, size - i);
+        System.arraycopy(containers, i, containers, i + 1, size - i);
+        keys[i] = key;
+        containers[i] = container;
+        size++;
+    }
+
+    private static char key(int id) {
+        if (id < 0) {
+            throw new IllegalArgumentException("Negative id: " + id);
+        }
+        return (char) (id >>> 16);
+    }
+
+    private static char low(int id) {
+        return (char) id;
+    }
+
+    // ============ CONTAINERS ============
+
+    private static Container and(Container a, Container b) {
+        if (a instanceof BitmapContainer x && b instanceof BitmapContainer y) {
+            return x.and(y);
+        }
+        if (a instanceof ArrayContainer x && b instanceof ArrayContainer y) {
+            return x.and(y);
+        }
+        return a instanceof ArrayContainer x ? x.and((BitmapContainer) b) : ((ArrayContainer) b).and((BitmapContainer) a);
+    }
+
+    private static int andCardinality(Container a, Container b) {
+        if (a instanceof BitmapContainer x && b instanceof BitmapContainer y) {
+            return x.andCardinality(y);
+        }
+        if (a instanceof ArrayContainer x && b instanceof ArrayContainer y) {
+            return x.andCardinality(y);
+        }
+        return a instanceof ArrayContainer x ? x.andCardinality((BitmapContainer) b) : ((ArrayContainer) b).andCardinality((BitmapContainer) a);
+    }
+
+    private abstract static class Container {
+
+        // Both return the container to keep, which may have switched representation
+        abstract Container add(char value);
+
+        abstract Container remove(char value);
+
+        abstract boolean contains(char value);
+
+        abstract int cardinality();
+
+        abstract Container copy();
+
+        // Writes values from the top down, after skipping the top skip ones, until ids is full
+        abstract int fillDescending(long high, int skip, long[] ids, int filled);
+
+        abstract void forEach(int high, IntConsumer action);
+    }
+
+    private static final class ArrayContainer extends Container {
+
+        private char[] values;
+        private int cardinality;
+
+        private ArrayContainer() {
+            this(new char[4], 0);
+        }
+
+        private ArrayContainer(char[] values, int cardinality) {
+            this.values = values;
+            this.cardinality = cardinality;
+        }
+
+        @Override
+        Container add(char value) {
+            int i = Arrays.binarySearch(values, 0, cardinality, value);
+            if (i >= 0) {
+                return this;
+            }
+            if (cardinality == ARRAY_MAX) {
+                return toBitmap().add(value);
+            }
+            i = -i - 1;
+            if (cardinality == values.length) {
+                values = Arrays.copyOf(values, Math.min(Math.max(cardinality * 2, 4), ARRAY_MAX));
+            }
+            System.arraycopy(values, i, values, i + 1, cardinality - i);
+            values[i] = value;
+            cardinality++;
+            return this;
+        }
+
+        @Override
+        Container remove(char value) {
+            int i = Arrays.binarySearch(values, 0, cardinality, value);
+            if (i >= 0) {
+                System.arraycopy(values, i + 1, values, i, cardinality - i - 1);
+                cardinality--;
+            }
+            return this;
+        }
+
+        @Override
+        boolean contains(char value) {
+            return Arrays.binarySearch(values, 0, cardinality, value) >= 0;
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        Container copy() {
+            return new ArrayContainer(Arrays.copyOf(values, Math.max(cardinality, 4)), cardinality);
+        }
+
+        @Override
+        int fillDescending(long high, int skip, long[] ids, int filled) {
+            for (int i = cardinality - 1 - skip; i >= 0 && filled < ids.length; i--) {
+                ids[filled++] = high | values[i];
+            }
+            return filled;
+        }
+
+        @Override
+        void forEach(int high, IntConsumer action) {
+            for (int i = 0; i < cardinality; i++) {
+                action.accept(high | values[i]);
+            }
+        }
+
+        private BitmapContainer toBitmap() {
+            BitmapContainer bitmap = new BitmapContainer();
+            for (int i = 0; i < cardinality; i++) {
+                bitmap.add(values[i]);
+            }
+            return bitmap;
+        }
+
+        private ArrayContainer and(ArrayContainer other) {
+            char[] result = new char[Math.min(cardinality, other.cardinality)];
+            int count = 0;
+            int i = 0;
+            int j = 0;
+            while (i < cardinality && j < other.cardinality) {
+                if (values[i] < other.values[j]) {
+                    i++;
+                } else if (values[i] > other.values[j]) {
+                    j++;
+                } else {
+                    result[count++] = values[i];
+                    i++;
+                    j++;
+                }
+            }
+            return new ArrayContainer(result, count);
+        }
+
+        private ArrayContainer and(BitmapContainer bitmap) {
+            char[] result = new char[cardinality];
+            int count = 0;
+            for (int i = 0; i < cardinality; i++) {
+                if (bitmap.contains(values[i])) {
+                    result[count++] = values[i];
+                }
+            }
+            return new ArrayContainer(result, count);
+        }
+
+        private int andCardinality(ArrayContainer other) {
+            int count = 0;
+            int i = 0;
+            int j = 0;
+            while (i < cardinality && j < other.cardinality) {
+                if (values[i] < other.values[j]) {
+                    i++;
+                } else if (values[i] > other.values[j]) {
+                    j++;
+                } else {
+                    count++;
+                    i++;
+                    j++;
+                }
+            }
+            return count;
+        }
+
+        private int andCardinality(BitmapContainer bitmap) {
+            int count = 0;
+            for (int i = 0; i < cardinality; i++) {
+                if (bitmap.contains(values[i])) {
+                    count++;
+                }
+            }
+            return count;
+        }
+    }
+
+    private static final class BitmapContainer extends Container {
+
+        private final long[] words;
+        private int cardinality;
+
+        private BitmapContainer() {
+            this(new long[BITMAP_WORDS], 0);
+        }
+
+        private BitmapContainer(long[] words, int cardinality) {
+            this.words = words;
+            this.cardinality = cardinality;
+        }
+
+        @Override
+        Container add(char value) {
+            long bit = 1L << value;
+            int word = value >>> 6;
+            if ((words[word] & bit) == 0) {
+                words[word] |= bit;
+                cardinality++;
+            }
+            return this;
+        }
+
+        @Override
+        Container remove(char value) {
+            long bit = 1L << value;
+            int word = value >>> 6;
+            if ((words[word] & bit) != 0) {
+                words[word] &= ~bit;
+                cardinality--;
+            }
+            return cardinality <= ARRAY_MAX ? toArray(words, cardinality) : this;
+        }
+
+        @Override
+        boolean contains(char value) {
+            return (words[value >>> 6] & (1L << value)) != 0;
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        Container copy() {
+            return new BitmapContainer(words.clone(), cardinality);
+        }
+
+        @Override
+        int fillDescending(long high, int skip, long[] ids, int filled) {
+            for (int word = BITMAP_WORDS - 1; word >= 0 && filled < ids.length; word--) {
+                long bits = words[word];
+                while (bits != 0 && filled < ids.length) {
+                    int bit = 63 - Long.numberOfLeadingZeros(bits);
+                    bits &= ~(1L << bit);
+                    if (skip > 0) {
+                        skip--;
+                    } else {
+                        ids[filled++] = high | ((long) word << 6) | bit;
+                    }
+                }
+            }
+            return filled;
+        }
+
+        @Override
+        void forEach(int high, IntConsumer action) {
+            for (int word = 0; word < BITMAP_WORDS; word++) {
+                long bits = words[word];
+                while (bits != 0) {
+                    action.accept(high | (word << 6) | Long.numberOfTrailingZeros(bits));
+                    bits &= bits - 1;
+                }
+            }
+        }
+
+        private Container and(BitmapContainer other) {
+            long[] result = new long[BITMAP_WORDS];
+            int count = 0;
+            for (int i = 0; i < BITMAP_WORDS; i++) {
+                result[i] = words[i] & other.words[i];
+                count += Long.bitCount(result[i]);
+            }
+            return count <= ARRAY_MAX ? toArray(result, count) : new BitmapContainer(result, count);
+        }
+
+        private int andCardinality(BitmapContainer other) {
+            int count = 0;
+            for (int i = 0; i < BITMAP_WORDS; i++) {
+                count += Long.bitCount(words[i] & other.words[i]);
+            }
+            return count;
+        }
+
+        private static ArrayContainer toArray(long[] words, int cardinality) {
+            char[] values = new char[Math.max(cardinality, 4)];
+            int count = 0;
+            for (int word = 0; word < BITMAP_WORDS; word++) {
+                long bits = words[word];
+                while (bits != 0) {
+                    values[count++] = (char) ((word << 6) | Long.numberOfTrailingZeros(bits));
+                    bits &= bits - 1;
+                }
+            }
+            return new ArrayContainer(values, count);
+        }
+    }
+}
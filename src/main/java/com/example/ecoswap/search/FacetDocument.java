@@ -0,0 +1,88 @@
+package com.example.ecoswap.search;
+
+import com.example.ecoswap.model.Product;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+
+/**
+ * The filterable fields of a product, copied out of the entity for the facet index
+ */
+public final class FacetDocument {
+
+    private final long id;
+    private final Long categoryId;
+    private final Integer ecoScore;
+    private final Double rating;
+    private final BigDecimal price;
+    private final boolean onSale;
+    private final boolean isNew;
+    private final boolean featured;
+    private final boolean inStock;
+    // Sort key only, not a facet
+    private final long salesCount;
+
+    public FacetDocument(long id, Long categoryId, Integer ecoScore, Double rating, BigDecimal price,
+                         Boolean onSale, Boolean isNew, Boolean featured, Integer stock) {
+        this(id, categoryId, ecoScore, rating, price, onSale, isNew, featured, stock, 0L);
+    }
+
+    public FacetDocument(long id, Long categoryId, Integer ecoScore, Double rating, BigDecimal price,
+                         Boolean onSale, Boolean isNew, Boolean featured, Integer stock, Long salesCount) {
+        this.id = id;
+        this.categoryId = categoryId;
+        this.ecoScore = ecoScore;
+        this.rating = rating;
+        this.price = price;
+        this.onSale = Boolean.TRUE.equals(onSale);
+        this.isNew = Boolean.TRUE.equals(isNew);
+        this.featured = Boolean.TRUE.equals(featured);
+        this.inStock = stock != null && stock > 0;
+        this.salesCount = salesCount != null ? salesCount : 0L;
+    }
+
+    public static FacetDocument of(Product product) {
+        return new FacetDocument(product.getId(),
+            product.getCategory() != null ? product.getCategory().getId() : null,
+            product.getEcoScore(), product.getRating(), product.getPrice(),
+            product.getOnSale(), product.getIsNew(), product.getIsFeatured(), product.getStock(), product.getSalesCount());
+    }
+
+    // Same document with a different sales count
+    FacetDocument withSalesCount(long salesCount) {
+        return new FacetDocument(id, categoryId, ecoScore, rating, price, onSale, isNew, featured, inStock ? 1 : 0, salesCount);
+    }
+
+    public long getId() { return id; }
+
+    public Long getCategoryId() { return categoryId; }
+
+    public Integer getEcoScore() { return ecoScore; }
+
+    public Double getRating() { return rating; }
+
+    public BigDecimal getPrice() { return price; }
+
+    public boolean isOnSale() { return onSale; }
+
+    public boolean isNew() { return isNew; }
+
+    public boolean isFeatured() { return featured; }
+
+    public boolean isInStock() { return inStock; }
+
+    public long getSalesCount() { return salesCount; }
+
+    // True if both documents fall into the same facet values
+    boolean sameFacets(FacetDocument other) {
+        return other != null
+            && Objects.equals(categoryId, other.categoryId)
+            && Objects.equals(ecoScore, other.ecoScore)
+            && Objects.equals(rating, other.rating)
+            && PriceBand.of(price) == PriceBand.of(other.price)
+            && onSale == other.onSale
+            && isNew == other.isNew
+            && featured == other.featured
+            && inStock == other.inStock;
+    }
+}
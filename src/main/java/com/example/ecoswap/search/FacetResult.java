@@ -0,0 +1,69 @@
+package com.example.ecoswap.search;
+
+import java.util.Map;
+
+/**
+ * Products matching a facet selection, and for every facet option how many products it would
+ * match combined with the selections made on the other facets.
+ */
+public final class FacetResult {
+
+    private final CompactBitmap matching;
+    private final Map<Long, Integer> categoryCounts;
+    private final int anyCategoryCount;
+    private final int[] ecoScoreCounts;
+    private final Map<PriceBand, Integer> priceBandCounts;
+    private final int anyPriceCount;
+    private final int[] ratingCounts;
+    private final int onSaleCount;
+    private final int newCount;
+    private final int featuredCount;
+    private final int inStockCount;
+
+    FacetResult(CompactBitmap matching, Map<Long, Integer> categoryCounts, int anyCategoryCount, int[] ecoScoreCounts,
+                Map<PriceBand, Integer> priceBandCounts, int anyPriceCount, int[] ratingCounts,
+                int onSaleCount, int newCount, int featuredCount, int inStockCount) {
+        this.matching = matching;
+        this.categoryCounts = categoryCounts;
+        this.anyCategoryCount = anyCategoryCount;
+        this.ecoScoreCounts = ecoScoreCounts;
+        this.priceBandCounts = priceBandCounts;
+        this.anyPriceCount = anyPriceCount;
+        this.ratingCounts = ratingCounts;
+        this.onSaleCount = onSaleCount;
+        this.newCount = newCount;
+        this.featuredCount = featuredCount;
+        this.inStockCount = inStockCount;
+    }
+
+    /**
+     * Ids of the products matching every selected facet (and the search, if any)
+     */
+    public CompactBitmap getMatching() { return matching; }
+
+    public int getTotal() { return matching.cardinality(); }
+
+    /**
+     * Count per category id; categories without products are absent
+     */
+    public Map<Long, Integer> getCategoryCounts() { return categoryCounts; }
+
+    public int getAnyCategoryCount() { return anyCategoryCount; }
+
+    // Indexed by minimum eco score (1-5) and minimum star rating (1-4); slot 0 is "any"
+    public int[] getEcoScoreCounts() { return ecoScoreCounts; }
+
+    public int[] getRatingCounts() { return ratingCounts; }
+
+    public Map<PriceBand, Integer> getPriceBandCounts() { return priceBandCounts; }
+
+    public int getAnyPriceCount() { return anyPriceCount; }
+
+    public int getOnSaleCount() { return onSaleCount; }
+
+    public int getNewCount() { return newCount; }
+
+    public int getFeaturedCount() { return featuredCount; }
+
+    public int getInStockCount() { return inStockCount; }
+}
@@ -0,0 +1,83 @@
+package com.example.ecoswap.search;
+
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+
+/**
+ * Facet values picked on the shop page, bound from request parameters. Null means "any".
+ * minEcoScore and minRating select products at or above the value.
+ */
+public class FacetSelection {
+
+    private Long categoryId;
+    private Integer minEcoScore;
+    private PriceBand priceBand;
+    private Boolean onSale;
+    private Boolean isNew;
+    private Boolean featured;
+    private Boolean inStock;
+    private Integer minRating;
+
+    public FacetSelection() {}
+
+    public Long getCategoryId() { return categoryId; }
+    public void setCategoryId(Long categoryId) { this.categoryId = categoryId; }
+
+    public Integer getMinEcoScore() { return minEcoScore; }
+    public void setMinEcoScore(Integer minEcoScore) { this.minEcoScore = minEcoScore; }
+
+    public PriceBand getPriceBand() { return priceBand; }
+    public void setPriceBand(PriceBand priceBand) { this.priceBand = priceBand; }
+
+    public Boolean getOnSale() { return onSale; }
+    public void setOnSale(Boolean onSale) { this.onSale = onSale; }
+
+    public Boolean getIsNew() { return isNew; }
+    public void setIsNew(Boolean isNew) { this.isNew = isNew; }
+
+    public Boolean getFeatured() { return featured; }
+    public void setFeatured(Boolean featured) { this.featured = featured; }
+
+    public Boolean getInStock() { return inStock; }
+    public void setInStock(Boolean inStock) { this.inStock = inStock; }
+
+    public Integer getMinRating() { return minRating; }
+    public void setMinRating(Integer minRating) { this.minRating = minRating; }
+
+    public boolean isEmpty() {
+        return categoryId == null && minEcoScore == null && priceBand == null && minRating == null
+            && !Boolean.TRUE.equals(onSale) && !Boolean.TRUE.equals(isNew)
+            && !Boolean.TRUE.equals(featured) && !Boolean.TRUE.equals(inStock);
+    }
+
+    /**
+     * True when nothing but a category is selected: the plain newest-first listing, which can be paged by keyset
+     */
+    public boolean isCategoryOnly() {
+        return minEcoScore == null && priceBand == null && minRating == null
+            && !Boolean.TRUE.equals(onSale) && !Boolean.TRUE.equals(isNew)
+            && !Boolean.TRUE.equals(featured) && !Boolean.TRUE.equals(inStock);
+    }
+
+    /**
+     * The selection as query parameters, for links that keep the current filters
+     */
+    public MultiValueMap<String, String> toQueryParams() {
+        MultiValueMap<String, String> params = new LinkedMultiValueMap<>();
+        putIfSet(params, "categoryId", categoryId);
+        putIfSet(params, "minEcoScore", minEcoScore);
+        putIfSet(params, "priceBand", priceBand);
+        putIfSet(params, "onSale", Boolean.TRUE.equals(onSale) ? true : null);
+        putIfSet(params, "isNew", Boolean.TRUE.equals(isNew) ? true : null);
+        putIfSet(params, "featured", Boolean.TRUE.equals(featured) ? true : null);
+        putIfSet(params, "inStock", Boolean.TRUE.equals(inStock) ? true : null);
+        putIfSet(params, "minRating", minRating);
+        return params;
+    }
+
+    private static void putIfSet(MultiValueMap<String, String> params, String name, Object value) {
+        if (value != null) {
+            params.add(name, value.toString());
+        }
+    }
+}
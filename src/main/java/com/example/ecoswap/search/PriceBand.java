@@ -0,0 +1,38 @@
+package com.example.ecoswap.search;
+
+import java.math.BigDecimal;
+
+/**
+ * Price ranges offered as shop facets. min is inclusive, max exclusive (null for the open top band).
+ */
+public enum PriceBand {
+    UNDER_10(null, 10),
+    FROM_10_TO_25(10, 25),
+    FROM_25_TO_50(25, 50),
+    FROM_50_TO_100(50, 100),
+    OVER_100(100, null);
+
+    private final Integer min;
+    private final Integer max;
+
+    PriceBand(Integer min, Integer max) {
+        this.min = min;
+        this.max = max;
+    }
+
+    public Integer getMin() { return min; }
+
+    public Integer getMax() { return max; }
+
+    public static PriceBand of(BigDecimal price) {
+        if (price == null) {
+            return null;
+        }
+        for (PriceBand band : values()) {
+            if (band.max == null || price.compareTo(BigDecimal.valueOf(band.max)) < 0) {
+                return band;
+            }
+        }
+        return OVER_100;
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.ecoswap.search;
+
+import com.example.ecoswap.model.Product;
+
+import java.util.Objects;
+
+/**
+ * The searchable and ranking fields of a product, copied out of the entity so the index never
+ * holds on to managed objects.
+ */
+public final class ProductDocument {
+
+    private final long id;
+    private final Long sellerId;
+    private final Long categoryId;
+    private final String name;
+    private final String description;
+    private final String sku;
+    private final String categoryName;
+    private final Integer ecoScore;
+    private final Double rating;
+
+    public ProductDocument(long id, Long sellerId, Long categoryId, String name, String description, String sku, String categoryName) {
+        this(id, sellerId, categoryId, name, description, sku, categoryName, null, null);
+    }
+
+    public ProductDocument(long id, Long sellerId, Long categoryId, String name, String description, String sku,
+                           String categoryName, Integer ecoScore, Double rating) {
+        this.id = id;
+        this.sellerId = sellerId;
+        this.categoryId = categoryId;
+        this.name = name;
+        this.description = description;
+        this.sku = sku;
+        this.categoryName = categoryName;
+        this.ecoScore = ecoScore;
+        this.rating = rating;
+    }
+
+    public static ProductDocument of(Product product) {
+        return new ProductDocument(product.getId(),
+            product.getSeller() != null ? product.getSeller().getId() : null,
+            product.getCategory() != null ? product.getCategory().getId() : null,
+            product.getName(), product.getDescription(), product.getSku(),
+            product.getCategory() != null ? product.getCategory().getName() : null,
+            product.getEcoScore(), product.getRating());
+    }
+
+    /**
+     * Same document under a renamed category
+     */
+    public ProductDocument withCategoryName(String newCategoryName) {
+        return new ProductDocument(id, sellerId, categoryId, name, description, sku, newCategoryName, ecoScore, rating);
+    }
+
+    public long getId() { return id; }
+
+    public Long getSellerId() { return sellerId; }
+
+    public Long getCategoryId() { return categoryId; }
+
+    public String getName() { return name; }
+
+    public String getDescription() { return description; }
+
+    public String getSku() { return sku; }
+
+    public String getCategoryName() { return categoryName; }
+
+    public Integer getEcoScore() { return ecoScore; }
+
+    public Double getRating() { return rating; }
+
+    // True if both documents would produce the same postings
+    boolean sameContent(ProductDocument other) {
+        return other != null
+            && Objects.equals(sellerId, other.sellerId)
+            && Objects.equals(categoryId, other.categoryId)
+            && Objects.equals(name, other.name)
+            && Objects.equals(description, other.description)
+            && Objects.equals(sku, other.sku)
+            && Objects.equals(categoryName, other.categoryName)
+            && Objects.equals(ecoScore, other.ecoScore)
+            && Objects.equals(rating, other.rating);
+    }
+}
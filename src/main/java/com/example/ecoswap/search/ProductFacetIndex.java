@@ -0,0 +1,309 @@
+package com.example.ecoswap.search;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory facet index for the shop: one CompactBitmap of product ids per facet value.
+ *
+ * Eco score and rating bitmaps are cumulative ("4 and up" holds every product scoring 4 or 5), so a
+ * selection on any facet is one bitmap and a filter is the intersection of the selected ones.
+ * Counts follow the multi-select rule: an option's count combines it with the selections on every
+ * other facet, so picking a category does not zero out the other categories.
+ *
+ * Queries share a read lock; writes take it exclusively.
+ */
+public final class ProductFacetIndex {
+
+    public static final int MAX_ECO_SCORE = 5;
+    public static final int MAX_MIN_RATING = 4;
+
+    // Facet slots of a selection
+    private static final int CATEGORY = 0;
+    private static final int ECO_SCORE = 1;
+    private static final int PRICE = 2;
+    private static final int ON_SALE = 3;
+    private static final int NEW = 4;
+    private static final int FEATURED = 5;
+    private static final int IN_STOCK = 6;
+    private static final int RATING = 7;
+    private static final int FACETS = 8;
+
+    // Selected value that no product has, e.g. an unknown category
+    private static final CompactBitmap NONE = new CompactBitmap();
+
+    private final Map<Long, FacetDocument> documents = new HashMap<>();
+    private final CompactBitmap all = new CompactBitmap();
+    private final Map<Long, CompactBitmap> categories = new HashMap<>();
+    private final CompactBitmap[] ecoScoreAtLeast = bitmaps(MAX_ECO_SCORE + 1);
+    private final CompactBitmap[] ratingAtLeast = bitmaps(MAX_MIN_RATING + 1);
+    private final Map<PriceBand, CompactBitmap> priceBands = new EnumMap<>(PriceBand.class);
+    private final CompactBitmap onSale = new CompactBitmap();
+    private final CompactBitmap newArrivals = new CompactBitmap();
+    private final CompactBitmap featured = new CompactBitmap();
+    private final CompactBitmap inStock = new CompactBitmap();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public ProductFacetIndex() {
+        for (PriceBand band : PriceBand.values()) {
+            priceBands.put(band, new CompactBitmap());
+        }
+    }
+
+    // ============ WRITES ============
+
+    /**
+     * Add or replace a product. Changes that keep every facet value (most stock updates) are no-ops.
+     * A replaced product keeps its sales count, which only addSales changes.
+     */
+    public void put(FacetDocument document) {
+        lock.writeLock().lock();
+        try {
+            FacetDocument previous = documents.get(document.getId());
+            if (previous != null) {
+                document = document.withSalesCount(previous.getSalesCount());
+            }
+            documents.put(document.getId(), document);
+            if (document.sameFacets(previous)) {
+                return;
+            }
+            if (previous != null) {
+                update(previous, false);
+            }
+            update(document, true);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long productId) {
+        lock.writeLock().lock();
+        try {
+            FacetDocument previous = documents.remove(productId);
+            if (previous != null) {
+                update(previous, false);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Add delivered (or, negative, reversed) units to a product's sales count
+     */
+    public void addSales(long productId, long units) {
+        lock.writeLock().lock();
+        try {
+            documents.computeIfPresent(productId, (id, document) -> document.withSalesCount(document.getSalesCount() + units));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replace the whole index
+     */
+    public void replaceAll(Collection<FacetDocument> all) {
+        lock.writeLock().lock();
+        try {
+            for (FacetDocument document : new ArrayList<>(documents.values())) {
+                update(document, false);
+            }
+            documents.clear();
+            for (FacetDocument document : all) {
+                documents.put(document.getId(), document);
+                update(document, true);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void update(FacetDocument document, boolean add) {
+        int id = Math.toIntExact(document.getId());
+        toggle(all, id, add);
+
+        Long categoryId = document.getCategoryId();
+        if (categoryId != null) {
+            CompactBitmap category = add ? categories.computeIfAbsent(categoryId, c -> new CompactBitmap()) : categories.get(categoryId);
+            if (category != null) {
+                toggle(category, id, add);
+                if (category.isEmpty()) {
+                    categories.remove(categoryId);
+                }
+            }
+        }
+
+        int ecoScore = document.getEcoScore() != null ? Math.min(document.getEcoScore(), MAX_ECO_SCORE) : 0;
+        for (int score = 1; score <= ecoScore; score++) {
+            toggle(ecoScoreAtLeast[score], id, add);
+        }
+        double rating = document.getRating() != null ? document.getRating() : 0.0;
+        for (int stars = 1; stars <= MAX_MIN_RATING && rating >= stars; stars++) {
+            toggle(ratingAtLeast[stars], id, add);
+        }
+        PriceBand band = PriceBand.of(document.getPrice());
+        if (band != null) {
+            toggle(priceBands.get(band), id, add);
+        }
+
+        if (document.isOnSale()) toggle(onSale, id, add);
+        if (document.isNew()) toggle(newArrivals, id, add);
+        if (document.isFeatured()) toggle(featured, id, add);
+        if (document.isInStock()) toggle(inStock, id, add);
+    }
+
+    private static void toggle(CompactBitmap bitmap, int id, boolean add) {
+        if (add) {
+            bitmap.add(id);
+        } else {
+            bitmap.remove(id);
+        }
+    }
+
+    private static CompactBitmap[] bitmaps(int count) {
+        CompactBitmap[] bitmaps = new CompactBitmap[count];
+        for (int i = 0; i < count; i++) {
+            bitmaps[i] = new CompactBitmap();
+        }
+        return bitmaps;
+    }
+
+    // ============ QUERIES ============
+
+    /**
+     * Products matching the selection plus per-option counts.
+     * restrictTo limits everything to a set of product ids (e.g. search matches); null means all products.
+     */
+    public FacetResult facet(FacetSelection selection, CompactBitmap restrictTo) {
+        lock.readLock().lock();
+        try {
+            CompactBitmap[] selected = new CompactBitmap[FACETS];
+            if (selection.getCategoryId() != null) {
+                selected[CATEGORY] = categories.getOrDefault(selection.getCategoryId(), NONE);
+            }
+            if (selection.getMinEcoScore() != null) {
+                selected[ECO_SCORE] = ecoScoreAtLeast[Math.min(Math.max(selection.getMinEcoScore(), 1), MAX_ECO_SCORE)];
+            }
+            if (selection.getPriceBand() != null) {
+                selected[PRICE] = priceBands.get(selection.getPriceBand());
+            }
+            if (Boolean.TRUE.equals(selection.getOnSale())) selected[ON_SALE] = onSale;
+            if (Boolean.TRUE.equals(selection.getIsNew())) selected[NEW] = newArrivals;
+            if (Boolean.TRUE.equals(selection.getFeatured())) selected[FEATURED] = featured;
+            if (Boolean.TRUE.equals(selection.getInStock())) selected[IN_STOCK] = inStock;
+            if (selection.getMinRating() != null) {
+                selected[RATING] = ratingAtLeast[Math.min(Math.max(selection.getMinRating(), 1), MAX_MIN_RATING)];
+            }
+
+            CompactBitmap start = restrictTo != null ? restrictTo : all;
+            CompactBitmap matching = intersect(start, selected, -1);
+
+            CompactBitmap base = base(start, selected, matching, CATEGORY);
+            Map<Long, Integer> categoryCounts = new HashMap<>();
+            for (Map.Entry<Long, CompactBitmap> category : categories.entrySet()) {
+                int count = base.andCardinality(category.getValue());
+                if (count > 0) {
+                    categoryCounts.put(category.getKey(), count);
+                }
+            }
+            int anyCategoryCount = base.cardinality();
+
+            int[] ecoScoreCounts = counts(base(start, selected, matching, ECO_SCORE), ecoScoreAtLeast);
+            int[] ratingCounts = counts(base(start, selected, matching, RATING), ratingAtLeast);
+
+            base = base(start, selected, matching, PRICE);
+            Map<PriceBand, Integer> priceBandCounts = new EnumMap<>(PriceBand.class);
+            for (Map.Entry<PriceBand, CompactBitmap> band : priceBands.entrySet()) {
+                priceBandCounts.put(band.getKey(), base.andCardinality(band.getValue()));
+            }
+            int anyPriceCount = base.cardinality();
+
+            return new FacetResult(matching == all ? all.copy() : matching,
+                categoryCounts, anyCategoryCount, ecoScoreCounts, priceBandCounts, anyPriceCount, ratingCounts,
+                base(start, selected, matching, ON_SALE).andCardinality(onSale),
+                base(start, selected, matching, NEW).andCardinality(newArrivals),
+                base(start, selected, matching, FEATURED).andCardinality(featured),
+                base(start, selected, matching, IN_STOCK).andCardinality(inStock));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Up to limit of the given products in sort order, after skipping offset of them.
+     * One pass keeps the best offset + limit in a bounded heap, so the ids are never fully sorted.
+     */
+    public long[] sorted(CompactBitmap ids, Comparator<FacetDocument> order, int offset, int limit) {
+        int skip = Math.max(offset, 0);
+        int keep = skip + Math.max(limit, 0);
+        if (keep == 0) {
+            return new long[0];
+        }
+        lock.readLock().lock();
+        try {
+            // Worst kept document on top, so a better one replaces it
+            PriorityQueue<FacetDocument> best = new PriorityQueue<>(Math.min(keep, 1024), order.reversed());
+            ids.forEach(id -> {
+                FacetDocument document = documents.get((long) id);
+                if (document == null) {
+                    return;
+                }
+                if (best.size() < keep) {
+                    best.add(document);
+                } else if (order.compare(document, best.peek()) < 0) {
+                    best.poll();
+                    best.add(document);
+                }
+            });
+
+            // The heap drains worst first, i.e. from the last rank up
+            long[] page = new long[Math.max(0, best.size() - skip)];
+            for (int rank = best.size() - 1; rank >= 0; rank--) {
+                FacetDocument document = best.poll();
+                if (rank >= skip) {
+                    page[rank - skip] = document.getId();
+                }
+            }
+            return page;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // What a facet's options are counted against: the matches ignoring that facet's own selection
+    private static CompactBitmap base(CompactBitmap start, CompactBitmap[] selected, CompactBitmap matching, int facet) {
+        return selected[facet] == null ? matching : intersect(start, selected, facet);
+    }
+
+    // start intersected with every selected facet except skip
+    private static CompactBitmap intersect(CompactBitmap start, CompactBitmap[] selected, int skip) {
+        CompactBitmap result = start;
+        for (int facet = 0; facet < FACETS; facet++) {
+            if (facet != skip && selected[facet] != null) {
+                result = result.and(selected[facet]);
+            }
+        }
+        return result;
+    }
+
+    // Slot 0 is the "any" count, slot n the count for "n and up"
+    private static int[] counts(CompactBitmap base, CompactBitmap[] atLeast) {
+        int[] counts = new int[atLeast.length];
+        counts[0] = base.cardinality();
+        for (int i = 1; i < atLeast.length; i++) {
+            counts[i] = base.andCardinality(atLeast[i]);
+        }
+        return counts;
+    }
+}
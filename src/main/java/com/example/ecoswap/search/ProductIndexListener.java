@@ -0,0 +1,61 @@
+package com.example.ecoswap.search;
+
+import com.example.ecoswap.model.Category;
+import com.example.ecoswap.model.Product;
+import com.example.ecoswap.services.ProductFacetService;
+import com.example.ecoswap.services.ProductSearchService;
+import com.example.ecoswap.services.ProductViewCache;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * JPA entity listener on Product and Category that keeps the product search and facet indexes
+ * and the product view cache current, whichever code path saved the entity. Hibernate obtains it
+ * from the Spring context; contexts without the services (slice tests) simply skip indexing.
+ */
+public class ProductIndexListener {
+
+    @Autowired
+    private ObjectProvider<ProductSearchService> searchService;
+
+    @Autowired
+    private ObjectProvider<ProductFacetService> facetService;
+
+    @Autowired
+    private ObjectProvider<ProductViewCache> viewCache;
+
+    @PostPersist
+    @PostUpdate
+    public void saved(Object entity) {
+        ProductSearchService search = available(searchService);
+        ProductFacetService facets = available(facetService);
+        ProductViewCache views = available(viewCache);
+        if (entity instanceof Product product) {
+            if (search != null) search.productSaved(ProductDocument.of(product));
+            if (facets != null) facets.productSaved(FacetDocument.of(product));
+            if (views != null) views.productChanged(product.getId());
+        } else if (entity instanceof Category category) {
+            if (search != null) search.categoryRenamed(category.getId(), category.getName());
+            if (views != null) views.namesChanged();
+        }
+    }
+
+    @PostRemove
+    public void removed(Object entity) {
+        if (entity instanceof Product product) {
+            ProductSearchService search = available(searchService);
+            ProductFacetService facets = available(facetService);
+            ProductViewCache views = available(viewCache);
+            if (search != null) search.productRemoved(product.getId());
+            if (facets != null) facets.productRemoved(product.getId());
+            if (views != null) views.productChanged(product.getId());
+        }
+    }
+
+    private static <T> T available(ObjectProvider<T> provider) {
+        return provider != null ? provider.getIfAvailable() : null;
+    }
+}
@@ -0,0 +1,607 @@
+package com.example.ecoswap.search;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over product name, SKU, category name and description, ranked by BM25F.
+ *
+ * Every indexed product gets a dense ordinal; per-ordinal data (product id, seller, field lengths,
+ * quality prior) lives in primitive arrays and each term's postings are an int[] of ordinals with
+ * per-field term frequencies alongside. Updates append a new ordinal and tombstone the old one;
+ * the arrays are compacted once more than half of them are dead.
+ *
+ * Terms are kept in a sorted map, so every query term of MIN_PREFIX_LENGTH or more characters also
+ * matches indexed terms it is a prefix of ("bamb" finds "bamboo"), at half weight. A short prefix can
+ * cover thousands of terms (every "sku-..." SKU), so only the MAX_PREFIX_EXPANSIONS with the most live
+ * products among its first MAX_PREFIX_SCAN terms are used. A product must match every query term. Its score is the
+ * sum over query terms of the best BM25F score among the matching indexed terms, multiplied by
+ * 1 + qualityBoost * prior, where the prior (0..1) comes from eco score and rating.
+ *
+ * Query terms are scored rarest first. The first term sets the candidates; later terms either scan
+ * their postings or, when few candidates are left, binary search each candidate in them. Searches
+ * share a read lock and score into per-thread scratch arrays, so a query allocates only its terms
+ * with their expansions and the returned page. Writes take the lock exclusively.
+ */
+public final class ProductSearchIndex {
+
+    // Field slots in postings and length arrays
+    static final int NAME = 0;
+    static final int SKU = 1;
+    static final int CATEGORY = 2;
+    static final int DESCRIPTION = 3;
+    static final int FIELDS = 4;
+
+    private static final float[] FIELD_BOOST = {3f, 3f, 2f, 1f};
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+    static final float PREFIX_FACTOR = 0.5f;
+
+    // Prefix expansion limits: shorter query terms match whole terms only
+    static final int MIN_PREFIX_LENGTH = 3;
+    static final int MAX_PREFIX_EXPANSIONS = 32;
+    static final int MAX_PREFIX_SCAN = 4096;
+
+    // Field lengths above this share the last length-norm slot
+    private static final int NORM_TABLE_SIZE = 256;
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int MIN_COMPACT_ORDINALS = 1024;
+
+    private final float qualityBoost;
+
+    private final NavigableMap<String, Postings> terms = new TreeMap<>();
+    private final Map<Long, ProductDocument> documents = new HashMap<>();
+    private final Map<Long, Integer> ordinals = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ThreadLocal<Scratch> scratch = ThreadLocal.withInitial(Scratch::new);
+
+    // Indexed by ordinal
+    private long[] productIds = new long[INITIAL_CAPACITY];
+    private long[] sellerIds = new long[INITIAL_CAPACITY];
+    private float[] quality = new float[INITIAL_CAPACITY];
+    private boolean[] live = new boolean[INITIAL_CAPACITY];
+    private int[] fieldLengths = new int[INITIAL_CAPACITY * FIELDS];
+    private int ordinalCount;
+    private int liveCount;
+    private final long[] totalFieldLengths = new long[FIELDS];
+
+    public ProductSearchIndex() {
+        this(0f);
+    }
+
+    /**
+     * @param qualityBoost how much eco score and rating can lift a result (0 disables, 0.2 means up to +20%)
+     */
+    public ProductSearchIndex(float qualityBoost) {
+        this.qualityBoost = qualityBoost;
+    }
+
+    // ============ WRITES ============
+
+    /**
+     * Add or replace a product. Re-indexing an unchanged product (e.g. a stock update) is a no-op.
+     */
+    public void put(ProductDocument document) {
+        lock.writeLock().lock();
+        try {
+            ProductDocument previous = documents.get(document.getId());
+            if (document.sameContent(previous)) {
+                return;
+            }
+            if (previous != null) {
+                unindex(previous);
+            }
+            index(document);
+            compactIfSparse();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long productId) {
+        lock.writeLock().lock();
+        try {
+            ProductDocument previous = documents.get(productId);
+            if (previous != null) {
+                unindex(previous);
+                compactIfSparse();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Re-index every product of a category under its new name
+     */
+    public void renameCategory(Long categoryId, String newName) {
+        lock.writeLock().lock();
+        try {
+            List<ProductDocument> renamed = new ArrayList<>();
+            for (ProductDocument document : documents.values()) {
+                if (Objects.equals(document.getCategoryId(), categoryId) && !Objects.equals(document.getCategoryName(), newName)) {
+                    renamed.add(document.withCategoryName(newName));
+                }
+            }
+            renamed.sort(Comparator.comparingLong(ProductDocument::getId));
+            for (ProductDocument document : renamed) {
+                unindex(documents.get(document.getId()));
+                index(document);
+            }
+            compactIfSparse();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replace the whole index
+     */
+    public void replaceAll(Collection<ProductDocument> all) {
+        lock.writeLock().lock();
+        try {
+            clear();
+            all.forEach(this::index);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return liveCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void index(ProductDocument document) {
+        int ordinal = ordinalCount++;
+        ensureCapacity(ordinalCount);
+
+        Map<String, int[]> frequencies = new HashMap<>();
+        int base = ordinal * FIELDS;
+        fieldLengths[base + NAME] = addField(frequencies, document.getName(), NAME);
+        fieldLengths[base + SKU] = addField(frequencies, document.getSku(), SKU);
+        fieldLengths[base + CATEGORY] = addField(frequencies, document.getCategoryName(), CATEGORY);
+        fieldLengths[base + DESCRIPTION] = addField(frequencies, document.getDescription(), DESCRIPTION);
+        for (int f = 0; f < FIELDS; f++) {
+            totalFieldLengths[f] += fieldLengths[base + f];
+        }
+
+        for (Map.Entry<String, int[]> term : frequencies.entrySet()) {
+            terms.computeIfAbsent(term.getKey(), t -> new Postings()).add(ordinal, term.getValue());
+        }
+
+        productIds[ordinal] = document.getId();
+        sellerIds[ordinal] = document.getSellerId() != null ? document.getSellerId() : -1L;
+        quality[ordinal] = 1f + qualityBoost * prior(document.getEcoScore(), document.getRating());
+        live[ordinal] = true;
+        liveCount++;
+        documents.put(document.getId(), document);
+        ordinals.put(document.getId(), ordinal);
+    }
+
+    // Tombstones the document's ordinal; its postings entries are skipped until the next compaction
+    private void unindex(ProductDocument document) {
+        Integer ordinal = ordinals.remove(document.getId());
+        documents.remove(document.getId());
+        if (ordinal == null) {
+            return;
+        }
+        live[ordinal] = false;
+        liveCount--;
+        int base = ordinal * FIELDS;
+        for (int f = 0; f < FIELDS; f++) {
+            totalFieldLengths[f] -= fieldLengths[base + f];
+        }
+        for (String term : distinctTerms(document)) {
+            Postings postings = terms.get(term);
+            if (postings != null && --postings.liveDocs == 0) {
+                terms.remove(term);
+            }
+        }
+    }
+
+    private void compactIfSparse() {
+        if (ordinalCount >= MIN_COMPACT_ORDINALS && liveCount * 2 < ordinalCount) {
+            List<ProductDocument> all = new ArrayList<>(documents.values());
+            all.sort(Comparator.comparingLong(ProductDocument::getId));
+            clear();
+            all.forEach(this::index);
+        }
+    }
+
+    private void clear() {
+        terms.clear();
+        documents.clear();
+        ordinals.clear();
+        Arrays.fill(totalFieldLengths, 0L);
+        ordinalCount = 0;
+        liveCount = 0;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= productIds.length) {
+            return;
+        }
+        int grown = Math.max(capacity, productIds.length * 2);
+        productIds = Arrays.copyOf(productIds, grown);
+        sellerIds = Arrays.copyOf(sellerIds, grown);
+        quality = Arrays.copyOf(quality, grown);
+        live = Arrays.copyOf(live, grown);
+        fieldLengths = Arrays.copyOf(fieldLengths, grown * FIELDS);
+    }
+
+    // Adds the field's term frequencies and returns its length in terms
+    private static int addField(Map<String, int[]> frequencies, String text, int field) {
+        List<String> tokens = TextTokenizer.tokenize(text);
+        for (String token : tokens) {
+            frequencies.computeIfAbsent(token, t -> new int[FIELDS])[field]++;
+        }
+        return tokens.size();
+    }
+
+    private static Set<String> distinctTerms(ProductDocument document) {
+        Set<String> distinct = new HashSet<>();
+        distinct.addAll(TextTokenizer.tokenize(document.getName()));
+        distinct.addAll(TextTokenizer.tokenize(document.getSku()));
+        distinct.addAll(TextTokenizer.tokenize(document.getCategoryName()));
+        distinct.addAll(TextTokenizer.tokenize(document.getDescription()));
+        return distinct;
+    }
+
+    // 0..1 from eco score (1-5) and rating (0-5), weighted equally
+    static float prior(Integer ecoScore, Double rating) {
+        float eco = ecoScore != null ? (Math.min(Math.max(ecoScore, 1), 5) - 1) / 4f : 0f;
+        float stars = rating != null ? (float) (Math.min(Math.max(rating, 0.0), 5.0) / 5.0) : 0f;
+        return (eco + stars) / 2f;
+    }
+
+    // ============ SEARCH ============
+
+    /**
+     * One page of matching product ids, best first, plus the total number of matches.
+     * sellerId limits results to one seller's products; null searches everything.
+     */
+    public SearchResult search(String query, Long sellerId, int offset, int limit) {
+        return search(query, sellerId, null, offset, limit);
+    }
+
+    /**
+     * Same as above, keeping only products whose id is in filter (null for no filter)
+     */
+    public SearchResult search(String query, Long sellerId, CompactBitmap filter, int offset, int limit) {
+        long seller = sellerId != null ? sellerId : Long.MIN_VALUE;
+        return score(query, SearchResult.EMPTY, (s, termCount) -> collect(s, termCount, seller, filter, offset, limit));
+    }
+
+    /**
+     * Ids of every product matching the query, unranked
+     */
+    public CompactBitmap matches(String query) {
+        return score(query, new CompactBitmap(), this::collectIds);
+    }
+
+    // Scores every query term into the thread's scratch arrays, then hands them to the collector
+    private <T> T score(String query, T empty, Collector<T> collector) {
+        Set<String> words = new LinkedHashSet<>(TextTokenizer.tokenize(query));
+        if (words.isEmpty()) {
+            return empty;
+        }
+
+        lock.readLock().lock();
+        try {
+            if (liveCount == 0) {
+                return empty;
+            }
+            List<QueryTerm> queryTerms = new ArrayList<>(words.size());
+            for (String word : words) {
+                QueryTerm queryTerm = expand(word);
+                if (queryTerm.postingsCount == 0) {
+                    return empty;
+                }
+                queryTerms.add(queryTerm);
+            }
+            // Rarest first: queries have a handful of terms
+            queryTerms.sort(Comparator.comparingInt(queryTerm -> queryTerm.postingsCount));
+
+            Scratch s = scratch.get();
+            s.ensure(ordinalCount);
+            s.prepareNorms(totalFieldLengths, liveCount);
+            s.candidateCount = 0;
+
+            try {
+                int remaining = 0;
+                for (int i = 0; i < queryTerms.size(); i++) {
+                    remaining = scoreTerm(queryTerms.get(i), i, remaining, s);
+                    if (remaining == 0) {
+                        return empty;
+                    }
+                }
+                return collector.collect(s, queryTerms.size());
+            } finally {
+                // Leave the scratch arrays clean for the next query on this thread
+                for (int c = 0; c < s.candidateCount; c++) {
+                    s.matched[s.candidates[c]] = 0;
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * The indexed terms a query term matches: itself, then its most widely used prefix expansions
+     */
+    private QueryTerm expand(String term) {
+        QueryTerm queryTerm = new QueryTerm(terms.get(term));
+        if (term.length() >= MIN_PREFIX_LENGTH) {
+            // Min-heap on live products, so the least used expansion is dropped past the limit
+            PriorityQueue<Postings> best = new PriorityQueue<>(Comparator.comparingInt((Postings postings) -> postings.liveDocs));
+            int scanned = 0;
+            for (Postings postings : terms.subMap(term, false, term + Character.MAX_VALUE, false).values()) {
+                if (++scanned > MAX_PREFIX_SCAN) {
+                    break;
+                }
+                if (postings.liveDocs > 0) {
+                    best.add(postings);
+                    if (best.size() > MAX_PREFIX_EXPANSIONS) {
+                        best.poll();
+                    }
+                }
+            }
+            queryTerm.expansions.addAll(best);
+        }
+        queryTerm.postingsCount = queryTerm.exact != null ? queryTerm.exact.size : 0;
+        for (Postings postings : queryTerm.expansions) {
+            queryTerm.postingsCount += postings.size;
+        }
+        return queryTerm;
+    }
+
+    /**
+     * Adds the best score of one query term to every candidate that matched all earlier terms.
+     * matched[ordinal] counts the query terms a product has matched so far.
+     * Returns the number of candidates still matching.
+     */
+    private int scoreTerm(QueryTerm queryTerm, int termIndex, int remaining, Scratch s) {
+        if (queryTerm.exact != null) {
+            scorePostings(queryTerm.exact, 1f, termIndex, remaining, s);
+        }
+        for (Postings postings : queryTerm.expansions) {
+            scorePostings(postings, PREFIX_FACTOR, termIndex, remaining, s);
+        }
+
+        int matching = 0;
+        for (int c = 0; c < s.candidateCount; c++) {
+            int ordinal = s.candidates[c];
+            if (s.matched[ordinal] == termIndex + 1) {
+                s.scores[ordinal] += s.termScores[ordinal];
+                matching++;
+            }
+        }
+        return matching;
+    }
+
+    private void scorePostings(Postings postings, float factor, int termIndex, int remaining, Scratch s) {
+        float weight = factor * idf(postings.liveDocs, liveCount);
+        int[] docs = postings.docs;
+        int size = postings.size;
+
+        // Few candidates left: binary search them in the (ordinal sorted) postings instead of scanning
+        boolean probe = termIndex > 0 && (long) remaining * (32 - Integer.numberOfLeadingZeros(size)) < size;
+        if (probe) {
+            for (int c = 0; c < s.candidateCount; c++) {
+                int ordinal = s.candidates[c];
+                if (s.matched[ordinal] >= termIndex) {
+                    int position = Arrays.binarySearch(docs, 0, size, ordinal);
+                    if (position >= 0) {
+                        record(s, ordinal, termIndex, score(postings, position, ordinal, weight, s));
+                    }
+                }
+            }
+        } else {
+            for (int position = 0; position < size; position++) {
+                int ordinal = docs[position];
+                if (live[ordinal] && s.matched[ordinal] >= termIndex) {
+                    record(s, ordinal, termIndex, score(postings, position, ordinal, weight, s));
+                }
+            }
+        }
+    }
+
+    // BM25F: field frequencies are boosted and length-normalised before one saturation
+    private float score(Postings postings, int position, int ordinal, float weight, Scratch s) {
+        float tf = 0f;
+        int freqBase = position * FIELDS;
+        int lengthBase = ordinal * FIELDS;
+        for (int f = 0; f < FIELDS; f++) {
+            int freq = postings.freqs[freqBase + f];
+            if (freq > 0) {
+                tf += freq * s.norms[f * NORM_TABLE_SIZE + Math.min(fieldLengths[lengthBase + f], NORM_TABLE_SIZE - 1)];
+            }
+        }
+        return weight * tf * (K1 + 1f) / (tf + K1);
+    }
+
+    // First match of this query term for the product, or a better match through another prefix expansion
+    private static void record(Scratch s, int ordinal, int termIndex, float score) {
+        if (s.matched[ordinal] == termIndex) {
+            s.matched[ordinal] = termIndex + 1;
+            s.termScores[ordinal] = score;
+            if (termIndex == 0) {
+                s.scores[ordinal] = 0f;
+                s.candidates[s.candidateCount++] = ordinal;
+            }
+        } else if (score > s.termScores[ordinal]) {
+            s.termScores[ordinal] = score;
+        }
+    }
+
+    private CompactBitmap collectIds(Scratch s, int termCount) {
+        CompactBitmap ids = new CompactBitmap();
+        for (int c = 0; c < s.candidateCount; c++) {
+            int ordinal = s.candidates[c];
+            if (s.matched[ordinal] == termCount) {
+                ids.add(Math.toIntExact(productIds[ordinal]));
+            }
+        }
+        return ids;
+    }
+
+    private SearchResult collect(Scratch s, int termCount, long sellerId, CompactBitmap filter, int offset, int limit) {
+        int keep = (int) Math.min((long) Math.max(offset, 0) + Math.max(limit, 0), s.candidateCount);
+        long[] heap = s.heap(keep);
+        int heapSize = 0;
+        int total = 0;
+
+        for (int c = 0; c < s.candidateCount; c++) {
+            int ordinal = s.candidates[c];
+            if (s.matched[ordinal] != termCount || (sellerId != Long.MIN_VALUE && sellerIds[ordinal] != sellerId)
+                    || (filter != null && !filter.contains((int) productIds[ordinal]))) {
+                continue;
+            }
+            total++;
+            if (keep == 0) {
+                continue;
+            }
+            // Positive float bits sort like the floats; ties go to the newer ordinal
+            long key = ((long) Float.floatToIntBits(s.scores[ordinal] * quality[ordinal]) << 32) | ordinal;
+            if (heapSize < keep) {
+                heap[heapSize] = key;
+                siftUp(heap, heapSize++);
+            } else if (key > heap[0]) {
+                heap[0] = key;
+                siftDown(heap, 0, heapSize);
+            }
+        }
+
+        // Pop the min-heap from the back so the array ends up best first
+        for (int end = heapSize - 1; end > 0; end--) {
+            long min = heap[0];
+            heap[0] = heap[end];
+            heap[end] = min;
+            siftDown(heap, 0, end);
+        }
+        int from = Math.min(Math.max(offset, 0), heapSize);
+        long[] ids = new long[heapSize - from];
+        for (int i = from; i < heapSize; i++) {
+            ids[i - from] = productIds[(int) heap[i]]; // low 32 bits are the ordinal
+        }
+        return new SearchResult(ids, total);
+    }
+
+    private static float idf(int docFrequency, int docCount) {
+        return (float) Math.log(1.0 + (docCount - docFrequency + 0.5) / (docFrequency + 0.5));
+    }
+
+    private static void siftUp(long[] heap, int i) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (heap[i] >= heap[parent]) break;
+            long tmp = heap[i];
+            heap[i] = heap[parent];
+            heap[parent] = tmp;
+            i = parent;
+        }
+    }
+
+    private static void siftDown(long[] heap, int i, int size) {
+        while (true) {
+            int left = 2 * i + 1;
+            if (left >= size) break;
+            int smallest = left;
+            if (left + 1 < size && heap[left + 1] < heap[left]) smallest = left + 1;
+            if (heap[smallest] >= heap[i]) break;
+            long tmp = heap[i];
+            heap[i] = heap[smallest];
+            heap[smallest] = tmp;
+            i = smallest;
+        }
+    }
+
+    private interface Collector<T> {
+        T collect(Scratch s, int termCount);
+    }
+
+    /**
+     * One query term: the postings of the same indexed term (null if none) and of its prefix expansions
+     */
+    private static final class QueryTerm {
+
+        private final Postings exact;
+        private final List<Postings> expansions = new ArrayList<>();
+        private int postingsCount;
+
+        private QueryTerm(Postings exact) {
+            this.exact = exact;
+        }
+    }
+
+    /**
+     * Postings of one term: ordinals in indexing order with FIELDS frequencies each
+     */
+    private static final class Postings {
+
+        private int[] docs = new int[4];
+        private int[] freqs = new int[4 * FIELDS];
+        private int size;
+        private int liveDocs;
+
+        private void add(int ordinal, int[] fieldFrequencies) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                freqs = Arrays.copyOf(freqs, size * 2 * FIELDS);
+            }
+            docs[size] = ordinal;
+            System.arraycopy(fieldFrequencies, 0, freqs, size * FIELDS, FIELDS);
+            size++;
+            liveDocs++;
+        }
+    }
+
+    /**
+     * Per-thread scoring arrays, grown with the index and reused across queries
+     */
+    private static final class Scratch {
+
+        private float[] scores = new float[0];
+        private float[] termScores = new float[0];
+        private int[] matched = new int[0];
+        private int[] candidates = new int[0];
+        private long[] heap = new long[16];
+        private final float[] norms = new float[FIELDS * NORM_TABLE_SIZE];
+        private int candidateCount;
+
+        // Boost / length norm per field and length, for the current average field lengths
+        private void prepareNorms(long[] totalFieldLengths, int liveCount) {
+            for (int f = 0; f < FIELDS; f++) {
+                float averageLength = Math.max(1f, (float) totalFieldLengths[f] / liveCount);
+                for (int length = 0; length < NORM_TABLE_SIZE; length++) {
+                    norms[f * NORM_TABLE_SIZE + length] = FIELD_BOOST[f] / (1f - B + B * length / averageLength);
+                }
+            }
+        }
+
+        private void ensure(int capacity) {
+            if (capacity > scores.length) {
+                int grown = Math.max(capacity, scores.length * 2);
+                scores = new float[grown];
+                termScores = new float[grown];
+                matched = Arrays.copyOf(matched, grown);
+                candidates = new int[grown];
+            }
+        }
+
+        private long[] heap(int size) {
+            if (size > heap.length) {
+                heap = new long[Math.max(size, heap.length * 2)];
+            }
+            return heap;
+        }
+    }
+}
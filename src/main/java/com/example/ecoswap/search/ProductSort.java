@@ -0,0 +1,83 @@
+package com.example.ecoswap.search;
+
+import org.springframework.data.domain.Sort;
+
+import java.util.Comparator;
+import java.util.Locale;
+import java.util.function.Function;
+
+/**
+ * Shop sort orders. Ties always fall back to the id in the sort's direction, matching the
+ * (column, id) and (category_id, column, id) indexes of migration V3, so a page can be read
+ * off an index in the database or picked from the facet index in memory in the same order.
+ * Price has only ascending indexes; PRICE_DESC reads them backwards.
+ */
+public enum ProductSort {
+
+    NEWEST("Newest", "createdAt", true, false, FacetDocument::getId),
+    PRICE_ASC("Price: low to high", "price", false, false, FacetDocument::getPrice),
+    PRICE_DESC("Price: high to low", "price", true, true, FacetDocument::getPrice),
+    RATING("Top rated", "rating", true, false, document -> document.getRating() != null ? document.getRating() : 0.0),
+    ECO_SCORE("Eco score", "ecoScore", true, false, document -> document.getEcoScore() != null ? document.getEcoScore() : 0),
+    BEST_SELLING("Best selling", "salesCount", true, false, FacetDocument::getSalesCount);
+
+    private final String label;
+    private final Sort sort;
+    private final Sort categorySort;
+    private final Comparator<FacetDocument> comparator;
+    private final boolean backwardScan;
+
+    <T extends Comparable<? super T>> ProductSort(String label, String property, boolean descending,
+                                                   boolean backwardScan, Function<FacetDocument, T> key) {
+        Sort.Direction direction = descending ? Sort.Direction.DESC : Sort.Direction.ASC;
+        Comparator<FacetDocument> order = Comparator.comparing(key, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparingLong(FacetDocument::getId);
+        this.label = label;
+        this.sort = Sort.by(direction, property).and(Sort.by(direction, "id"));
+        // A backward scan reverses every index column, the category included
+        this.categorySort = Sort.by(backwardScan ? Sort.Direction.DESC : Sort.Direction.ASC, "category.id").and(sort);
+        this.comparator = descending ? order.reversed() : order;
+        this.backwardScan = backwardScan;
+    }
+
+    public String getLabel() { return label; }
+
+    /**
+     * ORDER BY for repository queries
+     */
+    public Sort getSort() { return sort; }
+
+    /**
+     * ORDER BY for queries filtered to one category. Leading with the (constant) category lets databases
+     * that do not skip an equality column still read the (category_id, ...) index in order.
+     */
+    public Sort getCategorySort() { return categorySort; }
+
+    /**
+     * True when the sort reads its index from the end (MySQL 8 does this; H2 sorts instead)
+     */
+    public boolean isBackwardScan() { return backwardScan; }
+
+    /**
+     * The same order over facet documents (products created later have higher ids, so NEWEST is by id)
+     */
+    public Comparator<FacetDocument> getComparator() { return comparator; }
+
+    /**
+     * The sort named by a request parameter (e.g. "price_asc"), or null for the default order
+     */
+    public static ProductSort fromParam(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    public String toParam() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
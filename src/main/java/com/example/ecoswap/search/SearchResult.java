@@ -0,0 +1,32 @@
+package com.example.ecoswap.search;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One page of ranked product ids and the total number of products that matched
+ */
+public final class SearchResult {
+
+    static final SearchResult EMPTY = new SearchResult(new long[0], 0);
+
+    private final long[] ids;
+    private final int total;
+
+    public SearchResult(long[] ids, int total) {
+        this.ids = ids;
+        this.total = total;
+    }
+
+    public long[] getIds() { return ids; }
+
+    public int getTotal() { return total; }
+
+    public List<Long> idList() {
+        List<Long> list = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            list.add(id);
+        }
+        return list;
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.ecoswap.search;
+
+/**
+ * One autocomplete completion: a product name, a category or a popular search
+ */
+public final class Suggestion {
+
+    public enum Type {
+        PRODUCT,
+        CATEGORY,
+        QUERY
+    }
+
+    private final String text;
+    private final Type type;
+    private final Long id;
+    private final double weight;
+
+    /**
+     * @param id product or category id; null for searches
+     * @param weight popularity, higher ranks first
+     */
+    public Suggestion(String text, Type type, Long id, double weight) {
+        this.text = text;
+        this.type = type;
+        this.id = id;
+        this.weight = weight;
+    }
+
+    public String getText() { return text; }
+
+    public Type getType() { return type; }
+
+    public Long getId() { return id; }
+
+    public double getWeight() { return weight; }
+}
@@ -0,0 +1,160 @@
+package com.example.ecoswap.search;
+
+import java.util.*;
+
+/**
+ * Immutable prefix index for autocomplete.
+ *
+ * Every suggestion is keyed by its normalised text and by each later word onwards ("bamboo
+ * toothbrush" is also found as "toothbrush"), up to MAX_KEYS_PER_SUGGESTION keys. The keys sit in
+ * one sorted array, which is a flattened trie: all completions of a prefix form one contiguous
+ * range, found by two binary searches. A max segment tree over the keys' weights then yields the
+ * best completions of that range in weight order, O(limit * log n) regardless of how many
+ * keys share the prefix.
+ *
+ * Readers never lock; changes build a new index (see SuggestService).
+ */
+public final class SuggestionIndex {
+
+    static final int MAX_KEYS_PER_SUGGESTION = 4;
+
+    public static final SuggestionIndex EMPTY = build(List.of());
+
+    private final String[] keys;
+    private final int[] suggestionOf;
+    private final double[] weights;
+    private final Suggestion[] suggestions;
+    private final String[] normalized;
+    // Index of the heaviest key in each segment; leaves start at leafStart
+    private final int[] tree;
+    private final int leafStart;
+
+    private SuggestionIndex(String[] keys, int[] suggestionOf, Suggestion[] suggestions, String[] normalized) {
+        this.keys = keys;
+        this.suggestionOf = suggestionOf;
+        this.suggestions = suggestions;
+        this.normalized = normalized;
+        this.weights = new double[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            weights[i] = suggestions[suggestionOf[i]].getWeight();
+        }
+
+        int leaves = 1;
+        while (leaves < Math.max(keys.length, 1)) {
+            leaves <<= 1;
+        }
+        this.leafStart = leaves;
+        this.tree = new int[leaves * 2];
+        Arrays.fill(tree, -1);
+        for (int i = 0; i < keys.length; i++) {
+            tree[leaves + i] = i;
+        }
+        for (int node = leaves - 1; node > 0; node--) {
+            tree[node] = heavier(tree[2 * node], tree[2 * node + 1]);
+        }
+    }
+
+    public static SuggestionIndex build(Collection<Suggestion> all) {
+        Suggestion[] suggestions = all.toArray(new Suggestion[0]);
+        String[] normalized = new String[suggestions.length];
+        List<String> keyList = new ArrayList<>();
+        List<Integer> owners = new ArrayList<>();
+
+        for (int s = 0; s < suggestions.length; s++) {
+            List<String> words = TextTokenizer.tokenize(suggestions[s].getText());
+            normalized[s] = String.join(" ", words);
+            for (int w = 0; w < Math.min(words.size(), MAX_KEYS_PER_SUGGESTION); w++) {
+                keyList.add(String.join(" ", words.subList(w, words.size())));
+                owners.add(s);
+            }
+        }
+
+        Integer[] order = new Integer[keyList.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparing(keyList::get));
+        String[] keys = new String[order.length];
+        int[] suggestionOf = new int[order.length];
+        for (int i = 0; i < order.length; i++) {
+            keys[i] = keyList.get(order[i]);
+            suggestionOf[i] = owners.get(order[i]);
+        }
+        return new SuggestionIndex(keys, suggestionOf, suggestions, normalized);
+    }
+
+    public int size() {
+        return suggestions.length;
+    }
+
+    /**
+     * Up to limit completions of the prefix, heaviest first, one per distinct text
+     */
+    public List<Suggestion> top(String prefix, int limit) {
+        String normalizedPrefix = String.join(" ", TextTokenizer.tokenize(prefix));
+        if (normalizedPrefix.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        // A trailing space means the last word is complete: "eco " should not complete to "ecology"
+        if (!prefix.isEmpty() && !Character.isLetterOrDigit(prefix.charAt(prefix.length() - 1))) {
+            normalizedPrefix += " ";
+        }
+        int from = lowerBound(normalizedPrefix);
+        int to = lowerBound(normalizedPrefix + Character.MAX_VALUE);
+        if (from >= to) {
+            return List.of();
+        }
+
+        // Best-first over sub-ranges: pop the heaviest key, then split its range around it
+        PriorityQueue<int[]> ranges = new PriorityQueue<>((a, b) -> heavier(a[2], b[2]) == a[2] ? -1 : 1);
+        ranges.add(new int[] {from, to, heaviest(from, to)});
+        List<Suggestion> result = new ArrayList<>(limit);
+        Set<String> seen = new HashSet<>();
+        while (!ranges.isEmpty() && result.size() < limit) {
+            int[] range = ranges.poll();
+            int best = range[2];
+            int owner = suggestionOf[best];
+            if (seen.add(normalized[owner])) {
+                result.add(suggestions[owner]);
+            }
+            if (range[0] < best) {
+                ranges.add(new int[] {range[0], best, heaviest(range[0], best)});
+            }
+            if (best + 1 < range[1]) {
+                ranges.add(new int[] {best + 1, range[1], heaviest(best + 1, range[1])});
+            }
+        }
+        return result;
+    }
+
+    private int lowerBound(String key) {
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid].compareTo(key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // Heaviest key in [from, to)
+    private int heaviest(int from, int to) {
+        int best = -1;
+        for (int l = from + leafStart, r = to + leafStart; l < r; l >>= 1, r >>= 1) {
+            if ((l & 1) == 1) best = heavier(best, tree[l++]);
+            if ((r & 1) == 1) best = heavier(best, tree[--r]);
+        }
+        return best;
+    }
+
+    // Ties go to the lower key, so equal weights complete alphabetically
+    private int heavier(int a, int b) {
+        if (a < 0) return b;
+        if (b < 0) return a;
+        return weights[b] > weights[a] || (weights[b] == weights[a] && b < a) ? b : a;
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.ecoswap.services;
+
+import com.example.ecoswap.model.AchievementRule;
+import com.example.ecoswap.model.CustomerAchievement;
+import com.example.ecoswap.model.CustomerImpactLedger;
+import com.example.ecoswap.repository.AchievementRuleRepository;
+import com.example.ecoswap.repository.CustomerAchievementRepository;
+import com.example.ecoswap.repository.CustomerImpactLedgerRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Unlocks data-defined achievement rules against the customer impact ledger.
+ *
+ * Rules are evaluated when a delivery credits the ledger, so each event costs one lookup of
+ * the customer's unlocks plus one comparison per rule; order history is never rescanned.
+ * Unlocks are permanent and keep the time they were first reached.
+ */
+@Service
+public class AchievementService {
+
+    @Autowired
+    private AchievementRuleRepository ruleRepository;
+
+    @Autowired
+    private CustomerAchievementRepository customerAchievementRepository;
+
+    @Autowired
+    private CustomerImpactLedgerRepository ledgerRepository;
+
+    // Rules are edited directly in achievement_rules, so the cached copy is reloaded this often
+    @Value("${ecoswap.achievements.rules-ttl-seconds:60}")
+    private long rulesTtlSeconds;
+
+    // Active rules in display order, loaded on first use
+    private volatile LoadedRules rules;
+
+    /**
+     * Active rules in display order, at most rules-ttl-seconds old
+     */
+    public List<AchievementRule> getRules() {
+        LoadedRules current = rules;
+        long now = System.nanoTime();
+        if (current == null || now - current.loadedAt() > TimeUnit.SECONDS.toNanos(rulesTtlSeconds)) {
+            current = new LoadedRules(List.copyOf(ruleRepository.findByActiveTrueOrderByDisplayOrderAsc()), now);
+            rules = current;
+        }
+        return current.rules();
+    }
+
+    /**
+     * Drop the cached rules so the next evaluation reads achievement_rules again
+     */
+    public void reloadRules() {
+        rules = null;
+    }
+
+    /**
+     * Unlock every rule the ledger now satisfies. Called in the same transaction as the ledger update.
+     * Returns the newly unlocked rules.
+     */
+    @Transactional
+    public List<AchievementRule> evaluate(CustomerImpactLedger ledger) {
+        Set<Long> unlocked = customerAchievementRepository.findByCustomerId(ledger.getCustomerId()).stream()
+            .map(CustomerAchievement::getRuleId)
+            .collect(Collectors.toSet());
+        return unlockReached(ledger, unlocked, LocalDateTime.now());
+    }
+
+    private List<AchievementRule> unlockReached(CustomerImpactLedger ledger, Set<Long> unlocked, LocalDateTime now) {
+        List<AchievementRule> reached = new ArrayList<>();
+        List<CustomerAchievement> unlocks = new ArrayList<>();
+        for (AchievementRule rule : getRules()) {
+            if (!unlocked.contains(rule.getId()) && rule.getMetric().valueOf(ledger) >= rule.getThreshold()) {
+                reached.add(rule);
+                unlocks.add(new CustomerAchievement(ledger.getCustomerId(), rule.getId(), now));
+            }
+        }
+        if (!unlocks.isEmpty()) {
+            customerAchievementRepository.saveAll(unlocks);
+        }
+        return reached;
+    }
+
+    /**
+     * Evaluate every customer ledger, e.g. after the ledgers were rebuilt or a rule was added.
+     * Existing unlocks are kept. Returns the number of achievements unlocked.
+     */
+    @Transactional
+    public int evaluateAll() {
+        reloadRules();
+        Map<Long, Set<Long>> unlockedByCustomer = new HashMap<>();
+        for (CustomerAchievement achievement : customerAchievementRepository.findAll()) {
+            unlockedByCustomer.computeIfAbsent(achievement.getCustomerId(), id -> new HashSet<>()).add(achievement.getRuleId());
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        int count = 0;
+        for (CustomerImpactLedger ledger : ledgerRepository.findAll()) {
+            count += unlockReached(ledger, unlockedByCustomer.getOrDefault(ledger.getCustomerId(), Set.of()), now).size();
+        }
+        return count;
+    }
+
+    /**
+     * Achievements for the impact page: every active rule with unlock state, unlock time and progress
+     */
+    public List<Map<String, Object>> getAchievements(CustomerImpactLedger ledger) {
+        Map<Long, LocalDateTime> unlockedAt = customerAchievementRepository.findByCustomerId(ledger.getCustomerId()).stream()
+            .collect(Collectors.toMap(CustomerAchievement::getRuleId, CustomerAchievement::getUnlockedAt));
+
+        List<Map<String, Object>> achievements = new ArrayList<>();
+        for (AchievementRule rule : getRules()) {
+            double current = rule.getMetric().valueOf(ledger);
+            double target = rule.getThreshold();
+
+            Map<String, Object> achievement = new HashMap<>();
+            achievement.put("icon", rule.getIcon());
+            achievement.put("title", rule.getTitle());
+            achievement.put("description", rule.getDescription());
+            achievement.put("unlocked", unlockedAt.containsKey(rule.getId()));
+            achievement.put("unlockedAt", unlockedAt.get(rule.getId()));
+            achievement.put("current", current);
+            achievement.put("target", target);
+            achievement.put("progress", target > 0 ? Math.min(100.0, Math.max(0.0, current / target * 100)) : 100.0);
+            achievements.add(achievement);
+        }
+        return achievements;
+    }
+
+    private record LoadedRules(List<AchievementRule> rules, long loadedAt) {}
+}
@@ -0,0 +1,163 @@
+package com.example.ecoswap.services;
+
+import com.example.ecoswap.analytics.MinorUnits;
+import com.example.ecoswap.analytics.TrendBucketAggregator;
+import com.example.ecoswap.analytics.TrendGranularity;
+import com.example.ecoswap.dtos.CategoryRevenueDTO;
+import com.example.ecoswap.events.OrderEvent;
+import com.example.ecoswap.model.CategoryMonthlyRevenue;
+import com.example.ecoswap.model.OrderItem;
+import com.example.ecoswap.model.enums.OrderStatus;
+import com.example.ecoswap.repository.CategoryMonthlyRevenueRepository;
+import com.example.ecoswap.repository.CategoryRepository;
+import com.example.ecoswap.repository.OrderItemRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Maintains the category_monthly_revenue time series from delivered orders.
+ * Orders entering DELIVERED are credited, orders leaving it (cancelled, refunded, deleted) are debited.
+ * Rows are keyed by category id; names are looked up on read, so a rename does not split a category.
+ */
+@Service
+public class CategoryRevenueService {
+
+    @Autowired
+    private CategoryMonthlyRevenueRepository revenueRepository;
+
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    /**
+     * Runs in the publishing transaction so the series is saved together with the status change
+     */
+    @EventListener
+    public void onOrderEvent(OrderEvent event) {
+        if (event.isDelivery()) {
+            apply(event, 1);
+        } else if (event.isDeliveryReversal()) {
+            apply(event, -1);
+        }
+    }
+
+    private void apply(OrderEvent event, int sign) {
+        LocalDate salesMonth = event.getOrder().getCreatedAt().toLocalDate().withDayOfMonth(1);
+
+        // Summed per seller and category in the order, then added to each row with one upsert, in key order so
+        // concurrent deliveries lock shared rows in the same order
+        Map<String, CategoryMonthlyRevenue> rows = new TreeMap<>();
+        for (OrderItem item : event.getOrder().getOrderItems()) {
+            // Attributed to the category the product had when it was bought
+            item.captureImpactSnapshot();
+            Long sellerId = item.getSeller().getId();
+            Long categoryId = item.getCategoryId();
+
+            CategoryMonthlyRevenue row = rows.computeIfAbsent(sellerId + ":" + categoryId, key ->
+                new CategoryMonthlyRevenue(sellerId, categoryId, salesMonth));
+
+            BigDecimal lineTotal = item.getLineTotal();
+            row.setRevenue(row.getRevenue().add(sign > 0 ? lineTotal : lineTotal.negate()));
+            row.setItemsSold(row.getItemsSold() + (long) sign * item.getQuantity());
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        for (CategoryMonthlyRevenue row : rows.values()) {
+            revenueRepository.addRevenue(row.getSellerId(), row.getCategoryId(), salesMonth,
+                row.getRevenue(), row.getItemsSold(), now);
+        }
+    }
+
+    /**
+     * Rebuild the whole series from existing order items.
+     * Returns the number of rows written.
+     */
+    @Transactional
+    public int rebuild() {
+        revenueRepository.deleteAllInBatch();
+
+        List<CategoryMonthlyRevenue> rows = new ArrayList<>();
+        for (Object[] r : orderItemRepository.aggregateMonthlyCategoryRevenueByStatus(OrderStatus.DELIVERED)) {
+            LocalDate salesMonth = LocalDate.of(((Number) r[1]).intValue(), ((Number) r[2]).intValue(), 1);
+            CategoryMonthlyRevenue row = new CategoryMonthlyRevenue((Long) r[0], (Long) r[3], salesMonth);
+            row.setRevenue((BigDecimal) r[4]);
+            row.setItemsSold(((Number) r[5]).longValue());
+            rows.add(row);
+        }
+
+        revenueRepository.saveAll(rows);
+        return rows.size();
+    }
+
+    /**
+     * Get all-time revenue by category name for a seller
+     */
+    public Map<String, BigDecimal> getSellerRevenueByCategory(Long sellerId) {
+        List<Object[]> totals = revenueRepository.sumRevenueByCategory(sellerId);
+        Map<Long, String> names = categoryNames(totals.stream().map(r -> (Long) r[0]).toList());
+
+        Map<String, BigDecimal> revenueByCategory = new HashMap<>();
+        for (Object[] r : totals) {
+            revenueByCategory.merge(names.get((Long) r[0]), (BigDecimal) r[1], BigDecimal::add);
+        }
+        return revenueByCategory;
+    }
+
+    /**
+     * Monthly revenue per category for a seller over the last months, keyed by category name then month label
+     */
+    public Map<String, Map<String, BigDecimal>> getSellerSeries(Long sellerId, LocalDate today, int months) {
+        TrendBucketAggregator window = new TrendBucketAggregator(TrendGranularity.MONTH, today, months);
+        return toSeries(revenueRepository.findSellerSeries(sellerId, window.bucketStart(0)), today, months);
+    }
+
+    /**
+     * Monthly revenue per category for the whole platform over the last months, keyed by category name then month label
+     */
+    public Map<String, Map<String, BigDecimal>> getPlatformSeries(LocalDate today, int months) {
+        TrendBucketAggregator window = new TrendBucketAggregator(TrendGranularity.MONTH, today, months);
+        return toSeries(revenueRepository.findPlatformSeries(window.bucketStart(0)), today, months);
+    }
+
+    // Every category gets the same month labels so charts can stack the series
+    private Map<String, Map<String, BigDecimal>> toSeries(List<CategoryRevenueDTO> points, LocalDate today, int months) {
+        Map<Long, TrendBucketAggregator> byCategory = new LinkedHashMap<>();
+        for (CategoryRevenueDTO point : points) {
+            byCategory.computeIfAbsent(point.getCategoryId(),
+                    id -> new TrendBucketAggregator(TrendGranularity.MONTH, today, months))
+                .add(point.getSalesMonth(), MinorUnits.toCents(point.getRevenue()), point.getItemsSold(), 0);
+        }
+
+        Map<Long, String> names = categoryNames(byCategory.keySet());
+        Map<String, Map<String, BigDecimal>> series = new LinkedHashMap<>();
+        // Categories that share a name (e.g. deleted ones) are added up label by label
+        byCategory.forEach((categoryId, trend) -> series.merge(names.get(categoryId), trend.revenueByLabel(), (sum, more) -> {
+            sum.replaceAll((label, revenue) -> revenue.add(more.get(label)));
+            return sum;
+        }));
+        return series;
+    }
+
+    // Current names of the categories, deleted ones under "Other"
+    private Map<Long, String> categoryNames(Collection<Long> categoryIds) {
+        Map<Long, String> names = new HashMap<>();
+        categoryIds.forEach(id -> names.put(id, "Other"));
+        categoryRepository.findAllById(categoryIds).forEach(category -> names.put(category.getId(), category.getName()));
+        return names;
+    }
+}
@@ -0,0 +1,209 @@
+package com.example.ecoswap.services;
+
+import com.example.ecoswap.events.OrderEvent;
+import com.example.ecoswap.model.Category;
+import com.example.ecoswap.model.CustomerImpactBreakdown;
+import com.example.ecoswap.model.CustomerImpactLedger;
+import com.example.ecoswap.model.OrderItem;
+import com.example.ecoswap.model.enums.ImpactDimension;
+import com.example.ecoswap.model.enums.OrderStatus;
+import com.example.ecoswap.repository.CategoryRepository;
+import com.example.ecoswap.repository.CustomerImpactBreakdownRepository;
+import com.example.ecoswap.repository.CustomerImpactLedgerRepository;
+import com.example.ecoswap.repository.OrderItemRepository;
+import com.example.ecoswap.repository.OrderRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Maintains the per-customer impact ledger so impact pages read a handful of rows
+ * instead of rescanning the customer's order history.
+ *
+ * Orders entering DELIVERED are credited; delivered orders that are cancelled, refunded
+ * or deleted are debited with the same figures.
+ */
+@Service
+public class CustomerImpactLedgerService {
+
+    @Autowired
+    private CustomerImpactLedgerRepository ledgerRepository;
+
+    @Autowired
+    private CustomerImpactBreakdownRepository breakdownRepository;
+
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private AchievementService achievementService;
+
+    /**
+     * Runs in the publishing transaction so the ledger is saved together with the status change
+     */
+    @EventListener
+    public void onOrderEvent(OrderEvent event) {
+        if (event.isDelivery()) {
+            apply(event, 1);
+        } else if (event.isDeliveryReversal()) {
+            apply(event, -1);
+        }
+    }
+
+    /**
+     * The ledger row is created if missing and then write-locked, so one customer's deliveries apply one at a
+     * time and achievements are evaluated on current totals. Breakdown rows are added to by upsert.
+     */
+    private void apply(OrderEvent event, int sign) {
+        Long customerId = event.getCustomerId();
+        String monthKey = YearMonth.from(event.getOrder().getCreatedAt()).toString();
+        LocalDateTime now = LocalDateTime.now();
+
+        ledgerRepository.createIfMissing(customerId, now);
+        CustomerImpactLedger ledger = ledgerRepository.findByCustomerIdForUpdate(customerId)
+            .orElseThrow(() -> new RuntimeException("Impact ledger not found"));
+        CustomerImpactBreakdown month = new CustomerImpactBreakdown(customerId, ImpactDimension.MONTH, monthKey, monthKey);
+        Map<Long, CustomerImpactBreakdown> categories = new TreeMap<>(Comparator.nullsFirst(Comparator.naturalOrder()));
+
+        // Figures come from the snapshot taken at purchase time, not the product's current values
+        List<OrderItem> items = event.getOrder().getOrderItems();
+        items.forEach(OrderItem::captureImpactSnapshot);
+        Map<Long, String> categoryNames = categoryNames(items);
+
+        for (OrderItem item : items) {
+            long quantity = (long) sign * item.getQuantity();
+            double co2 = quantity * valueOrZero(item.getCo2Saved());
+            double plastic = quantity * valueOrZero(item.getPlasticSaved());
+
+            CustomerImpactBreakdown categorySlice = categories.computeIfAbsent(item.getCategoryId(), id ->
+                new CustomerImpactBreakdown(customerId, ImpactDimension.CATEGORY, String.valueOf(id),
+                    categoryNames.getOrDefault(id, "Other")));
+
+            credit(categorySlice, quantity, co2, plastic);
+            credit(month, quantity, co2, plastic);
+            ledger.setItemsPurchased(ledger.getItemsPurchased() + quantity);
+            ledger.setCo2Saved(ledger.getCo2Saved() + co2);
+            ledger.setPlasticSaved(ledger.getPlasticSaved() + plastic);
+        }
+        ledger.setDeliveredOrders(ledger.getDeliveredOrders() + sign);
+
+        ledgerRepository.save(ledger);
+        addImpact(month, now);
+        categories.values().forEach(slice -> addImpact(slice, now));
+
+        // Only credits can reach a new threshold; unlocks survive reversals
+        if (sign > 0) {
+            achievementService.evaluate(ledger);
+        }
+    }
+
+    private void addImpact(CustomerImpactBreakdown slice, LocalDateTime now) {
+        breakdownRepository.addImpact(slice.getCustomerId(), slice.getDimension(), slice.getDimensionKey(), slice.getLabel(),
+            slice.getItemsPurchased(), slice.getCo2Saved(), slice.getPlasticSaved(), now);
+    }
+
+    private Map<Long, String> categoryNames(List<OrderItem> items) {
+        Set<Long> categoryIds = items.stream()
+            .map(OrderItem::getCategoryId)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toSet());
+        return categoryRepository.findAllById(categoryIds).stream()
+            .collect(Collectors.toMap(Category::getId, Category::getName));
+    }
+
+    private static void credit(CustomerImpactBreakdown slice, long quantity, double co2, double plastic) {
+        slice.setItemsPurchased(slice.getItemsPurchased() + quantity);
+        slice.setCo2Saved(slice.getCo2Saved() + co2);
+        slice.setPlasticSaved(slice.getPlasticSaved() + plastic);
+    }
+
+    private static double valueOrZero(Double value) {
+        return value != null ? value : 0.0;
+    }
+
+    /**
+     * Ledger totals for a customer (all zeros if nothing has been delivered yet)
+     */
+    public CustomerImpactLedger getLedger(Long customerId) {
+        return ledgerRepository.findByCustomerId(customerId)
+            .orElseGet(() -> new CustomerImpactLedger(customerId));
+    }
+
+    /**
+     * Per-category impact for a customer, one row per category purchased from
+     */
+    public List<CustomerImpactBreakdown> getCategoryBreakdown(Long customerId) {
+        return breakdownRepository.findByCustomerIdAndDimension(customerId, ImpactDimension.CATEGORY);
+    }
+
+    /**
+     * Impact of orders placed in a given month
+     */
+    public CustomerImpactBreakdown getMonth(Long customerId, YearMonth month) {
+        String key = month.toString();
+        return breakdownRepository.findByCustomerIdAndDimensionAndDimensionKey(customerId, ImpactDimension.MONTH, key)
+            .orElseGet(() -> new CustomerImpactBreakdown(customerId, ImpactDimension.MONTH, key, key));
+    }
+
+    /**
+     * Rebuild every ledger from delivered order items.
+     * Returns the number of customer ledgers written.
+     */
+    @Transactional
+    public int rebuild() {
+        breakdownRepository.deleteAllInBatch();
+        ledgerRepository.deleteAllInBatch();
+
+        Map<Long, CustomerImpactLedger> ledgers = new LinkedHashMap<>();
+        Map<String, CustomerImpactBreakdown> slices = new LinkedHashMap<>();
+
+        try (Stream<Object[]> rows = orderItemRepository.streamCustomerImpactByStatus(OrderStatus.DELIVERED)) {
+            rows.forEach(r -> {
+                Long customerId = (Long) r[0];
+                String categoryKey = r[1].toString();
+                String monthKey = YearMonth.of(((Number) r[3]).intValue(), ((Number) r[4]).intValue()).toString();
+                long quantity = ((Number) r[5]).longValue();
+                double co2 = ((Number) r[6]).doubleValue();
+                double plastic = ((Number) r[7]).doubleValue();
+
+                CustomerImpactLedger ledger = ledgers.computeIfAbsent(customerId, CustomerImpactLedger::new);
+                ledger.setItemsPurchased(ledger.getItemsPurchased() + quantity);
+                ledger.setCo2Saved(ledger.getCo2Saved() + co2);
+                ledger.setPlasticSaved(ledger.getPlasticSaved() + plastic);
+
+                credit(slices.computeIfAbsent(customerId + ":C:" + categoryKey, key ->
+                    new CustomerImpactBreakdown(customerId, ImpactDimension.CATEGORY, categoryKey, (String) r[2])), quantity, co2, plastic);
+                credit(slices.computeIfAbsent(customerId + ":M:" + monthKey, key ->
+                    new CustomerImpactBreakdown(customerId, ImpactDimension.MONTH, monthKey, monthKey)), quantity, co2, plastic);
+            });
+        }
+
+        for (Object[] r : orderRepository.countByStatusGroupByCustomer(OrderStatus.DELIVERED)) {
+            CustomerImpactLedger ledger = ledgers.computeIfAbsent((Long) r[0], CustomerImpactLedger::new);
+            ledger.setDeliveredOrders(((Number) r[1]).longValue());
+        }
+
+        ledgerRepository.saveAll(ledgers.values());
+        breakdownRepository.saveAll(slices.values());
+        return ledgers.size();
+    }
+}
@@ -0,0 +1,182 @@
+package com.example.ecoswap.services;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Loads independent dashboard widgets concurrently on virtual threads.
+ *
+ * Each widget has a timeout and a fallback value: a widget that is slow or fails is
+ * rendered with its fallback instead of holding up (or breaking) the whole page.
+ * Loaders run outside the request's persistence context, so they must return data
+ * that is fully loaded (no lazy associations the template still has to walk).
+ *
+ * At most maxConcurrentWidgets loaders run at once across all requests, fewer than the
+ * connection pool holds, so widgets cannot starve request threads of connections. A widget
+ * that times out is not interrupted (that would abort its JDBC call and can break the pooled
+ * connection); it finishes in the background while the page renders its fallback, and a
+ * widget still waiting for a permit when it times out never starts. Memory reads such as the
+ * cached statistics should use addInline() and skip the executor altogether.
+ */
+@Component
+public class DashboardComposer {
+
+    private static final Logger logger = LoggerFactory.getLogger(DashboardComposer.class);
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final long defaultTimeoutMillis;
+    private final Semaphore permits;
+
+    public DashboardComposer(@Value("${ecoswap.dashboard.widget-timeout-ms:2000}") long defaultTimeoutMillis,
+                             @Value("${ecoswap.dashboard.max-concurrent-widgets:8}") int maxConcurrentWidgets) {
+        this.defaultTimeoutMillis = defaultTimeoutMillis;
+        this.permits = new Semaphore(maxConcurrentWidgets);
+    }
+
+    /**
+     * Start composing a page; add widgets, then call await()
+     */
+    public Composition compose() {
+        return new Composition();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public final class Composition {
+
+        private final List<Widget<?>> widgets = new ArrayList<>();
+
+        /**
+         * Start loading a widget with the default timeout
+         */
+        public <T> Widget<T> add(String name, Supplier<T> loader, T fallback) {
+            return add(name, loader, fallback, defaultTimeoutMillis);
+        }
+
+        /**
+         * Start loading a widget with its own timeout
+         */
+        public <T> Widget<T> add(String name, Supplier<T> loader, T fallback, long timeoutMillis) {
+            Widget<T> widget = new Widget<>(name, fallback, timeoutMillis);
+            widget.future = executor.submit(() -> {
+                long remainingNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMillis) - (System.nanoTime() - widget.startNanos);
+                if (!permits.tryAcquire(Math.max(0, remainingNanos), TimeUnit.NANOSECONDS)) {
+                    throw new TimeoutException("No widget permit within " + timeoutMillis + " ms");
+                }
+                try {
+                    long start = System.nanoTime();
+                    try {
+                        return loader.get();
+                    } finally {
+                        widget.loadNanos = System.nanoTime() - start;
+                    }
+                } finally {
+                    permits.release();
+                }
+            });
+            widgets.add(widget);
+            return widget;
+        }
+
+        /**
+         * Load a widget on the calling thread, for loaders that only read memory (e.g. cached statistics).
+         * A failing loader still falls back.
+         */
+        public <T> Widget<T> addInline(String name, Supplier<T> loader, T fallback) {
+            Widget<T> widget = new Widget<>(name, fallback, defaultTimeoutMillis);
+            try {
+                widget.future = CompletableFuture.completedFuture(loader.get());
+            } catch (RuntimeException e) {
+                widget.future = CompletableFuture.failedFuture(e);
+            } finally {
+                widget.loadNanos = System.nanoTime() - widget.startNanos;
+            }
+            widgets.add(widget);
+            return widget;
+        }
+
+        /**
+         * Wait for every widget (each up to its own timeout, measured from when it was added)
+         * and return per-widget timings in milliseconds, suffixed when a fallback was used
+         */
+        public Map<String, String> await() {
+            Map<String, String> timings = new LinkedHashMap<>();
+            for (Widget<?> widget : widgets) {
+                widget.await();
+                timings.put(widget.name, widget.describe());
+            }
+            return timings;
+        }
+    }
+
+    public static final class Widget<T> {
+
+        private final String name;
+        private final T fallback;
+        private final long timeoutMillis;
+        private final long startNanos = System.nanoTime();
+        private Future<T> future;
+        private volatile long loadNanos = -1;
+        private T value;
+        private String outcome = "ok";
+
+        private Widget(String name, T fallback, long timeoutMillis) {
+            this.name = name;
+            this.fallback = fallback;
+            this.timeoutMillis = timeoutMillis;
+        }
+
+        private void await() {
+            long remainingNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMillis) - (System.nanoTime() - startNanos);
+            try {
+                value = future.get(Math.max(0, remainingNanos), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                future.cancel(false); // a running loader finishes in the background; interrupting would break its connection
+                value = fallback;
+                outcome = "timeout";
+                logger.warn("Dashboard widget '{}' timed out after {} ms, using fallback", name, timeoutMillis);
+            } catch (ExecutionException e) {
+                value = fallback;
+                outcome = "failed";
+                logger.warn("Dashboard widget '{}' failed, using fallback", name, e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                value = fallback;
+                outcome = "interrupted";
+            }
+        }
+
+        private String describe() {
+            long nanos = loadNanos >= 0 ? loadNanos : System.nanoTime() - startNanos;
+            String millis = String.format("%.1f ms", nanos / 1_000_000.0);
+            return "ok".equals(outcome) ? millis : millis + " (" + outcome + ")";
+        }
+
+        /**
+         * The loaded value, or the fallback if the widget timed out or failed. Only valid after await().
+         */
+        public T get() {
+            return value;
+        }
+    }
+}
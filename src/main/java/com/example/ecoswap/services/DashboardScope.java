@@ -0,0 +1,58 @@
+package com.example.ecoswap.services;
+
+import java.util.Objects;
+
+/**
+ * Cache key for dashboard statistics: the whole platform, one seller or one customer.
+ */
+public final class DashboardScope {
+
+    public enum Type {
+        PLATFORM,
+        SELLER,
+        CUSTOMER
+    }
+
+    private static final DashboardScope PLATFORM = new DashboardScope(Type.PLATFORM, null);
+
+    private final Type type;
+    private final Long id;
+
+    private DashboardScope(Type type, Long id) {
+        this.type = type;
+        this.id = id;
+    }
+
+    public static DashboardScope platform() {
+        return PLATFORM;
+    }
+
+    public static DashboardScope seller(Long sellerId) {
+        return new DashboardScope(Type.SELLER, sellerId);
+    }
+
+    public static DashboardScope customer(Long customerId) {
+        return new DashboardScope(Type.CUSTOMER, customerId);
+    }
+
+    public Type getType() { return type; }
+
+    public Long getId() { return id; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof DashboardScope other)) return false;
+        return type == other.type && Objects.equals(id, other.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(type, id);
+    }
+
+    @Override
+    public String toString() {
+        return id == null ? type.name() : type.name() + ":" + id;
+    }
+}
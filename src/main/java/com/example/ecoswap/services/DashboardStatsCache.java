@@ -0,0 +1,191 @@
+package com.example.ecoswap.services;
+
+import com.example.ecoswap.cache.BoundedCache;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Stale-while-revalidate cache for dashboard statistics.
+ *
+ * The first request for a scope computes the snapshot on the calling thread. After that
+ * the last snapshot is always returned immediately; when it is older than the TTL or has
+ * been marked dirty by an order/product event, one background refresh is started and the
+ * next request sees the new numbers. Loaders run in a read-only transaction.
+ *
+ * Each seller and customer gets its own scope, so the entries are held in a BoundedCache:
+ * past the maximum size the least valuable entry is evicted, and an entry not refreshed for
+ * IDLE_TTLS times the TTL (because nobody read it) expires.
+ */
+@Component
+public class DashboardStatsCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(DashboardStatsCache.class);
+
+    // Refresh intervals an entry may go unread before it is dropped
+    private static final int IDLE_TTLS = 5;
+
+    // Rough retained bytes per snapshot value, reported as memory use
+    private static final long BYTES_PER_STATISTIC = 64;
+
+    private final BoundedCache<DashboardScope, Entry> entries;
+    private final ExecutorService refresher;
+    private final TransactionTemplate readOnlyTransaction;
+    private final long ttlNanos;
+    private final int maximumSize;
+
+    // Counters exposed through getStatistics()
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder staleHits = new LongAdder();
+    private final LongAdder refreshes = new LongAdder();
+    private final LongAdder refreshFailures = new LongAdder();
+    private final LongAdder refreshNanosTotal = new LongAdder();
+    private final LongAccumulator refreshNanosMax = new LongAccumulator(Math::max, 0);
+
+    public DashboardStatsCache(PlatformTransactionManager transactionManager,
+                               @Value("${ecoswap.dashboard.cache.ttl-seconds:60}") long ttlSeconds,
+                               @Value("${ecoswap.dashboard.cache.refresh-threads:2}") int refreshThreads,
+                               @Value("${ecoswap.dashboard.cache.maximum-size:10000}") int maximumSize) {
+        this.ttlNanos = ttlSeconds * 1_000_000_000L;
+        this.maximumSize = maximumSize;
+        this.entries = new BoundedCache<>(maximumSize, IDLE_TTLS * ttlSeconds,
+            entry -> entry.snapshot.size() * BYTES_PER_STATISTIC);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.refresher = Executors.newFixedThreadPool(refreshThreads, runnable -> {
+            Thread thread = new Thread(runnable, "dashboard-stats-refresh-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Get the snapshot for a scope, loading it on first use and refreshing it in the background when stale
+     */
+    public Map<String, Object> get(DashboardScope scope, Supplier<Map<String, Object>> loader) {
+        Entry entry = entries.get(scope);
+
+        if (entry == null) {
+            misses.increment();
+            long generation = entries.generation();
+            Entry loaded = new Entry(load(loader), System.nanoTime());
+            entries.put(scope, loaded, generation);
+            return loaded.snapshot;
+        }
+
+        hits.increment();
+        if (entry.isStale(ttlNanos)) {
+            staleHits.increment();
+            if (entry.refreshing.compareAndSet(false, true)) {
+                refresher.execute(() -> refresh(scope, entry, loader));
+            }
+        }
+        return entry.snapshot;
+    }
+
+    /**
+     * Mark a scope as out of date; the next request triggers a background refresh
+     */
+    public void markDirty(DashboardScope scope) {
+        Entry entry = entries.peek(scope);
+        if (entry != null) {
+            entry.dirtiedAt = System.nanoTime();
+        }
+    }
+
+    public void invalidateAll() {
+        entries.invalidateAll();
+    }
+
+    private void refresh(DashboardScope scope, Entry previous, Supplier<Map<String, Object>> loader) {
+        long start = System.nanoTime();
+        long generation = entries.generation();
+        try {
+            Entry refreshed = new Entry(load(loader), start);
+            // Keep it dirty if an event arrived while we were loading
+            if (previous.dirtiedAt >= start) {
+                refreshed.dirtiedAt = previous.dirtiedAt;
+            }
+            // Not put back if the cache was invalidated meanwhile
+            if (entries.put(scope, refreshed, generation)) {
+                refreshes.increment();
+            }
+        } catch (RuntimeException e) {
+            refreshFailures.increment();
+            previous.refreshing.set(false);
+            logger.warn("Failed to refresh dashboard statistics for {}", scope, e);
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            refreshNanosTotal.add(elapsed);
+            refreshNanosMax.accumulate(elapsed);
+        }
+    }
+
+    private Map<String, Object> load(Supplier<Map<String, Object>> loader) {
+        Map<String, Object> snapshot = readOnlyTransaction.execute(status -> loader.get());
+        return Collections.unmodifiableMap(new HashMap<>(snapshot));
+    }
+
+    /**
+     * Hit/miss/refresh counters for monitoring
+     */
+    public Map<String, Object> getStatistics() {
+        long refreshCount = refreshes.sum() + refreshFailures.sum();
+        Map<String, Object> entryStats = entries.getStatistics();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("entries", entries.size());
+        stats.put("maximumSize", maximumSize);
+        stats.put("hits", hits.sum());
+        stats.put("misses", misses.sum());
+        stats.put("staleHits", staleHits.sum());
+        stats.put("refreshes", refreshes.sum());
+        stats.put("refreshFailures", refreshFailures.sum());
+        stats.put("evictions", entryStats.get("evictions"));
+        stats.put("expirations", entryStats.get("expirations"));
+        stats.put("estimatedBytes", entryStats.get("estimatedBytes"));
+        stats.put("avgRefreshMillis", refreshCount == 0 ? 0.0 : refreshNanosTotal.sum() / 1_000_000.0 / refreshCount);
+        stats.put("maxRefreshMillis", refreshNanosMax.get() / 1_000_000.0);
+        stats.put("ttlSeconds", ttlNanos / 1_000_000_000L);
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refresher.shutdownNow();
+    }
+
+    private static final class Entry {
+        final Map<String, Object> snapshot;
+        final long computedAt;
+        final AtomicBoolean refreshing = new AtomicBoolean(false);
+        volatile long dirtiedAt = Long.MIN_VALUE;
+
+        Entry(Map<String, Object> snapshot, long computedAt) {
+            this.snapshot = snapshot;
+            this.computedAt = computedAt;
+        }
+
+        boolean isStale(long ttlNanos) {
+            return dirtiedAt >= computedAt || System.nanoTime() - computedAt > ttlNanos;
+        }
+    }
+}
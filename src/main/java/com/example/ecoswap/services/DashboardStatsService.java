@@ -0,0 +1,151 @@
+package com.example.ecoswap.services;
+
+import com.example.ecoswap.events.OrderEvent;
+import com.example.ecoswap.events.ProductEvent;
+import com.example.ecoswap.model.CustomerImpactLedger;
+import com.example.ecoswap.model.enums.OrderStatus;
+import com.example.ecoswap.model.enums.Role;
+import com.example.ecoswap.repository.OrderRepository;
+import com.example.ecoswap.repository.ProductRepository;
+import com.example.ecoswap.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Dashboard headline numbers for admins, sellers and customers, served through DashboardStatsCache.
+ * Snapshots only hold counts and sums; lists such as recent orders are loaded live by the controllers.
+ */
+@Service
+public class DashboardStatsService {
+
+    private static final List<OrderStatus> ACTIVE_ORDER_STATUSES = List.of(
+        OrderStatus.PENDING,
+        OrderStatus.CONFIRMED,
+        OrderStatus.SHIPPED
+    );
+
+    @Autowired
+    private DashboardStatsCache cache;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private CustomerImpactLedgerService customerImpactLedgerService;
+
+    /**
+     * Platform-wide user, product, order and impact statistics for the admin dashboard
+     */
+    public Map<String, Object> getPlatformStats() {
+        return cache.get(DashboardScope.platform(), this::loadPlatformStats);
+    }
+
+    /**
+     * Order, product and impact statistics for a seller dashboard
+     */
+    public Map<String, Object> getSellerStats(Long sellerId) {
+        return cache.get(DashboardScope.seller(sellerId), () -> loadSellerStats(sellerId));
+    }
+
+    /**
+     * Order, spending and impact statistics for a customer dashboard
+     */
+    public Map<String, Object> getCustomerStats(Long customerId) {
+        return cache.get(DashboardScope.customer(customerId), () -> loadCustomerStats(customerId));
+    }
+
+    public Map<String, Object> getCacheStatistics() {
+        return cache.getStatistics();
+    }
+
+    private Map<String, Object> loadPlatformStats() {
+        Map<String, Object> stats = new HashMap<>(orderService.getPlatformStatistics());
+
+        // Users
+        stats.put("totalUsers", userRepository.count());
+        stats.put("totalSellers", userRepository.countByRole(Role.SELLER));
+        stats.put("totalCustomers", userRepository.countByRole(Role.CUSTOMER));
+
+        // Products
+        stats.put("totalProducts", productService.getTotalProductCount());
+        stats.put("activeProducts", productService.countByStatus("ACTIVE"));
+        stats.put("outOfStockProducts", productService.getOutOfStockProductCount());
+
+        // Environmental impact
+        stats.put("totalCo2Saved", productService.calculateTotalCo2Saved());
+        stats.put("totalPlasticSaved", productService.calculateTotalPlasticSaved());
+        stats.put("averageEcoScore", productService.getAverageEcoScore());
+        stats.put("potentialCo2Saved", productRepository.sumPotentialCo2Saved());
+        return stats;
+    }
+
+    private Map<String, Object> loadSellerStats(Long sellerId) {
+        Map<String, Object> stats = new HashMap<>(orderService.getSellerOrderStatistics(sellerId));
+
+        stats.put("totalProducts", productService.getSellerProductCount(sellerId));
+        stats.put("activeProducts", productService.getActiveProductCount(sellerId));
+        stats.put("totalCo2Saved", productRepository.sumCo2SavedBySeller(sellerId));
+        stats.put("totalPlasticSaved", productRepository.sumPlasticSavedBySeller(sellerId));
+        return stats;
+    }
+
+    private Map<String, Object> loadCustomerStats(Long customerId) {
+        Map<String, Object> stats = new HashMap<>();
+
+        long totalOrders = orderRepository.countByCustomerId(customerId);
+        BigDecimal totalSpent = orderRepository.sumTotalAmountByCustomerId(customerId);
+        BigDecimal avgOrderValue = totalOrders > 0
+            ? totalSpent.divide(BigDecimal.valueOf(totalOrders), 2, RoundingMode.HALF_UP)
+            : BigDecimal.ZERO;
+
+        // Delivered purchases only, read from the impact ledger
+        CustomerImpactLedger impact = customerImpactLedgerService.getLedger(customerId);
+
+        stats.put("totalOrders", totalOrders);
+        stats.put("activeOrders", orderRepository.countByCustomerIdAndStatusIn(customerId, ACTIVE_ORDER_STATUSES));
+        stats.put("totalSpent", totalSpent);
+        stats.put("avgOrderValue", avgOrderValue);
+        stats.put("itemsPurchased", impact.getItemsPurchased());
+        stats.put("co2Saved", impact.getCo2Saved());
+        stats.put("plasticSaved", impact.getPlasticSaved());
+        stats.put("loyaltyPoints", totalOrders * 10); // 10 points per order
+        return stats;
+    }
+
+    /**
+     * Orders affect the platform, the customer and every seller in the order
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderEvent(OrderEvent event) {
+        cache.markDirty(DashboardScope.platform());
+        cache.markDirty(DashboardScope.customer(event.getCustomerId()));
+        for (Long sellerId : event.getSellerIds()) {
+            cache.markDirty(DashboardScope.seller(sellerId));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductEvent(ProductEvent event) {
+        cache.markDirty(DashboardScope.platform());
+        cache.markDirty(DashboardScope.seller(event.getSellerId()));
+    }
+}
@@ -0,0 +1,325 @@
+package com.example.ecoswap.services;
+
+import com.example.ecoswap.analytics.BoundedLeaderboard;
+import com.example.ecoswap.cache.BoundedCache;
+import com.example.ecoswap.events.OrderEvent;
+import com.example.ecoswap.model.Category;
+import com.example.ecoswap.model.LeaderboardScore;
+import com.example.ecoswap.model.OrderItem;
+import com.example.ecoswap.model.enums.LeaderboardType;
+import com.example.ecoswap.model.enums.OrderStatus;
+import com.example.ecoswap.repository.CategoryRepository;
+import com.example.ecoswap.repository.LeaderboardScoreRepository;
+import com.example.ecoswap.repository.OrderItemRepository;
+import com.example.ecoswap.repository.OrderRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Impact leaderboards: top customers by CO2 saved, top sellers by plastic prevented and
+ * top categories per order month.
+ *
+ * Scores for every ranked customer, seller and category live in leaderboard_scores, and a
+ * delivery or reversal adds to them with one upsert per score in the order's transaction, so a
+ * committed order is never missing from them. Each board is a BoundedLeaderboard in memory, so
+ * reads are O(K). Once the order commits, boards that show the entity are adjusted in place; a
+ * board the entity now climbs onto, or may have dropped down on, is reloaded from its index on
+ * the next read.
+ */
+@Component
+public class LeaderboardService {
+
+    // Two all-time boards plus a category board per month with orders
+    private static final int MAX_BOARDS = 1000;
+    private static final long BOARD_TTL_SECONDS = TimeUnit.HOURS.toSeconds(1);
+    private static final long NO_ORDERS_RECHECK_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final BoundedCache<String, BoundedLeaderboard> boards;
+
+    private final LeaderboardScoreRepository scoreRepository;
+    private final OrderItemRepository orderItemRepository;
+    private final OrderRepository orderRepository;
+    private final CategoryRepository categoryRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int capacity;
+
+    // Month of the first order, once there is one; until then, when the orders were last checked
+    private volatile YearMonth firstMonth;
+    private volatile Long noOrdersCheckedAt;
+
+    public LeaderboardService(LeaderboardScoreRepository scoreRepository,
+                              OrderItemRepository orderItemRepository,
+                              OrderRepository orderRepository,
+                              CategoryRepository categoryRepository,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${ecoswap.leaderboard.capacity:25}") int capacity) {
+        this.scoreRepository = scoreRepository;
+        this.orderItemRepository = orderItemRepository;
+        this.orderRepository = orderRepository;
+        this.categoryRepository = categoryRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.capacity = capacity;
+        this.boards = new BoundedCache<>(MAX_BOARDS, BOARD_TTL_SECONDS, board -> 64L * board.capacity());
+    }
+
+    // ============ READS ============
+
+    /**
+     * Customers who saved the most CO2 (kg). Labels are first name and last initial.
+     */
+    public List<BoundedLeaderboard.Entry> getTopCustomersByCo2(int limit) {
+        return top(LeaderboardType.CUSTOMER_CO2, LeaderboardScore.ALL_TIME, limit);
+    }
+
+    /**
+     * Sellers whose sales prevented the most plastic (grams)
+     */
+    public List<BoundedLeaderboard.Entry> getTopSellersByPlastic(int limit) {
+        return top(LeaderboardType.SELLER_PLASTIC, LeaderboardScore.ALL_TIME, limit);
+    }
+
+    /**
+     * Categories with the most CO2 saved (kg) by orders placed in a month; empty outside isLeaderboardMonth
+     */
+    public List<BoundedLeaderboard.Entry> getTopCategories(YearMonth month, int limit) {
+        if (!isLeaderboardMonth(month)) {
+            return List.of();
+        }
+        return top(LeaderboardType.CATEGORY_CO2, month.toString(), limit);
+    }
+
+    /**
+     * Months with a category board: from the month of the first order to the current one
+     */
+    public boolean isLeaderboardMonth(YearMonth month) {
+        YearMonth first = firstMonth;
+        if (first == null) {
+            // With no orders yet, the answer is reused for a while rather than queried on every request
+            Long checkedAt = noOrdersCheckedAt;
+            if (checkedAt != null && System.nanoTime() - checkedAt < NO_ORDERS_RECHECK_NANOS) {
+                return false;
+            }
+            LocalDateTime firstOrder = orderRepository.findFirstCreatedAt();
+            if (firstOrder == null) {
+                noOrdersCheckedAt = System.nanoTime();
+                return false;
+            }
+            first = YearMonth.from(firstOrder);
+            firstMonth = first;
+        }
+        return !month.isBefore(first) && !month.isAfter(YearMonth.now());
+    }
+
+    // Empty boards are cached too: the first score on one reloads it, like any entity climbing onto a board
+    private List<BoundedLeaderboard.Entry> top(LeaderboardType type, String period, int limit) {
+        String key = boardKey(type, period);
+        BoundedLeaderboard board = boards.get(key);
+        if (board == null) {
+            long generation = boards.generation();
+            board = load(type, period);
+            boards.put(key, board, generation);
+        }
+        return board.top(limit);
+    }
+
+    private BoundedLeaderboard load(LeaderboardType type, String period) {
+        BoundedLeaderboard board = new BoundedLeaderboard(capacity);
+        board.replaceAll(scoreRepository.findByBoardAndPeriodOrderByScoreDescEntityIdAsc(type, period, PageRequest.of(0, capacity))
+            .stream()
+            .map(score -> new BoundedLeaderboard.Entry(score.getEntityId(), score.getLabel(), score.getScore()))
+            .collect(Collectors.toList()));
+        return board;
+    }
+
+    // ============ UPDATES ============
+
+    /**
+     * Runs in the publishing transaction: the scores commit or roll back with the status change,
+     * and the boards follow once it commits
+     */
+    @EventListener
+    public void onOrderEvent(OrderEvent event) {
+        int sign;
+        if (event.isDelivery()) {
+            sign = 1;
+        } else if (event.isDeliveryReversal()) {
+            sign = -1;
+        } else {
+            return;
+        }
+
+        List<ScoreChange> changes = changes(event, sign);
+        LocalDateTime now = LocalDateTime.now();
+        for (ScoreChange change : changes) {
+            scoreRepository.addScore(change.board, change.period, change.entityId, change.label, change.delta, now);
+            // The new total tells whether an entity not on a cached board now belongs on it
+            if (change.delta > 0 && boards.peek(boardKey(change.board, change.period)) != null) {
+                change.total = scoreRepository.findScore(change.board, change.period, change.entityId);
+            }
+        }
+        AfterCommit.run(() -> {
+            noOrdersCheckedAt = null;
+            changes.forEach(this::apply);
+        });
+    }
+
+    // Sorted, so concurrent deliveries lock shared score rows in the same order
+    private List<ScoreChange> changes(OrderEvent event, int sign) {
+        String month = YearMonth.from(event.getOrder().getCreatedAt()).toString();
+        Map<String, ScoreChange> byKey = new TreeMap<>();
+        double customerCo2 = 0;
+
+        List<OrderItem> items = event.getOrder().getOrderItems();
+        items.forEach(OrderItem::captureImpactSnapshot);
+        Map<Long, String> categoryNames = categoryNames(items);
+        for (OrderItem item : items) {
+            double co2 = sign * item.getQuantity() * valueOrZero(item.getCo2Saved());
+            double plastic = sign * item.getQuantity() * valueOrZero(item.getPlasticSaved());
+            customerCo2 += co2;
+
+            Long sellerId = item.getSeller().getId();
+            byKey.computeIfAbsent(scoreKey(LeaderboardType.SELLER_PLASTIC, LeaderboardScore.ALL_TIME, sellerId), key ->
+                new ScoreChange(LeaderboardType.SELLER_PLASTIC, LeaderboardScore.ALL_TIME, sellerId, item.getSeller().getFullName()))
+                .delta += plastic;
+            if (item.getCategoryId() != null) {
+                byKey.computeIfAbsent(scoreKey(LeaderboardType.CATEGORY_CO2, month, item.getCategoryId()), key ->
+                    new ScoreChange(LeaderboardType.CATEGORY_CO2, month, item.getCategoryId(),
+                        categoryNames.getOrDefault(item.getCategoryId(), "Other")))
+                    .delta += co2;
+            }
+        }
+
+        Long customerId = event.getCustomerId();
+        byKey.computeIfAbsent(scoreKey(LeaderboardType.CUSTOMER_CO2, LeaderboardScore.ALL_TIME, customerId), key ->
+            new ScoreChange(LeaderboardType.CUSTOMER_CO2, LeaderboardScore.ALL_TIME, customerId,
+                publicName(event.getOrder().getCustomer().getFullName())))
+            .delta += customerCo2;
+        return new ArrayList<>(byKey.values());
+    }
+
+    private void apply(ScoreChange change) {
+        String key = boardKey(change.board, change.period);
+        BoundedLeaderboard board = boards.peek(key);
+        if (board == null) {
+            return;
+        }
+        boolean reload;
+        if (board.adjust(change.entityId, change.delta)) {
+            // An entity below a full board may now outrank it
+            reload = change.delta < 0 && board.size() == board.capacity();
+        } else {
+            reload = change.total != null && board.admits(change.entityId, change.total);
+        }
+        if (reload) {
+            boards.invalidate(key);
+        }
+    }
+
+    /**
+     * Rebuild every score from delivered order items in one streaming pass and reset the boards.
+     * Returns the number of score rows written.
+     */
+    public int rebuild() {
+        Map<String, LeaderboardScore> rows = new HashMap<>();
+
+        Integer written = transactionTemplate.execute(status -> {
+            scoreRepository.deleteAllInBatch();
+            try (Stream<Object[]> lines = orderItemRepository.streamLeaderboardRowsByStatus(OrderStatus.DELIVERED)) {
+                lines.forEach(r -> {
+                    double co2 = ((Number) r[7]).doubleValue();
+                    double plastic = ((Number) r[8]).doubleValue();
+                    credit(rows, LeaderboardType.CUSTOMER_CO2, LeaderboardScore.ALL_TIME, (Long) r[0], publicName((String) r[1]), co2);
+                    credit(rows, LeaderboardType.SELLER_PLASTIC, LeaderboardScore.ALL_TIME, (Long) r[2], (String) r[3], plastic);
+                    if (r[4] != null) {
+                        String month = YearMonth.from((LocalDateTime) r[6]).toString();
+                        credit(rows, LeaderboardType.CATEGORY_CO2, month, (Long) r[4], (String) r[5], co2);
+                    }
+                });
+            }
+            scoreRepository.saveAll(rows.values());
+            return rows.size();
+        });
+
+        // Boards come straight from the rebuilt scores, bounded as they are filled
+        Map<String, BoundedLeaderboard> rebuilt = new HashMap<>();
+        for (LeaderboardScore row : rows.values()) {
+            rebuilt.computeIfAbsent(boardKey(row.getBoard(), row.getPeriod()), key -> new BoundedLeaderboard(capacity))
+                .offer(row.getEntityId(), row.getLabel(), row.getScore());
+        }
+        noOrdersCheckedAt = null;
+        boards.invalidateAll();
+        long generation = boards.generation();
+        rebuilt.forEach((key, board) -> boards.put(key, board, generation));
+        return written != null ? written : 0;
+    }
+
+    private static void credit(Map<String, LeaderboardScore> rows, LeaderboardType board, String period,
+                               Long entityId, String label, double value) {
+        LeaderboardScore row = rows.computeIfAbsent(scoreKey(board, period, entityId), key ->
+            new LeaderboardScore(board, period, entityId, label));
+        row.setScore(row.getScore() + value);
+    }
+
+    private Map<Long, String> categoryNames(List<OrderItem> items) {
+        Set<Long> categoryIds = items.stream()
+            .map(OrderItem::getCategoryId)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toSet());
+        return categoryRepository.findAllById(categoryIds).stream()
+            .collect(Collectors.toMap(Category::getId, Category::getName));
+    }
+
+    /**
+     * Customer names on public boards are shortened to first name and last initial
+     */
+    static String publicName(String fullName) {
+        if (fullName == null || fullName.isBlank()) {
+            return "Anonymous";
+        }
+        String[] parts = fullName.trim().split("\\s+");
+        return parts.length == 1 ? parts[0] : parts[0] + " " + parts[parts.length - 1].charAt(0) + ".";
+    }
+
+    private static String boardKey(LeaderboardType board, String period) {
+        return board + ":" + period;
+    }
+
+    private static String scoreKey(LeaderboardType board, String period, Long entityId) {
+        return board + ":" + period + ":" + entityId;
+    }
+
+    private static double valueOrZero(Double value) {
+        return value != null ? value : 0.0;
+    }
+
+    /**
+     * Score change for one entity on one board from one order, with the new total if it was read
+     */
+    private static final class ScoreChange {
+
+        private final LeaderboardType board;
+        private final String period;
+        private final Long entityId;
+        private final String label;
+        private double delta;
+        private Double total;
+
+        private ScoreChange(LeaderboardType board, String period, Long entityId, String label) {
+            this.board = board;
+            this.period = period;
+            this.entityId = entityId;
+            this.label = label;
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.ecoswap.services;
+
+import com.example.ecoswap.analytics.MinorUnits;
+import com.example.ecoswap.analytics.OrderItemColumns;
+import com.example.ecoswap.events.OrderEvent;
+import com.example.ecoswap.model.Order;
+import com.example.ecoswap.model.OrderItem;
+import com.example.ecoswap.model.enums.OrderStatus;
+import com.example.ecoswap.repository.OrderItemRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Optional in-memory columnar copy of all order lines for analytics scans.
+ *
+ * Enabled with ecoswap.analytics.fact-store.enabled=true. Loaded once the application is
+ * ready, then kept current from committed order events. Changes that arrive while the
+ * initial load is running are queued and replayed afterwards. Callers must check
+ * isReady() and fall back to the database until the load has finished.
+ */
+@Service
+@ConditionalOnProperty(name = "ecoswap.analytics.fact-store.enabled", havingValue = "true")
+public class OrderItemFactStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderItemFactStore.class);
+
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final OrderItemColumns columns;
+    private final Object loadLock = new Object();
+    private List<Runnable> pendingChanges = new ArrayList<>(); // null once loaded
+    private volatile boolean ready;
+
+    public OrderItemFactStore(@Value("${ecoswap.analytics.fact-store.initial-capacity:100000}") int initialCapacity) {
+        this.columns = new OrderItemColumns(initialCapacity);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long start = System.currentTimeMillis();
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        readOnly.executeWithoutResult(status -> {
+            try (Stream<Object[]> rows = orderItemRepository.streamAllFacts()) {
+                rows.forEach(r -> {
+                    int quantity = ((Number) r[7]).intValue();
+                    long categoryId = r[6] != null ? (Long) r[6] : 0L;
+                    columns.append((Long) r[0], (LocalDateTime) r[1], (OrderStatus) r[2], (Long) r[3], (Long) r[4],
+                        (Long) r[5], categoryId, quantity, MinorUnits.toCents((BigDecimal) r[8]),
+                        perLine((Double) r[9], quantity), perLine((Double) r[10], quantity));
+                });
+            }
+        });
+
+        List<Runnable> queued;
+        synchronized (loadLock) {
+            queued = pendingChanges;
+            queued.forEach(Runnable::run);
+            pendingChanges = null;
+            ready = true;
+        }
+        logger.info("Order item fact store loaded: {} rows, ~{} MB, {} queued changes replayed in {} ms",
+            columns.size(), columns.estimatedBytes() / (1024 * 1024), queued.size(), System.currentTimeMillis() - start);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderEvent(OrderEvent event) {
+        Order order = event.getOrder();
+        long orderId = order.getId();
+
+        Runnable change = switch (event.getType()) {
+            case CREATED -> appendOrder(order);
+            case STATUS_CHANGED -> {
+                OrderStatus status = order.getStatus();
+                yield () -> columns.updateStatus(orderId, status);
+            }
+            case DELETED -> () -> columns.removeOrder(orderId);
+        };
+
+        synchronized (loadLock) {
+            if (pendingChanges != null) {
+                pendingChanges.add(change);
+                return;
+            }
+        }
+        change.run();
+    }
+
+    // Row values are captured now; the entity graph may not be reachable when the change is replayed
+    private Runnable appendOrder(Order order) {
+        long orderId = order.getId();
+        LocalDateTime createdAt = order.getCreatedAt();
+        OrderStatus status = order.getStatus();
+        long customerId = order.getCustomer().getId();
+
+        List<Runnable> rows = new ArrayList<>();
+        for (OrderItem item : order.getOrderItems()) {
+            item.captureImpactSnapshot();
+            int quantity = item.getQuantity();
+            long sellerId = item.getSeller().getId();
+            long productId = item.getProduct().getId();
+            long categoryId = item.getCategoryId() != null ? item.getCategoryId() : 0L;
+            long lineTotalCents = MinorUnits.toCents(item.getLineTotal());
+            double co2 = perLine(item.getCo2Saved(), quantity);
+            double plastic = perLine(item.getPlasticSaved(), quantity);
+            rows.add(() -> columns.append(orderId, createdAt, status, customerId, sellerId, productId, categoryId,
+                quantity, lineTotalCents, co2, plastic));
+        }
+
+        // The initial load may already have picked this order up
+        return () -> columns.appendOrderIfAbsent(orderId, () -> rows.forEach(Runnable::run));
+    }
+
+    private static double perLine(Double perUnit, int quantity) {
+        return (perUnit != null ? perUnit : 0.0) * quantity;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Start a filter/aggregate scan over the current rows
+     */
+    public OrderItemColumns.Scan scan() {
+        return columns.scan();
+    }
+
+    public int size() {
+        return columns.size();
+    }
+
+    public long estimatedBytes() {
+        return columns.estimatedBytes();
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.ecoswap.services;
+
+import com.example.ecoswap.repository.OrderItemRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Fills the CO2, plastic and category snapshots on order items created before they were captured at checkout.
+ *
+ * Works through id ranges with one bulk UPDATE per batch, each in its own transaction, so locks
+ * stay short and an interrupted run can simply be started again. Old rows get the product's
+ * current values, which is the best history available.
+ */
+@Service
+public class OrderItemSnapshotBackfillService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderItemSnapshotBackfillService.class);
+
+    static final int BATCH_SIZE = 5000;
+
+    private final OrderItemRepository orderItemRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public OrderItemSnapshotBackfillService(OrderItemRepository orderItemRepository,
+                                            PlatformTransactionManager transactionManager) {
+        this.orderItemRepository = orderItemRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Backfill every order item without a snapshot. Returns the number of rows updated.
+     */
+    public long backfill() {
+        List<Object[]> range = orderItemRepository.findSnapshotBackfillRange();
+        if (range.isEmpty() || range.get(0)[0] == null) {
+            return 0;
+        }
+        long fromId = ((Number) range.get(0)[0]).longValue();
+        long maxId = ((Number) range.get(0)[1]).longValue();
+
+        long updated = 0;
+        for (long start = fromId; start <= maxId; start += BATCH_SIZE) {
+            long batchStart = start;
+            Integer rows = transactionTemplate.execute(status ->
+                orderItemRepository.backfillSnapshots(batchStart, batchStart + BATCH_SIZE));
+            updated += rows != null ? rows : 0;
+            logger.debug("Order item snapshots backfilled up to id {} ({} rows so far)", batchStart + BATCH_SIZE - 1, updated);
+        }
+        return updated;
+    }
+}
@@ -1,5 +1,7 @@
 package com.example.ecoswap.services;
 
+import com.example.ecoswap.dtos.PageToken;
+import com.example.ecoswap.events.OrderEvent;
 import com.example.ecoswap.model.Order;
 import com.example.ecoswap.model.OrderItem;
 import com.example.ecoswap.model.Product;
@@ -9,9 +11,11 @@ import com.example.ecoswap.repository.OrderRepository;
 import com.example.ecoswap.repository.OrderItemRepository;
 import com.example.ecoswap.repository.ProductRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -32,6 +36,9 @@ public class OrderService {
     @Autowired
     private ProductRepository productRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     // Generate unique order number
     public String generateOrderNumber() {
         String timestamp = String.valueOf(System.currentTimeMillis());
@@ -73,6 +80,29 @@ public class OrderService {
         return orderRepository.findOrdersBySellerAndStatus(sellerId, status, pageable);
     }
 
+    // ============ KEYSET PAGES ============
+    // Newest first after a page token (PageToken.FIRST for the first page); no count query
+
+    // Get all orders after a page token
+    public Slice<Order> getAllOrdersAfter(PageToken after, int size) {
+        return orderRepository.findPageAfter(after.getCreatedAt(), after.getId(), PageRequest.of(0, size));
+    }
+
+    // Get orders by customer after a page token
+    public Slice<Order> getOrdersByCustomerAfter(Long customerId, PageToken after, int size) {
+        return orderRepository.findPageByCustomerAfter(customerId, after.getCreatedAt(), after.getId(), PageRequest.of(0, size));
+    }
+
+    // Get orders by seller after a page token
+    public Slice<Order> getOrdersBySellerAfter(Long sellerId, PageToken after, int size) {
+        return orderRepository.findPageBySellerAfter(sellerId, after.getCreatedAt(), after.getId(), PageRequest.of(0, size));
+    }
+
+    // Get orders by seller and status after a page token
+    public Slice<Order> getOrdersBySellerAndStatusAfter(Long sellerId, OrderStatus status, PageToken after, int size) {
+        return orderRepository.findPageBySellerAndStatusAfter(sellerId, status, after.getCreatedAt(), after.getId(), PageRequest.of(0, size));
+    }
+
     // Search orders by seller
     public Page<Order> searchOrdersBySeller(Long sellerId, String search, int page, int size) {
         Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
@@ -91,7 +121,10 @@ public class OrderService {
         order.setOrderNumber(generateOrderNumber());
         order.setCreatedAt(LocalDateTime.now());
         order.calculateTotal();
-        return orderRepository.save(order);
+        Order savedOrder = orderRepository.save(order);
+
+        eventPublisher.publishEvent(OrderEvent.created(savedOrder));
+        return savedOrder;
     }
 
     // Update order status
@@ -100,6 +133,7 @@ public class OrderService {
         Order order = orderRepository.findById(orderId)
             .orElseThrow(() -> new RuntimeException("Order not found"));
 
+        OrderStatus oldStatus = order.getStatus();
         order.setStatus(newStatus);
 
         // Update timestamp based on status
@@ -119,7 +153,10 @@ public class OrderService {
                 break;
         }
 
-        return orderRepository.save(order);
+        Order savedOrder = orderRepository.save(order);
+
+        eventPublisher.publishEvent(OrderEvent.statusChanged(savedOrder, oldStatus));
+        return savedOrder;
     }
 
     // Update tracking number
@@ -182,7 +219,7 @@ public class OrderService {
         return orderRepository.calculateSellerRevenueByDateRange(sellerId, completedStatuses, startOfMonth, endOfMonth);
     }
 
-    // Get order statistics for seller dashboard
+    // Get order statistics for seller dashboard (counts and revenue only)
     public Map<String, Object> getSellerOrderStatistics(Long sellerId) {
         Map<String, Object> stats = new HashMap<>();
 
@@ -205,10 +242,6 @@ public class OrderService {
         Long itemsSold = orderItemRepository.countItemsSoldBySeller(sellerId);
         stats.put("totalItemsSold", itemsSold);
 
-        // Recent orders
-        List<Order> recentOrders = getRecentOrdersBySeller(sellerId, 5);
-        stats.put("recentOrders", recentOrders);
-
         return stats;
     }
 
@@ -225,7 +258,11 @@ public class OrderService {
     // Delete order (admin only)
     @Transactional
     public void deleteOrder(Long orderId) {
-        orderRepository.deleteById(orderId);
+        Order order = orderRepository.findById(orderId)
+            .orElseThrow(() -> new RuntimeException("Order not found"));
+
+        eventPublisher.publishEvent(OrderEvent.deleted(order));
+        orderRepository.delete(order);
     }
 
     // ============ ADMIN/PLATFORM-WIDE STATISTICS ============
@@ -279,8 +316,20 @@ public class OrderService {
         return orderRepository.findAll(pageable).getContent();
     }
 
+    /**
+     * Get recent orders across the platform with their items loaded,
+     * for callers that render them outside the request's persistence context
+     */
+    @Transactional(readOnly = true)
+    public List<Order> getRecentOrdersWithItems(int limit) {
+        List<Order> orders = getRecentOrders(limit);
+        orders.forEach(order -> order.getOrderItems().size());
+        return orders;
+    }
+
     /**
      * Get comprehensive platform statistics for admin dashboard
+     * (counts and revenue only; recent orders are loaded separately)
      */
     public Map<String, Object> getPlatformStatistics() {
         Map<String, Object> stats = new HashMap<>();
@@ -300,10 +349,6 @@ public class OrderService {
         stats.put("totalRevenue", calculateTotalPlatformRevenue());
         stats.put("monthlyRevenue", calculateMonthlyPlatformRevenue());
 
-        // Recent orders
-        List<Order> recentOrders = getRecentOrders(10);
-        stats.put("recentOrders", recentOrders);
-
         return stats;
     }
 }
@@ -0,0 +1,262 @@
+package com.example.ecoswap.services;
+
+import com.example.ecoswap.events.OrderEvent;
+import com.example.ecoswap.model.OrderItem;
+import com.example.ecoswap.model.PlatformImpactDelta;
+import com.example.ecoswap.model.PlatformImpactSnapshot;
+import com.example.ecoswap.model.enums.OrderStatus;
+import com.example.ecoswap.repository.OrderItemRepository;
+import com.example.ecoswap.repository.PlatformImpactDeltaRepository;
+import com.example.ecoswap.repository.PlatformImpactSnapshotRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Platform-wide impact totals (delivered orders, items sold, CO2 and plastic saved) kept in memory.
+ *
+ * Reads never touch the database. Every delivery or reversal writes a signed PlatformImpactDelta
+ * in the order's transaction and bumps the adders once that transaction commits. A background
+ * flush folds committed deltas into the platform_impact_snapshot row every few seconds; on
+ * startup the counters are the snapshot plus whatever deltas were not folded yet.
+ */
+@Component
+public class PlatformImpactCounters {
+
+    private static final Logger logger = LoggerFactory.getLogger(PlatformImpactCounters.class);
+
+    // Days of CO2 kept for the "last 30 days" figure
+    private static final int RECENT_DAYS = 31;
+
+    // Matches findTop1000ByOrderByIdAsc
+    private static final int FLUSH_BATCH_SIZE = 1000;
+
+    private final LongAdder deliveredOrders = new LongAdder();
+    private final LongAdder itemsSold = new LongAdder();
+    private final DoubleAdder co2Saved = new DoubleAdder();
+    private final DoubleAdder plasticSaved = new DoubleAdder();
+    private final ConcurrentHashMap<LocalDate, DoubleAdder> co2ByOrderDay = new ConcurrentHashMap<>();
+
+    private final PlatformImpactSnapshotRepository snapshotRepository;
+    private final PlatformImpactDeltaRepository deltaRepository;
+    private final OrderItemRepository orderItemRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ScheduledExecutorService flusher;
+    private final long flushIntervalSeconds;
+
+    public PlatformImpactCounters(PlatformImpactSnapshotRepository snapshotRepository,
+                                  PlatformImpactDeltaRepository deltaRepository,
+                                  OrderItemRepository orderItemRepository,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${ecoswap.impact.flush-interval-seconds:30}") long flushIntervalSeconds) {
+        this.snapshotRepository = snapshotRepository;
+        this.deltaRepository = deltaRepository;
+        this.orderItemRepository = orderItemRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.flushIntervalSeconds = flushIntervalSeconds;
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "platform-impact-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PostConstruct
+    public void start() {
+        load();
+        flusher.scheduleWithFixedDelay(this::flushQuietly, flushIntervalSeconds, flushIntervalSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Reset the counters from the snapshot row plus unfolded deltas.
+     * Without a snapshot (first start) the totals are computed once from order items.
+     */
+    void load() {
+        transactionTemplate.executeWithoutResult(status -> {
+            PlatformImpactSnapshot snapshot = snapshotRepository.findById(PlatformImpactSnapshot.SINGLETON_ID)
+                .orElseGet(this::bootstrapSnapshot);
+            Object[] pending = deltaRepository.sumPending().get(0);
+
+            reset();
+            deliveredOrders.add(snapshot.getDeliveredOrders() + ((Number) pending[0]).longValue());
+            itemsSold.add(snapshot.getItemsSold() + ((Number) pending[1]).longValue());
+            co2Saved.add(snapshot.getCo2Saved() + ((Number) pending[2]).doubleValue());
+            plasticSaved.add(snapshot.getPlasticSaved() + ((Number) pending[3]).doubleValue());
+
+            LocalDateTime since = LocalDate.now().minusDays(RECENT_DAYS - 1).atStartOfDay();
+            for (Object[] day : orderItemRepository.sumCo2ByOrderDaySince(OrderStatus.DELIVERED, since)) {
+                co2ByOrderDay.computeIfAbsent((LocalDate) day[0], d -> new DoubleAdder()).add(((Number) day[1]).doubleValue());
+            }
+        });
+        logger.info("Platform impact counters loaded: {} delivered orders, {} kg CO2", deliveredOrders.sum(), co2Saved.sum());
+    }
+
+    /**
+     * Recompute the snapshot from order items and reload the counters
+     */
+    public void rebuild() {
+        transactionTemplate.executeWithoutResult(status -> snapshotRepository.deleteAllInBatch());
+        load();
+    }
+
+    private PlatformImpactSnapshot bootstrapSnapshot() {
+        Object[] totals = orderItemRepository.sumImpactSince(OrderStatus.DELIVERED, LocalDateTime.of(1970, 1, 1, 0, 0)).get(0);
+        PlatformImpactSnapshot snapshot = new PlatformImpactSnapshot(PlatformImpactSnapshot.SINGLETON_ID);
+        snapshot.setItemsSold(((Number) totals[0]).longValue());
+        snapshot.setCo2Saved(((Number) totals[1]).doubleValue());
+        snapshot.setPlasticSaved(((Number) totals[2]).doubleValue());
+        snapshot.setDeliveredOrders(((Number) totals[3]).longValue());
+        // Order items already include every change, so older deltas would be counted twice
+        deltaRepository.deleteAllInBatch();
+        return snapshotRepository.save(snapshot);
+    }
+
+    private void reset() {
+        deliveredOrders.reset();
+        itemsSold.reset();
+        co2Saved.reset();
+        plasticSaved.reset();
+        co2ByOrderDay.clear();
+    }
+
+    /**
+     * Runs in the publishing transaction: the delta row commits or rolls back with the status change
+     */
+    @EventListener
+    public void onOrderEvent(OrderEvent event) {
+        int sign;
+        if (event.isDelivery()) {
+            sign = 1;
+        } else if (event.isDeliveryReversal()) {
+            sign = -1;
+        } else {
+            return;
+        }
+
+        PlatformImpactDelta delta = new PlatformImpactDelta();
+        delta.setOrderId(event.getOrder().getId());
+        delta.setOrderDate(event.getOrder().getCreatedAt().toLocalDate());
+        delta.setDeliveredOrders((long) sign);
+        long items = 0;
+        double co2 = 0;
+        double plastic = 0;
+        for (OrderItem item : event.getOrder().getOrderItems()) {
+            item.captureImpactSnapshot();
+            long quantity = (long) sign * item.getQuantity();
+            items += quantity;
+            co2 += quantity * valueOrZero(item.getCo2Saved());
+            plastic += quantity * valueOrZero(item.getPlasticSaved());
+        }
+        delta.setItemsSold(items);
+        delta.setCo2Saved(co2);
+        delta.setPlasticSaved(plastic);
+        deltaRepository.save(delta);
+
+        AfterCommit.run(() -> apply(delta));
+    }
+
+    private void apply(PlatformImpactDelta delta) {
+        deliveredOrders.add(delta.getDeliveredOrders());
+        itemsSold.add(delta.getItemsSold());
+        co2Saved.add(delta.getCo2Saved());
+        plasticSaved.add(delta.getPlasticSaved());
+        co2ByOrderDay.computeIfAbsent(delta.getOrderDate(), day -> new DoubleAdder()).add(delta.getCo2Saved());
+    }
+
+    private static double valueOrZero(Double value) {
+        return value != null ? value : 0.0;
+    }
+
+    /**
+     * Fold committed deltas into the snapshot row. Only rows that were read are deleted,
+     * so deltas committed during the flush wait for the next one.
+     * Returns the number of deltas folded.
+     */
+    public int flush() {
+        Integer folded = transactionTemplate.execute(status -> {
+            List<PlatformImpactDelta> deltas = deltaRepository.findTop1000ByOrderByIdAsc();
+            if (deltas.isEmpty()) {
+                return 0;
+            }
+            PlatformImpactSnapshot snapshot = snapshotRepository.findById(PlatformImpactSnapshot.SINGLETON_ID)
+                .orElseGet(() -> new PlatformImpactSnapshot(PlatformImpactSnapshot.SINGLETON_ID));
+            for (PlatformImpactDelta delta : deltas) {
+                snapshot.setDeliveredOrders(snapshot.getDeliveredOrders() + delta.getDeliveredOrders());
+                snapshot.setItemsSold(snapshot.getItemsSold() + delta.getItemsSold());
+                snapshot.setCo2Saved(snapshot.getCo2Saved() + delta.getCo2Saved());
+                snapshot.setPlasticSaved(snapshot.getPlasticSaved() + delta.getPlasticSaved());
+            }
+            snapshotRepository.save(snapshot);
+            deltaRepository.deleteAllInBatch(deltas);
+            return deltas.size();
+        });
+
+        LocalDate oldest = LocalDate.now().minusDays(RECENT_DAYS - 1);
+        co2ByOrderDay.keySet().removeIf(day -> day.isBefore(oldest));
+        return folded != null ? folded : 0;
+    }
+
+    private void flushQuietly() {
+        try {
+            // Keep going while a backlog is being drained
+            while (flush() == FLUSH_BATCH_SIZE) {
+                logger.debug("Platform impact flush: more deltas pending");
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Failed to flush platform impact counters", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flusher.shutdownNow();
+        flushQuietly();
+    }
+
+    public long getDeliveredOrders() {
+        return deliveredOrders.sum();
+    }
+
+    public long getItemsSold() {
+        return itemsSold.sum();
+    }
+
+    public double getCo2Saved() {
+        return co2Saved.sum();
+    }
+
+    public double getPlasticSaved() {
+        return plasticSaved.sum();
+    }
+
+    /**
+     * CO2 saved by delivered orders placed in the last given number of days (at most 31), today being the first
+     */
+    public double getCo2SavedInLastDays(int days) {
+        LocalDate since = LocalDate.now().minusDays(Math.min(days, RECENT_DAYS) - 1);
+        double total = 0;
+        for (Map.Entry<LocalDate, DoubleAdder> day : co2ByOrderDay.entrySet()) {
+            if (!day.getKey().isBefore(since)) {
+                total += day.getValue().sum();
+            }
+        }
+        return total;
+    }
+}
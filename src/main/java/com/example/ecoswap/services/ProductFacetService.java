@@ -0,0 +1,95 @@
+package com.example.ecoswap.services;
+
+import com.example.ecoswap.repository.ProductRepository;
+import com.example.ecoswap.search.CompactBitmap;
+import com.example.ecoswap.search.FacetDocument;
+import com.example.ecoswap.search.FacetResult;
+import com.example.ecoswap.search.FacetSelection;
+import com.example.ecoswap.search.ProductFacetIndex;
+import com.example.ecoswap.search.ProductSort;
+import com.example.ecoswap.search.SearchResult;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Owns the shop facet index: loads it from the products table at startup and applies product
+ * changes reported by ProductIndexListener once their transaction commits.
+ */
+@Service
+public class ProductFacetService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductFacetService.class);
+
+    private final ProductFacetIndex index = new ProductFacetIndex();
+
+    private final ProductRepository productRepository;
+    private final ProductSearchService productSearchService;
+    private final TransactionTemplate transactionTemplate;
+
+    public ProductFacetService(ProductRepository productRepository, ProductSearchService productSearchService,
+                               PlatformTransactionManager transactionManager) {
+        this.productRepository = productRepository;
+        this.productSearchService = productSearchService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    @PostConstruct
+    public void load() {
+        long start = System.currentTimeMillis();
+        List<FacetDocument> documents = new ArrayList<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<Object[]> rows = productRepository.streamFacetDocuments()) {
+                rows.forEach(r -> documents.add(new FacetDocument((Long) r[0], (Long) r[1], (Integer) r[2], (Double) r[3],
+                    (BigDecimal) r[4], (Boolean) r[5], (Boolean) r[6], (Boolean) r[7], (Integer) r[8], (Long) r[9])));
+            }
+        });
+        index.replaceAll(documents);
+        logger.info("Product facet index loaded: {} products in {} ms", documents.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Products matching the selected facets (and the search text, if any) with live counts for every facet option
+     */
+    public FacetResult browse(String search, FacetSelection selection) {
+        CompactBitmap searchMatches = search != null && !search.isBlank() ? productSearchService.matches(search) : null;
+        return index.facet(selection, searchMatches);
+    }
+
+    /**
+     * A page of the matching products in a sort order, ranked in memory
+     */
+    public SearchResult sorted(FacetResult facets, ProductSort sort, int offset, int limit) {
+        return new SearchResult(index.sorted(facets.getMatching(), sort.getComparator(), offset, limit), facets.getTotal());
+    }
+
+    public void productSaved(FacetDocument document) {
+        AfterCommit.run(() -> index.put(document));
+    }
+
+    public void productRemoved(long productId) {
+        AfterCommit.run(() -> index.remove(productId));
+    }
+
+    public void productsRemoved(Collection<Long> productIds) {
+        AfterCommit.run(() -> productIds.forEach(index::remove));
+    }
+
+    /**
+     * Units delivered (negative when reversed) per product id, as counted by ProductSalesCounter
+     */
+    public void salesChanged(Map<Long, Long> units) {
+        AfterCommit.run(() -> units.forEach(index::addSales));
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.ecoswap.services;
+
+import com.example.ecoswap.analytics.MinorUnits;
+import com.example.ecoswap.analytics.RankingWindow;
+import com.example.ecoswap.analytics.TopNHeap;
+import com.example.ecoswap.dtos.ProductSalesDTO;
+import com.example.ecoswap.model.enums.OrderStatus;
+import com.example.ecoswap.repository.OrderItemRepository;
+import com.example.ecoswap.repository.ProductRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * Top-N best selling products for a seller or the whole platform.
+ *
+ * Per-product totals are streamed from a grouped query and ranked with a bounded
+ * min-heap over product ids; only the winners are then loaded, in one projection query.
+ */
+@Service
+public class ProductRankingService {
+
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    /**
+     * Top products for a seller by units sold (then revenue) in delivered orders
+     */
+    @Transactional(readOnly = true)
+    public List<ProductSalesDTO> getTopSellerProducts(Long sellerId, RankingWindow window, int limit) {
+        LocalDateTime since = window.since(LocalDateTime.now());
+        try (Stream<Object[]> rows = orderItemRepository.streamProductSalesBySellerSince(sellerId, OrderStatus.DELIVERED, since)) {
+            return rank(rows, limit);
+        }
+    }
+
+    /**
+     * Top products across the platform by units sold (then revenue) in delivered orders
+     */
+    @Transactional(readOnly = true)
+    public List<ProductSalesDTO> getTopPlatformProducts(RankingWindow window, int limit) {
+        LocalDateTime since = window.since(LocalDateTime.now());
+        try (Stream<Object[]> rows = orderItemRepository.streamProductSalesSince(OrderStatus.DELIVERED, since)) {
+            return rank(rows, limit);
+        }
+    }
+
+    private List<ProductSalesDTO> rank(Stream<Object[]> rows, int limit) {
+        TopNHeap heap = new TopNHeap(limit);
+        rows.forEach(r -> heap.offer((Long) r[0], ((Number) r[1]).longValue(), MinorUnits.toCents((BigDecimal) r[2])));
+
+        if (heap.size() == 0) {
+            return Collections.emptyList();
+        }
+        heap.sortDescending();
+
+        Map<Long, ProductSalesDTO> ranking = new LinkedHashMap<>();
+        for (int i = 0; i < heap.size(); i++) {
+            ranking.put(heap.id(i), new ProductSalesDTO(heap.id(i), null, null, heap.primary(i), MinorUnits.fromCents(heap.secondary(i))));
+        }
+
+        // One query for names and images of the winners only
+        for (Object[] p : productRepository.findNameAndImageByIdIn(ranking.keySet())) {
+            ProductSalesDTO sales = ranking.get((Long) p[0]);
+            sales.setProductName((String) p[1]);
+            sales.setProductImage((String) p[2]);
+        }
+        return new ArrayList<>(ranking.values());
+    }
+}
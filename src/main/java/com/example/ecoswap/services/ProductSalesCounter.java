@@ -0,0 +1,68 @@
+package com.example.ecoswap.services;
+
+import com.example.ecoswap.events.OrderEvent;
+import com.example.ecoswap.model.OrderItem;
+import com.example.ecoswap.model.enums.OrderStatus;
+import com.example.ecoswap.repository.ProductRepository;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Keeps products.sales_count, the units delivered per product, for the best-selling shop sort.
+ *
+ * Every delivery or reversal adds its units with one atomic UPDATE per product in the order's
+ * transaction, so concurrent deliveries never lose counts and sorting never sums order items.
+ * The facet index gets the same units once the transaction commits.
+ */
+@Component
+public class ProductSalesCounter {
+
+    private final ProductRepository productRepository;
+    private final ProductFacetService productFacetService;
+    private final TransactionTemplate transactionTemplate;
+
+    public ProductSalesCounter(ProductRepository productRepository,
+                               ProductFacetService productFacetService,
+                               PlatformTransactionManager transactionManager) {
+        this.productRepository = productRepository;
+        this.productFacetService = productFacetService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Runs in the publishing transaction: the counts commit or roll back with the status change
+     */
+    @EventListener
+    public void onOrderEvent(OrderEvent event) {
+        int sign;
+        if (event.isDelivery()) {
+            sign = 1;
+        } else if (event.isDeliveryReversal()) {
+            sign = -1;
+        } else {
+            return;
+        }
+
+        Map<Long, Long> units = new HashMap<>();
+        for (OrderItem item : event.getOrder().getOrderItems()) {
+            units.merge(item.getProduct().getId(), (long) sign * item.getQuantity(), Long::sum);
+        }
+        units.forEach(productRepository::addSales);
+        productFacetService.salesChanged(units);
+    }
+
+    /**
+     * Recount every product from delivered order items and reload the facet index.
+     * Returns the number of products updated.
+     */
+    public int rebuild() {
+        Integer products = transactionTemplate.execute(status -> productRepository.recountSales(OrderStatus.DELIVERED));
+        productFacetService.load();
+        return products != null ? products : 0;
+    }
+}
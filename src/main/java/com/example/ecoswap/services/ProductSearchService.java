@@ -0,0 +1,94 @@
+package com.example.ecoswap.services;
+
+import com.example.ecoswap.repository.ProductRepository;
+import com.example.ecoswap.search.CompactBitmap;
+import com.example.ecoswap.search.ProductDocument;
+import com.example.ecoswap.search.ProductSearchIndex;
+import com.example.ecoswap.search.SearchResult;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Owns the product search index: loads it from the products table at startup and applies
+ * product and category changes reported by ProductIndexListener once their transaction commits.
+ */
+@Service
+public class ProductSearchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductSearchService.class);
+
+    private final ProductSearchIndex index;
+
+    private final ProductRepository productRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public ProductSearchService(ProductRepository productRepository, PlatformTransactionManager transactionManager,
+                                @Value("${ecoswap.search.quality-boost:0.2}") float qualityBoost) {
+        this.index = new ProductSearchIndex(qualityBoost);
+        this.productRepository = productRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    @PostConstruct
+    public void load() {
+        long start = System.currentTimeMillis();
+        List<ProductDocument> documents = new ArrayList<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<Object[]> rows = productRepository.streamSearchDocuments()) {
+                rows.forEach(r -> documents.add(new ProductDocument((Long) r[0], (Long) r[1], (Long) r[2],
+                    (String) r[3], (String) r[4], (String) r[5], (String) r[6], (Integer) r[7], (Double) r[8])));
+            }
+        });
+        index.replaceAll(documents);
+        logger.info("Product search index loaded: {} products in {} ms", documents.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * One page of matching product ids ranked by relevance, plus the total match count.
+     * sellerId limits the search to one seller (null for all).
+     */
+    public SearchResult search(String query, Long sellerId, int offset, int limit) {
+        return index.search(query, sellerId, offset, limit);
+    }
+
+    /**
+     * Same as above, keeping only products whose id is in filter
+     */
+    public SearchResult search(String query, Long sellerId, CompactBitmap filter, int offset, int limit) {
+        return index.search(query, sellerId, filter, offset, limit);
+    }
+
+    /**
+     * Ids of every product matching the query
+     */
+    public CompactBitmap matches(String query) {
+        return index.matches(query);
+    }
+
+    public void productSaved(ProductDocument document) {
+        AfterCommit.run(() -> index.put(document));
+    }
+
+    public void productRemoved(long productId) {
+        AfterCommit.run(() -> index.remove(productId));
+    }
+
+    public void productsRemoved(Collection<Long> productIds) {
+        AfterCommit.run(() -> productIds.forEach(index::remove));
+    }
+
+    public void categoryRenamed(Long categoryId, String name) {
+        AfterCommit.run(() -> index.renameCategory(categoryId, name));
+    }
+}
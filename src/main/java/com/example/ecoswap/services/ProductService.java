@@ -1,25 +1,57 @@
 package com.example.ecoswap.services;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.example.ecoswap.dtos.PageToken;
+import com.example.ecoswap.dtos.ProductView;
+import com.example.ecoswap.events.ProductEvent;
 import com.example.ecoswap.model.Product;
 import com.example.ecoswap.repository.ProductRepository;
+import com.example.ecoswap.search.FacetResult;
+import com.example.ecoswap.search.FacetSelection;
+import com.example.ecoswap.search.ProductSort;
+import com.example.ecoswap.search.SearchResult;
 
 @Service
 public class ProductService {
     
+    // Ids per IN list in bulk actions, well under driver and packet limits
+    static final int BULK_CHUNK_SIZE = 1000;
+    
     @Autowired
     private ProductRepository productRepository;
     
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Autowired
+    private ProductSearchService productSearchService;
+    
+    @Autowired
+    private ProductFacetService productFacetService;
+
+    @Autowired
+    private ProductViewCache productViewCache;
+    
     // Get all products
     public List<Product> getAllProducts() {
         return productRepository.findAll();
@@ -28,7 +60,7 @@ public class ProductService {
     // Get all products with pagination
     public Page<Product> getAllProducts(int page, int size) {
         Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
-        return productRepository.findAll(pageable);
+        return productRepository.findListingPage(pageable);
     }
     
     // Get product by ID
@@ -53,28 +85,87 @@ public class ProductService {
         return productRepository.findByCategoryId(categoryId, pageable);
     }
     
+    // Newest products after a page token, optionally in one category (keyset page, no count query)
+    public Slice<Product> getProductsAfter(Long categoryId, PageToken after, int size) {
+        Pageable pageable = PageRequest.of(0, size);
+        return categoryId != null
+            ? productRepository.findPageByCategoryAfter(categoryId, after.getCreatedAt(), after.getId(), pageable)
+            : productRepository.findPageAfter(after.getCreatedAt(), after.getId(), pageable);
+    }
+    
+    // Views of the newest products after a page token, optionally in one category; only the ids come from the database
+    public Slice<ProductView> getProductViewsAfter(Long categoryId, PageToken after, int size) {
+        Pageable pageable = PageRequest.of(0, size);
+        Slice<Long> ids = categoryId != null
+            ? productRepository.findIdPageByCategoryAfter(categoryId, after.getCreatedAt(), after.getId(), pageable)
+            : productRepository.findIdPageAfter(after.getCreatedAt(), after.getId(), pageable);
+        return new SliceImpl<>(productViewCache.getAll(ids.getContent()), pageable, ids.hasNext());
+    }
+    
+    // Newest products of a seller after a page token (keyset page, no count query)
+    public Slice<Product> getProductsBySellerAfter(Long sellerId, PageToken after, int size) {
+        return productRepository.findPageBySellerAfter(sellerId, after.getCreatedAt(), after.getId(), PageRequest.of(0, size));
+    }
+    
     // Get products by status - FIXED: Changed to String
     public Page<Product> getProductsByStatus(String status, int page, int size) {
         Pageable pageable = PageRequest.of(page, size);
         return productRepository.findByStatus(status, pageable);
     }
     
-    // Search products
+    // Search products (BM25-ranked ids from the in-memory index, only the requested page is loaded)
     public Page<Product> searchProducts(String search, int page, int size) {
         Pageable pageable = PageRequest.of(page, size);
-        return productRepository.searchProducts(search, pageable);
+        return hydratePage(productSearchService.search(search, null, (int) pageable.getOffset(), size), pageable);
     }
     
     // Search products by seller
     public Page<Product> searchProductsBySeller(Long sellerId, String search, int page, int size) {
         Pageable pageable = PageRequest.of(page, size);
-        return productRepository.searchProductsBySeller(sellerId, search, pageable);
+        return hydratePage(productSearchService.search(search, sellerId, (int) pageable.getOffset(), size), pageable);
+    }
+    
+    // Shop page of facet-filtered products. Unsorted pages are ranked by relevance when searching, otherwise newest
+    // (highest id) first. Sorted plain listings (no search, at most a category) read the page's ids off the sort's
+    // index; any other sorted selection is ranked in memory by the facet index. Products are served from the view cache.
+    public Page<ProductView> browseProducts(String search, FacetSelection filters, FacetResult facets, ProductSort sort, int page, int size) {
+        Pageable pageable = PageRequest.of(page, size);
+        int offset = (int) pageable.getOffset();
+        boolean searching = search != null && !search.isBlank();
+        SearchResult result;
+        if (sort == null && searching) {
+            result = productSearchService.search(search, null, facets.getMatching(), offset, size);
+        } else if (sort == null || sort == ProductSort.NEWEST) {
+            result = new SearchResult(facets.getMatching().toArrayDescending(offset, size), facets.getTotal());
+        } else if (!searching && filters.isCategoryOnly()) {
+            Slice<Long> ids = filters.getCategoryId() != null
+                ? productRepository.findIdPageByCategory(filters.getCategoryId(), PageRequest.of(page, size, sort.getCategorySort()))
+                : productRepository.findIdPage(PageRequest.of(page, size, sort.getSort()));
+            result = new SearchResult(ids.stream().mapToLong(Long::longValue).toArray(), facets.getTotal());
+        } else {
+            result = productFacetService.sorted(facets, sort, offset, size);
+        }
+        return new PageImpl<>(productViewCache.getAll(result.idList()), pageable, result.getTotal());
+    }
+    
+    // Load the products of one result page, keeping the ranking order
+    private Page<Product> hydratePage(SearchResult result, Pageable pageable) {
+        List<Long> pageIds = result.idList();
+        Map<Long, Product> byId = productRepository.findListingByIdIn(pageIds).stream()
+            .collect(Collectors.toMap(Product::getId, Function.identity()));
+        List<Product> content = pageIds.stream()
+            .map(byId::get)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList());
+        return new PageImpl<>(content, pageable, result.getTotal());
     }
     
     // Save product
     @Transactional
     public Product saveProduct(Product product) {
-        return productRepository.save(product);
+        Product savedProduct = productRepository.save(product);
+        publishSaved(savedProduct);
+        return savedProduct;
     }
     
     // Update product
@@ -95,13 +186,18 @@ public class ProductService {
         product.setCo2Saved(productDetails.getCo2Saved());
         product.setPlasticSaved(productDetails.getPlasticSaved());
         
-        return productRepository.save(product);
+        Product savedProduct = productRepository.save(product);
+        publishSaved(savedProduct);
+        return savedProduct;
     }
     
     // Delete product
     @Transactional
     public void deleteProduct(Long id) {
-        productRepository.deleteById(id);
+        productRepository.findById(id).ifPresent(product -> {
+            productRepository.delete(product);
+            eventPublisher.publishEvent(new ProductEvent(id, product.getSeller().getId(), ProductEvent.Type.DELETED));
+        });
     }
     
     // Activate product - FIXED: Changed to String
@@ -110,7 +206,7 @@ public class ProductService {
         Product product = productRepository.findById(id)
             .orElseThrow(() -> new RuntimeException("Product not found"));
         product.setStatus("ACTIVE"); // Changed from enum to String
-        productRepository.save(product);
+        publishSaved(productRepository.save(product));
     }
     
     // Deactivate product - FIXED: Changed to String
@@ -119,25 +215,74 @@ public class ProductService {
         Product product = productRepository.findById(id)
             .orElseThrow(() -> new RuntimeException("Product not found"));
         product.setStatus("INACTIVE"); // Changed from enum to String
-        productRepository.save(product);
+        publishSaved(productRepository.save(product));
     }
     
-    // Bulk activate
+    // Notify listeners (dashboard caches etc.) that a product changed
+    private void publishSaved(Product product) {
+        eventPublisher.publishEvent(new ProductEvent(product.getId(), product.getSeller().getId(), ProductEvent.Type.SAVED));
+    }
+    
+    // Bulk activate; returns the number of products updated
     @Transactional
-    public void bulkActivate(List<Long> ids) {
-        ids.forEach(this::activateProduct);
+    public int bulkActivate(List<Long> ids) {
+        return bulkUpdateStatus(ids, "ACTIVE");
     }
     
-    // Bulk deactivate
+    // Bulk deactivate; returns the number of products updated
     @Transactional
-    public void bulkDeactivate(List<Long> ids) {
-        ids.forEach(this::deactivateProduct);
+    public int bulkDeactivate(List<Long> ids) {
+        return bulkUpdateStatus(ids, "INACTIVE");
     }
     
-    // Bulk delete
+    // Bulk delete; returns the number of products deleted
     @Transactional
-    public void bulkDelete(List<Long> ids) {
-        ids.forEach(this::deleteProduct);
+    public int bulkDelete(List<Long> ids) {
+        int deleted = 0;
+        for (List<Long> chunk : bulkChunks(ids)) {
+            List<Object[]> sellers = productRepository.findSellerIdsByIdIn(chunk);
+            deleted += productRepository.deleteByIdIn(chunk);
+            List<Long> removed = publishBulk(sellers, ProductEvent.Type.DELETED);
+            productSearchService.productsRemoved(removed);
+            productFacetService.productsRemoved(removed);
+            productViewCache.productsChanged(removed);
+        }
+        return deleted;
+    }
+    
+    /**
+     * One UPDATE per chunk instead of a load and save per product. Status is not part of the search or
+     * facet documents, so only the cached views and the ProductEvent listeners need to hear about it.
+     */
+    private int bulkUpdateStatus(List<Long> ids, String status) {
+        int updated = 0;
+        LocalDateTime now = LocalDateTime.now();
+        for (List<Long> chunk : bulkChunks(ids)) {
+            List<Object[]> sellers = productRepository.findSellerIdsByIdIn(chunk);
+            updated += productRepository.updateStatusByIdIn(chunk, status, now);
+            productViewCache.productsChanged(publishBulk(sellers, ProductEvent.Type.SAVED));
+        }
+        return updated;
+    }
+    
+    // Distinct ids in IN lists of at most BULK_CHUNK_SIZE, sorted so overlapping bulk actions lock rows in the same order
+    private static List<List<Long>> bulkChunks(List<Long> ids) {
+        List<Long> distinct = ids.stream().filter(Objects::nonNull).distinct().sorted().toList();
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int from = 0; from < distinct.size(); from += BULK_CHUNK_SIZE) {
+            chunks.add(distinct.subList(from, Math.min(from + BULK_CHUNK_SIZE, distinct.size())));
+        }
+        return chunks;
+    }
+    
+    // The same per-product events single updates send, from (id, seller id) rows; returns the ids
+    private List<Long> publishBulk(List<Object[]> sellers, ProductEvent.Type type) {
+        List<Long> productIds = new ArrayList<>(sellers.size());
+        for (Object[] row : sellers) {
+            productIds.add((Long) row[0]);
+            eventPublisher.publishEvent(new ProductEvent((Long) row[0], (Long) row[1], type));
+        }
+        return productIds;
     }
     
     // Statistics
@@ -165,6 +310,10 @@ public class ProductService {
         return productRepository.findLowStockProducts(sellerId);
     }
 
+    public Long getLowStockProductCount(Long sellerId) {
+        return productRepository.countLowStockProducts(sellerId);
+    }
+
     // FIXED: Changed method name
     public Long getOutOfStockProductCount() {
         return productRepository.countByStock(0);
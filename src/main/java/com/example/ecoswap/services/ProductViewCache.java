@@ -0,0 +1,99 @@
+package com.example.ecoswap.services;
+
+import com.example.ecoswap.cache.BoundedCache;
+import com.example.ecoswap.dtos.ProductView;
+import com.example.ecoswap.repository.ProductRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Near cache of ProductView read models for the shop, home and product detail pages.
+ *
+ * Misses of a page are loaded together by one projection query. Entries are invalidated once the
+ * transaction that changed them commits: ProductIndexListener reports every product save or delete
+ * (ProductService edits, review rating updates, stock changes at checkout) and category renames;
+ * seller name changes clear the cache. The TTL bounds staleness for anything else.
+ */
+@Component
+public class ProductViewCache {
+
+    private final ProductRepository productRepository;
+    private final BoundedCache<Long, ProductView> cache;
+
+    public ProductViewCache(ProductRepository productRepository,
+                            @Value("${ecoswap.catalog.cache.maximum-size:10000}") int maximumSize,
+                            @Value("${ecoswap.catalog.cache.ttl-seconds:600}") long ttlSeconds) {
+        this.productRepository = productRepository;
+        this.cache = new BoundedCache<>(maximumSize, ttlSeconds, ProductView::estimatedSize);
+    }
+
+    /**
+     * The view of one product, or null if it does not exist
+     */
+    public ProductView get(Long productId) {
+        List<ProductView> views = getAll(List.of(productId));
+        return views.isEmpty() ? null : views.get(0);
+    }
+
+    /**
+     * Views of the given products in the same order, skipping products that no longer exist
+     */
+    public List<ProductView> getAll(List<Long> productIds) {
+        Map<Long, ProductView> found = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long id : productIds) {
+            ProductView view = cache.get(id);
+            if (view != null) {
+                found.put(id, view);
+            } else {
+                missing.add(id);
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            long generation = cache.generation();
+            for (ProductView view : productRepository.findViewsByIdIn(missing)) {
+                found.put(view.getId(), view);
+                cache.put(view.getId(), view, generation);
+            }
+        }
+
+        List<ProductView> views = new ArrayList<>(productIds.size());
+        for (Long id : productIds) {
+            ProductView view = found.get(id);
+            if (view != null) {
+                views.add(view);
+            }
+        }
+        return views;
+    }
+
+    // Invalidating before the commit would let a concurrent request cache the old row again
+    public void productChanged(Long productId) {
+        AfterCommit.run(() -> cache.invalidate(productId));
+    }
+
+    public void productsChanged(Collection<Long> productIds) {
+        AfterCommit.run(() -> productIds.forEach(cache::invalidate));
+    }
+
+    /**
+     * A category or seller name shown on many views changed
+     */
+    public void namesChanged() {
+        AfterCommit.run(cache::invalidateAll);
+    }
+
+    /**
+     * Hit rate and estimated memory use for monitoring
+     */
+    public Map<String, Object> getStatistics() {
+        return cache.getStatistics();
+    }
+}
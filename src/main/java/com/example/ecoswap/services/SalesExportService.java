@@ -0,0 +1,107 @@
+package com.example.ecoswap.services;
+
+import com.example.ecoswap.model.enums.OrderStatus;
+import com.example.ecoswap.repository.OrderItemRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes order-item sales reports as CSV straight from a forward-only query cursor.
+ *
+ * Rows are scalar projections (no entities), streamed row by row by the driver and written as they
+ * arrive, so heap use does not grow with the size of the export. Date range and status
+ * filters are part of the SQL.
+ */
+@Service
+public class SalesExportService {
+
+    private static final String HEADER =
+        "order_number,order_date,status,customer,seller_id,seller,sku,product,category,quantity,unit_price,line_total";
+
+    // Flush periodically so the client starts receiving data early
+    private static final int FLUSH_EVERY_ROWS = 1000;
+
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+
+    /**
+     * Export a seller's order lines created between from and to (inclusive days)
+     */
+    @Transactional(readOnly = true)
+    public long exportSellerSales(Long sellerId, LocalDate from, LocalDate to, OrderStatus status, OutputStream out) throws IOException {
+        try (Stream<Object[]> rows = orderItemRepository.streamExportRowsBySeller(sellerId, startOf(from), endOf(to), status)) {
+            return writeCsv(rows, out);
+        }
+    }
+
+    /**
+     * Export all order lines on the platform created between from and to (inclusive days)
+     */
+    @Transactional(readOnly = true)
+    public long exportPlatformSales(LocalDate from, LocalDate to, OrderStatus status, OutputStream out) throws IOException {
+        try (Stream<Object[]> rows = orderItemRepository.streamExportRows(startOf(from), endOf(to), status)) {
+            return writeCsv(rows, out);
+        }
+    }
+
+    private long writeCsv(Stream<Object[]> rows, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        writer.write(HEADER);
+        writer.write('\n');
+
+        long count = 0;
+        Iterator<Object[]> iterator = rows.iterator();
+        while (iterator.hasNext()) {
+            Object[] row = iterator.next();
+            for (int i = 0; i < row.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writer.write(escape(row[i]));
+            }
+            writer.write('\n');
+
+            if (++count % FLUSH_EVERY_ROWS == 0) {
+                writer.flush();
+            }
+        }
+        writer.flush();
+        return count;
+    }
+
+    private static LocalDateTime startOf(LocalDate from) {
+        return (from != null ? from : LocalDate.of(1970, 1, 1)).atStartOfDay();
+    }
+
+    private static LocalDateTime endOf(LocalDate to) {
+        return (to != null ? to : LocalDate.now()).plusDays(1).atStartOfDay();
+    }
+
+    // RFC 4180 quoting; values starting with a formula character (or a tab or carriage return, which
+    // spreadsheets may strip before one) are prefixed so spreadsheets don't evaluate them
+    static String escape(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value instanceof OrderStatus status ? status.name() : value.toString();
+        if (!text.isEmpty() && "=+-@\t\r".indexOf(text.charAt(0)) >= 0 && !(value instanceof Number)) {
+            text = "'" + text;
+        }
+        if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+            return '"' + text.replace("\"", "\"\"") + '"';
+        }
+        return text;
+    }
+}
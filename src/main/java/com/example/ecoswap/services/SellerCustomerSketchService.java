@@ -0,0 +1,127 @@
+package com.example.ecoswap.services;
+
+import com.example.ecoswap.analytics.HyperLogLog;
+import com.example.ecoswap.events.OrderEvent;
+import com.example.ecoswap.model.SellerCustomerSketch;
+import com.example.ecoswap.model.enums.OrderStatus;
+import com.example.ecoswap.repository.OrderItemRepository;
+import com.example.ecoswap.repository.SellerCustomerSketchRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+
+/**
+ * Approximate distinct-customer counts per seller, kept as one HyperLogLog sketch per month.
+ *
+ * Customers are added when an order reaches DELIVERED. Sketches cannot forget a customer,
+ * so a delivery that is later cancelled or refunded still counts until the next rebuild.
+ * Estimates have a relative standard error of about 0.8% (see HyperLogLog).
+ */
+@Service
+public class SellerCustomerSketchService {
+
+    @Autowired
+    private SellerCustomerSketchRepository sketchRepository;
+
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+
+    /**
+     * Runs in the publishing transaction so the sketch is saved together with the status change.
+     * Each sketch row is created if missing and write-locked before its registers are merged, so
+     * concurrent deliveries to the same seller don't overwrite each other's customers.
+     */
+    @EventListener
+    public void onOrderEvent(OrderEvent event) {
+        if (!event.isDelivery()) {
+            return;
+        }
+
+        LocalDate salesMonth = monthOf(event.getOrder().getCreatedAt());
+        byte[] empty = new HyperLogLog().toBytes();
+        // Sellers in id order, so two orders from the same sellers lock their sketches in the same order
+        for (Long sellerId : new TreeSet<>(event.getSellerIds())) {
+            sketchRepository.createIfMissing(sellerId, salesMonth, empty, LocalDateTime.now());
+            SellerCustomerSketch sketch = sketchRepository.findForUpdate(sellerId, salesMonth)
+                .orElseThrow(() -> new RuntimeException("Customer sketch not found"));
+
+            HyperLogLog hll = HyperLogLog.fromBytes(sketch.getRegisters());
+            // Repeat customers usually leave the registers unchanged, so there is nothing to write
+            if (hll.offer(event.getCustomerId())) {
+                sketch.setRegisters(hll.toBytes());
+                sketchRepository.save(sketch);
+            }
+        }
+    }
+
+    /**
+     * Estimated distinct customers with delivered orders, all time
+     */
+    public long estimateDistinctCustomers(Long sellerId) {
+        return estimateDistinctCustomers(sellerId, LocalDate.of(1970, 1, 1));
+    }
+
+    /**
+     * Estimated distinct customers with delivered orders in a given month
+     */
+    public long estimateDistinctCustomers(Long sellerId, YearMonth month) {
+        return sketchRepository.findBySellerIdAndSalesMonth(sellerId, month.atDay(1))
+            .map(sketch -> HyperLogLog.fromBytes(sketch.getRegisters()).cardinality())
+            .orElse(0L);
+    }
+
+    /**
+     * Estimated distinct customers with delivered orders from a given month onwards (months are merged)
+     */
+    public long estimateDistinctCustomers(Long sellerId, LocalDate since) {
+        HyperLogLog merged = new HyperLogLog();
+        for (SellerCustomerSketch sketch : sketchRepository.findBySellerIdSince(sellerId, since.withDayOfMonth(1))) {
+            merged.merge(HyperLogLog.fromBytes(sketch.getRegisters()));
+        }
+        return merged.cardinality();
+    }
+
+    /**
+     * Rebuild every sketch from delivered orders. Returns the number of sketches written.
+     */
+    @Transactional
+    public int rebuild() {
+        sketchRepository.deleteAllInBatch();
+
+        Map<String, SellerCustomerSketch> sketches = new HashMap<>();
+        Map<String, HyperLogLog> registers = new HashMap<>();
+
+        try (Stream<Object[]> rows = orderItemRepository.streamSellerCustomersByStatus(OrderStatus.DELIVERED)) {
+            rows.forEach(r -> {
+                Long sellerId = (Long) r[0];
+                LocalDate salesMonth = monthOf((LocalDateTime) r[1]);
+                String key = sellerId + ":" + salesMonth;
+                sketches.computeIfAbsent(key, k -> new SellerCustomerSketch(sellerId, salesMonth));
+                registers.computeIfAbsent(key, k -> new HyperLogLog()).offer((Long) r[2]);
+            });
+        }
+
+        List<SellerCustomerSketch> rows = new ArrayList<>(sketches.size());
+        sketches.forEach((key, sketch) -> {
+            sketch.setRegisters(registers.get(key).toBytes());
+            rows.add(sketch);
+        });
+        sketchRepository.saveAll(rows);
+        return rows.size();
+    }
+
+    private LocalDate monthOf(LocalDateTime dateTime) {
+        return dateTime.toLocalDate().withDayOfMonth(1);
+    }
+}
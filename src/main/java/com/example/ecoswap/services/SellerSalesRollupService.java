@@ -0,0 +1,136 @@
+package com.example.ecoswap.services;
+
+import com.example.ecoswap.events.OrderEvent;
+import com.example.ecoswap.model.Order;
+import com.example.ecoswap.model.OrderItem;
+import com.example.ecoswap.model.SellerDailySales;
+import com.example.ecoswap.model.enums.OrderStatus;
+import com.example.ecoswap.repository.OrderItemRepository;
+import com.example.ecoswap.repository.SellerDailySalesRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Maintains the seller_daily_sales rollup from delivered orders.
+ * Orders entering DELIVERED are credited, orders leaving it are debited, as their OrderEvents are published.
+ */
+@Service
+public class SellerSalesRollupService {
+
+    @Autowired
+    private SellerDailySalesRepository rollupRepository;
+
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+
+    /**
+     * Runs in the publishing transaction so the rollup is saved together with the status change
+     */
+    @EventListener
+    public void onOrderEvent(OrderEvent event) {
+        if (event.isDelivery()) {
+            apply(event.getOrder(), 1);
+        } else if (event.isDeliveryReversal()) {
+            apply(event.getOrder(), -1);
+        }
+    }
+
+    private void apply(Order order, int sign) {
+        LocalDate salesDate = order.getCreatedAt().toLocalDate();
+
+        // Categories come from the snapshot taken at purchase time
+        order.getOrderItems().forEach(OrderItem::captureImpactSnapshot);
+        Map<Long, List<OrderItem>> itemsBySeller = order.getOrderItems().stream()
+            .collect(Collectors.groupingBy(item -> item.getSeller().getId()));
+
+        for (Map.Entry<Long, List<OrderItem>> sellerEntry : itemsBySeller.entrySet()) {
+            Long sellerId = sellerEntry.getKey();
+
+            // Sorted so the order is always attributed to the same (lowest) category
+            TreeMap<Long, List<OrderItem>> itemsByCategory = sellerEntry.getValue().stream()
+                .collect(Collectors.groupingBy(OrderItem::getCategoryId, TreeMap::new, Collectors.toList()));
+            Long primaryCategoryId = itemsByCategory.firstKey();
+
+            for (Map.Entry<Long, List<OrderItem>> categoryEntry : itemsByCategory.entrySet()) {
+                Long categoryId = categoryEntry.getKey();
+                List<OrderItem> items = categoryEntry.getValue();
+
+                BigDecimal revenue = items.stream()
+                    .map(OrderItem::getLineTotal)
+                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+                long quantity = items.stream().mapToLong(OrderItem::getQuantity).sum();
+                long orders = categoryId.equals(primaryCategoryId) ? sign : 0;
+
+                rollupRepository.addSales(sellerId, salesDate, categoryId,
+                    sign > 0 ? revenue : revenue.negate(), sign * quantity, orders, LocalDateTime.now());
+            }
+        }
+    }
+
+    /**
+     * Rebuild the whole rollup from existing order items.
+     * Returns the number of rollup rows written.
+     */
+    @Transactional
+    public int rebuild() {
+        rollupRepository.deleteAllInBatch();
+
+        Map<String, SellerDailySales> rows = new HashMap<>();
+
+        for (Object[] r : orderItemRepository.aggregateDailySalesByStatus(OrderStatus.DELIVERED)) {
+            SellerDailySales row = new SellerDailySales((Long) r[0], (LocalDate) r[1], (Long) r[2]);
+            row.setRevenue((BigDecimal) r[3]);
+            row.setItemsSold(((Number) r[4]).longValue());
+            rows.put(rowKey(row.getSellerId(), row.getSalesDate(), row.getCategoryId()), row);
+        }
+
+        // Orders are counted on their primary category only, same as the incremental path
+        try (Stream<Object[]> orders = orderItemRepository.streamPrimaryCategoryByStatus(OrderStatus.DELIVERED)) {
+            orders.forEach(r -> {
+                LocalDate salesDate = ((LocalDateTime) r[1]).toLocalDate();
+                SellerDailySales row = rows.get(rowKey((Long) r[0], salesDate, (Long) r[2]));
+                if (row != null) {
+                    row.setOrderCount(row.getOrderCount() + 1);
+                }
+            });
+        }
+
+        rollupRepository.saveAll(rows.values());
+        return rows.size();
+    }
+
+    private String rowKey(Long sellerId, LocalDate salesDate, Long categoryId) {
+        return sellerId + ":" + salesDate + ":" + categoryId;
+    }
+
+    /**
+     * Get rollup rows for a seller from a given day onwards
+     */
+    public List<SellerDailySales> getDailySales(Long sellerId, LocalDate since) {
+        return rollupRepository.findBySellerIdSince(sellerId, since);
+    }
+
+    /**
+     * Get all-time totals for a seller: revenue, items sold, orders and first sale day
+     */
+    public Map<String, Object> getSellerTotals(Long sellerId) {
+        Map<String, Object> totals = new HashMap<>();
+        List<Object[]> result = rollupRepository.sumTotalsBySeller(sellerId);
+        Object[] row = result.isEmpty() ? new Object[4] : result.get(0);
+
+        totals.put("revenue", row[0] != null ? (BigDecimal) row[0] : BigDecimal.ZERO);
+        totals.put("itemsSold", row[1] != null ? ((Number) row[1]).longValue() : 0L);
+        totals.put("orders", row[2] != null ? ((Number) row[2]).longValue() : 0L);
+        totals.put("firstSaleDate", row[3]);
+        return totals;
+    }
+}
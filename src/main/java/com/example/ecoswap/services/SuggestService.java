@@ -0,0 +1,327 @@
+package com.example.ecoswap.services;
+
+import com.example.ecoswap.events.OrderEvent;
+import com.example.ecoswap.events.ProductEvent;
+import com.example.ecoswap.model.Category;
+import com.example.ecoswap.model.OrderItem;
+import com.example.ecoswap.model.enums.OrderStatus;
+import com.example.ecoswap.repository.CategoryRepository;
+import com.example.ecoswap.repository.OrderItemRepository;
+import com.example.ecoswap.repository.ProductRepository;
+import com.example.ecoswap.search.Suggestion;
+import com.example.ecoswap.search.SuggestionIndex;
+import com.example.ecoswap.search.TextTokenizer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Shop search autocomplete over product names, categories and popular searches.
+ *
+ * Suggestions are served from an immutable SuggestionIndex swapped in through a volatile field,
+ * so lookups never lock. Product saves and deletes, delivered units and searches are only
+ * buffered; a background refresh drains the buffer, reloads the changed products in one query
+ * and rebuilds the index, at most once per refresh interval.
+ *
+ * Products are weighted by units delivered, categories by the weight of their products and
+ * searches by how often they were made. Search counts live in memory only, are halved every
+ * half-life, and the lowest are dropped when too many distinct searches are tracked. A search is
+ * only suggested if every word of it appears in a product or category name, so arbitrary text
+ * typed into the shop search is never shown to other shoppers.
+ */
+@Component
+public class SuggestService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SuggestService.class);
+
+    // Searches become suggestions once made this often; past the limit the lowest counts are dropped
+    private static final int MIN_QUERY_COUNT = 3;
+    private static final int MAX_TRACKED_QUERIES = 10_000;
+    private static final int TRIMMED_QUERIES = MAX_TRACKED_QUERIES * 3 / 4;
+    private static final int MAX_QUERY_LENGTH = 60;
+
+    private volatile SuggestionIndex index = SuggestionIndex.EMPTY;
+
+    // Index inputs, only touched under the refresh lock
+    private final Map<Long, ProductEntry> products = new HashMap<>();
+
+    // Buffered changes, drained by refresh()
+    private final Set<Long> changedProducts = ConcurrentHashMap.newKeySet();
+    private final ConcurrentHashMap<Long, Long> deliveredUnits = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, AtomicLong> queryCounts = new ConcurrentHashMap<>();
+    private volatile boolean queriesChanged;
+    private volatile boolean queriesFull;
+    private long lastDecayNanos = System.nanoTime();
+
+    private final ProductRepository productRepository;
+    private final CategoryRepository categoryRepository;
+    private final OrderItemRepository orderItemRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ScheduledExecutorService refresher;
+    private final long refreshIntervalSeconds;
+    private final long queryHalfLifeNanos;
+
+    public SuggestService(ProductRepository productRepository,
+                          CategoryRepository categoryRepository,
+                          OrderItemRepository orderItemRepository,
+                          PlatformTransactionManager transactionManager,
+                          @Value("${ecoswap.suggest.refresh-interval-seconds:5}") long refreshIntervalSeconds,
+                          @Value("${ecoswap.suggest.query-half-life-minutes:60}") long queryHalfLifeMinutes) {
+        this.productRepository = productRepository;
+        this.categoryRepository = categoryRepository;
+        this.orderItemRepository = orderItemRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.refreshIntervalSeconds = refreshIntervalSeconds;
+        this.queryHalfLifeNanos = TimeUnit.MINUTES.toNanos(queryHalfLifeMinutes);
+        this.refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "suggest-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PostConstruct
+    public void start() {
+        load();
+        refresher.scheduleWithFixedDelay(this::refreshQuietly, refreshIntervalSeconds, refreshIntervalSeconds, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refresher.shutdownNow();
+    }
+
+    // ============ READS ============
+
+    /**
+     * Best completions of what the user has typed so far
+     */
+    public List<Suggestion> suggest(String prefix, int limit) {
+        return prefix == null ? List.of() : index.top(prefix, limit);
+    }
+
+    // ============ UPDATES ============
+
+    /**
+     * Count a shop search that found products; frequent ones are suggested to other shoppers
+     */
+    public void recordQuery(String query) {
+        String normalized = String.join(" ", TextTokenizer.tokenize(query));
+        if (normalized.isEmpty() || normalized.length() > MAX_QUERY_LENGTH) {
+            return;
+        }
+        AtomicLong count = queryCounts.get(normalized);
+        if (count == null) {
+            if (queryCounts.size() >= MAX_TRACKED_QUERIES) {
+                // The next refresh drops the lowest counts to make room
+                queriesFull = true;
+                return;
+            }
+            count = queryCounts.computeIfAbsent(normalized, q -> new AtomicLong());
+        }
+        // Rebuild when a search first qualifies and whenever its count doubles, not on every search
+        long sum = count.incrementAndGet();
+        if (sum == MIN_QUERY_COUNT || (sum > MIN_QUERY_COUNT && Long.bitCount(sum) == 1)) {
+            queriesChanged = true;
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductEvent(ProductEvent event) {
+        changedProducts.add(event.getProductId());
+    }
+
+    /**
+     * Units are counted in the publishing transaction (order items are still loaded)
+     * and buffered once it commits
+     */
+    @EventListener
+    public void onOrderEvent(OrderEvent event) {
+        int sign;
+        if (event.isDelivery()) {
+            sign = 1;
+        } else if (event.isDeliveryReversal()) {
+            sign = -1;
+        } else {
+            return;
+        }
+
+        Map<Long, Long> units = new HashMap<>();
+        for (OrderItem item : event.getOrder().getOrderItems()) {
+            units.merge(item.getProduct().getId(), (long) sign * item.getQuantity(), Long::sum);
+        }
+        AfterCommit.run(() -> units.forEach((productId, quantity) -> deliveredUnits.merge(productId, quantity, Long::sum)));
+    }
+
+    /**
+     * Apply buffered changes and rebuild the index if there were any.
+     * Returns true if the index was rebuilt.
+     */
+    public synchronized boolean refresh() {
+        List<Long> changed = new ArrayList<>(changedProducts);
+        changedProducts.removeAll(changed);
+        Map<Long, Long> units = new HashMap<>();
+        for (Long productId : new ArrayList<>(deliveredUnits.keySet())) {
+            Long quantity = deliveredUnits.remove(productId);
+            if (quantity != null) {
+                units.put(productId, quantity);
+            }
+        }
+        boolean queries = maintainQueryCounts();
+        if (changed.isEmpty() && units.isEmpty() && !queries) {
+            return false;
+        }
+
+        Map<Long, String> categoryNames;
+        try {
+            categoryNames = transactionTemplate.execute(status -> {
+                if (!changed.isEmpty()) {
+                    Set<Long> missing = new HashSet<>(changed);
+                    for (Object[] r : productRepository.findSuggestRowsByIdIn(changed)) {
+                        ProductEntry entry = products.computeIfAbsent((Long) r[0], id -> new ProductEntry());
+                        entry.name = (String) r[1];
+                        entry.categoryId = (Long) r[2];
+                        missing.remove((Long) r[0]);
+                    }
+                    missing.forEach(products::remove);
+                }
+                return categoryNames();
+            });
+        } catch (RuntimeException e) {
+            // Put the drained changes back so the next refresh retries them
+            changedProducts.addAll(changed);
+            units.forEach((productId, quantity) -> deliveredUnits.merge(productId, quantity, Long::sum));
+            if (queries) {
+                queriesChanged = true;
+            }
+            throw e;
+        }
+        units.forEach((productId, quantity) -> {
+            ProductEntry entry = products.get(productId);
+            if (entry != null) {
+                entry.unitsSold += quantity;
+            }
+        });
+
+        index = SuggestionIndex.build(suggestions(categoryNames));
+        return true;
+    }
+
+    // Halves every count once per half-life and trims the table when it is full.
+    // Returns true if the suggested searches may have changed.
+    private boolean maintainQueryCounts() {
+        boolean changed = queriesChanged;
+        queriesChanged = false;
+
+        long now = System.nanoTime();
+        if (now - lastDecayNanos >= queryHalfLifeNanos) {
+            lastDecayNanos = now;
+            queryCounts.forEach((query, count) -> {
+                if (count.updateAndGet(c -> c / 2) == 0) {
+                    queryCounts.remove(query, count);
+                }
+            });
+            changed = true;
+        }
+
+        if (queriesFull) {
+            queriesFull = false;
+            List<Map.Entry<String, Long>> entries = new ArrayList<>(queryCounts.size());
+            queryCounts.forEach((query, count) -> entries.add(Map.entry(query, count.get())));
+            entries.sort(Map.Entry.comparingByValue());
+            for (int i = 0; i < entries.size() - TRIMMED_QUERIES; i++) {
+                queryCounts.remove(entries.get(i).getKey());
+            }
+            changed = true;
+        }
+        return changed;
+    }
+
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (Exception e) {
+            logger.warn("Suggestion refresh failed, will retry: {}", e.getMessage());
+        }
+    }
+
+    private synchronized void load() {
+        long start = System.currentTimeMillis();
+        Map<Long, String> categoryNames = transactionTemplate.execute(status -> {
+            products.clear();
+            try (Stream<Object[]> rows = productRepository.streamSuggestRows()) {
+                rows.forEach(r -> {
+                    ProductEntry entry = new ProductEntry();
+                    entry.name = (String) r[1];
+                    entry.categoryId = (Long) r[2];
+                    products.put((Long) r[0], entry);
+                });
+            }
+            for (Object[] r : orderItemRepository.sumQuantityByProductAndStatus(OrderStatus.DELIVERED)) {
+                ProductEntry entry = products.get((Long) r[0]);
+                if (entry != null) {
+                    entry.unitsSold = ((Number) r[1]).longValue();
+                }
+            }
+            return categoryNames();
+        });
+        index = SuggestionIndex.build(suggestions(categoryNames));
+        logger.info("Suggestion index loaded: {} suggestions in {} ms", index.size(), System.currentTimeMillis() - start);
+    }
+
+    private Map<Long, String> categoryNames() {
+        Map<Long, String> names = new HashMap<>();
+        for (Category category : categoryRepository.findAll()) {
+            names.put(category.getId(), category.getName());
+        }
+        return names;
+    }
+
+    private List<Suggestion> suggestions(Map<Long, String> categoryNames) {
+        List<Suggestion> suggestions = new ArrayList<>(products.size() + categoryNames.size());
+        Map<Long, Double> categoryWeights = new HashMap<>();
+        products.forEach((id, entry) -> {
+            double weight = 1 + Math.max(entry.unitsSold, 0);
+            suggestions.add(new Suggestion(entry.name, Suggestion.Type.PRODUCT, id, weight));
+            if (entry.categoryId != null) {
+                categoryWeights.merge(entry.categoryId, weight, Double::sum);
+            }
+        });
+        categoryNames.forEach((id, name) ->
+            suggestions.add(new Suggestion(name, Suggestion.Type.CATEGORY, id, categoryWeights.getOrDefault(id, 0.0))));
+
+        // Searches are only suggested in the catalog's own words
+        Set<String> vocabulary = new HashSet<>();
+        products.values().forEach(entry -> vocabulary.addAll(TextTokenizer.tokenize(entry.name)));
+        categoryNames.values().forEach(name -> vocabulary.addAll(TextTokenizer.tokenize(name)));
+        queryCounts.forEach((query, count) -> {
+            long sum = count.get();
+            if (sum >= MIN_QUERY_COUNT && vocabulary.containsAll(Arrays.asList(query.split(" ")))) {
+                suggestions.add(new Suggestion(query, Suggestion.Type.QUERY, null, sum));
+            }
+        });
+        return suggestions;
+    }
+
+    private static final class ProductEntry {
+        private String name;
+        private Long categoryId;
+        private long unitsSold;
+    }
+}
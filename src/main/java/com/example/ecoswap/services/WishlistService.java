@@ -69,14 +69,16 @@ public class WishlistService {
         return wishlistRepository.existsByUserIdAndProductId(userId, productId);
     }
 
-    // Get all products in wishlist
+    // Get all products in wishlist (copied so callers don't need an open session)
+    @Transactional(readOnly = true)
     public List<Product> getWishlistProducts(Long userId) {
         return wishlistRepository.findByUserId(userId)
-            .map(Wishlist::getProducts)
+            .map(wishlist -> List.copyOf(wishlist.getProducts()))
             .orElse(List.of());
     }
 
     // Get wishlist item count
+    @Transactional(readOnly = true)
     public int getWishlistItemCount(Long userId) {
         return wishlistRepository.findByUserId(userId)
             .map(Wishlist::getTotalItems)
@@ -0,0 +1,65 @@
+-- Baseline schema: every table, unique key and foreign key as Hibernate generates them for MySQL 8.
+-- Runs only on an empty database; a database built earlier by ddl-auto=update is recorded at this version
+-- without running it. Later schema changes go in new migrations.
+create table achievement_rules (active bit not null, display_order integer not null, threshold float(53) not null, id bigint not null auto_increment, updated_at datetime(6), icon varchar(20), code varchar(50) not null, description varchar(255), title varchar(255) not null, metric enum ('CO2_SAVED','DELIVERED_ORDERS','ITEMS_PURCHASED','PLASTIC_SAVED') not null, primary key (id)) engine=InnoDB;
+create table analytics_rebuilds (rebuilt_at datetime(6) not null, store varchar(64) not null, primary key (store)) engine=InnoDB;
+create table cart_items (quantity integer not null, added_at datetime(6) not null, cart_id bigint not null, id bigint not null auto_increment, product_id bigint not null, updated_at datetime(6), primary key (id)) engine=InnoDB;
+create table carts (created_at datetime(6) not null, id bigint not null auto_increment, updated_at datetime(6), user_id bigint not null, primary key (id)) engine=InnoDB;
+create table categories (display_order integer, is_active bit, created_at datetime(6) not null, id bigint not null auto_increment, updated_at datetime(6), description varchar(1000), color varchar(255), icon varchar(255), name varchar(255) not null, slug varchar(255), primary key (id)) engine=InnoDB;
+create table category_monthly_revenue (revenue decimal(19,2) not null, sales_month date not null, category_id bigint not null, id bigint not null auto_increment, items_sold bigint not null, seller_id bigint not null, updated_at datetime(6), primary key (id)) engine=InnoDB;
+create table customer_achievements (customer_id bigint not null, id bigint not null auto_increment, rule_id bigint not null, unlocked_at datetime(6) not null, primary key (id)) engine=InnoDB;
+create table customer_impact_breakdown (co2saved float(53) not null, plastic_saved float(53) not null, customer_id bigint not null, id bigint not null auto_increment, items_purchased bigint not null, updated_at datetime(6), dimension_key varchar(50) not null, label varchar(255), dimension enum ('CATEGORY','MONTH') not null, primary key (id)) engine=InnoDB;
+create table customer_impact_ledger (co2saved float(53) not null, plastic_saved float(53) not null, customer_id bigint not null, delivered_orders bigint not null, id bigint not null auto_increment, items_purchased bigint not null, updated_at datetime(6), primary key (id)) engine=InnoDB;
+create table customer_profiles (id bigint not null auto_increment, user_id bigint not null, shipping_address varchar(500), address varchar(255), city varchar(255), country varchar(255), full_name varchar(255), phone varchar(255), phone_number varchar(255), state varchar(255), zip_code varchar(255), primary key (id)) engine=InnoDB;
+create table leaderboard_scores (score float(53) not null, period varchar(7) not null, entity_id bigint not null, id bigint not null auto_increment, updated_at datetime(6), label varchar(255), board enum ('CATEGORY_CO2','CUSTOMER_CO2','SELLER_PLASTIC') not null, primary key (id)) engine=InnoDB;
+create table notifications (is_read bit not null, created_at datetime(6) not null, id bigint not null auto_increment, read_at datetime(6), user_id bigint not null, message varchar(500), icon varchar(255), link varchar(255), title varchar(255) not null, type varchar(255) not null, primary key (id)) engine=InnoDB;
+create table order_items (co2saved float(53), line_total decimal(38,2) not null, plastic_saved float(53), price decimal(38,2) not null, quantity integer not null, category_id bigint, id bigint not null auto_increment, order_id bigint not null, product_id bigint not null, seller_id bigint not null, product_image varchar(255), product_name varchar(255), product_sku varchar(255), primary key (id)) engine=InnoDB;
+create table orders (shipping_cost decimal(38,2) not null, subtotal decimal(38,2) not null, tax decimal(38,2) not null, total_amount decimal(38,2) not null, cancelled_at datetime(6), created_at datetime(6) not null, customer_id bigint not null, delivered_at datetime(6), id bigint not null auto_increment, paid_at datetime(6), shipped_at datetime(6), updated_at datetime(6), order_notes varchar(1000), customer_email varchar(255), customer_phone varchar(255), order_number varchar(255) not null, payment_method varchar(255), payment_status varchar(255), shipping_address varchar(255) not null, shipping_city varchar(255), shipping_country varchar(255), shipping_state varchar(255), shipping_zip_code varchar(255), tracking_number varchar(255), status enum ('CANCELLED','CONFIRMED','DELIVERED','PENDING','PROCESSING','REFUNDED','SHIPPED') not null, primary key (id)) engine=InnoDB;
+create table platform_impact_deltas (co2saved float(53) not null, order_date date not null, plastic_saved float(53) not null, created_at datetime(6), delivered_orders bigint not null, id bigint not null auto_increment, items_sold bigint not null, order_id bigint not null, primary key (id)) engine=InnoDB;
+create table platform_impact_snapshot (co2saved float(53) not null, plastic_saved float(53) not null, delivered_orders bigint not null, id bigint not null, items_sold bigint not null, updated_at datetime(6), primary key (id)) engine=InnoDB;
+create table products (co2saved float(53), eco_score integer not null, is_featured bit, is_new bit, on_sale bit, original_price decimal(38,2), plastic_saved float(53), price decimal(38,2) not null, rating float(53), review_count integer, stock integer not null, category_id bigint not null, created_at datetime(6) not null, id bigint not null auto_increment, sales_count bigint not null, seller_id bigint not null, updated_at datetime(6), description varchar(2000), image varchar(255), name varchar(255) not null, sku varchar(255) not null, status varchar(255) not null, primary key (id)) engine=InnoDB;
+create table reviews (approved bit, helpful_count integer, rating integer not null, verified bit, created_at datetime(6) not null, customer_id bigint not null, id bigint not null auto_increment, order_id bigint, product_id bigint not null, updated_at datetime(6), title varchar(100), comment varchar(2000), primary key (id)) engine=InnoDB;
+create table seller_customer_sketches (sales_month date not null, id bigint not null auto_increment, seller_id bigint not null, updated_at datetime(6), registers blob not null, primary key (id)) engine=InnoDB;
+create table seller_daily_sales (revenue decimal(19,2) not null, sales_date date not null, category_id bigint not null, id bigint not null auto_increment, items_sold bigint not null, order_count bigint not null, seller_id bigint not null, updated_at datetime(6), primary key (id)) engine=InnoDB;
+create table seller_profiles (approved_at datetime(6), created_at datetime(6), id bigint not null auto_increment, user_id bigint not null, business_description varchar(1000), bank_account_name varchar(255), bank_account_number varchar(255), business_address varchar(255), business_email varchar(255), business_name varchar(255), business_phone varchar(255), status varchar(255), store_name varchar(255), tax_id varchar(255), primary key (id)) engine=InnoDB;
+create table settings (allow_reviews bit, auto_approve_products bit, decimal_places integer, email_notifications_enabled bit, free_shipping_threshold float(53), low_stock_threshold integer, maintenance_mode bit, minimum_order_amount float(53), products_per_page integer, send_order_confirmation bit, send_shipping_notification bit, shipping_fee float(53), tax_rate float(53), created_at datetime(6) not null, id bigint not null auto_increment, updated_at datetime(6), address varchar(500), meta_description varchar(500), meta_keywords varchar(500), maintenance_message varchar(1000), shop_description varchar(1000), admin_notification_email varchar(255), contact_email varchar(255), currency_code varchar(255) not null, currency_position varchar(255) not null, currency_symbol varchar(255) not null, facebook_url varchar(255), favicon_url varchar(255), instagram_url varchar(255), linkedin_url varchar(255), logo_url varchar(255), meta_title varchar(255), order_prefix varchar(255), primary_color varchar(255), secondary_color varchar(255), shop_name varchar(255) not null, shop_tagline varchar(255), support_phone varchar(255), twitter_url varchar(255), primary key (id)) engine=InnoDB;
+create table users (enabled bit not null, created_at datetime(6) not null, id bigint not null auto_increment, last_login datetime(6), address varchar(500), email varchar(255) not null, full_name varchar(255) not null, password varchar(255) not null, phone_number varchar(255), role enum ('ADMIN','CUSTOMER','SELLER') not null, primary key (id)) engine=InnoDB;
+create table wishlist_products (product_id bigint not null, wishlist_id bigint not null) engine=InnoDB;
+create table wishlists (created_at datetime(6) not null, id bigint not null auto_increment, updated_at datetime(6), user_id bigint not null, primary key (id)) engine=InnoDB;
+alter table achievement_rules add constraint UKg8k3q9y3i6kxlsgu2f3fcbaom unique (code);
+alter table carts add constraint UK64t7ox312pqal3p7fg9o503c2 unique (user_id);
+alter table categories add constraint UKt8o6pivur7nn124jehx7cygw5 unique (name);
+alter table categories add constraint UKoul14ho7bctbefv8jywp5v3i2 unique (slug);
+create index idx_category_monthly_revenue_month on category_monthly_revenue (sales_month);
+alter table category_monthly_revenue add constraint UKpv3cfejegphfr6n78v5l7sgm4 unique (seller_id, category_id, sales_month);
+alter table customer_achievements add constraint UKromonkx8f7qjcir3gbceddtr5 unique (customer_id, rule_id);
+alter table customer_impact_breakdown add constraint UK27n3louit2rhyb758qbhidyq1 unique (customer_id, dimension, dimension_key);
+alter table customer_impact_ledger add constraint UKpupykp8c83a532tvnoyc8oayi unique (customer_id);
+alter table customer_profiles add constraint UKcw536j6opmbegf01k4hykv2vs unique (user_id);
+create index idx_leaderboard_rank on leaderboard_scores (board, period, score);
+alter table leaderboard_scores add constraint UKjmq2b060qbxd66a4o9ljmj24 unique (board, period, entity_id);
+alter table orders add constraint UKnthkiu7pgmnqnu86i2jyoe2v7 unique (order_number);
+alter table products add constraint UKfhmd06dsmj6k0n90swsh8ie9g unique (sku);
+alter table seller_customer_sketches add constraint UKpb6cc4eiyclkqn2xkffp6g92h unique (seller_id, sales_month);
+alter table seller_daily_sales add constraint UKj64h7eywernu2joc7nt35weut unique (seller_id, sales_date, category_id);
+alter table seller_profiles add constraint UK2264dwvu9q06u7388998fl3he unique (user_id);
+alter table users add constraint UK6dotkott2kjsp8vw4d0m25fb7 unique (email);
+alter table wishlists add constraint UKobh8c909a28dx3aqh4cbdhh25 unique (user_id);
+alter table cart_items add constraint FKpcttvuq4mxppo8sxggjtn5i2c foreign key (cart_id) references carts (id);
+alter table cart_items add constraint FK1re40cjegsfvw58xrkdp6bac6 foreign key (product_id) references products (id);
+alter table carts add constraint FKb5o626f86h46m4s7ms6ginnop foreign key (user_id) references users (id);
+alter table customer_profiles add constraint FK69orkdj1un5rh845ngvvmd1xs foreign key (user_id) references users (id);
+alter table notifications add constraint FK9y21adhxn0ayjhfocscqox7bh foreign key (user_id) references users (id);
+alter table order_items add constraint FKbioxgbv59vetrxe0ejfubep1w foreign key (order_id) references orders (id);
+alter table order_items add constraint FKocimc7dtr037rh4ls4l95nlfi foreign key (product_id) references products (id);
+alter table order_items add constraint FKiteu7744jhts0njdk0g9cmew6 foreign key (seller_id) references users (id);
+alter table orders add constraint FKsjfs85qf6vmcurlx43cnc16gy foreign key (customer_id) references users (id);
+alter table products add constraint FKog2rp4qthbtt2lfyhfo32lsw9 foreign key (category_id) references categories (id);
+alter table products add constraint FKbgw3lyxhsml3kfqnfr45o0vbj foreign key (seller_id) references users (id);
+alter table reviews add constraint FKkquncb1glvrldaui8v52xfd5q foreign key (customer_id) references users (id);
+alter table reviews add constraint FKqwgq1lxgahsxdspnwqfac6sv6 foreign key (order_id) references orders (id);
+alter table reviews add constraint FKpl51cejpw4gy5swfar8br9ngi foreign key (product_id) references products (id);
+alter table seller_profiles add constraint FKcpr5ibp9058g7a9u58wh7xf2y foreign key (user_id) references users (id);
+alter table wishlist_products add constraint FKpj5y3q6hyu53f8q4pd6n7rndc foreign key (product_id) references products (id);
+alter table wishlist_products add constraint FK7qhemtvmqs6ke3rj9gacnqa94 foreign key (wishlist_id) references wishlists (id);
+alter table wishlists add constraint FK330pyw2el06fn5g28ypyljt16 foreign key (user_id) references users (id);
@@ -0,0 +1,22 @@
+-- Composite indexes for the hot filters of ProductRepository, OrderRepository, NotificationRepository
+-- and ReviewRepository. Hibernate (ddl-auto=update) only leaves single-column foreign key indexes; these put
+-- the equality columns first and the sort column last, so each filtered, newest-first list reads one index range.
+-- products (category_id, created_at) is idx_products_category_created, declared on Product with the sort indexes.
+
+-- Seller product list filtered by status, active product counts
+CREATE INDEX idx_products_seller_status ON products (seller_id, status);
+
+-- Seller product list newest first and its keyset pages
+CREATE INDEX idx_products_seller_created ON products (seller_id, created_at DESC, id DESC);
+
+-- Customer order history and its keyset pages
+CREATE INDEX idx_orders_customer_created ON orders (customer_id, created_at DESC, id DESC);
+
+-- Seller order lists, counts and revenue: a seller's items and the orders they belong to
+CREATE INDEX idx_order_items_seller_order ON order_items (seller_id, order_id);
+
+-- Unread notification badge and list
+CREATE INDEX idx_notifications_user_read ON notifications (user_id, is_read, created_at DESC);
+
+-- Approved reviews of a product and their count; rating last so the average is read from the index alone
+CREATE INDEX idx_reviews_product_approved ON reviews (product_id, approved, created_at DESC, rating);
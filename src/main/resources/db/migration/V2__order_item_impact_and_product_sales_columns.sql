@@ -0,0 +1,7 @@
+-- Columns added to existing tables by the impact snapshots (order_items) and the sales counter (products).
+-- A database built before the migrations gets them here, ahead of the indexes on them in V3, instead of from
+-- ddl-auto=update, which only runs after every migration. Columns the table already has are skipped.
+ALTER TABLE order_items ADD COLUMN co2saved DOUBLE;
+ALTER TABLE order_items ADD COLUMN plastic_saved DOUBLE;
+ALTER TABLE order_items ADD COLUMN category_id BIGINT;
+ALTER TABLE products ADD COLUMN sales_count BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,29 @@
+-- Shop sort orders, with and without a category filter (ProductSort). Each index ends in id, the tie-breaker,
+-- so "SELECT id ... ORDER BY" pages read the index alone; HotPathIndexTest EXPLAINs every sort. Price sorts
+-- both ways from one ascending index, which MySQL 8 reads backwards for high to low.
+-- These were @Index declarations on Product; databases built by ddl-auto=update already have them (plus two
+-- descending price copies), so they are dropped first. A DROP of an index that does not exist is skipped.
+DROP INDEX idx_products_category_price ON products;
+DROP INDEX idx_products_category_price_desc ON products;
+DROP INDEX idx_products_category_rating ON products;
+DROP INDEX idx_products_category_eco_score ON products;
+DROP INDEX idx_products_category_sales ON products;
+DROP INDEX idx_products_category_created ON products;
+DROP INDEX idx_products_price ON products;
+DROP INDEX idx_products_price_desc ON products;
+DROP INDEX idx_products_rating ON products;
+DROP INDEX idx_products_eco_score ON products;
+DROP INDEX idx_products_sales ON products;
+DROP INDEX idx_products_created ON products;
+
+CREATE INDEX idx_products_category_price ON products (category_id, price, id);
+CREATE INDEX idx_products_category_rating ON products (category_id, rating DESC, id DESC);
+CREATE INDEX idx_products_category_eco_score ON products (category_id, eco_score DESC, id DESC);
+CREATE INDEX idx_products_category_sales ON products (category_id, sales_count DESC, id DESC);
+CREATE INDEX idx_products_category_created ON products (category_id, created_at DESC, id DESC);
+
+CREATE INDEX idx_products_price ON products (price, id);
+CREATE INDEX idx_products_rating ON products (rating DESC, id DESC);
+CREATE INDEX idx_products_eco_score ON products (eco_score DESC, id DESC);
+CREATE INDEX idx_products_sales ON products (sales_count DESC, id DESC);
+CREATE INDEX idx_products_created ON products (created_at DESC, id DESC);
@@ -190,9 +190,13 @@ function getSelectedIds() {
     return Array.from(checkboxes).map(cb => cb.value);
 }
 
-// Pagination
-function changePage(page) {
-    window.location.href = '/dashboard/products?page=' + page;
+// Pagination (after is the page token of the Next button, which seeks instead of counting an offset)
+function changePage(page, after) {
+    let url = '/dashboard/products?page=' + page;
+    if (after) {
+        url += '&after=' + encodeURIComponent(after);
+    }
+    window.location.href = url;
 }
 
 // Make all functions globally available
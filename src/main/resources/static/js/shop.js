@@ -59,3 +59,60 @@ function updateCartCount(count) {
         cartBadge.style.display = count > 0 ? 'inline-block' : 'none';
     }
 }
+
+// Facet filters: apply on change, leaving "any" options out of the URL
+document.addEventListener('DOMContentLoaded', () => {
+    const form = document.getElementById('shop-filters');
+    if (!form) {
+        return;
+    }
+
+    form.addEventListener('submit', () => {
+        Array.from(form.elements).forEach(input => {
+            if (input.name && input.value === '') {
+                input.disabled = true;
+            }
+        });
+    });
+
+    document.querySelectorAll('input[form="shop-filters"], select[form="shop-filters"]').forEach(input => {
+        input.addEventListener('change', () => form.requestSubmit());
+    });
+});
+
+// Search box autocomplete from /shop/suggest
+document.addEventListener('DOMContentLoaded', () => {
+    const input = document.querySelector('.minimal-search-input[list]');
+    const list = document.getElementById('shop-suggestions');
+    if (!input || !list) {
+        return;
+    }
+
+    let timer;
+    let lastQuery = '';
+    input.addEventListener('input', () => {
+        clearTimeout(timer);
+        timer = setTimeout(() => {
+            const query = input.value.trim();
+            if (query === lastQuery) {
+                return;
+            }
+            lastQuery = query;
+            if (!query) {
+                list.innerHTML = '';
+                return;
+            }
+            fetch(`/shop/suggest?q=${encodeURIComponent(input.value)}`)
+                .then(response => response.json())
+                .then(suggestions => {
+                    list.innerHTML = '';
+                    suggestions.forEach(suggestion => {
+                        const option = document.createElement('option');
+                        option.value = suggestion.text;
+                        list.appendChild(option);
+                    });
+                })
+                .catch(error => console.error('Suggestions unavailable:', error));
+        }, 120);
+    });
+});
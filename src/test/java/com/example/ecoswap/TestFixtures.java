@@ -0,0 +1,169 @@
+package com.example.ecoswap;
+
+import com.example.ecoswap.model.Category;
+import com.example.ecoswap.model.Order;
+import com.example.ecoswap.model.OrderItem;
+import com.example.ecoswap.model.Product;
+import com.example.ecoswap.model.User;
+import com.example.ecoswap.model.enums.OrderStatus;
+import com.example.ecoswap.model.enums.Role;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestComponent;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Users, categories, products and orders for JPA tests. Add it to the test's @Import; every save
+ * persists and flushes, so ids are assigned and later queries see the rows.
+ */
+@TestComponent
+public class TestFixtures {
+
+    private static final AtomicLong sequence = new AtomicLong();
+
+    @Autowired
+    private EntityManager entityManager;
+
+    public User user(String email, String fullName, Role role) {
+        return persist(new User(email, "secret", fullName, role));
+    }
+
+    public User seller(String email) {
+        return user(email, "Seller", Role.SELLER);
+    }
+
+    public User customer(String email) {
+        return user(email, "Customer", Role.CUSTOMER);
+    }
+
+    public Category category(String name) {
+        Category category = new Category();
+        category.setName(name);
+        return persist(category);
+    }
+
+    /**
+     * A product named "<category> item" priced 10.00 with 100 in stock, unless set otherwise
+     */
+    public ProductBuilder product(User seller, Category category) {
+        return new ProductBuilder(seller, category);
+    }
+
+    /**
+     * An order shipped to "1 Green Street"; add items before saving
+     */
+    public OrderBuilder order(User customer, OrderStatus status) {
+        return new OrderBuilder(customer, status);
+    }
+
+    private <T> T persist(T entity) {
+        entityManager.persist(entity);
+        entityManager.flush();
+        return entity;
+    }
+
+    private static long next() {
+        return sequence.incrementAndGet();
+    }
+
+    public class ProductBuilder {
+
+        private final Product product = new Product();
+
+        private ProductBuilder(User seller, Category category) {
+            product.setName(category.getName() + " item");
+            product.setSku("SKU-" + next());
+            product.setPrice(new BigDecimal("10.00"));
+            product.setStock(100);
+            product.setCategory(category);
+            product.setSeller(seller);
+        }
+
+        public ProductBuilder name(String name) {
+            product.setName(name);
+            return this;
+        }
+
+        public ProductBuilder description(String description) {
+            product.setDescription(description);
+            return this;
+        }
+
+        public ProductBuilder sku(String sku) {
+            product.setSku(sku);
+            return this;
+        }
+
+        public ProductBuilder price(String price) {
+            product.setPrice(new BigDecimal(price));
+            return this;
+        }
+
+        public ProductBuilder stock(int stock) {
+            product.setStock(stock);
+            return this;
+        }
+
+        public ProductBuilder impact(double co2Saved, double plasticSaved) {
+            product.setCo2Saved(co2Saved);
+            product.setPlasticSaved(plasticSaved);
+            return this;
+        }
+
+        public ProductBuilder createdAt(LocalDateTime createdAt) {
+            product.setCreatedAt(createdAt);
+            return this;
+        }
+
+        /**
+         * The product, not saved (for tests that save it through a service)
+         */
+        public Product build() {
+            return product;
+        }
+
+        public Product save() {
+            return persist(product);
+        }
+    }
+
+    public class OrderBuilder {
+
+        private final Order order = new Order();
+
+        private OrderBuilder(User customer, OrderStatus status) {
+            order.setOrderNumber("ORD-" + next());
+            order.setCustomer(customer);
+            order.setShippingAddress("1 Green Street");
+            order.setStatus(status);
+        }
+
+        /**
+         * A line for the product at its current price, sold by its seller
+         */
+        public OrderBuilder item(Product product, int quantity) {
+            OrderItem item = new OrderItem();
+            item.setProduct(product);
+            item.setSeller(product.getSeller());
+            item.setQuantity(quantity);
+            item.setPrice(product.getPrice());
+            item.setProductName(product.getName());
+            item.calculateLineTotal();
+            order.addOrderItem(item);
+            return this;
+        }
+
+        public OrderBuilder createdAt(LocalDateTime createdAt) {
+            order.setCreatedAt(createdAt);
+            return this;
+        }
+
+        public Order save() {
+            order.calculateTotal();
+            return persist(order);
+        }
+    }
+}
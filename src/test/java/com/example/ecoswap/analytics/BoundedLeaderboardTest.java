@@ -0,0 +1,51 @@
+package com.example.ecoswap.analytics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BoundedLeaderboardTest {
+
+    @Test
+    void keepsOnlyTheBestEntriesBestFirst() {
+        BoundedLeaderboard board = new BoundedLeaderboard(3);
+        board.offer(1, "a", 5);
+        board.offer(2, "b", 9);
+        board.offer(3, "c", 1);
+        board.offer(4, "d", 7);
+        board.offer(5, "e", 9); // ties with 2, ranks after it
+
+        assertEquals(3, board.size());
+        assertEquals(List.of(2L, 5L, 4L), ids(board.top(10)));
+        assertEquals(List.of(2L), ids(board.top(1)));
+    }
+
+    @Test
+    void adjustReordersKnownEntriesOnly() {
+        BoundedLeaderboard board = new BoundedLeaderboard(2);
+        board.replaceAll(List.of(
+            new BoundedLeaderboard.Entry(1, "a", 3),
+            new BoundedLeaderboard.Entry(2, "b", 2),
+            new BoundedLeaderboard.Entry(3, "c", 1)));
+
+        assertTrue(board.adjust(2, 5));
+        assertFalse(board.adjust(3, 10));
+        assertEquals(List.of(2L, 1L), ids(board.top(2)));
+        assertEquals(7.0, board.top(1).get(0).getScore(), 1e-9);
+        // 3 is off the full board: it would only make it past the last entry
+        assertTrue(board.admits(3, 4));
+        assertFalse(board.admits(3, 2));
+
+        // Offering an id already on the board replaces its score
+        board.offer(1, "a", 8);
+        assertEquals(List.of(1L, 2L), ids(board.top(2)));
+    }
+
+    private static List<Long> ids(List<BoundedLeaderboard.Entry> entries) {
+        return entries.stream().map(BoundedLeaderboard.Entry::getId).toList();
+    }
+}
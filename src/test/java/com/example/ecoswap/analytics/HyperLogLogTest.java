@@ -0,0 +1,75 @@
+package com.example.ecoswap.analytics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HyperLogLogTest {
+
+    private static final int TEN_MILLION = 10_000_000;
+
+    // Three standard errors: a correct sketch stays inside this bound 99.7% of the time
+    private static final double MAX_RELATIVE_ERROR = 3 * HyperLogLog.STANDARD_ERROR;
+
+    @Test
+    void estimatesTenMillionCustomersWithinErrorBound() {
+        HyperLogLog hll = new HyperLogLog();
+        for (long customerId = 1; customerId <= TEN_MILLION; customerId++) {
+            hll.offer(customerId);
+        }
+
+        assertWithinBound(TEN_MILLION, hll.cardinality());
+    }
+
+    @Test
+    void repeatedCustomersAreNotCountedTwice() {
+        HyperLogLog hll = new HyperLogLog();
+        // 10M orders placed by 100k customers
+        for (int i = 0; i < TEN_MILLION; i++) {
+            hll.offer(i % 100_000);
+        }
+
+        assertWithinBound(100_000, hll.cardinality());
+        assertFalse(hll.offer(42), "a seen customer must not change the sketch");
+    }
+
+    @Test
+    void mergingMonthlySketchesEqualsSketchOfUnion() {
+        HyperLogLog union = new HyperLogLog();
+        HyperLogLog merged = new HyperLogLog();
+        // Ten months of one million customers each, half of them returning from the previous month
+        for (int month = 0; month < 10; month++) {
+            HyperLogLog monthly = new HyperLogLog();
+            long first = month * 500_000L;
+            for (long customerId = first; customerId < first + 1_000_000; customerId++) {
+                monthly.offer(customerId);
+                union.offer(customerId);
+            }
+            merged.merge(HyperLogLog.fromBytes(monthly.toBytes()));
+        }
+
+        assertEquals(union, merged);
+        assertWithinBound(5_500_000, merged.cardinality());
+    }
+
+    @Test
+    void smallCountsAreNearExact() {
+        HyperLogLog hll = new HyperLogLog();
+        assertTrue(hll.isEmpty());
+        assertEquals(0, hll.cardinality());
+
+        for (long customerId = 1; customerId <= 1000; customerId++) {
+            hll.offer(customerId * 7919);
+        }
+
+        assertWithinBound(1000, hll.cardinality());
+    }
+
+    private void assertWithinBound(long expected, long estimate) {
+        double error = Math.abs(estimate - expected) / (double) expected;
+        assertTrue(error <= MAX_RELATIVE_ERROR,
+            "estimate " + estimate + " for " + expected + " has relative error " + error);
+    }
+}
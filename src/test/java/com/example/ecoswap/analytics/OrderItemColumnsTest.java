@@ -0,0 +1,124 @@
+package com.example.ecoswap.analytics;
+
+import com.example.ecoswap.model.enums.OrderStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OrderItemColumnsTest {
+
+    private final LocalDateTime now = LocalDateTime.of(2025, 6, 15, 12, 0);
+
+    @Test
+    void filtersAndAggregatesBySellerCustomerStatusAndTime() {
+        OrderItemColumns columns = new OrderItemColumns(2);
+        // Order 1: customer 10, two lines from seller 100 in categories 1 and 2, delivered 40 days ago
+        columns.append(1, now.minusDays(40), OrderStatus.DELIVERED, 10, 100, 1000, 1, 2, 500, 3.0, 10.0);
+        columns.append(1, now.minusDays(40), OrderStatus.DELIVERED, 10, 100, 1001, 2, 1, 250, 1.5, 0.0);
+        // Order 2: customer 10, one line from seller 200, delivered 5 days ago
+        columns.append(2, now.minusDays(5), OrderStatus.DELIVERED, 10, 200, 2000, 1, 4, 1000, 2.0, 4.0);
+        // Order 3: customer 11, seller 100, still pending
+        columns.append(3, now.minusDays(1), OrderStatus.PENDING, 11, 100, 1000, 1, 1, 250, 1.5, 5.0);
+
+        FactSummary customer = columns.scan().customer(10).status(OrderStatus.DELIVERED).summarize();
+        assertEquals(2, customer.getOrders());
+        assertEquals(7, customer.getQuantity());
+        assertEquals(1750, customer.getLineTotalCents());
+        assertEquals(6.5, customer.getCo2Saved(), 1e-9);
+
+        FactSummary recent = columns.scan().customer(10).status(OrderStatus.DELIVERED)
+            .createdAfter(now.minusDays(30)).summarize();
+        assertEquals(1, recent.getOrders());
+        assertEquals(4, recent.getQuantity());
+
+        FactSummary seller = columns.scan().seller(100).summarize();
+        assertEquals(2, seller.getOrders());
+        assertEquals(3, seller.getRows());
+
+        Map<Long, FactSummary> byCategory = columns.scan().customer(10).summarizeByCategory();
+        assertEquals(6, byCategory.get(1L).getQuantity());
+        assertEquals(1, byCategory.get(2L).getQuantity());
+    }
+
+    @Test
+    void statusChangesAndRemovalsApplyToEveryLineOfTheOrder() {
+        OrderItemColumns columns = new OrderItemColumns(16);
+        columns.append(1, now, OrderStatus.PENDING, 10, 100, 1000, 1, 1, 100, 1.0, 1.0);
+        columns.append(1, now, OrderStatus.PENDING, 10, 100, 1001, 1, 1, 100, 1.0, 1.0);
+        columns.append(2, now, OrderStatus.PENDING, 10, 100, 1000, 1, 1, 100, 1.0, 1.0);
+
+        assertEquals(2, columns.updateStatus(1, OrderStatus.DELIVERED));
+        assertEquals(2, columns.scan().status(OrderStatus.DELIVERED).summarize().getRows());
+
+        assertEquals(1, columns.removeOrder(2));
+        assertEquals(2, columns.scan().summarize().getRows());
+
+        assertTrue(columns.containsOrder(1));
+        assertFalse(columns.appendOrderIfAbsent(1, () -> columns.append(1, now, OrderStatus.PENDING, 10, 100, 1000, 1, 1, 100, 1.0, 1.0)));
+        assertEquals(3, columns.size());
+    }
+
+    @Test
+    void outOfOrderAppendsAreStillFound() {
+        OrderItemColumns columns = new OrderItemColumns(16);
+        columns.append(5, now, OrderStatus.PENDING, 10, 100, 1000, 1, 1, 100, 0, 0);
+        columns.append(3, now, OrderStatus.PENDING, 10, 100, 1000, 1, 1, 100, 0, 0);
+
+        assertEquals(1, columns.updateStatus(3, OrderStatus.SHIPPED));
+        assertEquals(1, columns.scan().status(OrderStatus.SHIPPED).summarize().getOrders());
+    }
+
+    @Test
+    void scansKeepTheStatusesTheyStartedWith() {
+        OrderItemColumns columns = new OrderItemColumns(16);
+        columns.append(1, now, OrderStatus.PENDING, 10, 100, 1000, 1, 1, 100, 0, 0);
+        columns.append(1, now, OrderStatus.PENDING, 10, 100, 1001, 1, 1, 100, 0, 0);
+
+        OrderItemColumns.Scan before = columns.scan().status(OrderStatus.PENDING);
+        columns.updateStatus(1, OrderStatus.DELIVERED);
+
+        assertEquals(2, before.summarize().getRows());
+        assertEquals(0, columns.scan().status(OrderStatus.PENDING).summarize().getRows());
+    }
+
+    @Test
+    void ordersSpanningAStatusChunkAreUpdatedWhole() {
+        OrderItemColumns columns = new OrderItemColumns(16);
+        for (int i = 0; i < 5000; i++) {
+            columns.append(i / 10, now, OrderStatus.PENDING, 10, 100, 1000, 1, 1, 100, 0, 0);
+        }
+
+        // Order 409 covers rows 4090 to 4099, across the first chunk boundary
+        assertEquals(10, columns.updateStatus(409, OrderStatus.SHIPPED));
+        FactSummary shipped = columns.scan().status(OrderStatus.SHIPPED).summarize();
+        assertEquals(1, shipped.getOrders());
+        assertEquals(10, shipped.getRows());
+    }
+
+    @Test
+    void parallelScanMatchesSequentialScan() {
+        OrderItemColumns columns = new OrderItemColumns(16);
+        Random random = new Random(7);
+        int rows = OrderItemColumns.PARALLEL_THRESHOLD * 4;
+        for (int i = 0; i < rows; i++) {
+            long orderId = i / 3;
+            OrderStatus status = orderId % 4 == 0 ? OrderStatus.PENDING : OrderStatus.DELIVERED;
+            columns.append(orderId, now.minusHours(orderId), status, orderId % 1000, orderId % 50,
+                random.nextInt(500), random.nextInt(8), 1 + random.nextInt(3), 100 + random.nextInt(900), 0.5, 0.25);
+        }
+
+        FactSummary parallel = columns.scan().seller(7).status(OrderStatus.DELIVERED).summarize();
+        FactSummary sequential = columns.scan().seller(7).status(OrderStatus.DELIVERED).sequential().summarize();
+
+        assertEquals(sequential.getRows(), parallel.getRows());
+        assertEquals(sequential.getOrders(), parallel.getOrders());
+        assertEquals(sequential.getQuantity(), parallel.getQuantity());
+        assertEquals(sequential.getLineTotalCents(), parallel.getLineTotalCents());
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.ecoswap.analytics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TopNHeapTest {
+
+    @Test
+    void keepsHighestScoresBestFirst() {
+        TopNHeap heap = new TopNHeap(3);
+        heap.offer(1, 5, 0);
+        heap.offer(2, 9, 0);
+        heap.offer(3, 1, 0);
+        heap.offer(4, 7, 0);
+        heap.offer(5, 9, 100); // same units as product 2, more revenue
+
+        heap.sortDescending();
+
+        assertEquals(3, heap.size());
+        assertArrayEquals(new long[] {5, 2, 4}, ids(heap));
+        assertEquals(9, heap.primary(0));
+        assertEquals(100, heap.secondary(0));
+    }
+
+    @Test
+    void tiesAreBrokenByLowerId() {
+        TopNHeap heap = new TopNHeap(2);
+        for (long id = 10; id >= 1; id--) {
+            heap.offer(id, 1, 1);
+        }
+
+        heap.sortDescending();
+
+        assertArrayEquals(new long[] {1, 2}, ids(heap));
+    }
+
+    @Test
+    void matchesFullSortOnRandomInput() {
+        Random random = new Random(42);
+        long[] scores = LongStream.range(0, 10_000).map(i -> random.nextInt(500)).toArray();
+
+        TopNHeap heap = new TopNHeap(10);
+        for (int id = 0; id < scores.length; id++) {
+            heap.offer(id, scores[id], 0);
+        }
+        heap.sortDescending();
+
+        long[] expected = LongStream.range(0, scores.length).boxed()
+            .sorted((a, b) -> scores[b.intValue()] != scores[a.intValue()]
+                ? Long.compare(scores[b.intValue()], scores[a.intValue()])
+                : Long.compare(a, b))
+            .limit(10)
+            .mapToLong(Long::longValue)
+            .toArray();
+        assertArrayEquals(expected, ids(heap));
+    }
+
+    private long[] ids(TopNHeap heap) {
+        long[] ids = new long[heap.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = heap.id(i);
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.ecoswap.analytics;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TrendBucketAggregatorTest {
+
+    private final LocalDate today = LocalDate.of(2025, 6, 15);
+
+    @Test
+    void bucketsRowsByMonthInOnePass() {
+        TrendBucketAggregator aggregator = TrendBucketAggregator.lastTwelveMonths(today);
+
+        aggregator.add(LocalDate.of(2025, 6, 1), 1_250, 3, 1);
+        aggregator.add(LocalDate.of(2025, 6, 14), 500, 1, 1);
+        aggregator.add(LocalDate.of(2024, 7, 31), 199, 1, 1);
+        // Outside the 12-month window
+        aggregator.add(LocalDate.of(2024, 6, 30), 9_999, 9, 1);
+
+        Map<String, BigDecimal> revenue = aggregator.revenueByLabel();
+        Map<String, Long> orders = aggregator.ordersByLabel();
+
+        assertEquals(12, revenue.size());
+        assertEquals("Jul 2024", revenue.keySet().iterator().next());
+        assertEquals(new BigDecimal("17.50"), revenue.get("Jun 2025"));
+        assertEquals(2L, orders.get("Jun 2025"));
+        assertEquals(4L, aggregator.itemsByLabel().get("Jun 2025"));
+        assertEquals(new BigDecimal("1.99"), revenue.get("Jul 2024"));
+        assertEquals(1L, orders.get("Jul 2024"));
+    }
+
+    @Test
+    void weeksStartOnMonday() {
+        TrendBucketAggregator aggregator = new TrendBucketAggregator(TrendGranularity.WEEK, today, 2);
+
+        // 2025-06-15 is a Sunday, so the current week started on Monday 2025-06-09
+        assertEquals(LocalDate.of(2025, 6, 9), aggregator.bucketStart(1));
+        assertEquals(1, aggregator.indexOf(LocalDate.of(2025, 6, 9)));
+        assertEquals(0, aggregator.indexOf(LocalDate.of(2025, 6, 8)));
+        assertEquals(-1, aggregator.indexOf(LocalDate.of(2025, 6, 1)));
+        assertEquals("09 Jun 2025", aggregator.label(1));
+    }
+
+    @Test
+    void dayLabelsStayDistinctAcrossYears() {
+        // 400 days reach back into 2024, where the same day and month come round again
+        TrendBucketAggregator aggregator = new TrendBucketAggregator(TrendGranularity.DAY, today, 400);
+        aggregator.add(LocalDate.of(2024, 6, 15), 100, 1, 1);
+        aggregator.add(today, 200, 2, 1);
+
+        assertEquals(400, aggregator.itemsByLabel().size());
+        assertEquals(1L, aggregator.itemsByLabel().get("15 Jun 2024"));
+        assertEquals(2L, aggregator.itemsByLabel().get("15 Jun 2025"));
+    }
+
+    @Test
+    void convertsBetweenAmountsAndCents() {
+        assertEquals(1999L, MinorUnits.toCents(new BigDecimal("19.99")));
+        assertEquals(2000L, MinorUnits.toCents(new BigDecimal("19.995")));
+        assertEquals(new BigDecimal("0.05"), MinorUnits.fromCents(5));
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.ecoswap.benchmark;
+
+import com.example.ecoswap.analytics.FactSummary;
+import com.example.ecoswap.analytics.OrderItemColumns;
+import com.example.ecoswap.model.enums.OrderStatus;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scan throughput and memory footprint of the columnar order-item fact store with 5M lines.
+ * Setup prints the array footprint and the measured heap growth while loading.
+ *
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ *           -Dexec.mainClass=com.example.ecoswap.benchmark.OrderItemFactStoreBenchmark
+ * JMH options such as "-wi 1 -i 3" can be passed with -Dexec.args.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class OrderItemFactStoreBenchmark {
+
+    private static final int ITEMS = 5_000_000;
+    private static final int ITEMS_PER_ORDER = 3;
+    private static final int SELLERS = 500;
+    private static final int CUSTOMERS = 200_000;
+
+    private final LocalDateTime now = LocalDateTime.of(2025, 6, 15, 12, 0);
+
+    private OrderItemColumns columns;
+
+    @Setup
+    public void setUp() {
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        long heapBefore = runtime.totalMemory() - runtime.freeMemory();
+
+        Random random = new Random(42);
+        columns = new OrderItemColumns(ITEMS);
+        for (int i = 0; i < ITEMS; i++) {
+            long orderId = i / ITEMS_PER_ORDER;
+            OrderStatus status = orderId % 5 == 0 ? OrderStatus.PENDING : OrderStatus.DELIVERED;
+            int quantity = 1 + random.nextInt(4);
+            columns.append(orderId, now.minusMinutes((orderId * 37) % (460L * 24 * 60)), status,
+                orderId % CUSTOMERS, random.nextInt(SELLERS), random.nextInt(100_000), random.nextInt(20),
+                quantity, quantity * (100L + random.nextInt(10_000)), quantity * 1.5, quantity * 12.0);
+        }
+
+        System.gc();
+        long heapAfter = runtime.totalMemory() - runtime.freeMemory();
+        System.out.printf("%nFact store: %,d rows, columns %,d MB, measured heap growth %,d MB%n",
+            columns.size(), columns.estimatedBytes() / (1024 * 1024), (heapAfter - heapBefore) / (1024 * 1024));
+    }
+
+    @Benchmark
+    public FactSummary sellerDeliveredParallel() {
+        return columns.scan().seller(42).status(OrderStatus.DELIVERED).summarize();
+    }
+
+    @Benchmark
+    public FactSummary sellerDeliveredSequential() {
+        return columns.scan().seller(42).status(OrderStatus.DELIVERED).sequential().summarize();
+    }
+
+    @Benchmark
+    public FactSummary customerLastThirtyDaysParallel() {
+        return columns.scan().customer(4242).status(OrderStatus.DELIVERED).createdAfter(now.minusDays(30)).summarize();
+    }
+
+    @Benchmark
+    public FactSummary platformDeliveredParallel() {
+        return columns.scan().status(OrderStatus.DELIVERED).summarize();
+    }
+
+    @Benchmark
+    public Map<Long, FactSummary> platformByCategoryParallel() {
+        return columns.scan().status(OrderStatus.DELIVERED).summarizeByCategory();
+    }
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        Options options = new OptionsBuilder()
+            .parent(new CommandLineOptions(args))
+            .include(OrderItemFactStoreBenchmark.class.getSimpleName())
+            .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,194 @@
+package com.example.ecoswap.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Bulk deactivate / activate of 100, 1k and 10k products in a 20k-product H2 table, one transaction each.
+ *
+ * perProduct is the old ProductService path: a findById and a full-row UPDATE per id. setBased is the
+ * new one: the ids sorted, then per chunk of ProductService.BULK_CHUNK_SIZE, one SELECT of (id, seller_id)
+ * and one UPDATE.
+ * H2 runs in-process, so roundTripMicros adds a pause per statement to stand in for the network hop
+ * to MySQL; 0 measures the database work alone.
+ *
+ * Sample run (-f 0 -wi 1 -i 2), ms per bulk action:
+ *   ids     round trip   perProduct   setBased
+ *   100     0 us               1.6        0.8
+ *   100     250 us            64          1.0
+ *   1000    0 us              10          9.3
+ *   1000    250 us           638         10.6
+ *   10000   0 us             114        110
+ *   10000   250 us          6393        136
+ * In-process, updating the rows is most of the cost either way; the set-based path wins by dropping
+ * two round trips per product.
+ *
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ *           -Dexec.mainClass=com.example.ecoswap.benchmark.ProductBulkActionBenchmark
+ * JMH options such as "-wi 1 -i 3" can be passed with -Dexec.args.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class ProductBulkActionBenchmark {
+
+    private static final int PRODUCTS = 20_000;
+    private static final int SELLERS = 200;
+    private static final int CHUNK_SIZE = 1000;
+
+    // The columns Hibernate writes back when a loaded product is saved
+    private static final String FULL_ROW_UPDATE = "UPDATE products SET seller_id = ?, category_id = ?, name = ?, "
+        + "description = ?, price = ?, stock = ?, status = ?, eco_score = ?, rating = ?, updated_at = ? WHERE id = ?";
+
+    @Param({"100", "1000", "10000"})
+    public int ids;
+
+    @Param({"0", "250"})
+    public int roundTripMicros;
+
+    private Connection connection;
+    private List<Long> selected;
+    private List<Long> sorted;
+    private boolean active = true;
+
+    @Setup
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:product-bulk-" + ids + "-" + roundTripMicros);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE products (id BIGINT PRIMARY KEY, seller_id BIGINT NOT NULL, "
+                + "category_id BIGINT NOT NULL, name VARCHAR(255) NOT NULL, description VARCHAR(2000), "
+                + "price NUMERIC(38, 2) NOT NULL, stock INTEGER NOT NULL, status VARCHAR(20) NOT NULL, "
+                + "eco_score INTEGER, rating FLOAT(53), updated_at TIMESTAMP(6))");
+            statement.execute("INSERT INTO products SELECT x, MOD(x, " + SELLERS + ") + 1, MOD(x, 40) + 1, "
+                + "CONCAT('Product ', x), REPEAT('Reusable and plastic free. ', 8), MOD(x * 104729, 20000) / 100.0 + 1, "
+                + "MOD(x, 50), 'ACTIVE', MOD(x, 5) + 1, MOD(x * 31, 41) / 10.0 + 1, CURRENT_TIMESTAMP "
+                + "FROM SYSTEM_RANGE(1, " + PRODUCTS + ")");
+            statement.execute("CREATE INDEX idx_products_seller ON products (seller_id)");
+        }
+        connection.setAutoCommit(false);
+
+        // Ids spread over the table, in the order a seller ticked them
+        selected = new ArrayList<>(ids);
+        long step = PRODUCTS / ids;
+        for (long id = 1; selected.size() < ids; id += step) {
+            selected.add(id);
+        }
+        Collections.shuffle(selected, new Random(42));
+        sorted = selected.stream().sorted().toList();
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public int perProduct() throws SQLException {
+        String status = nextStatus();
+        int updated = 0;
+        try (PreparedStatement find = connection.prepareStatement("SELECT * FROM products WHERE id = ?");
+             PreparedStatement save = connection.prepareStatement(FULL_ROW_UPDATE)) {
+            for (Long id : selected) {
+                find.setLong(1, id);
+                try (ResultSet row = execute(find)) {
+                    row.next();
+                    save.setLong(1, row.getLong("seller_id"));
+                    save.setLong(2, row.getLong("category_id"));
+                    save.setString(3, row.getString("name"));
+                    save.setString(4, row.getString("description"));
+                    save.setBigDecimal(5, row.getBigDecimal("price"));
+                    save.setInt(6, row.getInt("stock"));
+                    save.setString(7, status);
+                    save.setInt(8, row.getInt("eco_score"));
+                    save.setDouble(9, row.getDouble("rating"));
+                    save.setTimestamp(10, new Timestamp(System.currentTimeMillis()));
+                    save.setLong(11, id);
+                }
+                updated += update(save);
+            }
+        }
+        connection.commit();
+        return updated;
+    }
+
+    @Benchmark
+    public int setBased() throws SQLException {
+        String status = nextStatus();
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        int updated = 0;
+        for (int from = 0; from < sorted.size(); from += CHUNK_SIZE) {
+            List<Long> chunk = sorted.subList(from, Math.min(from + CHUNK_SIZE, sorted.size()));
+            String in = String.join(", ", Collections.nCopies(chunk.size(), "?"));
+            try (PreparedStatement sellers = connection.prepareStatement("SELECT id, seller_id FROM products WHERE id IN (" + in + ")");
+                 PreparedStatement update = connection.prepareStatement(
+                     "UPDATE products SET status = ?, updated_at = ? WHERE id IN (" + in + ")")) {
+                update.setString(1, status);
+                update.setTimestamp(2, now);
+                for (int i = 0; i < chunk.size(); i++) {
+                    sellers.setLong(i + 1, chunk.get(i));
+                    update.setLong(i + 3, chunk.get(i));
+                }
+                try (ResultSet rows = execute(sellers)) {
+                    while (rows.next()) {
+                        rows.getLong(2);
+                    }
+                }
+                updated += update(update);
+            }
+        }
+        connection.commit();
+        return updated;
+    }
+
+    // Alternate, so every invocation really changes its rows
+    private String nextStatus() {
+        active = !active;
+        return active ? "ACTIVE" : "INACTIVE";
+    }
+
+    private ResultSet execute(PreparedStatement query) throws SQLException {
+        roundTrip();
+        return query.executeQuery();
+    }
+
+    private int update(PreparedStatement update) throws SQLException {
+        roundTrip();
+        return update.executeUpdate();
+    }
+
+    private void roundTrip() {
+        if (roundTripMicros > 0) {
+            LockSupport.parkNanos(roundTripMicros * 1_000L);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        Options options = new OptionsBuilder()
+            .parent(new CommandLineOptions(args))
+            .include(ProductBulkActionBenchmark.class.getSimpleName())
+            .build();
+        new Runner(options).run();
+    }
+}
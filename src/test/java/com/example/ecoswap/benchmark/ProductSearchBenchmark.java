@@ -0,0 +1,151 @@
+package com.example.ecoswap.benchmark;
+
+import com.example.ecoswap.search.ProductDocument;
+import com.example.ecoswap.search.ProductSearchIndex;
+import com.example.ecoswap.search.SearchResult;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BM25 search latency over 100k synthetic products for typical 1-3 word shop queries.
+ * Sample mode reports percentiles; the target is p99 under 5 ms for a 12-result page.
+ *
+ * Words are drawn from a skewed vocabulary so queries mix very common terms (tens of
+ * thousands of postings), mid-frequency terms and prefixes.
+ *
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ *           -Dexec.mainClass=com.example.ecoswap.benchmark.ProductSearchBenchmark
+ * JMH options such as "-wi 1 -i 3" can be passed with -Dexec.args.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class ProductSearchBenchmark {
+
+    private static final int PRODUCTS = 100_000;
+    private static final int VOCABULARY = 5_000;
+    private static final int SELLERS = 500;
+    private static final int CATEGORIES = 30;
+    private static final int PAGE_SIZE = 12;
+
+    private ProductSearchIndex index;
+    private String[] oneWord;
+    private String[] twoWords;
+    private String[] threeWords;
+    private String[] prefixes;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        String[] words = new String[VOCABULARY];
+        for (int i = 0; i < VOCABULARY; i++) {
+            words[i] = word(i);
+        }
+
+        List<ProductDocument> documents = new ArrayList<>(PRODUCTS);
+        for (long id = 1; id <= PRODUCTS; id++) {
+            documents.add(new ProductDocument(id, (long) random.nextInt(SELLERS), (long) random.nextInt(CATEGORIES),
+                text(words, random, 3 + random.nextInt(4)), text(words, random, 15 + random.nextInt(25)),
+                "SKU-" + id, "Category " + words[random.nextInt(CATEGORIES)],
+                1 + random.nextInt(5), random.nextInt(51) / 10.0));
+        }
+        index = new ProductSearchIndex(0.2f);
+        index.replaceAll(documents);
+
+        oneWord = queries(words, random, 1);
+        twoWords = queries(words, random, 2);
+        threeWords = queries(words, random, 3);
+        prefixes = new String[256];
+        for (int i = 0; i < prefixes.length; i++) {
+            String word = words[skewed(random)];
+            prefixes[i] = word.substring(0, Math.min(word.length(), 3));
+        }
+    }
+
+    @Benchmark
+    public SearchResult oneWordQuery() {
+        return index.search(oneWord[next++ & 255], null, 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public SearchResult twoWordQuery() {
+        return index.search(twoWords[next++ & 255], null, 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public SearchResult threeWordQuery() {
+        return index.search(threeWords[next++ & 255], null, 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public SearchResult prefixQuery() {
+        return index.search(prefixes[next++ & 255], null, 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public SearchResult sellerTwoWordQuery() {
+        return index.search(twoWords[next++ & 255], 42L, 0, PAGE_SIZE);
+    }
+
+    private static String[] queries(String[] words, Random random, int length) {
+        String[] queries = new String[256];
+        for (int i = 0; i < queries.length; i++) {
+            queries[i] = text(words, random, length);
+        }
+        return queries;
+    }
+
+    private static String text(String[] words, Random random, int length) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            if (i > 0) {
+                text.append(' ');
+            }
+            text.append(words[skewed(random)]);
+        }
+        return text.toString();
+    }
+
+    // Roughly Zipf-like: low indexes are drawn far more often than high ones
+    private static int skewed(Random random) {
+        double u = random.nextDouble();
+        return (int) Math.min(VOCABULARY - 1, Math.floor(Math.pow(VOCABULARY, u)) - 1);
+    }
+
+    // Deterministic pronounceable words, e.g. "kamilo"
+    private static String word(int i) {
+        String consonants = "bcdfgklmnprstvz";
+        String vowels = "aeiou";
+        StringBuilder word = new StringBuilder();
+        int n = i + 1;
+        do {
+            word.append(consonants.charAt(n % consonants.length()));
+            n /= consonants.length();
+            word.append(vowels.charAt(n % vowels.length()));
+            n /= vowels.length();
+        } while (n > 0);
+        return word.toString();
+    }
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        Options options = new OptionsBuilder()
+            .parent(new CommandLineOptions(args))
+            .include(ProductSearchBenchmark.class.getSimpleName())
+            .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.ecoswap.benchmark;
+
+import com.example.ecoswap.search.ProductSort;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.domain.Sort;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Sorted shop pages over 1M products in an H2 database (under target/, loaded once) carrying the
+ * same idx_products_* indexes as migration V3.
+ *
+ * Setup prints the plan of every sort's id-page query, with and without a category, and fails
+ * unless the plan reads the sort's index in order (no sort step). The benchmark then times
+ * page 100 (offset 1188, 12 rows) of each sort. H2 cannot read an index backwards, so PRICE_DESC
+ * (which MySQL 8 reads from the end of the price indexes) is sorted here and only its plan is printed.
+ *
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ *           -Dexec.mainClass=com.example.ecoswap.benchmark.ProductSortBenchmark
+ * JMH options such as "-wi 1 -i 3" can be passed with -Dexec.args.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class ProductSortBenchmark {
+
+    private static final int PRODUCTS = 1_000_000;
+    private static final int CATEGORIES = 40;
+    private static final int PAGE_SIZE = 12;
+    private static final int OFFSET = 99 * PAGE_SIZE;
+
+    // A file database, so the forks of later parameter combinations reuse the loaded table.
+    // H2 would otherwise answer a repeated query from its result cache.
+    private static final String URL = "jdbc:h2:./target/product-sort-benchmark;OPTIMIZE_REUSE_RESULTS=FALSE";
+
+    // Entity property to column, as Hibernate names them
+    private static final Map<String, String> COLUMNS = Map.of(
+        "id", "id", "category.id", "category_id", "createdAt", "created_at", "price", "price", "rating", "rating",
+        "ecoScore", "eco_score", "salesCount", "sales_count");
+
+    // Same columns as V3__product_sort_indexes.sql
+    private static final String[] INDEXES = {
+        "idx_products_category_price (category_id, price, id)",
+        "idx_products_category_rating (category_id, rating DESC, id DESC)",
+        "idx_products_category_eco_score (category_id, eco_score DESC, id DESC)",
+        "idx_products_category_sales (category_id, sales_count DESC, id DESC)",
+        "idx_products_category_created (category_id, created_at DESC, id DESC)",
+        "idx_products_price (price, id)",
+        "idx_products_rating (rating DESC, id DESC)",
+        "idx_products_eco_score (eco_score DESC, id DESC)",
+        "idx_products_sales (sales_count DESC, id DESC)",
+        "idx_products_created (created_at DESC, id DESC)"
+    };
+
+    @Param({"PRICE_ASC", "PRICE_DESC", "RATING", "ECO_SCORE", "BEST_SELLING", "NEWEST"})
+    public String sort;
+
+    @Param({"true", "false"})
+    public boolean byCategory;
+
+    private Connection connection;
+    private PreparedStatement page;
+
+    @Setup
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection(URL);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS products (id BIGINT PRIMARY KEY, category_id BIGINT NOT NULL, "
+                + "price NUMERIC(38, 2) NOT NULL, rating FLOAT(53), eco_score INTEGER NOT NULL, "
+                + "sales_count BIGINT NOT NULL, created_at TIMESTAMP(6) NOT NULL)");
+            try (ResultSet count = statement.executeQuery("SELECT COUNT(*) FROM products")) {
+                count.next();
+                if (count.getLong(1) == 0) {
+                    long start = System.currentTimeMillis();
+                    // Skewed sales: most products sell little, a few sell a lot
+                    statement.execute("INSERT INTO products SELECT x, MOD(x * 7919, " + CATEGORIES + ") + 1, "
+                        + "MOD(x * 104729, 20000) / 100.0 + 1, MOD(x * 31, 41) / 10.0 + 1, MOD(x * 13, 5) + 1, "
+                        + "CASE WHEN MOD(x, 100) = 0 THEN MOD(x * 17, 5000) ELSE MOD(x * 17, 20) END, "
+                        + "DATEADD('SECOND', x * 30, TIMESTAMP '2023-01-01 00:00:00') "
+                        + "FROM SYSTEM_RANGE(1, " + PRODUCTS + ")");
+                    for (String index : INDEXES) {
+                        statement.execute("CREATE INDEX " + index.replace(" (", " ON products ("));
+                    }
+                    statement.execute("ANALYZE");
+                    System.out.printf("%nLoaded %,d products with %d indexes in %,d ms%n",
+                        PRODUCTS, INDEXES.length, System.currentTimeMillis() - start);
+                }
+            }
+        }
+
+        String sql = idPageSql(ProductSort.valueOf(sort), byCategory);
+        verifyIndexDriven(sql, ProductSort.valueOf(sort).isBackwardScan());
+        page = connection.prepareStatement(sql);
+        if (byCategory) {
+            page.setLong(1, 7);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        page.close();
+        connection.close();
+    }
+
+    @Benchmark
+    public List<Long> idPage() throws SQLException {
+        List<Long> ids = new ArrayList<>(PAGE_SIZE);
+        try (ResultSet rows = page.executeQuery()) {
+            while (rows.next()) {
+                ids.add(rows.getLong(1));
+            }
+        }
+        return ids;
+    }
+
+    // The SQL findIdPage / findIdPageByCategory run for a ProductSort
+    private static String idPageSql(ProductSort sort, boolean byCategory) {
+        String orderBy = (byCategory ? sort.getCategorySort() : sort.getSort()).stream()
+            .map(order -> "p." + COLUMNS.get(order.getProperty()) + (order.getDirection() == Sort.Direction.DESC ? " DESC" : ""))
+            .collect(Collectors.joining(", "));
+        return "SELECT p.id FROM products p" + (byCategory ? " WHERE p.category_id = ?" : "")
+            + " ORDER BY " + orderBy + " OFFSET " + OFFSET + " ROWS FETCH FIRST " + PAGE_SIZE + " ROWS ONLY";
+    }
+
+    private void verifyIndexDriven(String sql, boolean backwardScan) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet plan = statement.executeQuery("EXPLAIN " + sql.replace("?", "7"))) {
+            plan.next();
+            String text = plan.getString(1);
+            System.out.printf("%n%s / category=%s:%n%s%n", sort, byCategory, text);
+            if (!backwardScan && (!text.contains("idx_products_".toUpperCase()) || !text.contains("index sorted"))) {
+                throw new IllegalStateException("Sort " + sort + " is not index-driven:\n" + text);
+            }
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        Options options = new OptionsBuilder()
+            .parent(new CommandLineOptions(args))
+            .include(ProductSortBenchmark.class.getSimpleName())
+            .build();
+        new Runner(options).run();
+    }
+}
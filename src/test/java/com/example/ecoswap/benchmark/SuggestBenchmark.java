@@ -0,0 +1,133 @@
+package com.example.ecoswap.benchmark;
+
+import com.example.ecoswap.search.Suggestion;
+import com.example.ecoswap.search.SuggestionIndex;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Autocomplete throughput on one core: top 10 completions over 100k product names, 30 categories
+ * and 10k popular searches, for prefixes of 1-6 characters as typed into the search box.
+ * Short prefixes are the expensive case (tens of thousands of keys share them). A 1 ms budget per
+ * call means at least 1,000 ops/s; the score should be far above that.
+ *
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ *           -Dexec.mainClass=com.example.ecoswap.benchmark.SuggestBenchmark
+ * JMH options such as "-wi 1 -i 3" can be passed with -Dexec.args.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(1)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class SuggestBenchmark {
+
+    private static final int PRODUCTS = 100_000;
+    private static final int QUERIES = 10_000;
+    private static final int VOCABULARY = 5_000;
+    private static final int CATEGORIES = 30;
+    private static final int LIMIT = 10;
+
+    private SuggestionIndex index;
+    private String[] shortPrefixes;
+    private String[] longPrefixes;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        String[] words = new String[VOCABULARY];
+        for (int i = 0; i < VOCABULARY; i++) {
+            words[i] = word(i);
+        }
+
+        List<Suggestion> suggestions = new ArrayList<>(PRODUCTS + QUERIES + CATEGORIES);
+        for (long id = 1; id <= PRODUCTS; id++) {
+            suggestions.add(new Suggestion(text(words, random, 2 + random.nextInt(4)), Suggestion.Type.PRODUCT, id,
+                1 + random.nextInt(500)));
+        }
+        for (long id = 1; id <= CATEGORIES; id++) {
+            suggestions.add(new Suggestion("Category " + words[(int) id], Suggestion.Type.CATEGORY, id, 50_000));
+        }
+        for (int i = 0; i < QUERIES; i++) {
+            suggestions.add(new Suggestion(text(words, random, 1 + random.nextInt(3)), Suggestion.Type.QUERY, null,
+                3 + random.nextInt(1_000)));
+        }
+        index = SuggestionIndex.build(suggestions);
+
+        shortPrefixes = prefixes(words, random, 1, 2);
+        longPrefixes = prefixes(words, random, 3, 6);
+    }
+
+    @Benchmark
+    public List<Suggestion> shortPrefix() {
+        return index.top(shortPrefixes[next++ & 255], LIMIT);
+    }
+
+    @Benchmark
+    public List<Suggestion> longPrefix() {
+        return index.top(longPrefixes[next++ & 255], LIMIT);
+    }
+
+    private static String[] prefixes(String[] words, Random random, int minLength, int maxLength) {
+        String[] prefixes = new String[256];
+        for (int i = 0; i < prefixes.length; i++) {
+            String word = words[skewed(random)];
+            int length = minLength + random.nextInt(maxLength - minLength + 1);
+            prefixes[i] = word.substring(0, Math.min(word.length(), length));
+        }
+        return prefixes;
+    }
+
+    private static String text(String[] words, Random random, int length) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            if (i > 0) {
+                text.append(' ');
+            }
+            text.append(words[skewed(random)]);
+        }
+        return text.toString();
+    }
+
+    // Roughly Zipf-like: low indexes are drawn far more often than high ones
+    private static int skewed(Random random) {
+        double u = random.nextDouble();
+        return (int) Math.min(VOCABULARY - 1, Math.floor(Math.pow(VOCABULARY, u)) - 1);
+    }
+
+    // Deterministic pronounceable words, e.g. "kamilo"
+    private static String word(int i) {
+        String consonants = "bcdfgklmnprstvz";
+        String vowels = "aeiou";
+        StringBuilder word = new StringBuilder();
+        int n = i + 1;
+        do {
+            word.append(consonants.charAt(n % consonants.length()));
+            n /= consonants.length();
+            word.append(vowels.charAt(n % vowels.length()));
+            n /= vowels.length();
+        } while (n > 0);
+        return word.toString();
+    }
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        Options options = new OptionsBuilder()
+            .parent(new CommandLineOptions(args))
+            .include(SuggestBenchmark.class.getSimpleName())
+            .build();
+        new Runner(options).run();
+    }
+}
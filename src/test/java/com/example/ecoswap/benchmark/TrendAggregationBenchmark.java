@@ -0,0 +1,132 @@
+package com.example.ecoswap.benchmark;
+
+import com.example.ecoswap.analytics.TrendBucketAggregator;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Compares the old 12-month trend loop (filter the whole list once per month, twice)
+ * with the single-pass TrendBucketAggregator on 1M synthetic order items.
+ *
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ *           -Dexec.mainClass=com.example.ecoswap.benchmark.TrendAggregationBenchmark
+ * JMH options such as "-wi 1 -i 3" can be passed with -Dexec.args.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TrendAggregationBenchmark {
+
+    private static final int ITEMS = 1_000_000;
+    private static final int ITEMS_PER_ORDER = 3;
+
+    private final LocalDate today = LocalDate.of(2025, 6, 15);
+
+    // Old representation: one record per line with BigDecimal totals and timestamps
+    private List<LegacyItem> legacyItems;
+
+    // New representation: primitive columns in cents, grouped by order
+    private LocalDate[] days;
+    private long[] revenueCents;
+    private int[] quantities;
+    private int[] firstLineOfOrder;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        legacyItems = new ArrayList<>(ITEMS);
+        days = new LocalDate[ITEMS];
+        revenueCents = new long[ITEMS];
+        quantities = new int[ITEMS];
+        firstLineOfOrder = new int[ITEMS];
+
+        for (int i = 0; i < ITEMS; i++) {
+            long orderId = i / ITEMS_PER_ORDER;
+            // Spread orders over the last ~15 months so some fall outside the window
+            LocalDateTime createdAt = today.atStartOfDay().minusMinutes((orderId * 37) % (460L * 24 * 60));
+            int quantity = 1 + random.nextInt(4);
+            long priceCents = 100 + random.nextInt(10_000);
+
+            legacyItems.add(new LegacyItem(orderId, createdAt, BigDecimal.valueOf(priceCents * quantity, 2), quantity));
+            days[i] = createdAt.toLocalDate();
+            revenueCents[i] = priceCents * quantity;
+            quantities[i] = quantity;
+            firstLineOfOrder[i] = i % ITEMS_PER_ORDER == 0 ? 1 : 0;
+        }
+    }
+
+    @Benchmark
+    public Object legacyTwelvePasses() {
+        Map<String, BigDecimal> monthlySalesTrend = new LinkedHashMap<>();
+        Map<String, Long> monthlyOrdersTrend = new LinkedHashMap<>();
+        LocalDateTime now = today.atTime(12, 0);
+
+        for (int i = 11; i >= 0; i--) {
+            LocalDateTime monthStart = now.minusMonths(i).withDayOfMonth(1);
+            LocalDateTime monthEnd = monthStart.plusMonths(1);
+            String monthLabel = monthStart.toLocalDate().toString();
+
+            BigDecimal monthRevenue = legacyItems.stream()
+                .filter(item -> item.createdAt.isAfter(monthStart) && item.createdAt.isBefore(monthEnd))
+                .map(item -> item.lineTotal)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+
+            long monthOrders = legacyItems.stream()
+                .filter(item -> item.createdAt.isAfter(monthStart) && item.createdAt.isBefore(monthEnd))
+                .map(item -> item.orderId)
+                .collect(Collectors.toSet())
+                .size();
+
+            monthlySalesTrend.put(monthLabel, monthRevenue);
+            monthlyOrdersTrend.put(monthLabel, monthOrders);
+        }
+        return new Object[] { monthlySalesTrend, monthlyOrdersTrend };
+    }
+
+    @Benchmark
+    public Object singlePassAggregator() {
+        TrendBucketAggregator aggregator = TrendBucketAggregator.lastTwelveMonths(today);
+        for (int i = 0; i < ITEMS; i++) {
+            // Each order is counted once, on its first line
+            aggregator.add(days[i], revenueCents[i], quantities[i], firstLineOfOrder[i]);
+        }
+        return new Object[] { aggregator.revenueByLabel(), aggregator.ordersByLabel() };
+    }
+
+    private static final class LegacyItem {
+        final long orderId;
+        final LocalDateTime createdAt;
+        final BigDecimal lineTotal;
+        final int quantity;
+
+        LegacyItem(long orderId, LocalDateTime createdAt, BigDecimal lineTotal, int quantity) {
+            this.orderId = orderId;
+            this.createdAt = createdAt;
+            this.lineTotal = lineTotal;
+            this.quantity = quantity;
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        Options options = new OptionsBuilder()
+            .parent(new CommandLineOptions(args))
+            .include(TrendAggregationBenchmark.class.getSimpleName())
+            .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.ecoswap.cache;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BoundedCacheTest {
+
+    @Test
+    void popularEntriesSurviveAScanOfOneOffKeys() {
+        BoundedCache<Integer, String> cache = new BoundedCache<>(100, 3600, value -> value.length());
+
+        // A working set read often, then a long scan of keys read once each
+        for (int round = 0; round < 5; round++) {
+            for (int key = 0; key < 50; key++) {
+                if (cache.get(key) == null) {
+                    cache.put(key, "hot-" + key, cache.generation());
+                }
+            }
+        }
+        for (int key = 1_000; key < 11_000; key++) {
+            if (cache.get(key) == null) {
+                cache.put(key, "cold-" + key, cache.generation());
+            }
+        }
+
+        int survivors = 0;
+        for (int key = 0; key < 50; key++) {
+            if (cache.get(key) != null) {
+                survivors++;
+            }
+        }
+        assertTrue(survivors >= 45, "hot entries left: " + survivors);
+        assertEquals(100, cache.size());
+        assertTrue((long) cache.getStatistics().get("evictions") >= 10_000 - 50);
+    }
+
+    @Test
+    void loadsStartedBeforeAnInvalidationAreNotStored() {
+        BoundedCache<Long, String> cache = new BoundedCache<>(10, 3600, value -> value.length());
+        cache.put(1L, "old", cache.generation());
+
+        long generation = cache.generation();
+        cache.invalidate(1L);
+        assertFalse(cache.put(1L, "old", generation));
+        assertNull(cache.get(1L));
+
+        assertTrue(cache.put(1L, "new", cache.generation()));
+        assertNotNull(cache.get(1L));
+        assertEquals(1L, cache.getStatistics().get("staleLoadsDropped"));
+        assertTrue((long) cache.getStatistics().get("estimatedBytes") > 0);
+    }
+
+    @Test
+    void invalidatingOneKeyKeepsLoadsOfOtherKeys() {
+        BoundedCache<Long, String> cache = new BoundedCache<>(10, 3600, value -> value.length());
+
+        long generation = cache.generation();
+        cache.invalidate(1L);
+        assertTrue(cache.put(2L, "two", generation));
+        assertFalse(cache.put(1L, "one", generation));
+
+        generation = cache.generation();
+        cache.invalidateAll();
+        assertFalse(cache.put(3L, "three", generation));
+    }
+
+    @Test
+    void loadsOlderThanAForgottenStampAreDropped() {
+        BoundedCache<Long, String> cache = new BoundedCache<>(10, 3600, value -> value.length());
+
+        long generation = cache.generation();
+        for (long key = 1; key <= BoundedCache.MAX_INVALIDATION_STAMPS + 1; key++) {
+            cache.invalidate(key);
+        }
+        // Key 1's stamp was forgotten, so any load from before it is suspect
+        assertFalse(cache.put(1L, "one", generation));
+        assertFalse(cache.put(-1L, "other", generation));
+        assertTrue(cache.put(1L, "one", cache.generation()));
+    }
+}
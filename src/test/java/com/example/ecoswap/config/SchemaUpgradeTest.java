@@ -0,0 +1,80 @@
+package com.example.ecoswap.config;
+
+import com.example.ecoswap.model.Product;
+import com.example.ecoswap.repository.ProductRepository;
+import com.example.ecoswap.repository.SellerDailySalesRepository;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Upgrades a database built by the baseline application (ddl-auto=update, no migrations) the way a deployment
+ * does: the migrations run first, then Hibernate's ddl-auto=update adds the new tables.
+ */
+@DataJpaTest(properties = {
+    "spring.datasource.url=" + SchemaUpgradeTest.URL,
+    "spring.datasource.driverClassName=org.h2.Driver",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "spring.jpa.hibernate.ddl-auto=update"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(SchemaMigrationRunner.class)
+class SchemaUpgradeTest {
+
+    static final String URL = "jdbc:h2:mem:schema-upgrade;MODE=MySQL;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private SchemaMigrationRunner schemaMigrationRunner;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private SellerDailySalesRepository sellerDailySalesRepository;
+
+    // Runs before the Spring context, so the migrations find the baseline tables and one product
+    @BeforeAll
+    static void createBaselineDatabase() throws SQLException {
+        try (Connection connection = DriverManager.getConnection(URL, "sa", "");
+             Statement statement = connection.createStatement()) {
+            ScriptUtils.executeSqlScript(connection, new ClassPathResource("db/baseline-6484e84.sql"));
+            statement.execute("INSERT INTO users (enabled, created_at, email, full_name, password, role) "
+                + "VALUES (1, NOW(), 'seller@test.com', 'Seller', 'secret', 'SELLER')");
+            statement.execute("INSERT INTO categories (created_at, name) VALUES (NOW(), 'Kitchen')");
+            statement.execute("INSERT INTO products (eco_score, price, stock, category_id, created_at, seller_id, name, sku, status) "
+                + "VALUES (3, 10.00, 5, 1, NOW(), 1, 'Bamboo Cup', 'SKU-1', 'ACTIVE')");
+        }
+    }
+
+    @Test
+    void baselineDatabaseIsMigratedThenUpdated() throws Exception {
+        // V0 recorded without running, the later ones applied
+        assertEquals(List.of(0, 1, 2, 3), jdbcTemplate.queryForList("SELECT version FROM schema_migrations ORDER BY version", Integer.class));
+        assertEquals(0, schemaMigrationRunner.migrate());
+
+        // The existing product got the new column (and its index) from the migrations, the new tables came from ddl-auto
+        Product product = productRepository.findAll().get(0);
+        assertEquals(0L, product.getSalesCount());
+        assertEquals(1, jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM INFORMATION_SCHEMA.INDEXES WHERE INDEX_NAME = 'IDX_PRODUCTS_SALES'", Integer.class));
+        assertEquals(0, sellerDailySalesRepository.count());
+    }
+}
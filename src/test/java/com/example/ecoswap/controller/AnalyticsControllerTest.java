@@ -0,0 +1,120 @@
+package com.example.ecoswap.controller;
+
+import com.example.ecoswap.TestFixtures;
+import com.example.ecoswap.analytics.RankingWindow;
+import com.example.ecoswap.model.Category;
+import com.example.ecoswap.model.Product;
+import com.example.ecoswap.model.User;
+import com.example.ecoswap.model.enums.OrderStatus;
+import com.example.ecoswap.model.enums.Role;
+import com.example.ecoswap.security.CustomUserDetails;
+import com.example.ecoswap.services.CategoryRevenueService;
+import com.example.ecoswap.services.ProductRankingService;
+import com.example.ecoswap.services.SellerCustomerSketchService;
+import com.example.ecoswap.services.SellerSalesRollupService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.ui.ExtendedModelMap;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({AnalyticsController.class, SellerSalesRollupService.class, ProductRankingService.class, SellerCustomerSketchService.class,
+         CategoryRevenueService.class, TestFixtures.class})
+class AnalyticsControllerTest {
+
+    // Statements issued by the admin analytics page, independent of the number of orders
+    private static final long ADMIN_ANALYTICS_MAX_STATEMENTS = 14;
+
+    @Autowired
+    private AnalyticsController analyticsController;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User admin;
+    private User seller;
+    private User customer;
+    private List<Product> products;
+
+    @BeforeEach
+    void setUp() {
+        admin = fixtures.user("admin@test.com", "Admin", Role.ADMIN);
+        seller = fixtures.seller("seller@test.com");
+        customer = fixtures.customer("customer@test.com");
+        Category category = fixtures.category("Home");
+
+        products = List.of(
+            fixtures.product(seller, category).name("Bamboo Brush").save(),
+            fixtures.product(seller, category).name("Steel Bottle").save(),
+            fixtures.product(seller, category).name("Cotton Bag").save()
+        );
+    }
+
+    @Test
+    void adminAnalyticsRunsInBoundedNumberOfStatements() {
+        createOrders(10);
+        long statementsWithFewOrders = countAdminAnalyticsStatements();
+
+        createOrders(200);
+        long statementsWithManyOrders = countAdminAnalyticsStatements();
+
+        assertEquals(statementsWithFewOrders, statementsWithManyOrders);
+        assertTrue(statementsWithManyOrders <= ADMIN_ANALYTICS_MAX_STATEMENTS,
+            "Admin analytics ran " + statementsWithManyOrders + " statements");
+    }
+
+    @Test
+    void adminAnalyticsAggregatesDeliveredOrders() {
+        createOrders(9);
+
+        ExtendedModelMap model = new ExtendedModelMap();
+        analyticsController.adminAnalytics(new CustomUserDetails(admin), RankingWindow.LAST_365_DAYS, model);
+
+        // Every third order is delivered, the rest stay pending
+        assertEquals(9L, model.get("totalOrders"));
+        assertEquals(3L, model.get("deliveredOrders"));
+        assertEquals(6L, model.get("pendingOrders"));
+        assertEquals(0, new BigDecimal("60.00").compareTo((BigDecimal) model.get("totalRevenue")));
+
+        List<?> topProducts = (List<?>) model.get("topProducts");
+        assertEquals(1, topProducts.size());
+    }
+
+    private long countAdminAnalyticsStatements() {
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        analyticsController.adminAnalytics(new CustomUserDetails(admin), RankingWindow.LAST_365_DAYS, new ExtendedModelMap());
+
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void createOrders(int count) {
+        for (int i = 0; i < count; i++) {
+            fixtures.order(customer, i % 3 == 0 ? OrderStatus.DELIVERED : OrderStatus.PENDING)
+                .item(products.get(i % products.size()), 2)
+                .save();
+        }
+    }
+}
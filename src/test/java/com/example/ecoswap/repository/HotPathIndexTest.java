@@ -0,0 +1,147 @@
+package com.example.ecoswap.repository;
+
+import com.example.ecoswap.config.SchemaMigrationRunner;
+import com.example.ecoswap.dtos.PageToken;
+import com.example.ecoswap.search.ProductSort;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Builds an H2 database in MySQL mode from the versioned migrations alone (Hibernate only validates it), then
+ * EXPLAINs the SQL Hibernate generates for each hot repository query and checks the plan reads the index meant for it.
+ */
+@DataJpaTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:hot-path-indexes;MODE=MySQL;DB_CLOSE_DELAY=-1",
+    "spring.datasource.driverClassName=org.h2.Driver",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "spring.jpa.hibernate.ddl-auto=validate",
+    "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.example.ecoswap.repository.HotPathIndexTest$CapturedSql"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(SchemaMigrationRunner.class)
+class HotPathIndexTest {
+
+    // The idx_products_* and idx_products_category_* suffix of each shop sort's index
+    private static final Map<ProductSort, String> SORT_INDEXES = Map.of(
+        ProductSort.NEWEST, "created", ProductSort.PRICE_ASC, "price", ProductSort.PRICE_DESC, "price",
+        ProductSort.RATING, "rating", ProductSort.ECO_SCORE, "eco_score", ProductSort.BEST_SELLING, "sales");
+
+    @Autowired
+    private SchemaMigrationRunner schemaMigrationRunner;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Test
+    void hotQueriesReadTheirMigratedIndexes() throws Exception {
+        // Applied once on startup, recorded, and not applied again
+        assertEquals(List.of(0, 1, 2, 3), jdbcTemplate.queryForList("SELECT version FROM schema_migrations ORDER BY version", Integer.class));
+        assertEquals(0, schemaMigrationRunner.migrate());
+
+        // H2 only reads a composite index for its order when the query also bounds the column after the equality
+        // prefix, so plain equality-plus-ORDER BY lists (customer orders, unread notifications, approved reviews)
+        // are left to MySQL; their counts and the keyset pages over the same indexes are checked here
+        PageToken first = PageToken.FIRST;
+        assertUses("idx_products_seller_status", () -> productRepository.countBySellerIdAndStatus(1L, "ACTIVE"));
+        assertUses("idx_products_seller_status", () -> productRepository.findBySellerIdAndStatus(1L, "ACTIVE", PageRequest.of(0, 12)));
+        assertUses("idx_products_seller_created",
+            () -> productRepository.findPageBySellerAfter(1L, first.getCreatedAt(), first.getId(), PageRequest.of(0, 12)));
+        assertUses("idx_products_category_created",
+            () -> productRepository.findPageByCategoryAfter(1L, first.getCreatedAt(), first.getId(), PageRequest.of(0, 12)));
+
+        assertUses("idx_orders_customer_created",
+            () -> orderRepository.findPageByCustomerAfter(1L, first.getCreatedAt(), first.getId(), PageRequest.of(0, 10)));
+        assertUses("idx_order_items_seller_order", () -> orderRepository.countOrdersBySeller(1L));
+        assertUses("idx_order_items_seller_order",
+            () -> orderRepository.findPageBySellerAfter(1L, first.getCreatedAt(), first.getId(), PageRequest.of(0, 10)));
+
+        assertUses("idx_notifications_user_read", () -> notificationRepository.countByUserIdAndIsReadFalse(1L));
+
+        assertUses("idx_reviews_product_approved", () -> reviewRepository.findAverageRatingByProductId(1L));
+        assertUses("idx_reviews_product_approved", () -> reviewRepository.countByProductIdAndApprovedTrue(1L));
+    }
+
+    @Test
+    void shopSortsReadTheirIndexInOrder() {
+        for (ProductSort sort : ProductSort.values()) {
+            String index = "idx_products_" + SORT_INDEXES.get(sort);
+            String categoryIndex = "idx_products_category_" + SORT_INDEXES.get(sort);
+            // H2 cannot scan an index backwards, so it sorts PRICE_DESC; MySQL 8 reads idx_products_price from the end
+            if (sort.isBackwardScan()) {
+                assertUses(categoryIndex, () -> productRepository.findIdPageByCategory(1L, PageRequest.of(0, 12, sort.getCategorySort())));
+                continue;
+            }
+            assertSorted(assertUses(index, () -> productRepository.findIdPage(PageRequest.of(0, 12, sort.getSort()))));
+            assertSorted(assertUses(categoryIndex,
+                () -> productRepository.findIdPageByCategory(1L, PageRequest.of(0, 12, sort.getCategorySort()))));
+        }
+    }
+
+    private static void assertSorted(String plan) {
+        assertTrue(plan.contains("/* index sorted */"), "Expected the rows in index order, but the plan was\n" + plan);
+    }
+
+    // Runs the query, then EXPLAINs the first statement it sent with every parameter bound; returns the plan
+    private String assertUses(String index, Runnable query) {
+        CapturedSql.statements.clear();
+        query.run();
+        String sql = CapturedSql.statements.get(0);
+        String plan = jdbcTemplate.execute((Connection connection) -> {
+            try (PreparedStatement explain = connection.prepareStatement("EXPLAIN " + sql)) {
+                for (int i = 1; i <= explain.getParameterMetaData().getParameterCount(); i++) {
+                    explain.setObject(i, null);
+                }
+                try (ResultSet rows = explain.executeQuery()) {
+                    rows.next();
+                    return rows.getString(1);
+                }
+            }
+        });
+        assertTrue(plan.toLowerCase(Locale.ROOT).contains(index), "Expected " + index + " for\n" + sql + "\nbut the plan was\n" + plan);
+        return plan;
+    }
+
+    /**
+     * Collects the SQL Hibernate prepares
+     */
+    public static class CapturedSql implements StatementInspector {
+
+        static final List<String> statements = new ArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            statements.add(sql);
+            return sql;
+        }
+    }
+}
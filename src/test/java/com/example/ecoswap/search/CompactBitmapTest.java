@@ -0,0 +1,76 @@
+package com.example.ecoswap.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CompactBitmapTest {
+
+    @Test
+    void matchesBitSetAcrossArrayAndBitmapContainers() {
+        Random random = new Random(42);
+        CompactBitmap sparse = new CompactBitmap();
+        CompactBitmap dense = new CompactBitmap();
+        BitSet sparseExpected = new BitSet();
+        BitSet denseExpected = new BitSet();
+
+        // Sparse spans many keys with array containers, dense fills a few keys past the 4096 switch
+        for (int i = 0; i < 3000; i++) {
+            int id = random.nextInt(1 << 20);
+            sparse.add(id);
+            sparseExpected.set(id);
+        }
+        for (int i = 0; i < 150_000; i++) {
+            int id = random.nextInt(3 << 16);
+            dense.add(id);
+            denseExpected.set(id);
+        }
+        for (int i = 0; i < 20_000; i++) {
+            int id = random.nextInt(3 << 16);
+            dense.remove(id);
+            denseExpected.clear(id);
+        }
+
+        assertEquals(sparseExpected.cardinality(), sparse.cardinality());
+        assertEquals(denseExpected.cardinality(), dense.cardinality());
+        assertTrue(dense.contains(denseExpected.nextSetBit(0)));
+        assertFalse(dense.contains(denseExpected.nextClearBit(0)));
+
+        BitSet both = (BitSet) sparseExpected.clone();
+        both.and(denseExpected);
+        assertEquals(both.cardinality(), sparse.andCardinality(dense));
+        assertEquals(both.cardinality(), dense.andCardinality(sparse));
+        assertEquals(denseExpected.cardinality(), dense.andCardinality(dense.copy()));
+
+        CompactBitmap intersection = dense.and(sparse);
+        assertArrayEquals(descending(both, 0, Integer.MAX_VALUE), intersection.toArrayDescending(0, Integer.MAX_VALUE));
+        assertArrayEquals(descending(denseExpected, 70_000, 12), dense.toArrayDescending(70_000, 12));
+    }
+
+    @Test
+    void shrinksBackToArraysAndDropsEmptyContainers() {
+        CompactBitmap bitmap = new CompactBitmap();
+        for (int id = 0; id < 10_000; id++) {
+            bitmap.add(id);
+        }
+        for (int id = 0; id < 9_998; id++) {
+            bitmap.remove(id);
+        }
+        assertArrayEquals(new long[] {9_999, 9_998}, bitmap.toArrayDescending(0, 10));
+
+        bitmap.remove(9_998);
+        bitmap.remove(9_999);
+        assertTrue(bitmap.isEmpty());
+        assertEquals(0, bitmap.toArrayDescending(0, 10).length);
+    }
+
+    private static long[] descending(BitSet bits, int offset, int limit) {
+        return bits.stream().boxed().sorted((a, b) -> b - a).skip(offset).limit(limit).mapToLong(Integer::longValue).toArray();
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.ecoswap.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ProductFacetIndexTest {
+
+    @Test
+    void combinesSelectionsAndCountsEachFacetAgainstTheOthers() {
+        ProductFacetIndex index = new ProductFacetIndex();
+        index.put(product(1, 100L, 5, 4.5, "8.00", true, 3));
+        index.put(product(2, 100L, 3, 3.0, "30.00", false, 0));
+        index.put(product(3, 200L, 4, 4.0, "9.50", true, 5));
+        index.put(product(4, 200L, 2, 1.0, "120.00", false, 1));
+
+        FacetSelection selection = new FacetSelection();
+        selection.setCategoryId(100L);
+        selection.setInStock(true);
+        FacetResult result = index.facet(selection, null);
+
+        assertArrayEquals(new long[] {1}, result.getMatching().toArrayDescending(0, 10));
+        // Category options ignore the category selection but keep "in stock"
+        assertEquals(1, result.getCategoryCounts().get(100L));
+        assertEquals(2, result.getCategoryCounts().get(200L));
+        assertEquals(3, result.getAnyCategoryCount());
+        // In stock is counted within category 100 regardless of itself
+        assertEquals(1, result.getInStockCount());
+        assertEquals(1, result.getOnSaleCount());
+        assertEquals(1, result.getEcoScoreCounts()[5]);
+        assertEquals(1, result.getRatingCounts()[4]);
+        assertEquals(1, result.getPriceBandCounts().get(PriceBand.UNDER_10));
+
+        selection = new FacetSelection();
+        selection.setMinEcoScore(4);
+        selection.setPriceBand(PriceBand.UNDER_10);
+        assertArrayEquals(new long[] {3, 1}, index.facet(selection, null).getMatching().toArrayDescending(0, 10));
+
+        // Search matches narrow everything, counts included
+        CompactBitmap searchMatches = new CompactBitmap();
+        searchMatches.add(2);
+        searchMatches.add(4);
+        result = index.facet(new FacetSelection(), searchMatches);
+        assertEquals(2, result.getTotal());
+        assertEquals(1, result.getCategoryCounts().get(100L));
+        assertEquals(0, result.getOnSaleCount());
+    }
+
+    @Test
+    void updatesMoveProductsBetweenFacetValues() {
+        ProductFacetIndex index = new ProductFacetIndex();
+        index.put(product(1, 100L, 5, 4.5, "8.00", true, 3));
+
+        index.put(product(1, 200L, 2, 4.5, "60.00", false, 0));
+        FacetResult result = index.facet(new FacetSelection(), null);
+        assertNull(result.getCategoryCounts().get(100L));
+        assertEquals(1, result.getCategoryCounts().get(200L));
+        assertEquals(0, result.getEcoScoreCounts()[3]);
+        assertEquals(1, result.getPriceBandCounts().get(PriceBand.FROM_50_TO_100));
+        assertEquals(0, result.getInStockCount());
+
+        index.remove(1);
+        assertEquals(0, index.facet(new FacetSelection(), null).getTotal());
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void sortsMatchesInMemoryKeepingSalesAcrossUpdates() {
+        ProductFacetIndex index = new ProductFacetIndex();
+        index.put(product(1, 100L, 5, 4.5, "8.00", true, 3));
+        index.put(product(2, 100L, 3, 3.0, "30.00", false, 0));
+        index.put(product(3, 200L, 4, 4.5, "9.50", true, 5));
+        index.put(product(4, 200L, 2, 1.0, "8.00", false, 1));
+        index.addSales(2, 7);
+        index.addSales(4, 3);
+        // Editing a product does not reset its sales
+        index.put(product(2, 100L, 3, 3.0, "31.00", false, 0));
+
+        CompactBitmap all = index.facet(new FacetSelection(), null).getMatching();
+        // Ties fall back to the id in the sort's direction
+        assertArrayEquals(new long[] {1, 4, 3, 2}, index.sorted(all, ProductSort.PRICE_ASC.getComparator(), 0, 10));
+        assertArrayEquals(new long[] {3, 1}, index.sorted(all, ProductSort.RATING.getComparator(), 0, 2));
+        assertArrayEquals(new long[] {4, 3}, index.sorted(all, ProductSort.BEST_SELLING.getComparator(), 1, 2));
+        assertArrayEquals(new long[0], index.sorted(all, ProductSort.ECO_SCORE.getComparator(), 4, 2));
+    }
+
+    private static FacetDocument product(long id, Long categoryId, int ecoScore, double rating, String price,
+                                         boolean onSale, int stock) {
+        return new FacetDocument(id, categoryId, ecoScore, rating, new BigDecimal(price), onSale, false, false, stock);
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.ecoswap.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ProductSearchIndexTest {
+
+    @Test
+    void matchesEveryTermByPrefixAndRanksByField() {
+        ProductSearchIndex index = new ProductSearchIndex();
+        index.put(new ProductDocument(1, 10L, 100L, "Bamboo Toothbrush", "Plastic free brush", "ECO-001", "Bathroom"));
+        index.put(new ProductDocument(2, 10L, 100L, "Soap Bar", "Comes with a bamboo dish", "ECO-002", "Bathroom"));
+        index.put(new ProductDocument(3, 20L, 200L, "Cotton Bag", "Reusable shopping bag", "BAG-001", "Kitchen"));
+
+        // Name matches outrank description matches
+        assertEquals(List.of(1L, 2L), search(index, "bamboo", null));
+        assertEquals(List.of(1L, 2L), search(index, "BAMB", null));
+        assertEquals(List.of(2L), search(index, "bamboo soap", null));
+        assertEquals(List.of(3L), search(index, "bag-001", null));
+        assertEquals(List.of(3L), search(index, "kitchen", null));
+        assertEquals(List.of(), search(index, "bamboo kitchen", null));
+        assertEquals(List.of(3L), search(index, "cot", 20L));
+        // Two letters are too short to expand and only match a whole term
+        assertEquals(List.of(), search(index, "ba", null));
+        assertEquals(List.of(), search(index, "  ", null));
+    }
+
+    @Test
+    void updatesRemovalsAndCategoryRenamesReplaceOldTerms() {
+        ProductSearchIndex index = new ProductSearchIndex();
+        index.put(new ProductDocument(1, 10L, 100L, "Bamboo Toothbrush", null, "ECO-001", "Bathroom"));
+        index.put(new ProductDocument(2, 10L, 100L, "Soap Bar", null, "ECO-002", "Bathroom"));
+
+        index.put(new ProductDocument(1, 10L, 100L, "Wooden Toothbrush", null, "ECO-001", "Bathroom"));
+        assertEquals(List.of(), search(index, "bamboo", null));
+        assertEquals(List.of(1L), search(index, "wooden", null));
+
+        index.renameCategory(100L, "Personal Care");
+        assertEquals(List.of(), search(index, "bathroom", null));
+        assertEquals(List.of(2L, 1L), search(index, "personal", null));
+
+        index.remove(2);
+        assertEquals(List.of(1L), search(index, "care", null));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void bm25PrefersRareTermsAndShortFieldsAndAppliesQualityBoost() {
+        ProductSearchIndex index = new ProductSearchIndex(0.5f);
+        index.put(new ProductDocument(1, 10L, 100L, "Organic Cotton Tote Bag With Long Straps", null, "A-1", "Bags", 1, 0.0));
+        index.put(new ProductDocument(2, 10L, 100L, "Cotton Tote", null, "A-2", "Bags", 1, 0.0));
+        index.put(new ProductDocument(3, 10L, 100L, "Cotton Tote", null, "A-3", "Bags", 5, 5.0));
+        index.put(new ProductDocument(4, 10L, 100L, "Hemp Tote", null, "A-4", "Bags", 1, 0.0));
+
+        // Shorter name beats the long one; the eco-rated twin beats both
+        assertEquals(List.of(3L, 2L, 1L), search(index, "cotton tote", null));
+
+        // Pages come from the same ranking, with the total across all pages
+        SearchResult page = index.search("tote", null, 1, 2);
+        assertEquals(4, page.getTotal());
+        assertEquals(2, page.getIds().length);
+        assertEquals(search(index, "tote", null).subList(1, 3), page.idList());
+        assertEquals(0, index.search("tote", null, 10, 5).getIds().length);
+    }
+
+    @Test
+    void shortPrefixesExpandToTheirMostUsedTermsOnly() {
+        ProductSearchIndex index = new ProductSearchIndex();
+        int rareTerms = ProductSearchIndex.MAX_PREFIX_EXPANSIONS + 10;
+        for (long id = 1; id <= rareTerms; id++) {
+            index.put(new ProductDocument(id, 10L, 100L, "Refill zeta" + id, null, "SKU-" + id, "Kitchen"));
+        }
+        for (long id = 101; id <= 105; id++) {
+            index.put(new ProductDocument(id, 10L, 100L, "Refill zetapopular", null, "SKU-" + id, "Kitchen"));
+        }
+
+        // The popular expansion and the most used of the rest, not all of them
+        List<Long> ids = search(index, "zeta", null);
+        assertEquals(5 + ProductSearchIndex.MAX_PREFIX_EXPANSIONS - 1, index.search("zeta", null, 0, 10).getTotal());
+        assertEquals(List.of(101L, 102L, 103L, 104L, 105L), ids.stream().filter(id -> id > 100).sorted().toList());
+        // A whole term is always matched
+        assertEquals(List.of(7L), search(index, "zeta7", null));
+    }
+
+    @Test
+    void compactionKeepsResultsAfterManyUpdates() {
+        ProductSearchIndex index = new ProductSearchIndex();
+        for (int round = 0; round < 5; round++) {
+            for (long id = 1; id <= 500; id++) {
+                index.put(new ProductDocument(id, 10L, 100L, "Reusable bottle batch" + round, null, "SKU-" + id, "Kitchen"));
+            }
+        }
+        assertEquals(500, index.size());
+        assertEquals(500, index.search("bottle batch4", null, 0, 10).getTotal());
+        assertEquals(0, index.search("bottle batch3", null, 0, 10).getTotal());
+    }
+
+    private static List<Long> search(ProductSearchIndex index, String query, Long sellerId) {
+        return index.search(query, sellerId, 0, 100).idList();
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.ecoswap.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SuggestionIndexTest {
+
+    @Test
+    void completesWordPrefixesHeaviestFirst() {
+        SuggestionIndex index = SuggestionIndex.build(List.of(
+            new Suggestion("Bamboo Toothbrush", Suggestion.Type.PRODUCT, 1L, 40),
+            new Suggestion("Bamboo Cutlery Set", Suggestion.Type.PRODUCT, 2L, 90),
+            new Suggestion("Bathroom", Suggestion.Type.CATEGORY, 10L, 130),
+            new Suggestion("Steel Straw", Suggestion.Type.PRODUCT, 3L, 5),
+            new Suggestion("bamboo toothbrush", Suggestion.Type.QUERY, null, 3)));
+
+        assertEquals(List.of("Bathroom", "Bamboo Cutlery Set", "Bamboo Toothbrush"), texts(index.top("ba", 10)));
+        assertEquals(List.of("Bathroom", "Bamboo Cutlery Set"), texts(index.top("ba", 2)));
+        // Later words complete too, and a finished word does not complete to longer ones
+        assertEquals(List.of("Bamboo Toothbrush"), texts(index.top("TOOTH", 10)));
+        assertEquals(List.of("Bamboo Cutlery Set", "Bamboo Toothbrush"), texts(index.top("bamboo ", 10)));
+        assertEquals(List.of(), texts(index.top("bamb ", 10)));
+        assertEquals(List.of(), texts(index.top("  ", 10)));
+    }
+
+    @Test
+    void findsTopCompletionsAmongManyKeysSharingAPrefix() {
+        List<Suggestion> suggestions = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            suggestions.add(new Suggestion("eco item " + i, Suggestion.Type.PRODUCT, (long) i, i % 1_000));
+        }
+        SuggestionIndex index = SuggestionIndex.build(suggestions);
+
+        // Weight 999 is shared by items 999, 1999, ... and ties complete alphabetically
+        assertEquals(List.of("eco item 1999", "eco item 2999", "eco item 3999", "eco item 4999", "eco item 999", "eco item 1998"),
+            texts(index.top("eco it", 6)));
+    }
+
+    private static List<String> texts(List<Suggestion> suggestions) {
+        return suggestions.stream().map(Suggestion::getText).toList();
+    }
+}
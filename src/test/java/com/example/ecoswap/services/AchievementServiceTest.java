@@ -0,0 +1,89 @@
+package com.example.ecoswap.services;
+
+import com.example.ecoswap.model.AchievementRule;
+import com.example.ecoswap.model.CustomerImpactLedger;
+import com.example.ecoswap.model.enums.AchievementMetric;
+import com.example.ecoswap.repository.AchievementRuleRepository;
+import com.example.ecoswap.repository.CustomerAchievementRepository;
+import com.example.ecoswap.repository.CustomerImpactLedgerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+@DataJpaTest(properties = "ecoswap.achievements.rules-ttl-seconds=0")
+@Import(AchievementService.class)
+class AchievementServiceTest {
+
+    @Autowired
+    private AchievementService achievementService;
+
+    @Autowired
+    private AchievementRuleRepository ruleRepository;
+
+    @Autowired
+    private CustomerAchievementRepository customerAchievementRepository;
+
+    @Autowired
+    private CustomerImpactLedgerRepository ledgerRepository;
+
+    @BeforeEach
+    void setUp() {
+        ruleRepository.saveAll(List.of(
+            new AchievementRule("FIRST_STEP", "🌱", "First Step", "First purchase", AchievementMetric.ITEMS_PURCHASED, 1, 10),
+            new AchievementRule("FOREST_SAVER", "🌲", "Forest Saver", "Save 500kg", AchievementMetric.CO2_SAVED, 500, 20)));
+        achievementService.reloadRules();
+    }
+
+    @Test
+    void unlocksAreRecordedOnceAndSurviveReversals() {
+        CustomerImpactLedger ledger = ledgerRepository.save(ledger(7L, 3, 50.0));
+
+        assertEquals(1, achievementService.evaluate(ledger).size());
+        assertEquals(0, achievementService.evaluate(ledger).size());
+
+        ledger.setItemsPurchased(0L);
+        ledger.setCo2Saved(0.0);
+        achievementService.evaluate(ledger);
+
+        List<Map<String, Object>> achievements = achievementService.getAchievements(ledger);
+        assertEquals(2, achievements.size());
+        assertEquals(true, achievements.get(0).get("unlocked"));
+        assertNotNull(achievements.get(0).get("unlockedAt"));
+        assertEquals(false, achievements.get(1).get("unlocked"));
+        assertEquals(1, customerAchievementRepository.findByCustomerId(7L).size());
+    }
+
+    @Test
+    void rulesAddedToTheTableArePickedUpAfterTheTtl() {
+        assertEquals(2, achievementService.getRules().size());
+
+        ruleRepository.save(new AchievementRule("PLASTIC_WARRIOR", "♻️", "Plastic Warrior", "Save 1kg of plastic",
+            AchievementMetric.PLASTIC_SAVED, 1000, 30));
+        assertEquals(3, achievementService.getRules().size());
+    }
+
+    @Test
+    void evaluateAllUnlocksFromExistingLedgers() {
+        ledgerRepository.save(ledger(7L, 3, 600.0));
+        ledgerRepository.save(ledger(8L, 0, 0.0));
+
+        assertEquals(2, achievementService.evaluateAll());
+        assertEquals(0, achievementService.evaluateAll());
+        assertEquals(0, customerAchievementRepository.findByCustomerId(8L).size());
+    }
+
+    private CustomerImpactLedger ledger(Long customerId, long items, double co2) {
+        CustomerImpactLedger ledger = new CustomerImpactLedger(customerId);
+        ledger.setItemsPurchased(items);
+        ledger.setCo2Saved(co2);
+        return ledger;
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.ecoswap.services;
+
+import com.example.ecoswap.TestFixtures;
+import com.example.ecoswap.events.OrderEvent;
+import com.example.ecoswap.model.Category;
+import com.example.ecoswap.model.Order;
+import com.example.ecoswap.model.User;
+import com.example.ecoswap.model.enums.OrderStatus;
+import com.example.ecoswap.repository.CategoryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest
+@Import({CategoryRevenueService.class, TestFixtures.class})
+class CategoryRevenueServiceTest {
+
+    @Autowired
+    private CategoryRevenueService categoryRevenueService;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    private User seller;
+    private User customer;
+    private Category home;
+    private Category garden;
+
+    @BeforeEach
+    void setUp() {
+        seller = fixtures.seller("seller@test.com");
+        customer = fixtures.customer("customer@test.com");
+        home = fixtures.category("Home");
+        garden = fixtures.category("Garden");
+    }
+
+    @Test
+    void deliveriesAreCreditedAndCancellationsDebited() {
+        Order first = createDeliveredOrder(home, garden);
+        Order second = createDeliveredOrder(home);
+        categoryRevenueService.onOrderEvent(OrderEvent.statusChanged(first, OrderStatus.SHIPPED));
+        categoryRevenueService.onOrderEvent(OrderEvent.statusChanged(second, OrderStatus.SHIPPED));
+
+        Map<String, BigDecimal> revenue = categoryRevenueService.getSellerRevenueByCategory(seller.getId());
+        assertEquals(0, new BigDecimal("40.00").compareTo(revenue.get("Home")));
+        assertEquals(0, new BigDecimal("20.00").compareTo(revenue.get("Garden")));
+
+        second.setStatus(OrderStatus.CANCELLED);
+        categoryRevenueService.onOrderEvent(OrderEvent.statusChanged(second, OrderStatus.DELIVERED));
+
+        Map<String, Map<String, BigDecimal>> series = categoryRevenueService.getPlatformSeries(LocalDate.now(), 6);
+        assertEquals(0, new BigDecimal("20.00").compareTo(series.get("Home").values().stream().reduce(BigDecimal.ZERO, BigDecimal::add)));
+        assertEquals(6, series.get("Garden").size());
+    }
+
+    @Test
+    void renamedCategoryKeepsOneSeries() {
+        categoryRevenueService.onOrderEvent(OrderEvent.statusChanged(createDeliveredOrder(home), OrderStatus.SHIPPED));
+        home.setName("Household");
+        categoryRepository.save(home);
+        categoryRevenueService.onOrderEvent(OrderEvent.statusChanged(createDeliveredOrder(home), OrderStatus.SHIPPED));
+
+        Map<String, BigDecimal> revenue = categoryRevenueService.getSellerRevenueByCategory(seller.getId());
+        assertEquals(Set.of("Household"), revenue.keySet());
+        assertEquals(0, new BigDecimal("40.00").compareTo(revenue.get("Household")));
+        assertEquals(Set.of("Household"), categoryRevenueService.getSellerSeries(seller.getId(), LocalDate.now(), 3).keySet());
+    }
+
+    @Test
+    void rebuildMatchesIncrementalUpdates() {
+        createDeliveredOrder(home, garden);
+        createDeliveredOrder(garden);
+
+        assertEquals(2, categoryRevenueService.rebuild());
+
+        Map<String, BigDecimal> revenue = categoryRevenueService.getSellerRevenueByCategory(seller.getId());
+        assertEquals(0, new BigDecimal("20.00").compareTo(revenue.get("Home")));
+        assertEquals(0, new BigDecimal("40.00").compareTo(revenue.get("Garden")));
+    }
+
+    private Order createDeliveredOrder(Category... categories) {
+        TestFixtures.OrderBuilder order = fixtures.order(customer, OrderStatus.DELIVERED);
+        for (Category category : categories) {
+            order.item(fixtures.product(seller, category).save(), 2);
+        }
+        return order.save();
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.ecoswap.services;
+
+import com.example.ecoswap.TestFixtures;
+import com.example.ecoswap.events.OrderEvent;
+import com.example.ecoswap.model.Category;
+import com.example.ecoswap.model.CustomerImpactBreakdown;
+import com.example.ecoswap.model.CustomerImpactLedger;
+import com.example.ecoswap.model.Order;
+import com.example.ecoswap.model.User;
+import com.example.ecoswap.model.enums.OrderStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest
+@Import({CustomerImpactLedgerService.class, AchievementService.class, TestFixtures.class})
+class CustomerImpactLedgerServiceTest {
+
+    @Autowired
+    private CustomerImpactLedgerService ledgerService;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    private User seller;
+    private User customer;
+    private Category home;
+    private Category garden;
+
+    @BeforeEach
+    void setUp() {
+        seller = fixtures.seller("seller@test.com");
+        customer = fixtures.customer("customer@test.com");
+        home = fixtures.category("Home");
+        garden = fixtures.category("Garden");
+    }
+
+    @Test
+    void deliveriesAreCreditedAndRefundsDebited() {
+        Order first = createDeliveredOrder(home, garden);
+        Order second = createDeliveredOrder(home);
+        ledgerService.onOrderEvent(OrderEvent.statusChanged(first, OrderStatus.SHIPPED));
+        ledgerService.onOrderEvent(OrderEvent.statusChanged(second, OrderStatus.SHIPPED));
+
+        second.setStatus(OrderStatus.REFUNDED);
+        ledgerService.onOrderEvent(OrderEvent.statusChanged(second, OrderStatus.DELIVERED));
+
+        // 2 units per line, each product saves 1.5 kg CO2 and 20 g plastic per unit
+        CustomerImpactLedger ledger = ledgerService.getLedger(customer.getId());
+        assertEquals(1L, ledger.getDeliveredOrders());
+        assertEquals(4L, ledger.getItemsPurchased());
+        assertEquals(6.0, ledger.getCo2Saved(), 1e-9);
+        assertEquals(80.0, ledger.getPlasticSaved(), 1e-9);
+
+        assertEquals(6.0, ledgerService.getMonth(customer.getId(), YearMonth.now()).getCo2Saved(), 1e-9);
+        List<CustomerImpactBreakdown> categories = ledgerService.getCategoryBreakdown(customer.getId());
+        assertEquals(2, categories.size());
+        categories.forEach(category -> assertEquals(2L, category.getItemsPurchased()));
+    }
+
+    @Test
+    void rebuildMatchesIncrementalUpdates() {
+        createDeliveredOrder(home, garden);
+        createDeliveredOrder(garden);
+
+        assertEquals(1, ledgerService.rebuild());
+
+        CustomerImpactLedger ledger = ledgerService.getLedger(customer.getId());
+        assertEquals(2L, ledger.getDeliveredOrders());
+        assertEquals(6L, ledger.getItemsPurchased());
+        assertEquals(9.0, ledger.getCo2Saved(), 1e-9);
+        assertEquals(2, ledgerService.getCategoryBreakdown(customer.getId()).size());
+        assertEquals(6L, ledgerService.getMonth(customer.getId(), YearMonth.now()).getItemsPurchased());
+    }
+
+    private Order createDeliveredOrder(Category... categories) {
+        TestFixtures.OrderBuilder order = fixtures.order(customer, OrderStatus.DELIVERED);
+        for (Category category : categories) {
+            order.item(fixtures.product(seller, category).impact(1.5, 20.0).save(), 2);
+        }
+        return order.save();
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.ecoswap.services;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DashboardComposerTest {
+
+    private final DashboardComposer composer = new DashboardComposer(1000, 2);
+
+    @AfterEach
+    void tearDown() {
+        composer.shutdown();
+    }
+
+    @Test
+    void widgetsLoadConcurrentlyUpToThePermitLimit() {
+        DashboardComposer.Composition page = composer.compose();
+        long start = System.nanoTime();
+        DashboardComposer.Widget<String> stats = page.addInline("stats", () -> "s", "");
+        DashboardComposer.Widget<String> first = page.add("first", () -> sleepThen(300, "a"), "");
+        DashboardComposer.Widget<String> second = page.add("second", () -> sleepThen(300, "b"), "");
+        DashboardComposer.Widget<String> third = page.add("third", () -> sleepThen(300, "c"), "");
+        Map<String, String> timings = page.await();
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        // Two permits: the third widget waits for one of the first two
+        assertEquals("sabc", stats.get() + first.get() + second.get() + third.get());
+        assertTrue(elapsedMillis >= 600 && elapsedMillis < 1000, "three 300 ms widgets took " + elapsedMillis + " ms");
+        assertEquals(4, timings.size());
+    }
+
+    @Test
+    void slowAndFailingWidgetsFallBack() {
+        DashboardComposer.Composition page = composer.compose();
+        DashboardComposer.Widget<Long> slow = page.add("slow", () -> sleepThen(5000, 1L), 0L, 100);
+        DashboardComposer.Widget<Long> failing = page.add("failing", () -> {
+            throw new IllegalStateException("database down");
+        }, -1L);
+        DashboardComposer.Widget<Long> fast = page.add("fast", () -> 42L, 0L);
+        DashboardComposer.Widget<Long> failingInline = page.addInline("failingInline", () -> {
+            throw new IllegalStateException("cache broken");
+        }, -2L);
+        Map<String, String> timings = page.await();
+
+        assertEquals(0L, slow.get());
+        assertEquals(-1L, failing.get());
+        assertEquals(42L, fast.get());
+        assertEquals(-2L, failingInline.get());
+        assertTrue(timings.get("slow").endsWith("(timeout)"));
+        assertTrue(timings.get("failing").endsWith("(failed)"));
+    }
+
+    private static <T> T sleepThen(long millis, T value) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return value;
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.ecoswap.services;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+
+class DashboardStatsCacheTest {
+
+    private final DashboardStatsCache cache = new DashboardStatsCache(mock(PlatformTransactionManager.class), 60, 1, 2);
+
+    @AfterEach
+    void tearDown() {
+        cache.shutdown();
+    }
+
+    @Test
+    void servesCachedSnapshotUntilMarkedDirty() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        DashboardScope scope = DashboardScope.seller(7L);
+
+        assertEquals(1, cache.get(scope, () -> Map.of("totalOrders", loads.incrementAndGet())).get("totalOrders"));
+        assertEquals(1, cache.get(scope, () -> Map.of("totalOrders", loads.incrementAndGet())).get("totalOrders"));
+        assertEquals(1, loads.get());
+
+        // Dirty entry is still served once while the refresh runs in the background
+        cache.markDirty(scope);
+        assertEquals(1, cache.get(scope, () -> Map.of("totalOrders", loads.incrementAndGet())).get("totalOrders"));
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while ((Long) cache.getStatistics().get("refreshes") == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(2, cache.get(scope, () -> Map.of("totalOrders", loads.incrementAndGet())).get("totalOrders"));
+
+        Map<String, Object> stats = cache.getStatistics();
+        assertEquals(1L, stats.get("misses"));
+        assertEquals(3L, stats.get("hits"));
+        assertEquals(1L, stats.get("staleHits"));
+        assertEquals(1L, stats.get("refreshes"));
+    }
+
+    @Test
+    void scopesAreCachedIndependently() {
+        cache.get(DashboardScope.customer(1L), () -> Map.of("totalOrders", 1));
+        cache.get(DashboardScope.customer(2L), () -> Map.of("totalOrders", 2));
+
+        assertEquals(2, cache.get(DashboardScope.customer(2L), Map::of).get("totalOrders"));
+        assertEquals(2, cache.getStatistics().get("entries"));
+    }
+
+    @Test
+    void leastReadScopeIsEvictedPastMaximumSize() {
+        cache.get(DashboardScope.customer(1L), () -> Map.of("totalOrders", 1));
+        cache.get(DashboardScope.customer(2L), () -> Map.of("totalOrders", 2));
+        cache.get(DashboardScope.customer(1L), Map::of);
+        cache.get(DashboardScope.customer(3L), () -> Map.of("totalOrders", 3));
+
+        assertEquals(2, cache.getStatistics().get("entries"));
+        assertEquals(1L, cache.getStatistics().get("evictions"));
+        assertEquals(1, cache.get(DashboardScope.customer(1L), Map::of).get("totalOrders"));
+        assertEquals(Map.of(), cache.get(DashboardScope.customer(2L), Map::of));
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.ecoswap.services;
+
+import com.example.ecoswap.TestFixtures;
+import com.example.ecoswap.dtos.PageToken;
+import com.example.ecoswap.model.Category;
+import com.example.ecoswap.model.Order;
+import com.example.ecoswap.model.Product;
+import com.example.ecoswap.model.User;
+import com.example.ecoswap.model.enums.OrderStatus;
+import com.example.ecoswap.repository.OrderRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@DataJpaTest
+@Import({ProductSearchService.class, ProductFacetService.class, ProductService.class, ProductViewCache.class, TestFixtures.class})
+class KeysetPaginationTest {
+
+    private static final LocalDateTime NOON = LocalDateTime.of(2024, 5, 1, 12, 0);
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Test
+    void productPagesWalkNewestFirstAcrossTimestampTies() {
+        User seller = fixtures.seller("seller@test.com");
+        Category kitchen = fixtures.category("Kitchen");
+        Category garden = fixtures.category("Garden");
+
+        // Three products share a timestamp, so the id decides their order and no page may skip or repeat one
+        Product oldest = createProduct(seller, kitchen, NOON.minusDays(1));
+        Product tiedLow = createProduct(seller, garden, NOON);
+        Product tiedMid = createProduct(seller, kitchen, NOON);
+        Product tiedHigh = createProduct(seller, kitchen, NOON);
+        Product newest = createProduct(seller, garden, NOON.plusDays(1));
+
+        assertEquals(List.of(newest.getId(), tiedHigh.getId(), tiedMid.getId(), tiedLow.getId(), oldest.getId()),
+            walk(token -> productService.getProductsAfter(null, token, 2)));
+        assertEquals(List.of(tiedHigh.getId(), tiedMid.getId(), oldest.getId()),
+            walk(token -> productService.getProductsAfter(kitchen.getId(), token, 2)));
+        assertEquals(5, walk(token -> productService.getProductsBySellerAfter(seller.getId(), token, 3)).size());
+    }
+
+    @Test
+    void sellerOrderPagesListEachOrderOnceWhateverItsItemCount() {
+        User seller = fixtures.seller("seller@test.com");
+        User customer = fixtures.customer("customer@test.com");
+        Category kitchen = fixtures.category("Kitchen");
+        Product cup = createProduct(seller, kitchen, NOON);
+        Product straw = createProduct(seller, kitchen, NOON);
+
+        Order first = createOrder(customer, OrderStatus.DELIVERED, NOON, cup, straw);
+        Order second = createOrder(customer, OrderStatus.PENDING, NOON, cup);
+        Order third = createOrder(customer, OrderStatus.DELIVERED, NOON.plusHours(1), straw, cup);
+
+        Slice<Order> firstPage = orderRepository.findPageBySellerAfter(seller.getId(),
+            PageToken.FIRST.getCreatedAt(), PageToken.FIRST.getId(), PageRequest.of(0, 2));
+        assertEquals(List.of(third.getId(), second.getId()), firstPage.map(Order::getId).getContent());
+
+        PageToken next = PageToken.decode(PageToken.next(firstPage, Order::getCreatedAt, Order::getId));
+        Slice<Order> lastPage = orderRepository.findPageBySellerAfter(seller.getId(), next.getCreatedAt(), next.getId(), PageRequest.of(0, 2));
+        assertEquals(List.of(first.getId()), lastPage.map(Order::getId).getContent());
+        assertFalse(lastPage.hasNext());
+
+        Slice<Order> delivered = orderRepository.findPageBySellerAndStatusAfter(seller.getId(), OrderStatus.DELIVERED,
+            PageToken.FIRST.getCreatedAt(), PageToken.FIRST.getId(), PageRequest.of(0, 5));
+        assertEquals(List.of(third.getId(), first.getId()), delivered.map(Order::getId).getContent());
+    }
+
+    @Test
+    void malformedTokensDecodeToNull() {
+        PageToken token = new PageToken(NOON, 42);
+        PageToken decoded = PageToken.decode(token.encode());
+        assertEquals(NOON, decoded.getCreatedAt());
+        assertEquals(42, decoded.getId());
+
+        assertNull(PageToken.decode(null));
+        assertNull(PageToken.decode("not a token"));
+        assertNull(PageToken.decode(PageToken.FIRST.encode().substring(3)));
+    }
+
+    // Ids of every page, following next tokens from the first page
+    private static List<Long> walk(Function<PageToken, Slice<Product>> pages) {
+        List<Long> ids = new ArrayList<>();
+        PageToken token = PageToken.FIRST;
+        while (token != null) {
+            Slice<Product> page = pages.apply(token);
+            page.forEach(product -> ids.add(product.getId()));
+            token = PageToken.decode(PageToken.next(page, Product::getCreatedAt, Product::getId));
+        }
+        return ids;
+    }
+
+    private Product createProduct(User seller, Category category, LocalDateTime createdAt) {
+        return fixtures.product(seller, category).createdAt(createdAt).save();
+    }
+
+    private Order createOrder(User customer, OrderStatus status, LocalDateTime createdAt, Product... products) {
+        TestFixtures.OrderBuilder order = fixtures.order(customer, status).createdAt(createdAt);
+        for (Product product : products) {
+            order.item(product, 1);
+        }
+        return order.save();
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.ecoswap.services;
+
+import com.example.ecoswap.TestFixtures;
+import com.example.ecoswap.analytics.BoundedLeaderboard;
+import com.example.ecoswap.events.OrderEvent;
+import com.example.ecoswap.model.Category;
+import com.example.ecoswap.model.LeaderboardScore;
+import com.example.ecoswap.model.Order;
+import com.example.ecoswap.model.Product;
+import com.example.ecoswap.model.User;
+import com.example.ecoswap.model.enums.LeaderboardType;
+import com.example.ecoswap.model.enums.OrderStatus;
+import com.example.ecoswap.model.enums.Role;
+import com.example.ecoswap.repository.LeaderboardScoreRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.transaction.TestTransaction;
+
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = "ecoswap.leaderboard.capacity=2")
+@Import({LeaderboardService.class, TestFixtures.class})
+class LeaderboardServiceTest {
+
+    @Autowired
+    private LeaderboardService leaderboardService;
+
+    @Autowired
+    private LeaderboardScoreRepository scoreRepository;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Test
+    void rebuildRanksAndCommittedDeliveriesReachTheBoards() {
+        User seller = fixtures.user("seller@test.com", "Green Goods", Role.SELLER);
+        User jane = fixtures.user("jane@test.com", "Jane Doe", Role.CUSTOMER);
+        User sam = fixtures.user("sam@test.com", "Sam Smith", Role.CUSTOMER);
+        User ann = fixtures.user("ann@test.com", "Ann Lee", Role.CUSTOMER);
+        Category home = fixtures.category("Home");
+
+        // Nothing to rank yet
+        assertFalse(leaderboardService.isLeaderboardMonth(YearMonth.now()));
+        assertEquals(List.of(), leaderboardService.getTopCustomersByCo2(10));
+
+        createDeliveredOrder(seller, jane, home, 2);
+        createDeliveredOrder(seller, sam, home, 1);
+
+        // 1.5 kg CO2 and 20 g plastic per unit
+        assertEquals(4, leaderboardService.rebuild());
+        List<BoundedLeaderboard.Entry> customers = leaderboardService.getTopCustomersByCo2(10);
+        assertEquals(List.of("Jane D.", "Sam S."), customers.stream().map(BoundedLeaderboard.Entry::getLabel).toList());
+        assertEquals(60.0, leaderboardService.getTopSellersByPlastic(10).get(0).getScore(), 1e-9);
+        assertEquals(4.5, leaderboardService.getTopCategories(YearMonth.now(), 10).get(0).getScore(), 1e-9);
+
+        // Category boards run from the first order's month to the current one
+        assertTrue(leaderboardService.isLeaderboardMonth(YearMonth.now()));
+        assertFalse(leaderboardService.isLeaderboardMonth(YearMonth.now().minusMonths(1)));
+        assertEquals(List.of(), leaderboardService.getTopCategories(YearMonth.now().plusMonths(1), 10));
+        assertEquals(List.of(), leaderboardService.getTopCategories(YearMonth.of(-999_999_999, 1), 10));
+
+        // Sam's second order is written with the order and overtakes Jane once it commits
+        Order second = createDeliveredOrder(seller, sam, home, 2);
+        leaderboardService.onOrderEvent(OrderEvent.statusChanged(second, OrderStatus.SHIPPED));
+        assertEquals(4.5, score(LeaderboardType.CUSTOMER_CO2, sam), 1e-9);
+        assertEquals(1.5, leaderboardService.getTopCustomersByCo2(10).get(1).getScore(), 1e-9);
+
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+        assertEquals(4.5, leaderboardService.getTopCustomersByCo2(10).get(0).getScore(), 1e-9);
+        assertEquals(100.0, leaderboardService.getTopSellersByPlastic(10).get(0).getScore(), 1e-9);
+
+        // Ann climbs onto the full board from outside it, which reloads it from leaderboard_scores
+        TestTransaction.start();
+        Order third = createDeliveredOrder(seller, ann, home, 4);
+        leaderboardService.onOrderEvent(OrderEvent.statusChanged(third, OrderStatus.SHIPPED));
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+        assertEquals(List.of(ann.getId(), sam.getId()),
+            leaderboardService.getTopCustomersByCo2(10).stream().map(BoundedLeaderboard.Entry::getId).toList());
+        assertEquals(5, scoreRepository.count());
+    }
+
+    private double score(LeaderboardType board, User user) {
+        return scoreRepository.findScore(board, LeaderboardScore.ALL_TIME, user.getId());
+    }
+
+    private Order createDeliveredOrder(User seller, User customer, Category category, int quantity) {
+        Product product = fixtures.product(seller, category).name("Bamboo Brush").impact(1.5, 20.0).save();
+        return fixtures.order(customer, OrderStatus.DELIVERED).item(product, quantity).save();
+    }
+}
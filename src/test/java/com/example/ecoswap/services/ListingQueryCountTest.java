@@ -0,0 +1,142 @@
+package com.example.ecoswap.services;
+
+import com.example.ecoswap.TestFixtures;
+import com.example.ecoswap.dtos.PageToken;
+import com.example.ecoswap.dtos.ProductView;
+import com.example.ecoswap.model.Category;
+import com.example.ecoswap.model.Product;
+import com.example.ecoswap.model.SellerProfile;
+import com.example.ecoswap.model.User;
+import com.example.ecoswap.model.enums.Role;
+import com.example.ecoswap.repository.SellerProfileRepository;
+import com.example.ecoswap.search.FacetResult;
+import com.example.ecoswap.search.FacetSelection;
+import com.example.ecoswap.search.ProductSort;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.test.context.transaction.TestTransaction;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Statement budgets for the catalog and product list pages, counted by Hibernate statistics.
+ * A page that loads associations row by row (N+1) blows its budget.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({ProductService.class, ProductSearchService.class, ProductFacetService.class, ProductViewCache.class,
+    CategoryService.class, TestFixtures.class})
+class ListingQueryCountTest {
+
+    private static final int PAGE_SIZE = 12;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductFacetService productFacetService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private SellerProfileRepository sellerProfileRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void catalogAndProductListPagesStayWithinTheirStatementBudgets() {
+        // Products over three categories and three sellers, one of them with a store
+        List<Category> categories = List.of(fixtures.category("Kitchen"), fixtures.category("Garden"), fixtures.category("Bath"));
+        List<User> sellers = List.of(createSeller("a@test.com"), createSeller("b@test.com"), createSeller("c@test.com"));
+        SellerProfile store = new SellerProfile();
+        store.setUser(sellers.get(0));
+        store.setBusinessName("Green Goods");
+        sellerProfileRepository.save(store);
+        for (int i = 0; i < 48; i++) {
+            createProduct(sellers.get(i % 3), categories.get(i % 3), "Product " + i);
+        }
+        User seller = sellers.get(0);
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+        TestTransaction.start();
+
+        // Home: newest id page, then the views (cold cache)
+        assertStatements(2, () -> productService.getProductViewsAfter(null, PageToken.FIRST, 8));
+
+        // Shop: category list, a sorted id page off the index, the views of the ones not cached yet
+        FacetSelection selection = new FacetSelection();
+        assertStatements(3, () -> {
+            categoryService.getAllCategories();
+            FacetResult facets = productFacetService.browse(null, selection);
+            return productService.browseProducts(null, selection, facets, ProductSort.PRICE_ASC, 0, PAGE_SIZE);
+        });
+
+        // Facet-ranked pages come from memory; every view is cached by now
+        FacetSelection inStock = new FacetSelection();
+        inStock.setInStock(true);
+        Page<ProductView> page = productService.browseProducts(null, inStock, productFacetService.browse(null, inStock),
+            ProductSort.RATING, 0, PAGE_SIZE);
+        assertEquals(PAGE_SIZE, page.getNumberOfElements());
+        assertStatements(0, () -> productService.browseProducts(null, inStock, productFacetService.browse(null, inStock),
+            ProductSort.RATING, 0, PAGE_SIZE));
+
+        // Seller list: the page and its count, then the stats cards
+        assertStatements(6, () -> {
+            render(productService.getProductsBySeller(seller.getId(), 0, PAGE_SIZE).getContent());
+            productService.getSellerProductCount(seller.getId());
+            productService.getActiveProductCount(seller.getId());
+            productService.getLowStockProductCount(seller.getId());
+            return productService.getOutOfStockProductCount();
+        });
+
+        // Next pages seek instead of counting
+        assertStatements(1, () -> render(productService.getProductsBySellerAfter(seller.getId(), PageToken.FIRST, PAGE_SIZE).getContent()));
+
+        // Admin list and search result pages
+        assertStatements(2, () -> render(productService.getAllProducts(0, PAGE_SIZE).getContent()));
+        assertStatements(1, () -> render(productService.searchProducts("product", 0, PAGE_SIZE).getContent()));
+    }
+
+    // Touch what the list templates show, so lazy or per-row loads are counted too
+    private static List<String> render(List<Product> products) {
+        assertTrue(!products.isEmpty());
+        return products.stream()
+            .map(product -> product.getCategory().getName() + " " + product.getSeller().getFullName()
+                + " " + (product.getSeller().getSellerProfile() != null ? product.getSeller().getSellerProfile().getBusinessName() : ""))
+            .toList();
+    }
+
+    private void assertStatements(long expected, Supplier<?> page) {
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        page.get();
+        assertEquals(expected, statistics.getPrepareStatementCount());
+    }
+
+    private User createSeller(String email) {
+        return fixtures.user(email, "Seller " + email, Role.SELLER);
+    }
+
+    private void createProduct(User seller, Category category, String name) {
+        fixtures.product(seller, category).name(name).price(String.valueOf(10 + name.length())).stock(5).save();
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.ecoswap.services;
+
+import com.example.ecoswap.TestFixtures;
+import com.example.ecoswap.model.Category;
+import com.example.ecoswap.model.Order;
+import com.example.ecoswap.model.OrderItem;
+import com.example.ecoswap.model.Product;
+import com.example.ecoswap.model.User;
+import com.example.ecoswap.model.enums.OrderStatus;
+import com.example.ecoswap.repository.OrderItemRepository;
+import com.example.ecoswap.repository.ProductRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@DataJpaTest
+@Import({OrderItemSnapshotBackfillService.class, TestFixtures.class})
+class OrderItemSnapshotBackfillServiceTest {
+
+    @Autowired
+    private OrderItemSnapshotBackfillService backfillService;
+
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private User customer;
+    private Category category;
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        User seller = fixtures.seller("seller@test.com");
+        customer = fixtures.customer("customer@test.com");
+        category = fixtures.category("Home");
+        product = fixtures.product(seller, category).name("Bamboo Brush").sku("SKU-1").impact(1.5, 20.0).save();
+    }
+
+    @Test
+    void snapshotIsCapturedOnPersistAndSurvivesProductEdits() {
+        Long itemId = createDeliveredOrder();
+
+        product.setCo2Saved(99.0);
+        productRepository.save(product);
+
+        Object[] impact = orderItemRepository.sumImpactSince(OrderStatus.DELIVERED, LocalDateTime.of(1970, 1, 1, 0, 0)).get(0);
+        assertEquals(3.0, ((Number) impact[1]).doubleValue(), 1e-9);
+        assertEquals(category.getId(), orderItemRepository.findById(itemId).orElseThrow().getCategoryId());
+    }
+
+    @Test
+    void backfillFillsItemsWithoutSnapshot() {
+        Long itemId = createDeliveredOrder();
+        entityManager.flush();
+        entityManager.createQuery("UPDATE OrderItem oi SET oi.co2Saved = null, oi.plasticSaved = null, oi.categoryId = null")
+            .executeUpdate();
+        entityManager.clear();
+        assertNull(orderItemRepository.findById(itemId).orElseThrow().getCategoryId());
+        entityManager.clear();
+
+        assertEquals(1, backfillService.backfill());
+        entityManager.clear();
+
+        OrderItem item = orderItemRepository.findById(itemId).orElseThrow();
+        assertEquals(category.getId(), item.getCategoryId());
+        assertEquals(1.5, item.getCo2Saved(), 1e-9);
+        assertEquals(20.0, item.getPlasticSaved(), 1e-9);
+        assertEquals(0, backfillService.backfill());
+    }
+
+    private Long createDeliveredOrder() {
+        Order order = fixtures.order(customer, OrderStatus.DELIVERED).item(product, 2).save();
+        return order.getOrderItems().get(0).getId();
+    }
+}
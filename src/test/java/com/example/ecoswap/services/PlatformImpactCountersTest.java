@@ -0,0 +1,82 @@
+package com.example.ecoswap.services;
+
+import com.example.ecoswap.TestFixtures;
+import com.example.ecoswap.events.OrderEvent;
+import com.example.ecoswap.model.Order;
+import com.example.ecoswap.model.Product;
+import com.example.ecoswap.model.User;
+import com.example.ecoswap.model.enums.OrderStatus;
+import com.example.ecoswap.repository.PlatformImpactDeltaRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest(properties = "ecoswap.impact.flush-interval-seconds=3600")
+@Import({PlatformImpactCounters.class, TestFixtures.class})
+class PlatformImpactCountersTest {
+
+    @Autowired
+    private PlatformImpactCounters counters;
+
+    @Autowired
+    private PlatformImpactDeltaRepository deltaRepository;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Test
+    void countersApplyAfterCommitAndSurviveFlushAndReload() {
+        Order order = createDeliveredOrder();
+        counters.onOrderEvent(OrderEvent.statusChanged(order, OrderStatus.SHIPPED));
+
+        // The test transaction never commits, so only the delta row exists so far
+        assertEquals(0L, counters.getDeliveredOrders());
+        assertEquals(1, deltaRepository.count());
+
+        // Startup path: snapshot plus unfolded deltas
+        counters.load();
+        assertEquals(1L, counters.getDeliveredOrders());
+        assertEquals(2L, counters.getItemsSold());
+        assertEquals(3.0, counters.getCo2Saved(), 1e-9);
+        assertEquals(40.0, counters.getPlasticSaved(), 1e-9);
+        assertEquals(3.0, counters.getCo2SavedInLastDays(30), 1e-9);
+
+        assertEquals(1, counters.flush());
+        assertEquals(0, deltaRepository.count());
+        counters.load();
+        assertEquals(3.0, counters.getCo2Saved(), 1e-9);
+
+        order.setStatus(OrderStatus.REFUNDED);
+        counters.onOrderEvent(OrderEvent.statusChanged(order, OrderStatus.DELIVERED));
+        counters.flush();
+        counters.load();
+        assertEquals(0L, counters.getDeliveredOrders());
+        assertEquals(0.0, counters.getCo2Saved(), 1e-9);
+    }
+
+    @Test
+    void lastDaysCountTodayAsTheFirstDay() {
+        User seller = fixtures.seller("seller@test.com");
+        User customer = fixtures.customer("customer@test.com");
+        Product product = fixtures.product(seller, fixtures.category("Home")).impact(1.5, 0.0).save();
+        LocalDate today = LocalDate.now();
+        fixtures.order(customer, OrderStatus.DELIVERED).item(product, 1).createdAt(today.minusDays(29).atTime(12, 0)).save();
+        fixtures.order(customer, OrderStatus.DELIVERED).item(product, 1).createdAt(today.minusDays(30).atTime(12, 0)).save();
+
+        counters.load();
+        assertEquals(1.5, counters.getCo2SavedInLastDays(30), 1e-9);
+        assertEquals(3.0, counters.getCo2SavedInLastDays(31), 1e-9);
+    }
+
+    private Order createDeliveredOrder() {
+        User seller = fixtures.seller("seller@test.com");
+        User customer = fixtures.customer("customer@test.com");
+        Product product = fixtures.product(seller, fixtures.category("Home")).name("Bamboo Brush").impact(1.5, 20.0).save();
+        return fixtures.order(customer, OrderStatus.DELIVERED).item(product, 2).save();
+    }
+}
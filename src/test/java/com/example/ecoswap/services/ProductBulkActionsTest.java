@@ -0,0 +1,92 @@
+package com.example.ecoswap.services;
+
+import com.example.ecoswap.TestFixtures;
+import com.example.ecoswap.dtos.ProductView;
+import com.example.ecoswap.model.Category;
+import com.example.ecoswap.model.Product;
+import com.example.ecoswap.model.User;
+import com.example.ecoswap.repository.ProductRepository;
+import com.example.ecoswap.search.FacetSelection;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.transaction.TestTransaction;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({ProductService.class, ProductSearchService.class, ProductFacetService.class, ProductViewCache.class, TestFixtures.class})
+class ProductBulkActionsTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductSearchService productSearchService;
+
+    @Autowired
+    private ProductFacetService productFacetService;
+
+    @Autowired
+    private ProductViewCache productViewCache;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void bulkActionsRunTwoStatementsPerChunkAndRefreshTheIndexes() {
+        User seller = fixtures.seller("seller@test.com");
+        Category kitchen = fixtures.category("Kitchen");
+        Product cup = createProduct(seller, kitchen, "Bamboo Cup");
+        Product straw = createProduct(seller, kitchen, "Steel Straw");
+        Product brush = createProduct(seller, kitchen, "Bamboo Brush");
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+        productViewCache.getAll(List.of(cup.getId(), straw.getId(), brush.getId()));
+
+        // Three chunks of ids, two of them real and one repeated; unknown ids are not counted
+        List<Long> ids = new ArrayList<>(List.of(cup.getId(), straw.getId(), cup.getId()));
+        LongStream.range(1_000_000, 1_000_000 + 2 * ProductService.BULK_CHUNK_SIZE).forEach(ids::add);
+        TestTransaction.start();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        assertEquals(2, productService.bulkDeactivate(ids));
+        assertEquals(6, statistics.getPrepareStatementCount());
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+
+        assertEquals("INACTIVE", productRepository.findById(cup.getId()).orElseThrow().getStatus());
+        assertEquals("ACTIVE", productRepository.findById(brush.getId()).orElseThrow().getStatus());
+        assertEquals(2L, productViewCache.getStatistics().get("invalidations"));
+
+        // Deleted products leave the search and facet indexes and the view cache once the delete commits
+        TestTransaction.start();
+        assertEquals(2, productService.bulkDelete(ids));
+        assertEquals(2, productSearchService.search("bamboo", null, 0, 10).getTotal());
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+
+        assertEquals(List.of(brush.getId()), productSearchService.search("bamboo", null, 0, 10).idList());
+        assertEquals(1, productFacetService.browse(null, new FacetSelection()).getTotal());
+        assertEquals(List.of(brush.getId()),
+            productViewCache.getAll(List.of(cup.getId(), straw.getId(), brush.getId())).stream().map(ProductView::getId).toList());
+    }
+
+    private Product createProduct(User seller, Category category, String name) {
+        return fixtures.product(seller, category).name(name).stock(10).save();
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.ecoswap.services;
+
+import com.example.ecoswap.TestFixtures;
+import com.example.ecoswap.dtos.ProductView;
+import com.example.ecoswap.events.OrderEvent;
+import com.example.ecoswap.model.Category;
+import com.example.ecoswap.model.Order;
+import com.example.ecoswap.model.Product;
+import com.example.ecoswap.model.User;
+import com.example.ecoswap.model.enums.OrderStatus;
+import com.example.ecoswap.repository.ProductRepository;
+import com.example.ecoswap.search.FacetSelection;
+import com.example.ecoswap.search.ProductSort;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.transaction.TestTransaction;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest
+@Import({ProductSalesCounter.class, ProductSearchService.class, ProductFacetService.class, ProductService.class, ProductViewCache.class,
+    TestFixtures.class})
+class ProductSalesCounterTest {
+
+    @Autowired
+    private ProductSalesCounter productSalesCounter;
+
+    @Autowired
+    private ProductFacetService productFacetService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Test
+    void deliveriesMaintainTheCounterBehindBestSellingInTheDatabaseAndInMemory() {
+        User seller = fixtures.seller("seller@test.com");
+        User customer = fixtures.customer("customer@test.com");
+        Category kitchen = fixtures.category("Kitchen");
+        Product cup = createProduct(seller, kitchen, "Bamboo Cup", "12.00");
+        Product straw = createProduct(seller, kitchen, "Steel Straw", "4.00");
+        Product cloth = createProduct(seller, kitchen, "Dish Cloth", "6.00");
+
+        Order order = fixtures.order(customer, OrderStatus.DELIVERED).item(straw, 3).item(cloth, 1).save();
+        productSalesCounter.onOrderEvent(OrderEvent.statusChanged(order, OrderStatus.SHIPPED));
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+
+        assertEquals(3L, productRepository.findById(straw.getId()).orElseThrow().getSalesCount());
+
+        // Category-only browsing reads the sales index, other selections rank the facet index; both agree
+        FacetSelection category = new FacetSelection();
+        category.setCategoryId(kitchen.getId());
+        assertEquals(List.of(straw.getId(), cloth.getId(), cup.getId()), bestSelling(category));
+        FacetSelection inStock = new FacetSelection();
+        inStock.setInStock(true);
+        assertEquals(List.of(straw.getId(), cloth.getId(), cup.getId()), bestSelling(inStock));
+
+        // Editing a product keeps its count; rebuilding recounts it from delivered order items
+        TestTransaction.start();
+        Product edited = productRepository.findById(straw.getId()).orElseThrow();
+        edited.setSalesCount(0L);
+        edited.setName("Steel Straw Set");
+        productRepository.save(edited);
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+        assertEquals(3L, productRepository.findById(straw.getId()).orElseThrow().getSalesCount());
+        assertEquals(3, productSalesCounter.rebuild());
+        assertEquals(List.of(straw.getId(), cloth.getId(), cup.getId()), bestSelling(inStock));
+    }
+
+    private List<Long> bestSelling(FacetSelection selection) {
+        return productService.browseProducts(null, selection, productFacetService.browse(null, selection), ProductSort.BEST_SELLING, 0, 10)
+            .getContent().stream().map(ProductView::getId).toList();
+    }
+
+    private Product createProduct(User seller, Category category, String name, String price) {
+        return fixtures.product(seller, category).name(name).price(price).save();
+    }
+}
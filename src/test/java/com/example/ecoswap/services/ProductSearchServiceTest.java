@@ -0,0 +1,66 @@
+package com.example.ecoswap.services;
+
+import com.example.ecoswap.TestFixtures;
+import com.example.ecoswap.model.Category;
+import com.example.ecoswap.model.Product;
+import com.example.ecoswap.model.User;
+import com.example.ecoswap.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.test.context.transaction.TestTransaction;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest
+@Import({ProductSearchService.class, ProductFacetService.class, ProductService.class, ProductViewCache.class, TestFixtures.class})
+class ProductSearchServiceTest {
+
+    @Autowired
+    private ProductSearchService searchService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Test
+    void entityChangesReachTheIndexOnCommitAndPagesKeepRanking() {
+        User seller = fixtures.seller("seller@test.com");
+        Category kitchen = fixtures.category("Kitchen");
+
+        Product straw = createProduct(seller, kitchen, "Steel Straw", "Reusable drinking straw");
+        Product cup = createProduct(seller, kitchen, "Bamboo Cup", "Cup with a steel rim");
+        Product cloth = createProduct(seller, kitchen, "Dish Cloth", "Cotton cloth");
+
+        // Nothing is indexed until the transaction commits
+        assertEquals(List.of(), searchService.search("steel", null, 0, 10).idList());
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+        assertEquals(List.of(straw.getId(), cup.getId()), searchService.search("steel", null, 0, 10).idList());
+
+        Page<Product> secondPage = productService.searchProducts("kitchen", 1, 2);
+        assertEquals(3, secondPage.getTotalElements());
+        assertEquals(List.of(straw.getId()), secondPage.getContent().stream().map(Product::getId).toList());
+
+        // Updates made through any repository call are picked up by the entity listener
+        cloth.setName("Steel Scrubber");
+        productRepository.save(cloth);
+        assertEquals(3, searchService.search("ste", null, 0, 10).getTotal());
+
+        productRepository.deleteAll(List.of(straw, cup, cloth));
+        assertEquals(List.of(), searchService.search("kitchen", null, 0, 10).idList());
+    }
+
+    private Product createProduct(User seller, Category category, String name, String description) {
+        return fixtures.product(seller, category).name(name).description(description).save();
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.ecoswap.services;
+
+import com.example.ecoswap.TestFixtures;
+import com.example.ecoswap.dtos.ProductView;
+import com.example.ecoswap.model.Category;
+import com.example.ecoswap.model.Product;
+import com.example.ecoswap.model.Review;
+import com.example.ecoswap.model.User;
+import com.example.ecoswap.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.transaction.TestTransaction;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+@DataJpaTest
+@Import({ProductViewCache.class, ReviewService.class, TestFixtures.class})
+class ProductViewCacheTest {
+
+    @Autowired
+    private ProductViewCache productViewCache;
+
+    @Autowired
+    private ReviewService reviewService;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Test
+    void viewsAreSharedUntilACommittedChangeInvalidatesThem() {
+        User seller = fixtures.seller("seller@test.com");
+        User customer = fixtures.customer("customer@test.com");
+        Category kitchen = fixtures.category("Kitchen");
+        Product cup = fixtures.product(seller, kitchen).name("Bamboo Cup").save();
+        Product straw = fixtures.product(seller, kitchen).name("Steel Straw").save();
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+
+        // One query for the page, in page order, with names flattened in; missing ids are skipped
+        List<ProductView> page = productViewCache.getAll(List.of(straw.getId(), -1L, cup.getId()));
+        assertEquals(List.of("Steel Straw", "Bamboo Cup"), page.stream().map(ProductView::getName).toList());
+        assertEquals("Kitchen", page.get(0).getCategoryName());
+        assertEquals("Seller", page.get(0).getSellerName());
+        assertNull(page.get(0).getStoreName());
+        assertSame(page.get(1), productViewCache.get(cup.getId()));
+
+        // A review updates the rating in its own transaction; the view is reloaded once that commits
+        TestTransaction.start();
+        Review review = new Review();
+        review.setProduct(productRepository.findById(cup.getId()).orElseThrow());
+        review.setCustomer(customer);
+        review.setRating(4);
+        reviewService.createReview(review);
+        assertEquals(0.0, productViewCache.get(cup.getId()).getRating());
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+
+        assertEquals(4.0, productViewCache.get(cup.getId()).getRating());
+        assertEquals(1, productViewCache.get(cup.getId()).getReviewCount());
+        assertEquals(1L, productViewCache.getStatistics().get("invalidations"));
+    }
+}
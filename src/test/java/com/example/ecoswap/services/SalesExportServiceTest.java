@@ -0,0 +1,86 @@
+package com.example.ecoswap.services;
+
+import com.example.ecoswap.StreamingFetchSizeSupport;
+import com.example.ecoswap.TestFixtures;
+import com.example.ecoswap.model.Category;
+import com.example.ecoswap.model.Product;
+import com.example.ecoswap.model.User;
+import com.example.ecoswap.model.enums.OrderStatus;
+import com.example.ecoswap.model.enums.Role;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+@Import({SalesExportService.class, TestFixtures.class, StreamingFetchSizeSupport.class})
+class SalesExportServiceTest {
+
+    @Autowired
+    private SalesExportService salesExportService;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    private User seller;
+    private User otherSeller;
+    private User customer;
+    private Category category;
+
+    @BeforeEach
+    void setUp() {
+        seller = fixtures.seller("seller@test.com");
+        otherSeller = fixtures.user("other@test.com", "Other", Role.SELLER);
+        customer = fixtures.user("customer@test.com", "Doe, Jane", Role.CUSTOMER);
+        category = fixtures.category("Home");
+    }
+
+    @Test
+    void exportsOnlySellerRowsMatchingStatus() throws Exception {
+        createOrder(seller, "Bamboo \"Eco\" Brush", OrderStatus.DELIVERED);
+        createOrder(seller, "Steel Bottle", OrderStatus.PENDING);
+        createOrder(otherSeller, "Cotton Bag", OrderStatus.DELIVERED);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long rows = salesExportService.exportSellerSales(seller.getId(), null, null, OrderStatus.DELIVERED, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(1, rows);
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("order_number,"));
+        assertTrue(lines[1].contains(",DELIVERED,\"Doe, Jane\","));
+        assertTrue(lines[1].contains(",\"Bamboo \"\"Eco\"\" Brush\",Home,2,10.00,20.00"));
+    }
+
+    @Test
+    void platformExportFiltersByDateRange() throws Exception {
+        createOrder(seller, "Steel Bottle", OrderStatus.PENDING);
+        createOrder(otherSeller, "Cotton Bag", OrderStatus.DELIVERED);
+
+        LocalDate today = LocalDate.now();
+        assertEquals(2, salesExportService.exportPlatformSales(today, today, null, new ByteArrayOutputStream()));
+        assertEquals(0, salesExportService.exportPlatformSales(today.minusDays(7), today.minusDays(1), null, new ByteArrayOutputStream()));
+    }
+
+    @Test
+    void escapeNeutralizesFormulaCells() {
+        assertEquals("'=SUM(A1)", SalesExportService.escape("=SUM(A1)"));
+        assertEquals("'\t=1+2", SalesExportService.escape("\t=1+2"));
+        assertEquals("\"'\r=1+2\"", SalesExportService.escape("\r=1+2"));
+        assertEquals("-5", SalesExportService.escape(-5));
+        assertEquals("", SalesExportService.escape(null));
+    }
+
+    private void createOrder(User orderSeller, String productName, OrderStatus status) {
+        Product product = fixtures.product(orderSeller, category).name(productName).save();
+        fixtures.order(customer, status).item(product, 2).save();
+    }
+}
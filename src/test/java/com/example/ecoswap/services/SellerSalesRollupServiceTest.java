@@ -0,0 +1,107 @@
+package com.example.ecoswap.services;
+
+import com.example.ecoswap.TestFixtures;
+import com.example.ecoswap.events.OrderEvent;
+import com.example.ecoswap.model.Category;
+import com.example.ecoswap.model.Order;
+import com.example.ecoswap.model.SellerDailySales;
+import com.example.ecoswap.model.User;
+import com.example.ecoswap.model.enums.OrderStatus;
+import com.example.ecoswap.repository.OrderRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest
+@Import({SellerSalesRollupService.class, TestFixtures.class})
+class SellerSalesRollupServiceTest {
+
+    @Autowired
+    private SellerSalesRollupService rollupService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private User seller;
+    private User customer;
+    private Category home;
+    private Category garden;
+
+    @BeforeEach
+    void setUp() {
+        seller = fixtures.seller("seller@test.com");
+        customer = fixtures.customer("customer@test.com");
+        home = fixtures.category("Home");
+        garden = fixtures.category("Garden");
+    }
+
+    @Test
+    void deliveriesAndReversalsKeepOrderCounts() {
+        // Two categories in one order: the order counts on the lowest category only
+        Order first = createDeliveredOrder(home, garden);
+        rollupService.onOrderEvent(OrderEvent.statusChanged(first, OrderStatus.SHIPPED));
+        // Another order that day: revenue, items and orders add up on the same row
+        Order second = createDeliveredOrder(home);
+        rollupService.onOrderEvent(OrderEvent.statusChanged(second, OrderStatus.SHIPPED));
+
+        assertRow(home, "40.00", 4, 2);
+        assertRow(garden, "20.00", 2, 0);
+
+        // Cancelling the first takes back its revenue, items and order
+        first.setStatus(OrderStatus.CANCELLED);
+        orderRepository.save(first);
+        rollupService.onOrderEvent(OrderEvent.statusChanged(first, OrderStatus.DELIVERED));
+
+        assertRow(home, "20.00", 2, 1);
+        assertRow(garden, "0.00", 0, 0);
+    }
+
+    @Test
+    void rebuildMatchesIncrementalUpdates() {
+        Order first = createDeliveredOrder(home, garden);
+        rollupService.onOrderEvent(OrderEvent.statusChanged(first, OrderStatus.SHIPPED));
+        Order second = createDeliveredOrder(garden);
+        rollupService.onOrderEvent(OrderEvent.statusChanged(second, OrderStatus.SHIPPED));
+
+        assertEquals(2, rollupService.rebuild());
+
+        assertRow(home, "20.00", 2, 1);
+        assertRow(garden, "40.00", 4, 1);
+        assertEquals(2L, rollupService.getSellerTotals(seller.getId()).get("orders"));
+    }
+
+    // Rows are written by an upsert statement, so read them fresh
+    private void assertRow(Category category, String revenue, long itemsSold, long orderCount) {
+        entityManager.clear();
+        SellerDailySales row = rollupService.getDailySales(seller.getId(), LocalDate.now()).stream()
+            .filter(sales -> sales.getCategoryId().equals(category.getId()))
+            .findFirst()
+            .orElseThrow();
+        assertEquals(0, new BigDecimal(revenue).compareTo(row.getRevenue()), category.getName() + " revenue");
+        assertEquals(List.of(itemsSold, orderCount), List.of(row.getItemsSold(), row.getOrderCount()),
+            category.getName() + " counts");
+    }
+
+    private Order createDeliveredOrder(Category... categories) {
+        TestFixtures.OrderBuilder order = fixtures.order(customer, OrderStatus.DELIVERED);
+        for (Category category : categories) {
+            order.item(fixtures.product(seller, category).save(), 2);
+        }
+        return order.save();
+    }
+}
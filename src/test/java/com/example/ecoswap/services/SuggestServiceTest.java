@@ -0,0 +1,65 @@
+package com.example.ecoswap.services;
+
+import com.example.ecoswap.TestFixtures;
+import com.example.ecoswap.model.Category;
+import com.example.ecoswap.model.Product;
+import com.example.ecoswap.model.User;
+import com.example.ecoswap.search.Suggestion;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.transaction.TestTransaction;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest(properties = "ecoswap.suggest.refresh-interval-seconds=3600")
+@Import({SuggestService.class, ProductService.class, ProductSearchService.class, ProductFacetService.class, ProductViewCache.class,
+    TestFixtures.class})
+class SuggestServiceTest {
+
+    @Autowired
+    private SuggestService suggestService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Test
+    void productChangesAndSearchesAreAppliedInBatches() {
+        User seller = fixtures.seller("seller@test.com");
+        Category kitchen = fixtures.category("Kitchen");
+        Product straw = productService.saveProduct(fixtures.product(seller, kitchen).name("Steel Straw").build());
+        productService.saveProduct(fixtures.product(seller, kitchen).name("Bamboo Cup").build());
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+
+        // Saved products are buffered until the next refresh
+        assertEquals(List.of(), texts(suggestService.suggest("ste", 10)));
+        suggestService.refresh();
+        assertEquals(List.of("Steel Straw"), texts(suggestService.suggest("ste", 10)));
+        assertEquals(List.of("Kitchen"), texts(suggestService.suggest("kit", 10)));
+
+        // Searches are suggested once made often enough, and only in words the catalog uses
+        for (int i = 0; i < 3; i++) {
+            suggestService.recordQuery("Steel  cup");
+            suggestService.recordQuery("cheap pills");
+        }
+        suggestService.refresh();
+        assertEquals(List.of("steel cup", "Steel Straw"), texts(suggestService.suggest("ste", 10)));
+        assertEquals(List.of(), texts(suggestService.suggest("che", 10)));
+
+        // Deleting the only product named "steel" takes the search with it
+        productService.deleteProduct(straw.getId());
+        suggestService.refresh();
+        assertEquals(List.of(), texts(suggestService.suggest("ste", 10)));
+    }
+
+    private static List<String> texts(List<Suggestion> suggestions) {
+        return suggestions.stream().map(Suggestion::getText).toList();
+    }
+}